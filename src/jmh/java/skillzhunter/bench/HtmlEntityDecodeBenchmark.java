@@ -0,0 +1,142 @@
+package skillzhunter.bench;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import skillzhunter.model.formatters.HtmlEntityDecoder;
+
+/**
+ * Compares {@link HtmlEntityDecoder} with the map and regex based decoder that
+ * {@code DataFormatter.replaceHtmlEntities} used before, on the kinds of text a job holds.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class HtmlEntityDecodeBenchmark {
+    /** Kind of text decoded: a plain title, a title with entities, or a long encoded description. */
+    @Param({"plain", "title", "description"})
+    private String input;
+
+    /** The text being decoded. */
+    private String text;
+
+    /**
+     * Builds the input.
+     */
+    @Setup
+    public void setUp() {
+        text = switch (input) {
+            case "plain" -> "Senior Software Engineer";
+            case "title" -> "Senior R&amp;D Engineer &ndash; Data &amp; ML";
+            default -> "&lt;p&gt;We&#8217;re looking for an engineer &amp; mentor who enjoys &quot;hard&quot; "
+                + "problems.&lt;/p&gt;&lt;ul&gt;&lt;li&gt;5+ years &mdash; Java&lt;/li&gt;&lt;/ul&gt;".repeat(40);
+        };
+    }
+
+    /**
+     * Decodes with the single pass decoder.
+     *
+     * @return the decoded text
+     */
+    @Benchmark
+    public String singlePass() {
+        return HtmlEntityDecoder.decode(text);
+    }
+
+    /**
+     * Decodes with the previous implementation.
+     *
+     * @return the decoded text
+     */
+    @Benchmark
+    public String mapAndRegex() {
+        return legacyReplaceHtmlEntities(text);
+    }
+
+    /**
+     * Copy of the previous {@code DataFormatter.replaceHtmlEntities}, kept as the baseline.
+     *
+     * @param text text to decode
+     * @return decoded text
+     */
+    private static String legacyReplaceHtmlEntities(String text) {
+        if (text == null || text.isEmpty()) {
+            return text;
+        }
+
+        Map<String, String> htmlEntities = new HashMap<>();
+        htmlEntities.put("&amp;", "&");
+        htmlEntities.put("&lt;", "<");
+        htmlEntities.put("&gt;", ">");
+        htmlEntities.put("&quot;", "\"");
+        htmlEntities.put("&#39;", "'");
+        htmlEntities.put("&apos;", "'");
+        htmlEntities.put("&nbsp;", " ");
+        htmlEntities.put("&ndash;", "–");
+        htmlEntities.put("&mdash;", "—");
+        htmlEntities.put("&lsquo;", "'");
+        htmlEntities.put("&rsquo;", "'");
+        htmlEntities.put("&ldquo;", "\"");
+        htmlEntities.put("&rdquo;", "\"");
+        htmlEntities.put("&bull;", "•");
+        htmlEntities.put("&copy;", "©");
+        htmlEntities.put("&reg;", "®");
+        htmlEntities.put("&trade;", "™");
+        htmlEntities.put("&euro;", "€");
+        htmlEntities.put("&pound;", "£");
+        htmlEntities.put("&yen;", "¥");
+        htmlEntities.put("&cent;", "¢");
+
+        String result = text;
+        String prevResult;
+        do {
+            prevResult = result;
+            for (Map.Entry<String, String> entry : htmlEntities.entrySet()) {
+                result = result.replace(entry.getKey(), entry.getValue());
+            }
+        } while (!result.equals(prevResult));
+
+        Matcher numericMatcher = Pattern.compile("&#(\\d+);").matcher(result);
+        StringBuilder numericBuilder = new StringBuilder();
+        while (numericMatcher.find()) {
+            try {
+                int code = Integer.parseInt(numericMatcher.group(1));
+                numericMatcher.appendReplacement(numericBuilder, String.valueOf((char) code));
+            } catch (IllegalArgumentException e) {
+                numericMatcher.appendReplacement(numericBuilder, numericMatcher.group(0));
+            }
+        }
+        numericMatcher.appendTail(numericBuilder);
+        result = numericBuilder.toString();
+
+        Matcher hexMatcher = Pattern.compile("&#[xX]([0-9a-fA-F]+);").matcher(result);
+        StringBuilder hexBuilder = new StringBuilder();
+        while (hexMatcher.find()) {
+            try {
+                int code = Integer.parseInt(hexMatcher.group(1), 16);
+                hexMatcher.appendReplacement(hexBuilder, Matcher.quoteReplacement(String.valueOf(Character.toChars(code))));
+            } catch (Exception e) {
+                hexMatcher.appendReplacement(hexBuilder, hexMatcher.group(0));
+            }
+        }
+        hexMatcher.appendTail(hexBuilder);
+        result = hexBuilder.toString();
+
+        if (result.matches(".*&[a-zA-Z0-9#]+;.*")) {
+            System.out.println("Warning: Possible unhandled HTML entity in: " + result);
+        }
+        return result;
+    }
+}
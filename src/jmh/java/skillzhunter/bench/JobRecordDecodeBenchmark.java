@@ -0,0 +1,121 @@
+package skillzhunter.bench;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+import skillzhunter.model.JobRecord;
+import skillzhunter.model.formatters.DataFormatter;
+import skillzhunter.model.formatters.JobRecordModule;
+
+/**
+ * Compares decoding a job array plainly and then cleaning every record with
+ * {@link DataFormatter#processJobHtml(JobRecord)}, against decoding it through
+ * {@link JobRecordModule}, which cleans the text while it is parsed.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JobRecordDecodeBenchmark {
+    /** Number of jobs in the decoded array, 50 is the most the job board returns. */
+    @Param({"5", "50"})
+    private int jobCount;
+
+    /** Reader without the module, as the responses used to be read. */
+    private ObjectReader plainReader;
+
+    /** Reader with the module. */
+    private ObjectReader cleaningReader;
+
+    /** The job array being decoded. */
+    private String json;
+
+    /** Standard output, swapped out while the benchmark runs. */
+    private PrintStream stdout;
+
+    /**
+     * Builds the input and the readers.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        plainReader = new ObjectMapper().readerFor(JobRecord[].class);
+        cleaningReader = new ObjectMapper().registerModule(new JobRecordModule()).readerFor(JobRecord[].class);
+
+        StringBuilder builder = new StringBuilder("[");
+        for (int i = 0; i < jobCount; i++) {
+            if (i > 0) {
+                builder.append(',');
+            }
+            builder.append("{\"id\":").append(i)
+                .append(",\"url\":\"https://jobicy.com/jobs/").append(i).append("-senior-engineer\"")
+                .append(",\"jobSlug\":\"").append(i).append("-senior-engineer\"")
+                .append(",\"jobTitle\":\"Senior R&amp;D Engineer\"")
+                .append(",\"companyName\":\"Smith &amp; Sons\"")
+                .append(",\"companyLogo\":\"https://jobicy.com/data/logo.png\"")
+                .append(",\"jobIndustry\":[\"Dev &amp; Ops\",\"Engineering\"]")
+                .append(",\"jobType\":[\"full-time\"]")
+                .append(",\"jobGeo\":\"USA\",\"jobLevel\":\"Senior\"")
+                .append(",\"jobExcerpt\":\"We&#8217;re growing &mdash; join a team that ships every day.\"")
+                .append(",\"jobDescription\":\"")
+                .append("&lt;p&gt;We&#8217;re looking for an engineer &amp; mentor.&lt;/p&gt;".repeat(40))
+                .append("\",\"pubDate\":\"2025-01-01 10:00:00\"")
+                .append(",\"annualSalaryMin\":90000,\"annualSalaryMax\":120000,\"salaryCurrency\":\"USD\"}");
+        }
+        json = builder.append(']').toString();
+
+        // processJobHtml logs every job, keep that off the console but still pay for building it
+        stdout = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+    }
+
+    /**
+     * Restores standard output.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        System.setOut(stdout);
+    }
+
+    /**
+     * Plain decode, then processJobHtml on every record.
+     *
+     * @param blackhole sink for the results
+     * @throws Exception if the input cannot be parsed
+     */
+    @Benchmark
+    public void decodeThenProcess(Blackhole blackhole) throws Exception {
+        JobRecord[] jobs = plainReader.readValue(json);
+        for (JobRecord job : jobs) {
+            blackhole.consume(DataFormatter.processJobHtml(job));
+        }
+    }
+
+    /**
+     * Decode through the module, cleaning while parsing.
+     *
+     * @param blackhole sink for the results
+     * @throws Exception if the input cannot be parsed
+     */
+    @Benchmark
+    public void fusedDecode(Blackhole blackhole) throws Exception {
+        JobRecord[] jobs = cleaningReader.readValue(json);
+        for (JobRecord job : jobs) {
+            blackhole.consume(job);
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package skillzhunter.bench;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import skillzhunter.model.JobRecord;
+import skillzhunter.model.formatters.DataFormatter;
+
+/**
+ * Compares sanitizing a batch of jobs one at a time against the parallel batch,
+ * to pick the parallel threshold.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ProcessJobsHtmlBenchmark {
+    /** Number of jobs in the batch. */
+    @Param({"10", "100", "1000", "10000"})
+    private int jobCount;
+
+    /** The jobs as they come from the API. */
+    private List<JobRecord> jobs;
+
+    /**
+     * Builds jobs with entities and markup to clean.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        jobs = new ArrayList<>();
+        for (int i = 0; i < jobCount; i++) {
+            jobs.add(new JobRecord(i, "https://jobicy.com/jobs/" + i, i + "-senior-engineer",
+                "Senior R&amp;D Engineer " + i, "Smith &amp; Sons", "https://jobicy.com/data/logo.png",
+                List.of("Dev &amp; Ops"), List.of("full-time"), "USA", "Senior",
+                "<p>We&#8217;re growing &ndash; join a team that ships every day.</p>",
+                "<p>We are looking for an engineer &amp; mentor.</p>".repeat(10), "2025-01-01 10:00:00",
+                90000, 120000, "USD", 0, null));
+        }
+    }
+
+    /**
+     * Sanitizes the batch on the calling thread.
+     *
+     * @return the sanitized jobs
+     */
+    @Benchmark
+    public List<JobRecord> sequential() {
+        return DataFormatter.processJobsHtml(jobs, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Sanitizes the batch on the common pool.
+     *
+     * @return the sanitized jobs
+     */
+    @Benchmark
+    public List<JobRecord> parallel() {
+        return DataFormatter.processJobsHtml(jobs, 0);
+    }
+}
@@ -0,0 +1,114 @@
+package skillzhunter.bench;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import skillzhunter.model.JobRecord;
+import skillzhunter.model.formatters.DataFormatter;
+import skillzhunter.model.formatters.Formats;
+import skillzhunter.model.formatters.JobWriters;
+
+/**
+ * Compares loading and saving the saved jobs as CSV against the BINARY format.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SavedJobsLoadBenchmark {
+    /** Number of saved jobs. */
+    @Param({"100", "2000"})
+    private int jobCount;
+
+    /** The saved jobs. */
+    private List<JobRecord> jobs;
+
+    /** The jobs written as CSV. */
+    private byte[] csv;
+
+    /** The jobs written as BINARY. */
+    private byte[] binary;
+
+    /**
+     * Builds the jobs and their saved forms.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        jobs = new ArrayList<>();
+        String[] companies = {"Acme", "Globex", "Initech", "Umbrella", "Hooli"};
+        for (int i = 0; i < jobCount; i++) {
+            jobs.add(new JobRecord(i, "https://jobicy.com/jobs/" + i + "-senior-engineer", i + "-senior-engineer",
+                "Senior Engineer " + (i % 20), companies[i % companies.length], "https://jobicy.com/data/logo.png",
+                List.of("Software Engineering", "DevOps"), List.of("full-time"), "USA", "Senior",
+                "We are growing, join a team that ships every day.",
+                "<p>We are looking for an engineer and mentor.</p>".repeat(10), "2025-01-01 10:00:00",
+                90000, 120000, "USD", i % 6, i % 3 == 0 ? "follow up" : null));
+        }
+        csv = save(Formats.CSV);
+        binary = save(Formats.BINARY);
+    }
+
+    /**
+     * Writes the jobs in a format.
+     *
+     * @param format the format
+     * @return the written bytes
+     */
+    private byte[] save(Formats format) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        JobWriters.write(jobs.iterator(), format, out);
+        return out.toByteArray();
+    }
+
+    /**
+     * Loads the CSV form.
+     *
+     * @return the loaded jobs
+     */
+    @Benchmark
+    public List<JobRecord> loadCsv() {
+        return DataFormatter.read(new ByteArrayInputStream(csv), Formats.CSV);
+    }
+
+    /**
+     * Loads the BINARY form.
+     *
+     * @return the loaded jobs
+     */
+    @Benchmark
+    public List<JobRecord> loadBinary() {
+        return DataFormatter.read(new ByteArrayInputStream(binary), Formats.BINARY);
+    }
+
+    /**
+     * Saves as CSV.
+     *
+     * @return the written bytes
+     */
+    @Benchmark
+    public byte[] saveCsv() {
+        return save(Formats.CSV);
+    }
+
+    /**
+     * Saves as BINARY.
+     *
+     * @return the written bytes
+     */
+    @Benchmark
+    public byte[] saveBinary() {
+        return save(Formats.BINARY);
+    }
+}
@@ -2,13 +2,52 @@ package skillzhunter;
 
 import skillzhunter.controller.IController;
 import skillzhunter.controller.MainController;
+import skillzhunter.logging.Logger;
+import skillzhunter.model.FeedSyncService;
+import skillzhunter.model.H2JobRepository;
 import skillzhunter.model.IModel;
 import skillzhunter.model.Jobs;
+import skillzhunter.model.formatters.Formats;
+import skillzhunter.model.net.JobSource;
+import skillzhunter.model.net.JobicyJobSource;
+import skillzhunter.model.net.RecordingJobSource;
+import skillzhunter.model.net.ReplayJobSource;
 import skillzhunter.view.IView;
 import skillzhunter.view.MainView;
 
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
 
 public final class SkillzHunterApp {
+    /** Logger for this class. */
+    private static final Logger LOG = Logger.getLogger(SkillzHunterApp.class);
+
+    /** System property naming a directory to serve recorded searches from instead of the network. */
+    private static final String REPLAY_PROPERTY = "skillzhunter.replay";
+
+    /** System property with the delay, in milliseconds, added to every replayed search. */
+    private static final String REPLAY_LATENCY_PROPERTY = "skillzhunter.replay.latency";
+
+    /** System property naming a directory to record live searches to. */
+    private static final String RECORD_PROPERTY = "skillzhunter.record";
+
+    /** System property with searches to poll in the background, separated by semicolons. */
+    private static final String SYNC_PROPERTY = "skillzhunter.sync";
+
+    /** System property with the minutes between two background polls. */
+    private static final String SYNC_MINUTES_PROPERTY = "skillzhunter.sync.minutes";
+
+    /** System property with the format saved jobs are kept in, CSV (the default) or BINARY. */
+    private static final String SAVED_JOBS_FORMAT_PROPERTY = "skillzhunter.savedjobs.format";
+
+    /** System property naming an H2 database file to keep the saved jobs in instead of the saved jobs file. */
+    private static final String SAVED_JOBS_DB_PROPERTY = "skillzhunter.savedjobs.db";
+
+    /** Minutes between two background polls if not configured. */
+    private static final long DEFAULT_SYNC_MINUTES = 15;
 
     private SkillzHunterApp() {
         // empty
@@ -20,7 +59,8 @@ public final class SkillzHunterApp {
      */
     public static void main(String[] args) {
         // Create MVC components
-        IModel model = new Jobs();
+        JobSource jobSource = createJobSource();
+        IModel model = createModel(jobSource);
         IController controller = new MainController();
         IView view = new MainView();
         
@@ -30,5 +70,84 @@ public final class SkillzHunterApp {
         
         // Start the application
         view.run();
+
+        startFeedSync(jobSource, model);
+    }
+
+    /**
+     * Starts polling the searches given with {@code -Dskillzhunter.sync=python;data engineer},
+     * every {@code -Dskillzhunter.sync.minutes} minutes. New and updated postings are reported
+     * as alerts through the model, like any other alert.
+     * @param jobSource where the searches are sent
+     * @param model the model, whose saved jobs count as already known
+     */
+    private static void startFeedSync(JobSource jobSource, IModel model) {
+        String sync = System.getProperty(SYNC_PROPERTY);
+        if (sync == null || sync.isBlank()) {
+            return;
+        }
+        List<FeedSyncService.Query> queries = new ArrayList<>();
+        for (String query : sync.split(";")) {
+            if (!query.isBlank()) {
+                queries.add(new FeedSyncService.Query(query.trim(), null, null, null));
+            }
+        }
+        long minutes = Long.getLong(SYNC_MINUTES_PROPERTY, DEFAULT_SYNC_MINUTES);
+        FeedSyncService feedSync = new FeedSyncService(jobSource, queries, model::getJobSnapshot, model::sendAlert);
+        feedSync.start(minutes, TimeUnit.MINUTES);
+        LOG.info("Polling " + queries.size() + " searches every " + minutes + " minutes");
+    }
+
+    /**
+     * Creates the model, keeping the saved jobs in the database given with
+     * {@code -Dskillzhunter.savedjobs.db=data/SavedJobs}, or else in the saved jobs file.
+     * @param jobSource where searches get their jobs from
+     * @return the model
+     */
+    private static IModel createModel(JobSource jobSource) {
+        String db = System.getProperty(SAVED_JOBS_DB_PROPERTY);
+        if (db != null && !db.isBlank()) {
+            LOG.info("Keeping saved jobs in the database " + db);
+            return new Jobs(jobSource, H2JobRepository.open(Paths.get(db)));
+        }
+        return new Jobs(jobSource, savedJobsFormat());
+    }
+
+    /**
+     * Gets the saved jobs format selected by {@code -Dskillzhunter.savedjobs.format=CSV|BINARY}.
+     * @return the format, CSV if not set or not one of the two
+     */
+    private static Formats savedJobsFormat() {
+        String name = System.getProperty(SAVED_JOBS_FORMAT_PROPERTY);
+        Formats format = Formats.containsValues(name);
+        if (format == Formats.BINARY) {
+            return format;
+        }
+        if (name != null && format != Formats.CSV) {
+            LOG.warn("Unknown saved jobs format " + name + ", using CSV");
+        }
+        return Formats.CSV;
+    }
+
+    /**
+     * Creates the job source selected by the system properties.
+     * {@code -Dskillzhunter.replay=dir} runs offline from recordings (with an optional
+     * {@code -Dskillzhunter.replay.latency=ms}), {@code -Dskillzhunter.record=dir} records
+     * live searches, and without either the live job board is used.
+     * @return the job source for the model
+     */
+    private static JobSource createJobSource() {
+        String replay = System.getProperty(REPLAY_PROPERTY);
+        if (replay != null && !replay.isBlank()) {
+            long latency = Long.getLong(REPLAY_LATENCY_PROPERTY, 0L);
+            LOG.info("Offline mode: replaying searches from " + replay);
+            return new ReplayJobSource(Paths.get(replay), latency);
+        }
+        String record = System.getProperty(RECORD_PROPERTY);
+        if (record != null && !record.isBlank()) {
+            LOG.info("Recording searches to " + record);
+            return new RecordingJobSource(new JobicyJobSource(), Paths.get(record));
+        }
+        return new JobicyJobSource();
     }
 }
@@ -1,8 +1,10 @@
 package skillzhunter.controller;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 import skillzhunter.model.IModel;
+import skillzhunter.model.JobQuery;
 import skillzhunter.model.JobRecord;
 import skillzhunter.view.IView;
 
@@ -67,12 +69,44 @@ public interface IController {
      * @return List of job records
      */
     List<JobRecord> getApiCall(String query, Integer numberOfResults, String location, String industry);
+
+    /**
+     * Gets the API call for job search without blocking the calling thread.
+     * The future completes off the Swing event thread, and cancelling it cancels the request.
+     * @param query The search query
+     * @param numberOfResults The number of results to return
+     * @param location The location to filter by
+     * @param industry The industry to filter by
+     * @return Future completing with the list of job records
+     */
+    CompletableFuture<List<JobRecord>> getApiCallAsync(String query, Integer numberOfResults,
+                                                       String location, String industry);
     
     /**
      * Gets the saved jobs from the model.
      * @return List of saved job records
      */
     List<JobRecord> getSavedJobs();
+
+    /**
+     * Gets a page of saved jobs from the model, filtered and sorted where the jobs are kept.
+     * @param query Filters, order and page
+     * @return The saved job records on the page, in order
+     */
+    List<JobRecord> findSavedJobs(JobQuery query);
+
+    /**
+     * Counts the saved jobs in the model that pass the filters of a query.
+     * @param query Filters, the page is ignored
+     * @return The number of matching saved job records
+     */
+    int countSavedJobs(JobQuery query);
+
+    /**
+     * Gets the version of the saved jobs without loading them.
+     * @return The version, views can skip a refresh if it is unchanged
+     */
+    long getSavedJobsVersion();
     
     /**
      * Sets the saved jobs in the model.
@@ -6,13 +6,20 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
+import skillzhunter.logging.Logger;
 import skillzhunter.model.AlertListener;
 import skillzhunter.model.IModel;
+import skillzhunter.model.JobQuery;
 import skillzhunter.model.JobRecord;
+import skillzhunter.model.JobSnapshot;
 import skillzhunter.view.IView;
 
 public class MainController implements IController, AlertListener {
+    /** Logger for this class. */
+    private static final Logger LOG = Logger.getLogger(MainController.class);
+
 
     /** Model. */
     private IModel model;
@@ -141,6 +148,24 @@ public class MainController implements IController, AlertListener {
         return model.searchJobs(query, numberOfResults, location, industry);
     }
 
+    /**
+     * Gets the API call for jobicy api search without blocking the calling thread.
+     * 
+     * @param query The search query
+     * @param numberOfResults The number of results to return (Nullable)
+     * @param location The location to filter by (Nullable)
+     * @param industry The industry to filter by (Nullable)
+     * @return Future completing with the list of JobRecord objects
+     */
+    @Override
+    public CompletableFuture<List<JobRecord>> getApiCallAsync(String query, Integer numberOfResults,
+                                                              String location, String industry) {
+        if (model == null) {
+            return CompletableFuture.completedFuture(Collections.emptyList());
+        }
+        return model.searchJobsAsync(query, numberOfResults, location, industry);
+    }
+
     /**
      * Gets the saved jobs.
      * 
@@ -154,6 +179,47 @@ public class MainController implements IController, AlertListener {
         return model.getJobRecords();
     }
 
+    /**
+     * Gets a page of saved jobs.
+     * 
+     * @param query Filters, order and page
+     * @return The saved jobs on the page, empty if there is no model
+     */
+    @Override
+    public List<JobRecord> findSavedJobs(JobQuery query) {
+        if (model == null) {
+            return Collections.emptyList();
+        }
+        return model.findSavedJobs(query);
+    }
+
+    /**
+     * Counts the saved jobs passing the filters of a query.
+     * 
+     * @param query Filters, the page is ignored
+     * @return The number of matching saved jobs, 0 if there is no model
+     */
+    @Override
+    public int countSavedJobs(JobQuery query) {
+        if (model == null) {
+            return 0;
+        }
+        return model.countSavedJobs(query);
+    }
+
+    /**
+     * Gets the version of the saved jobs.
+     * 
+     * @return The version, 0 if there is no model
+     */
+    @Override
+    public long getSavedJobsVersion() {
+        if (model == null) {
+            return JobSnapshot.EMPTY.version();
+        }
+        return model.getSavedJobsVersion();
+    }
+
     /**
      * Sets the saved jobs.
      * 
@@ -185,11 +251,8 @@ public class MainController implements IController, AlertListener {
             return false;
         }
         
-        List<JobRecord> savedJobs = getSavedJobs();
-        
-        // Check if the job is already in the list
-        return savedJobs.stream()
-                .anyMatch(job -> job.id() == jobRecord.id());
+        // Saved jobs are keyed by id, so this is a lookup instead of a scan
+        return model.getJobRecordById(jobRecord.id()) != null;
     }
 
     /**
@@ -259,7 +322,7 @@ public class MainController implements IController, AlertListener {
         if (parentDir != null && !parentDir.exists()) {
             boolean created = parentDir.mkdirs();
             if (!created) {
-                System.err.println("Failed to create directory: " + parentDir.getAbsolutePath());
+                LOG.warn("Failed to create directory: " + parentDir.getAbsolutePath());
             }
         }
 
@@ -284,15 +347,8 @@ public class MainController implements IController, AlertListener {
         // Call model to update the job
         model.updateJob(id, comments, rating);
         
-        // Return the updated job record so the view can use it
-        for (JobRecord job : model.getJobRecords()) {
-            if (job.id() == id) {
-                return job;
-            }
-        }
-        
-        // Job not found
-        return null;
+        // Return the updated job record so the view can use it, null if not found
+        return model.getJobRecordById(id);
     }
 
     /**
@@ -314,7 +370,7 @@ public class MainController implements IController, AlertListener {
      */
     @Override
     public void sendAlert(String alert) {
-        System.out.println("Controller alerting: " + alert);
+        LOG.info("Controller alerting: " + alert);
         
         // Make a copy of the list in case an observer removes itself during notification
         List<AlertObserver> observers = new ArrayList<>(alertObservers);
@@ -326,7 +382,7 @@ public class MainController implements IController, AlertListener {
             }
         } else {
             // Fallback if no observers are registered
-            System.err.println("No alert observers registered: " + alert);
+            LOG.warn("No alert observers registered: " + alert);
         }
     }
 
@@ -0,0 +1,20 @@
+package skillzhunter.logging;
+
+/**
+ * Destination of log events.
+ */
+public interface Appender {
+    /**
+     * Writes an event.
+     *
+     * @param event the event
+     */
+    void append(LogEvent event);
+
+    /**
+     * Waits until every event appended so far has been written.
+     */
+    default void flush() {
+        // nothing is buffered by default
+    }
+}
@@ -0,0 +1,190 @@
+package skillzhunter.logging;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Appender that hands events to a background thread through a fixed size ring buffer.
+ * Logging only costs putting an event in the buffer; the console is written on the
+ * "log-writer" daemon thread. If the buffer is full, debug and info messages are dropped
+ * and warnings and errors push out the oldest message instead, so a flood of messages
+ * never blocks the caller. The number of dropped messages is logged once there is room.
+ */
+public final class AsyncAppender implements Appender, AutoCloseable {
+    /** Longest time {@link #flush()} waits for the writer. */
+    private static final long FLUSH_TIMEOUT_MILLIS = 2000;
+
+    /** Where the events are finally written. */
+    private final Appender target;
+
+    /** Events waiting to be written, slot i holds sequence number i modulo the length. Guarded by this. */
+    private final LogEvent[] ring;
+
+    /** Sequence number of the oldest waiting event. Guarded by this. */
+    private long head;
+
+    /** Sequence number the next event gets. Guarded by this. */
+    private long tail;
+
+    /** Every event before this sequence number has been written or dropped. Guarded by this. */
+    private long completed;
+
+    /** Events dropped because the buffer was full. Guarded by this. */
+    private long dropped;
+
+    /** Dropped events already reported. Guarded by this. */
+    private long reportedDropped;
+
+    /** Set once the appender is closed. Guarded by this. */
+    private boolean closed;
+
+    /** Thread that writes the events. */
+    private final Thread writer;
+
+    /**
+     * Creates the appender and starts its writer thread.
+     *
+     * @param target where the events are written
+     * @param capacity number of events the buffer holds
+     * @throws IllegalArgumentException if the capacity is less than 1
+     */
+    public AsyncAppender(Appender target, int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be at least 1");
+        }
+        this.target = target;
+        this.ring = new LogEvent[capacity];
+        this.writer = new Thread(this::drain, "log-writer");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    @Override
+    public void append(LogEvent event) {
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            if (tail - head == ring.length) {
+                dropped++;
+                if (event.level().compareTo(Level.WARN) < 0) {
+                    return;
+                }
+                // warnings matter more than the oldest message
+                ring[(int) (head % ring.length)] = null;
+                head++;
+            }
+            ring[(int) (tail % ring.length)] = event;
+            tail++;
+            notifyAll();
+        }
+    }
+
+    /**
+     * Waits, for a short while at most, until every event appended so far has been written.
+     */
+    @Override
+    public void flush() {
+        if (Thread.currentThread() == writer) {
+            return;
+        }
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(FLUSH_TIMEOUT_MILLIS);
+        synchronized (this) {
+            long upTo = tail;
+            while (completed < upTo && !closed) {
+                long remaining = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+                if (remaining <= 0) {
+                    break;
+                }
+                try {
+                    wait(remaining);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+            }
+        }
+        target.flush();
+    }
+
+    /**
+     * Gets the number of events dropped because the buffer was full.
+     *
+     * @return number of dropped events
+     */
+    public synchronized long getDropped() {
+        return dropped;
+    }
+
+    /**
+     * Writes what is left in the buffer and stops the writer thread.
+     */
+    @Override
+    public void close() {
+        flush();
+        synchronized (this) {
+            closed = true;
+            notifyAll();
+        }
+    }
+
+    /**
+     * Writer loop, takes every waiting event at once and writes them outside the lock.
+     */
+    private void drain() {
+        while (true) {
+            LogEvent[] batch;
+            long batchEnd;
+            long newlyDropped;
+            synchronized (this) {
+                while (head == tail && !closed) {
+                    try {
+                        wait();
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                }
+                if (head == tail) {
+                    return;
+                }
+                batch = new LogEvent[(int) (tail - head)];
+                for (int i = 0; i < batch.length; i++) {
+                    int slot = (int) ((head + i) % ring.length);
+                    batch[i] = ring[slot];
+                    ring[slot] = null;
+                }
+                head = tail;
+                batchEnd = tail;
+                newlyDropped = dropped - reportedDropped;
+                reportedDropped = dropped;
+            }
+
+            if (newlyDropped > 0) {
+                write(new LogEvent(System.currentTimeMillis(), Level.WARN, "AsyncAppender",
+                                   Thread.currentThread().getName(),
+                                   newlyDropped + " log messages were dropped, the buffer was full", null));
+            }
+            for (LogEvent event : batch) {
+                write(event);
+            }
+
+            synchronized (this) {
+                completed = batchEnd;
+                notifyAll();
+            }
+        }
+    }
+
+    /**
+     * Writes one event, making sure a failing target does not stop the writer.
+     *
+     * @param event the event
+     */
+    private void write(LogEvent event) {
+        try {
+            target.append(event);
+        } catch (RuntimeException e) {
+            // nowhere better to report it
+            e.printStackTrace();
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package skillzhunter.logging;
+
+import java.io.PrintStream;
+
+/**
+ * Writes events to the console, warnings and errors to standard error and the rest to
+ * standard output, the same split the application used before it had a logger.
+ * Writing is synchronous, so this is normally wrapped in an {@link AsyncAppender}.
+ */
+public final class ConsoleAppender implements Appender {
+
+    @Override
+    public void append(LogEvent event) {
+        PrintStream out = event.level().compareTo(Level.WARN) >= 0 ? System.err : System.out;
+        out.println(event.format());
+        if (event.error() != null) {
+            event.error().printStackTrace(out);
+        }
+    }
+
+    @Override
+    public void flush() {
+        System.out.flush();
+        System.err.flush();
+    }
+}
@@ -0,0 +1,36 @@
+package skillzhunter.logging;
+
+/**
+ * Severity of a log message, from least to most severe.
+ * A logger set to a level writes messages of that level and above.
+ */
+public enum Level {
+    /** Detailed tracing, off by default. */
+    DEBUG,
+    /** Normal progress messages. */
+    INFO,
+    /** Something went wrong but the application carries on. */
+    WARN,
+    /** An operation failed. */
+    ERROR,
+    /** Writes nothing, only used as a threshold. */
+    OFF;
+
+    /**
+     * Parses a level name, ignoring case.
+     *
+     * @param name the level name, may be null
+     * @param fallback level to use if the name is not a level
+     * @return the level
+     */
+    public static Level parse(String name, Level fallback) {
+        if (name == null) {
+            return fallback;
+        }
+        try {
+            return Level.valueOf(name.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            return fallback;
+        }
+    }
+}
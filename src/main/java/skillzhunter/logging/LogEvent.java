@@ -0,0 +1,40 @@
+package skillzhunter.logging;
+
+import java.time.Instant;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * One message to be written.
+ * The message text is already built, so an event can be written later on another thread.
+ *
+ * @param timeMillis when the message was logged
+ * @param level the severity
+ * @param logger name of the logger, usually the simple name of the class
+ * @param thread name of the thread that logged the message
+ * @param message the message text
+ * @param error exception logged with the message, may be null
+ */
+public record LogEvent(long timeMillis, Level level, String logger, String thread, String message,
+                       Throwable error) {
+    /** format of the time at the start of each line. */
+    private static final DateTimeFormatter TIME = DateTimeFormatter.ofPattern("HH:mm:ss.SSS");
+
+    /**
+     * Formats the event as one line, without the stack trace.
+     *
+     * @return e.g. "12:00:01.250 INFO  [main] Jobs - Saved 3 jobs"
+     */
+    public String format() {
+        LocalTime time = LocalTime.ofInstant(Instant.ofEpochMilli(timeMillis), ZoneId.systemDefault());
+        StringBuilder line = new StringBuilder(64 + message.length())
+            .append(TIME.format(time)).append(' ')
+            .append(level);
+        for (int i = level.name().length(); i < 5; i++) {
+            line.append(' ');
+        }
+        return line.append(" [").append(thread).append("] ").append(logger).append(" - ").append(message)
+            .toString();
+    }
+}
@@ -0,0 +1,210 @@
+package skillzhunter.logging;
+
+import java.util.function.Supplier;
+
+/**
+ * Small leveled logger used instead of printing to the console directly.
+ * Messages below the current level are discarded before anything is built: the
+ * {@link Supplier} overloads only run when the level is enabled, so debug output in a
+ * loop costs a level check when it is off. Enabled messages go to one shared
+ * {@link Appender}, by default an {@link AsyncAppender} writing to the console.
+ * The level is read from the {@value #LEVEL_PROPERTY} system property and defaults to INFO.
+ */
+public final class Logger {
+    /** System property with the initial level, e.g. -Dskillzhunter.log.level=debug. */
+    public static final String LEVEL_PROPERTY = "skillzhunter.log.level";
+
+    /** Events the default appender buffers before it starts dropping. */
+    private static final int DEFAULT_CAPACITY = 8192;
+
+    /** Lowest level that is written. */
+    private static volatile Level level = Level.parse(System.getProperty(LEVEL_PROPERTY), Level.INFO);
+
+    /** Where enabled events go. */
+    private static volatile Appender appender = new AsyncAppender(new ConsoleAppender(), DEFAULT_CAPACITY);
+
+    static {
+        // the writer is a daemon thread, so write what is left before the JVM exits
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> appender.flush(), "log-flush"));
+    }
+
+    /** Name written with every message. */
+    private final String name;
+
+    /**
+     * Creates a logger.
+     *
+     * @param name name written with every message
+     */
+    private Logger(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Gets a logger for a class.
+     *
+     * @param type the class that logs
+     * @return a logger named after the simple name of the class
+     */
+    public static Logger getLogger(Class<?> type) {
+        return new Logger(type.getSimpleName());
+    }
+
+    /**
+     * Sets the lowest level that is written, for every logger.
+     *
+     * @param newLevel the level
+     */
+    public static void setLevel(Level newLevel) {
+        level = newLevel;
+    }
+
+    /**
+     * Gets the lowest level that is written.
+     *
+     * @return the level
+     */
+    public static Level getLevel() {
+        return level;
+    }
+
+    /**
+     * Replaces the appender of every logger, after writing what the old one still holds.
+     *
+     * @param newAppender the appender
+     */
+    public static void setAppender(Appender newAppender) {
+        Appender old = appender;
+        appender = newAppender;
+        old.flush();
+    }
+
+    /**
+     * Waits until every message logged so far has been written.
+     */
+    public static void flush() {
+        appender.flush();
+    }
+
+    /**
+     * Checks if a level is written.
+     *
+     * @param messageLevel the level of a message
+     * @return true if messages of that level are written
+     */
+    public boolean isEnabled(Level messageLevel) {
+        return messageLevel.compareTo(level) >= 0 && messageLevel != Level.OFF;
+    }
+
+    /**
+     * Checks if debug messages are written.
+     *
+     * @return true if debug messages are written
+     */
+    public boolean isDebugEnabled() {
+        return isEnabled(Level.DEBUG);
+    }
+
+    /**
+     * Logs a debug message that is only built if debug messages are written.
+     *
+     * @param message builds the message
+     */
+    public void debug(Supplier<String> message) {
+        if (isEnabled(Level.DEBUG)) {
+            write(Level.DEBUG, message.get(), null);
+        }
+    }
+
+    /**
+     * Logs a debug message.
+     *
+     * @param message the message
+     */
+    public void debug(String message) {
+        log(Level.DEBUG, message, null);
+    }
+
+    /**
+     * Logs an info message that is only built if info messages are written.
+     *
+     * @param message builds the message
+     */
+    public void info(Supplier<String> message) {
+        if (isEnabled(Level.INFO)) {
+            write(Level.INFO, message.get(), null);
+        }
+    }
+
+    /**
+     * Logs an info message.
+     *
+     * @param message the message
+     */
+    public void info(String message) {
+        log(Level.INFO, message, null);
+    }
+
+    /**
+     * Logs a warning.
+     *
+     * @param message the message
+     */
+    public void warn(String message) {
+        log(Level.WARN, message, null);
+    }
+
+    /**
+     * Logs a warning with the exception that caused it.
+     *
+     * @param message the message
+     * @param error the exception, may be null
+     */
+    public void warn(String message, Throwable error) {
+        log(Level.WARN, message, error);
+    }
+
+    /**
+     * Logs an error.
+     *
+     * @param message the message
+     */
+    public void error(String message) {
+        log(Level.ERROR, message, null);
+    }
+
+    /**
+     * Logs an error with the exception that caused it.
+     *
+     * @param message the message
+     * @param error the exception, may be null
+     */
+    public void error(String message, Throwable error) {
+        log(Level.ERROR, message, error);
+    }
+
+    /**
+     * Logs a message at a level.
+     *
+     * @param messageLevel the level
+     * @param message the message
+     * @param error exception logged with the message, may be null
+     */
+    public void log(Level messageLevel, String message, Throwable error) {
+        if (isEnabled(messageLevel)) {
+            write(messageLevel, message, error);
+        }
+    }
+
+    /**
+     * Hands an enabled message to the appender.
+     *
+     * @param messageLevel the level
+     * @param message the message
+     * @param error exception logged with the message, may be null
+     */
+    private void write(Level messageLevel, String message, Throwable error) {
+        appender.append(new LogEvent(System.currentTimeMillis(), messageLevel, name,
+                                     Thread.currentThread().getName(), String.valueOf(message), error));
+    }
+}
@@ -0,0 +1,402 @@
+package skillzhunter.model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import skillzhunter.logging.Logger;
+import skillzhunter.model.formatters.DataFormatter;
+import skillzhunter.model.net.JobBoardApiResult;
+import skillzhunter.model.net.JobSource;
+import skillzhunter.model.net.OutboundScheduler;
+
+/**
+ * Background service that polls a set of searches and reports what changed.
+ * Every posting it has seen is remembered by id, so each poll only processes and stores
+ * the postings that are new or whose content changed, and the user is alerted through
+ * the usual {@link AlertListener} chain with a summary of the changes.
+ * Polls that find nothing new stay silent.
+ *
+ * <p>The saved jobs always count as known. They are read again from the model whenever its
+ * snapshot version changes, so jobs saved or removed after the start are taken into account.
+ * The other postings are only remembered for the session and at most {@link #DEFAULT_MAX_SEEN}
+ * of them, dropping the one seen longest ago; a dropped posting that shows up again, or any
+ * posting after a restart, is reported as new once more.</p>
+ */
+public final class FeedSyncService {
+    /** Logger for this class. */
+    private static final Logger LOG = Logger.getLogger(FeedSyncService.class);
+
+    /** Default number of postings that are not saved jobs remembered between polls. */
+    public static final int DEFAULT_MAX_SEEN = 10_000;
+
+    /** Where the searches are sent. */
+    private final JobSource source;
+
+    /** Searches to poll. */
+    private final List<Query> queries;
+
+    /** Receives a message for every poll that found changes, may be null. */
+    private final AlertListener listener;
+
+    /** Gets the saved jobs, may be null for none. */
+    private final Supplier<JobSnapshot> savedJobs;
+
+    /** Postings seen by the polls, by id, the one seen longest ago first. Guarded by itself. */
+    private final Map<Integer, Seen> seen;
+
+    /** The saved jobs by id, as of {@link #savedVersion}. Guarded by seen. */
+    private Map<Integer, JobRecord> saved = Map.of();
+
+    /** Version of the snapshot {@link #saved} was read from, -1 before the first. Guarded by seen. */
+    private long savedVersion = -1;
+
+    /** Runs the polls, null while stopped. Guarded by this. */
+    private ScheduledExecutorService scheduler;
+
+    /**
+     * A search to poll.
+     *
+     * @param query The search query.
+     * @param numberOfResults The maximum number of results to return.
+     * @param location The location to search for jobs in, may be null.
+     * @param industry The industry to filter jobs by, may be null.
+     */
+    public record Query(String query, Integer numberOfResults, String location, String industry) {
+    }
+
+    /**
+     * A posting seen by a poll.
+     *
+     * @param received the posting as the source returned it, to diff the next poll against
+     * @param processed the posting after processing, with the user's rating and comments if it was saved
+     */
+    private record Seen(JobRecord received, JobRecord processed) {
+    }
+
+    /**
+     * Creates a sync service remembering up to {@link #DEFAULT_MAX_SEEN} postings.
+     *
+     * @param source where the searches are sent
+     * @param queries searches to poll
+     * @param savedJobs gets the saved jobs, such as {@code model::getJobSnapshot}, may be null for none
+     * @param listener receives a message for every poll that found changes, may be null
+     */
+    public FeedSyncService(JobSource source, List<Query> queries, Supplier<JobSnapshot> savedJobs,
+                           AlertListener listener) {
+        this(source, queries, savedJobs, listener, DEFAULT_MAX_SEEN);
+    }
+
+    /**
+     * Creates a sync service.
+     *
+     * @param source where the searches are sent
+     * @param queries searches to poll
+     * @param savedJobs gets the saved jobs, such as {@code model::getJobSnapshot}, may be null for none
+     * @param listener receives a message for every poll that found changes, may be null
+     * @param maxSeen most postings that are not saved jobs remembered between polls
+     */
+    public FeedSyncService(JobSource source, List<Query> queries, Supplier<JobSnapshot> savedJobs,
+                           AlertListener listener, int maxSeen) {
+        if (maxSeen < 1) {
+            throw new IllegalArgumentException("maxSeen must be at least 1");
+        }
+        this.source = source;
+        this.queries = List.copyOf(queries);
+        this.savedJobs = savedJobs;
+        this.listener = listener;
+        this.seen = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, Seen> eldest) {
+                return size() > maxSeen;
+            }
+        };
+    }
+
+    /**
+     * Starts polling every search on a background thread, the first time right away.
+     * Does nothing if already started.
+     *
+     * @param period time between two polls
+     * @param unit unit of the period
+     */
+    public synchronized void start(long period, TimeUnit unit) {
+        if (scheduler != null) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "feed-sync");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::syncQuietly, 0, period, unit);
+    }
+
+    /**
+     * Stops polling. A poll that is running is allowed to finish.
+     */
+    public synchronized void stop() {
+        if (scheduler != null) {
+            scheduler.shutdown();
+            scheduler = null;
+        }
+    }
+
+    /**
+     * Checks if the service is polling.
+     *
+     * @return true between {@link #start} and {@link #stop}
+     */
+    public synchronized boolean isRunning() {
+        return scheduler != null;
+    }
+
+    /**
+     * Polls every search once, on the calling thread.
+     *
+     * @return the changes found by each search that found any
+     */
+    public List<Delta> syncNow() {
+        List<Delta> deltas = new ArrayList<>();
+        for (Query query : queries) {
+            Delta delta = sync(query);
+            if (!delta.isEmpty()) {
+                deltas.add(delta);
+                if (listener != null) {
+                    listener.onAlert(delta.toMessage());
+                }
+            }
+        }
+        return deltas;
+    }
+
+    /**
+     * Gets the number of known postings, the saved jobs and the postings remembered from the polls.
+     *
+     * @return number of known postings
+     */
+    public int getKnownCount() {
+        return getKnownJobs().size();
+    }
+
+    /**
+     * Gets the known postings, the saved jobs and the postings remembered from the polls.
+     *
+     * @return copy of the known postings, the saved jobs first
+     */
+    public List<JobRecord> getKnownJobs() {
+        synchronized (seen) {
+            refreshSaved();
+            Map<Integer, JobRecord> known = new LinkedHashMap<>(saved);
+            for (Map.Entry<Integer, Seen> entry : seen.entrySet()) {
+                known.put(entry.getKey(), entry.getValue().processed());
+            }
+            return new ArrayList<>(known.values());
+        }
+    }
+
+    /**
+     * Polls one search and remembers the new and changed postings.
+     *
+     * @param query the search
+     * @return the changes
+     */
+    private Delta sync(Query query) {
+        // polling is background work, it must not hold up the user's searches
+        JobBoardApiResult result = OutboundScheduler.callWithPriority(OutboundScheduler.Priority.PREFETCH,
+            () -> source.search(query.query(), query.numberOfResults(), query.location(), query.industry()));
+        if (result.isFailure()) {
+            LOG.warn("Feed sync for " + query.query() + " failed: " + result.getErrorMessage());
+            return new Delta(query, Collections.emptyList(), Collections.emptyList());
+        }
+
+        List<JobRecord> added = new ArrayList<>();
+        List<JobRecord> changed = new ArrayList<>();
+        synchronized (seen) {
+            refreshSaved();
+            for (JobRecord job : result.getJobs()) {
+                Seen before = seen.get(job.id());
+                JobRecord savedJob = saved.get(job.id());
+                JobRecord baseline = before != null ? before.received() : savedJob;
+                if (baseline != null && sameContent(baseline, job)) {
+                    continue;
+                }
+                // only new or changed postings are processed and stored
+                JobRecord clean = DataFormatter.processJobHtml(job);
+                if (baseline == null) {
+                    seen.put(job.id(), new Seen(job, clean));
+                    added.add(clean);
+                } else {
+                    // keep the user's rating and comments on a posting that changed, the saved ones if any
+                    JobRecord previous = savedJob != null ? savedJob : before.processed();
+                    seen.put(job.id(), new Seen(job, withUserFields(clean, previous)));
+                    changed.add(clean);
+                }
+            }
+        }
+        return new Delta(query, added, changed);
+    }
+
+    /**
+     * Reads the saved jobs again if the model's snapshot version changed since the last read.
+     * Must be called holding the lock on {@link #seen}.
+     */
+    private void refreshSaved() {
+        if (savedJobs == null) {
+            return;
+        }
+        JobSnapshot snapshot = savedJobs.get();
+        if (snapshot == null || snapshot.version() == savedVersion) {
+            return;
+        }
+        Map<Integer, JobRecord> byId = new LinkedHashMap<>();
+        for (JobRecord job : snapshot.jobs()) {
+            byId.put(job.id(), job);
+        }
+        saved = byId;
+        savedVersion = snapshot.version();
+    }
+
+    /**
+     * Runs a scheduled poll, making sure an error does not cancel the schedule.
+     */
+    private void syncQuietly() {
+        try {
+            syncNow();
+        } catch (RuntimeException e) {
+            LOG.error("Feed sync failed: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Compares the job board content of two postings, ignoring the user's rating and comments.
+     *
+     * @param a first posting
+     * @param b second posting
+     * @return true if the job board content is the same
+     */
+    private static boolean sameContent(JobRecord a, JobRecord b) {
+        return a.id() == b.id()
+            && Objects.equals(a.url(), b.url())
+            && Objects.equals(a.jobSlug(), b.jobSlug())
+            && Objects.equals(a.jobTitle(), b.jobTitle())
+            && Objects.equals(a.companyName(), b.companyName())
+            && Objects.equals(a.companyLogo(), b.companyLogo())
+            && Objects.equals(a.jobIndustry(), b.jobIndustry())
+            && Objects.equals(a.jobType(), b.jobType())
+            && Objects.equals(a.jobGeo(), b.jobGeo())
+            && Objects.equals(a.jobLevel(), b.jobLevel())
+            // the raw text is compared first, so unchanged postings are not decoded
+            && (Objects.equals(a.rawJobExcerpt(), b.rawJobExcerpt()) || Objects.equals(a.jobExcerpt(), b.jobExcerpt()))
+            && (Objects.equals(a.rawJobDescription(), b.rawJobDescription())
+                || Objects.equals(a.jobDescription(), b.jobDescription()))
+            && Objects.equals(a.pubDate(), b.pubDate())
+            && a.annualSalaryMin() == b.annualSalaryMin()
+            && a.annualSalaryMax() == b.annualSalaryMax()
+            && Objects.equals(a.salaryCurrency(), b.salaryCurrency());
+    }
+
+    /**
+     * Copies the rating and comments of one posting onto another.
+     *
+     * @param job posting with the new content
+     * @param previous posting with the user's rating and comments
+     * @return the posting with the new content and the user's fields
+     */
+    private static JobRecord withUserFields(JobRecord job, JobRecord previous) {
+        return new JobRecord(job.id(), job.url(), job.jobSlug(), job.jobTitle(), job.companyName(),
+                             job.companyLogo(), job.jobIndustry(), job.jobType(), job.jobGeo(), job.jobLevel(),
+                             job.rawJobExcerpt(), job.rawJobDescription(), job.pubDate(), job.annualSalaryMin(),
+                             job.annualSalaryMax(), job.salaryCurrency(), previous.rating(), previous.comments());
+    }
+
+    /**
+     * Changes found by one poll of one search.
+     */
+    public static final class Delta {
+        /** The search that was polled. */
+        private final Query query;
+
+        /** Postings seen for the first time. */
+        private final List<JobRecord> added;
+
+        /** Known postings whose content changed. */
+        private final List<JobRecord> changed;
+
+        /**
+         * Creates a delta.
+         *
+         * @param query the search that was polled
+         * @param added postings seen for the first time
+         * @param changed known postings whose content changed
+         */
+        public Delta(Query query, List<JobRecord> added, List<JobRecord> changed) {
+            this.query = query;
+            this.added = Collections.unmodifiableList(added);
+            this.changed = Collections.unmodifiableList(changed);
+        }
+
+        /**
+         * Gets the search that was polled.
+         *
+         * @return the search
+         */
+        public Query getQuery() {
+            return query;
+        }
+
+        /**
+         * Gets the postings seen for the first time.
+         *
+         * @return the new postings
+         */
+        public List<JobRecord> getAdded() {
+            return added;
+        }
+
+        /**
+         * Gets the known postings whose content changed.
+         *
+         * @return the changed postings
+         */
+        public List<JobRecord> getChanged() {
+            return changed;
+        }
+
+        /**
+         * Checks if the poll found anything.
+         *
+         * @return true if there are no new or changed postings
+         */
+        public boolean isEmpty() {
+            return added.isEmpty() && changed.isEmpty();
+        }
+
+        /**
+         * Builds the alert message for the user.
+         *
+         * @return a short summary of the changes
+         */
+        public String toMessage() {
+            StringBuilder message = new StringBuilder("Job feed \"")
+                .append(query.query() == null ? "all jobs" : query.query()).append("\": ");
+            if (!added.isEmpty()) {
+                message.append(added.size()).append(added.size() == 1 ? " new posting" : " new postings");
+            }
+            if (!changed.isEmpty()) {
+                if (!added.isEmpty()) {
+                    message.append(", ");
+                }
+                message.append(changed.size()).append(changed.size() == 1 ? " updated posting" : " updated postings");
+            }
+            return message.append('.').toString();
+        }
+    }
+}
@@ -0,0 +1,531 @@
+package skillzhunter.model;
+
+import java.nio.file.Path;
+import java.sql.Array;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+
+import skillzhunter.logging.Logger;
+
+/**
+ * Saved jobs kept in an embedded H2 database, in process and without a server.
+ * Only the jobs a lookup or query returns are loaded. Filters, sorting and paging of a
+ * {@link JobQuery} run as SQL against indexes on id, company, industry, publication date and
+ * salary, so the saved jobs can grow to far more than fit on the heap. Reading all jobs, as
+ * the saved jobs table does, still loads them all, once per change.
+ *
+ * <p>The industries of a job are kept twice: in order with the job, and one row each in
+ * {@code saved_job_industries} where they are indexed. The excerpt and description are kept
+ * as they came, so they are still decoded on first access.</p>
+ *
+ * <p>Safe to share between threads; calls take turns on the one connection.</p>
+ */
+public final class H2JobRepository implements JobRepository {
+    /** Logger for this class. */
+    private static final Logger LOG = Logger.getLogger(H2JobRepository.class);
+
+    /** Statements creating the tables and indexes, if they are not there yet. */
+    private static final String[] SCHEMA = {
+        "CREATE TABLE IF NOT EXISTS saved_jobs ("
+            + "id INT PRIMARY KEY, saved_order BIGINT NOT NULL, url VARCHAR, job_slug VARCHAR, job_title VARCHAR, "
+            + "company_name VARCHAR, company_logo VARCHAR, job_industry VARCHAR ARRAY, job_type VARCHAR ARRAY, "
+            + "job_geo VARCHAR, job_level VARCHAR, job_excerpt CLOB, job_description CLOB, pub_date VARCHAR, "
+            + "annual_salary_min INT NOT NULL, annual_salary_max INT NOT NULL, salary_currency VARCHAR, "
+            + "rating INT NOT NULL, comments VARCHAR)",
+        "CREATE TABLE IF NOT EXISTS saved_job_industries ("
+            + "job_id INT NOT NULL REFERENCES saved_jobs(id) ON DELETE CASCADE, industry VARCHAR NOT NULL, "
+            + "PRIMARY KEY (job_id, industry))",
+        "CREATE UNIQUE INDEX IF NOT EXISTS saved_jobs_saved_order ON saved_jobs(saved_order)",
+        "CREATE INDEX IF NOT EXISTS saved_jobs_title ON saved_jobs(job_title, saved_order)",
+        "CREATE INDEX IF NOT EXISTS saved_jobs_company ON saved_jobs(company_name, saved_order)",
+        "CREATE INDEX IF NOT EXISTS saved_jobs_pub_date ON saved_jobs(pub_date)",
+        "CREATE INDEX IF NOT EXISTS saved_jobs_salary ON saved_jobs(annual_salary_max)",
+        "CREATE INDEX IF NOT EXISTS saved_job_industries_industry ON saved_job_industries(industry, job_id)",
+    };
+
+    /** Columns read into a job, in the order of the record components. */
+    private static final String COLUMNS = "id, url, job_slug, job_title, company_name, company_logo, job_industry, "
+        + "job_type, job_geo, job_level, job_excerpt, job_description, pub_date, annual_salary_min, "
+        + "annual_salary_max, salary_currency, rating, comments";
+
+    /** Inserts a new job, the id and saved order come last. */
+    private static final String INSERT = "INSERT INTO saved_jobs (url, job_slug, job_title, company_name, "
+        + "company_logo, job_industry, job_type, job_geo, job_level, job_excerpt, job_description, pub_date, "
+        + "annual_salary_min, annual_salary_max, salary_currency, rating, comments, saved_order, id) "
+        + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    /** Replaces a saved job in place, the id comes last. */
+    private static final String UPDATE = "UPDATE saved_jobs SET url = ?, job_slug = ?, job_title = ?, "
+        + "company_name = ?, company_logo = ?, job_industry = ?, job_type = ?, job_geo = ?, job_level = ?, "
+        + "job_excerpt = ?, job_description = ?, pub_date = ?, annual_salary_min = ?, annual_salary_max = ?, "
+        + "salary_currency = ?, rating = ?, comments = ? WHERE id = ?";
+
+    /** the connection, guarded by this.*/
+    private final Connection connection;
+
+    /** position given to the next new job, guarded by this.*/
+    private long nextPosition;
+
+    /** version of the jobs, counts every change, guarded by this.*/
+    private long version = 1;
+
+    /** the last snapshot handed out, guarded by this.*/
+    private JobSnapshot snapshot = JobSnapshot.EMPTY;
+
+    /**
+     * Opens a repository on a database URL, creating the tables it needs.
+     *
+     * @param url the JDBC URL, such as {@code jdbc:h2:mem:jobs} for a database that is not kept
+     * @throws RuntimeException if the database cannot be opened
+     */
+    public H2JobRepository(String url) {
+        try {
+            this.connection = DriverManager.getConnection(url);
+            connection.setAutoCommit(false);
+            try (Statement statement = connection.createStatement()) {
+                for (String sql : SCHEMA) {
+                    statement.execute(sql);
+                }
+                try (ResultSet rs = statement.executeQuery(
+                        "SELECT COALESCE(MAX(saved_order), 0) + 1 FROM saved_jobs")) {
+                    rs.next();
+                    nextPosition = rs.getLong(1);
+                }
+            }
+            connection.commit();
+        } catch (SQLException e) {
+            throw new RuntimeException("Could not open saved jobs database " + url + ": " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Opens a repository on a database file, creating it if needed.
+     *
+     * @param file the database file name without the {@code .mv.db} H2 adds, such as {@code data/SavedJobs}
+     * @return the repository
+     * @throws RuntimeException if the database cannot be opened
+     */
+    public static H2JobRepository open(Path file) {
+        // closed by the owner on shutdown, not by the H2 shutdown hook that may run first
+        return new H2JobRepository("jdbc:h2:file:" + file.toAbsolutePath() + ";DB_CLOSE_ON_EXIT=FALSE");
+    }
+
+    @Override
+    public synchronized JobRecord put(JobRecord job) {
+        return run(() -> {
+            JobRecord previous = putLocked(job);
+            version++;
+            return previous;
+        });
+    }
+
+    @Override
+    public synchronized JobRecord update(int id, String comments, int rating) {
+        return run(() -> {
+            try (PreparedStatement statement = connection.prepareStatement(
+                    "UPDATE saved_jobs SET comments = ?, rating = ? WHERE id = ?")) {
+                statement.setString(1, comments);
+                statement.setInt(2, rating);
+                statement.setInt(3, id);
+                if (statement.executeUpdate() == 0) {
+                    return null;
+                }
+            }
+            version++;
+            return getLocked(id);
+        });
+    }
+
+    @Override
+    public synchronized JobRecord get(int id) {
+        return run(() -> getLocked(id));
+    }
+
+    @Override
+    public synchronized JobRecord remove(int id) {
+        return run(() -> {
+            JobRecord job = getLocked(id);
+            if (job != null) {
+                try (PreparedStatement statement = connection.prepareStatement("DELETE FROM saved_jobs WHERE id = ?")) {
+                    statement.setInt(1, id);
+                    statement.executeUpdate();
+                }
+                version++;
+            }
+            return job;
+        });
+    }
+
+    @Override
+    public synchronized JobRecord firstByTitle(String title) {
+        if (title == null) {
+            return null;
+        }
+        return run(() -> {
+            try (PreparedStatement statement = connection.prepareStatement(
+                    "SELECT " + COLUMNS + " FROM saved_jobs WHERE job_title = ? ORDER BY saved_order "
+                    + "FETCH FIRST 1 ROWS ONLY")) {
+                statement.setString(1, title);
+                List<JobRecord> jobs = read(statement);
+                return jobs.isEmpty() ? null : jobs.get(0);
+            }
+        });
+    }
+
+    /**
+     * Gets the page of saved jobs a query asks for, letting the database filter, sort and page them.
+     *
+     * @param query the filters, order and page
+     * @return the matching jobs on the page, in order
+     */
+    @Override
+    public synchronized List<JobRecord> find(JobQuery query) {
+        List<Object> parameters = new ArrayList<>();
+        StringBuilder sql = new StringBuilder("SELECT ").append(COLUMNS).append(" FROM saved_jobs");
+        where(query, sql, parameters);
+        sql.append(" ORDER BY ");
+        if (query.getSort() == JobQuery.Sort.SAVED) {
+            sql.append(query.isDescending() ? "saved_order DESC" : "saved_order");
+        } else {
+            // as JobQuery#comparator, missing values first and ties in the saved order
+            sql.append(column(query.getSort()))
+                .append(query.isDescending() ? " DESC NULLS LAST" : " NULLS FIRST")
+                .append(", saved_order");
+        }
+        if (query.getOffset() > 0) {
+            sql.append(" OFFSET ? ROWS");
+            parameters.add(query.getOffset());
+        }
+        if (query.getLimit() != Integer.MAX_VALUE) {
+            sql.append(" FETCH FIRST ? ROWS ONLY");
+            parameters.add(query.getLimit());
+        }
+        return run(() -> {
+            try (PreparedStatement statement = prepare(sql.toString(), parameters)) {
+                return read(statement);
+            }
+        });
+    }
+
+    @Override
+    public synchronized int count(JobQuery query) {
+        List<Object> parameters = new ArrayList<>();
+        StringBuilder sql = new StringBuilder("SELECT COUNT(*) FROM saved_jobs");
+        where(query, sql, parameters);
+        return run(() -> {
+            try (PreparedStatement statement = prepare(sql.toString(), parameters);
+                 ResultSet rs = statement.executeQuery()) {
+                rs.next();
+                return rs.getInt(1);
+            }
+        });
+    }
+
+    /**
+     * Gets a snapshot of all saved jobs, loading them all on the first call after a change.
+     *
+     * @return the snapshot of the current version
+     */
+    @Override
+    public synchronized JobSnapshot snapshot() {
+        if (snapshot.version() != version) {
+            List<JobRecord> jobs = run(() -> {
+                try (PreparedStatement statement = connection.prepareStatement(
+                        "SELECT " + COLUMNS + " FROM saved_jobs ORDER BY saved_order")) {
+                    return read(statement);
+                }
+            });
+            snapshot = new JobSnapshot(version, Collections.unmodifiableList(jobs));
+        }
+        return snapshot;
+    }
+
+    @Override
+    public synchronized long version() {
+        return version;
+    }
+
+    @Override
+    public synchronized int size() {
+        return count(JobQuery.ALL);
+    }
+
+    @Override
+    public synchronized void replaceAll(Collection<JobRecord> jobs) {
+        run(() -> {
+            clearLocked();
+            for (JobRecord job : jobs) {
+                putLocked(job);
+            }
+            version++;
+            return null;
+        });
+    }
+
+    @Override
+    public synchronized void clear() {
+        run(() -> {
+            clearLocked();
+            version++;
+            return null;
+        });
+    }
+
+    /**
+     * Closes the database. A failure is logged, the database recovers when it is opened again.
+     */
+    @Override
+    public synchronized void close() {
+        try {
+            connection.close();
+        } catch (SQLException e) {
+            LOG.error("Could not close the saved jobs database: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Runs database work as one transaction, rolling it back if it fails.
+     *
+     * @param work the work
+     * @param <T> type of the result
+     * @return the result of the work
+     * @throws RuntimeException if the work fails
+     */
+    private <T> T run(Work<T> work) {
+        try {
+            try {
+                T result = work.run();
+                connection.commit();
+                return result;
+            } catch (SQLException | RuntimeException e) {
+                connection.rollback();
+                throw e;
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Saved jobs database failed: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Saves or replaces a job, inside a transaction.
+     *
+     * @param job the job
+     * @return the job it replaced, or null if the id was new
+     * @throws SQLException if the database fails
+     */
+    private JobRecord putLocked(JobRecord job) throws SQLException {
+        JobRecord previous = getLocked(job.id());
+        try (PreparedStatement statement = connection.prepareStatement(previous == null ? INSERT : UPDATE)) {
+            int i = 1;
+            statement.setString(i++, job.url());
+            statement.setString(i++, job.jobSlug());
+            statement.setString(i++, job.jobTitle());
+            statement.setString(i++, job.companyName());
+            statement.setString(i++, job.companyLogo());
+            statement.setArray(i++, array(job.jobIndustry()));
+            statement.setArray(i++, array(job.jobType()));
+            statement.setString(i++, job.jobGeo());
+            statement.setString(i++, job.jobLevel());
+            statement.setString(i++, job.rawJobExcerpt());
+            statement.setString(i++, job.rawJobDescription());
+            statement.setString(i++, job.pubDate());
+            statement.setInt(i++, job.annualSalaryMin());
+            statement.setInt(i++, job.annualSalaryMax());
+            statement.setString(i++, job.salaryCurrency());
+            statement.setInt(i++, job.rating());
+            statement.setString(i++, job.comments());
+            if (previous == null) {
+                statement.setLong(i++, nextPosition++);
+            }
+            statement.setInt(i, job.id());
+            statement.executeUpdate();
+        }
+
+        try (PreparedStatement statement = connection.prepareStatement(
+                "DELETE FROM saved_job_industries WHERE job_id = ?")) {
+            statement.setInt(1, job.id());
+            statement.executeUpdate();
+        }
+        if (job.jobIndustry() != null && !job.jobIndustry().isEmpty()) {
+            try (PreparedStatement statement = connection.prepareStatement(
+                    "INSERT INTO saved_job_industries (job_id, industry) VALUES (?, ?)")) {
+                for (String industry : new LinkedHashSet<>(job.jobIndustry())) {
+                    if (industry != null) {
+                        statement.setInt(1, job.id());
+                        statement.setString(2, industry);
+                        statement.addBatch();
+                    }
+                }
+                statement.executeBatch();
+            }
+        }
+        return previous;
+    }
+
+    /**
+     * Gets a saved job by id, inside a transaction.
+     *
+     * @param id the job id
+     * @return the job, or null if it is not saved
+     * @throws SQLException if the database fails
+     */
+    private JobRecord getLocked(int id) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(
+                "SELECT " + COLUMNS + " FROM saved_jobs WHERE id = ?")) {
+            statement.setInt(1, id);
+            List<JobRecord> jobs = read(statement);
+            return jobs.isEmpty() ? null : jobs.get(0);
+        }
+    }
+
+    /**
+     * Removes all jobs, inside a transaction.
+     *
+     * @throws SQLException if the database fails
+     */
+    private void clearLocked() throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.executeUpdate("DELETE FROM saved_job_industries");
+            statement.executeUpdate("DELETE FROM saved_jobs");
+        }
+        nextPosition = 1;
+    }
+
+    /**
+     * Adds the filters of a query as a WHERE clause.
+     *
+     * @param query the query
+     * @param sql the statement so far
+     * @param parameters gets the values of the filters
+     */
+    private static void where(JobQuery query, StringBuilder sql, List<Object> parameters) {
+        List<String> conditions = new ArrayList<>();
+        if (query.getCompanyName() != null) {
+            conditions.add("company_name = ?");
+            parameters.add(query.getCompanyName());
+        }
+        if (query.getIndustry() != null) {
+            conditions.add("id IN (SELECT job_id FROM saved_job_industries WHERE industry = ?)");
+            parameters.add(query.getIndustry());
+        }
+        if (query.getMinSalary() != null) {
+            conditions.add("annual_salary_max >= ?");
+            parameters.add(query.getMinSalary());
+        }
+        if (query.getPublishedSince() != null) {
+            conditions.add("pub_date >= ?");
+            parameters.add(query.getPublishedSince());
+        }
+        if (!conditions.isEmpty()) {
+            sql.append(" WHERE ").append(String.join(" AND ", conditions));
+        }
+    }
+
+    /**
+     * Gets the column a query sorts by.
+     *
+     * @param sort the sort order, not {@link JobQuery.Sort#SAVED}
+     * @return the column name
+     */
+    private static String column(JobQuery.Sort sort) {
+        return switch (sort) {
+            case PUB_DATE -> "pub_date";
+            case SALARY -> "annual_salary_max";
+            case COMPANY -> "company_name";
+            case TITLE -> "job_title";
+            case RATING -> "rating";
+            case SAVED -> "saved_order";
+        };
+    }
+
+    /**
+     * Prepares a statement and sets its parameters.
+     *
+     * @param sql the statement
+     * @param parameters the values, in order
+     * @return the statement
+     * @throws SQLException if the statement cannot be prepared
+     */
+    private PreparedStatement prepare(String sql, List<Object> parameters) throws SQLException {
+        PreparedStatement statement = connection.prepareStatement(sql);
+        for (int i = 0; i < parameters.size(); i++) {
+            statement.setObject(i + 1, parameters.get(i));
+        }
+        return statement;
+    }
+
+    /**
+     * Runs a query for jobs.
+     *
+     * @param statement the query, selecting {@link #COLUMNS}
+     * @return the jobs in the order of the rows
+     * @throws SQLException if the query fails
+     */
+    private static List<JobRecord> read(PreparedStatement statement) throws SQLException {
+        List<JobRecord> jobs = new ArrayList<>();
+        try (ResultSet rs = statement.executeQuery()) {
+            while (rs.next()) {
+                jobs.add(new JobRecord(rs.getInt(1), rs.getString(2), rs.getString(3), rs.getString(4),
+                    rs.getString(5), rs.getString(6), list(rs.getArray(7)), list(rs.getArray(8)), rs.getString(9),
+                    rs.getString(10), rs.getString(11), rs.getString(12), rs.getString(13), rs.getInt(14),
+                    rs.getInt(15), rs.getString(16), rs.getInt(17), rs.getString(18)));
+            }
+        }
+        return jobs;
+    }
+
+    /**
+     * Converts a list to an SQL array.
+     *
+     * @param values the list, may be null
+     * @return the array, or null for null
+     * @throws SQLException if the array cannot be created
+     */
+    private Array array(List<String> values) throws SQLException {
+        return values == null ? null : connection.createArrayOf("VARCHAR", values.toArray());
+    }
+
+    /**
+     * Converts an SQL array to a list.
+     *
+     * @param array the array, may be null
+     * @return the list, or null for null
+     * @throws SQLException if the array cannot be read
+     */
+    private static List<String> list(Array array) throws SQLException {
+        if (array == null) {
+            return null;
+        }
+        Object[] values = (Object[]) array.getArray();
+        List<String> list = new ArrayList<>(values.length);
+        for (Object value : values) {
+            list.add((String) value);
+        }
+        return list;
+    }
+
+    /**
+     * Database work run by {@link #run(Work)}.
+     *
+     * @param <T> type of the result
+     */
+    @FunctionalInterface
+    private interface Work<T> {
+        /**
+         * Does the work.
+         *
+         * @return the result
+         * @throws SQLException if the database fails
+         */
+        T run() throws SQLException;
+    }
+}
@@ -2,6 +2,7 @@ package skillzhunter.model;
 
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Interface for the model in the MVC architecture.
@@ -38,12 +39,59 @@ public interface IModel {
      */
     JobRecord getJobRecord(String jobTitle);
 
+    /**
+     * Gets a saved job record by id.
+     * @param id ID of the job to get
+     * @return The job record with the specified id, or null if it is not saved
+     */
+    JobRecord getJobRecordById(int id);
+
+    /**
+     * Gets the saved job records at a company.
+     * @param companyName Name of the company
+     * @return The job records at the company, in the order they were saved
+     */
+    List<JobRecord> getJobRecordsByCompany(String companyName);
+
+    /**
+     * Gets the saved job records in an industry.
+     * @param industry Name of the industry
+     * @return The job records in the industry, in the order they were saved
+     */
+    List<JobRecord> getJobRecordsByIndustry(String industry);
+
+    /**
+     * Gets a page of saved job records, filtered and sorted where the jobs are kept.
+     * @param query Filters, order and page
+     * @return The job records on the page, in order
+     */
+    List<JobRecord> findSavedJobs(JobQuery query);
+
+    /**
+     * Counts the saved job records passing the filters of a query.
+     * @param query Filters, the page is ignored
+     * @return The number of matching job records
+     */
+    int countSavedJobs(JobQuery query);
+
+    /**
+     * Gets the version of the saved job records without loading them.
+     * @return The version, which goes up with every change
+     */
+    long getSavedJobsVersion();
+
     /**
      * Gets all job records.
-     * @return List of all job records
+     * @return Unmodifiable list of all job records, shared with other readers until the jobs change
      */
     List<JobRecord> getJobRecords();
 
+    /**
+     * Gets a snapshot of all job records with its version.
+     * @return The current snapshot, the same instance until the jobs change
+     */
+    JobSnapshot getJobSnapshot();
+
     /**
      * Removes a job from the model.
      * @param id ID of the job to remove
@@ -69,6 +117,43 @@ public interface IModel {
      */
     List<JobRecord> searchJobs(String query, Integer numberOfResults, String location, String industry);
 
+    /**
+     * Searches for jobs without blocking the calling thread.
+     * Cancelling the returned future cancels the underlying request.
+     * @param query The search query
+     * @param numberOfResults The maximum number of results to return
+     * @param location The location to search for jobs in
+     * @param industry The industry to filter jobs by
+     * @return Future completing with the job records matching the search criteria
+     */
+    CompletableFuture<List<JobRecord>> searchJobsAsync(String query, Integer numberOfResults,
+                                                       String location, String industry);
+
+    /**
+     * Searches for jobs matching any combination of several queries, locations and industries.
+     * The searches run in parallel and duplicate jobs are only returned once.
+     * @param queries The search queries
+     * @param numberOfResults The maximum number of results to return per search
+     * @param locations The locations to search for jobs in
+     * @param industries The industries to filter jobs by
+     * @return List of job records matching any of the searches
+     */
+    List<JobRecord> searchJobsMulti(List<String> queries, Integer numberOfResults,
+                                    List<String> locations, List<String> industries);
+
+    /**
+     * Searches for jobs matching any combination of several queries, locations and industries
+     * without blocking the calling thread.
+     * Cancelling the returned future cancels the searches still running.
+     * @param queries The search queries
+     * @param numberOfResults The maximum number of results to return per search
+     * @param locations The locations to search for jobs in
+     * @param industries The industries to filter jobs by
+     * @return Future completing with the job records matching any of the searches
+     */
+    CompletableFuture<List<JobRecord>> searchJobsMultiAsync(List<String> queries, Integer numberOfResults,
+                                                            List<String> locations, List<String> industries);
+
     /**
      * Saves the jobs to a CSV file.
      * @param fileName Name of the CSV file to save to
@@ -0,0 +1,305 @@
+package skillzhunter.model;
+
+import java.util.Comparator;
+import java.util.function.Function;
+
+/**
+ * A query over the saved jobs: filters, an order and a page.
+ * Every {@link JobRepository} answers it the same way, a database by running it as SQL and
+ * the in-memory store by filtering and sorting its jobs. Create one with {@link #builder()}.
+ *
+ * <p>Filters that are not set match every job. Jobs that tie on the sort key, or all jobs
+ * when sorting by {@link Sort#SAVED}, keep the order they were saved in. Missing values sort
+ * before any other value, so after them when descending.</p>
+ */
+public final class JobQuery {
+    /** Query for every saved job in the order they were saved. */
+    public static final JobQuery ALL = builder().build();
+
+    /** Exact company name the jobs must be at, or null for any. */
+    private final String companyName;
+
+    /** Industry the jobs must be in, or null for any. */
+    private final String industry;
+
+    /** Lowest top of the salary range, or null for any salary. */
+    private final Integer minSalary;
+
+    /** Earliest publication date, compared as text like the dates themselves, or null for any. */
+    private final String publishedSince;
+
+    /** Order of the jobs. */
+    private final Sort sort;
+
+    /** Whether the order is reversed. */
+    private final boolean descending;
+
+    /** Number of matching jobs skipped before the page. */
+    private final int offset;
+
+    /** Most jobs on the page. */
+    private final int limit;
+
+    /**
+     * Orders the saved jobs can be returned in.
+     */
+    public enum Sort {
+        /** The order the jobs were saved in. */
+        SAVED(null),
+        /** Publication date. */
+        PUB_DATE(JobRecord::pubDate),
+        /** Top of the salary range. */
+        SALARY(JobRecord::annualSalaryMax),
+        /** Company name. */
+        COMPANY(JobRecord::companyName),
+        /** Job title. */
+        TITLE(JobRecord::jobTitle),
+        /** Rating given by the user. */
+        RATING(JobRecord::rating);
+
+        /** gets the sort key of a job, null for the saved order.*/
+        private final Function<JobRecord, ? extends Comparable<?>> key;
+
+        /**
+         * Creates a sort order.
+         * @param key gets the sort key of a job, null for the saved order
+         */
+        Sort(Function<JobRecord, ? extends Comparable<?>> key) {
+            this.key = key;
+        }
+    }
+
+    /**
+     * Creates a query from a builder.
+     * @param builder the builder
+     */
+    private JobQuery(Builder builder) {
+        this.companyName = builder.companyName;
+        this.industry = builder.industry;
+        this.minSalary = builder.minSalary;
+        this.publishedSince = builder.publishedSince;
+        this.sort = builder.sort;
+        this.descending = builder.descending;
+        this.offset = builder.offset;
+        this.limit = builder.limit;
+    }
+
+    /**
+     * Creates a builder for a query matching every job in the saved order.
+     * @return a new builder
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Checks if a job passes the filters of this query.
+     * @param job the job
+     * @return true if the job matches
+     */
+    public boolean matches(JobRecord job) {
+        if (companyName != null && !companyName.equals(job.companyName())) {
+            return false;
+        }
+        if (industry != null && (job.jobIndustry() == null || !job.jobIndustry().contains(industry))) {
+            return false;
+        }
+        if (minSalary != null && job.annualSalaryMax() < minSalary) {
+            return false;
+        }
+        return publishedSince == null || (job.pubDate() != null && job.pubDate().compareTo(publishedSince) >= 0);
+    }
+
+    /**
+     * Gets the order of this query as a comparator, for sorting jobs that are in the saved order.
+     * @return the comparator, or null for the saved order, reversed if {@link #isDescending()}
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public Comparator<JobRecord> comparator() {
+        if (sort.key == null) {
+            return null;
+        }
+        Comparator<JobRecord> order = Comparator.comparing((Function) sort.key,
+                                                           Comparator.nullsFirst(Comparator.naturalOrder()));
+        // a stable sort keeps ties in the saved order either way
+        return descending ? order.reversed() : order;
+    }
+
+    /**
+     * Gets the exact company name the jobs must be at.
+     * @return the company name, or null for any
+     */
+    public String getCompanyName() {
+        return companyName;
+    }
+
+    /**
+     * Gets the industry the jobs must be in.
+     * @return the industry, or null for any
+     */
+    public String getIndustry() {
+        return industry;
+    }
+
+    /**
+     * Gets the lowest top of the salary range.
+     * @return the salary, or null for any
+     */
+    public Integer getMinSalary() {
+        return minSalary;
+    }
+
+    /**
+     * Gets the earliest publication date.
+     * @return the date, or null for any
+     */
+    public String getPublishedSince() {
+        return publishedSince;
+    }
+
+    /**
+     * Gets the order of the jobs.
+     * @return the sort order
+     */
+    public Sort getSort() {
+        return sort;
+    }
+
+    /**
+     * Checks if the order is reversed.
+     * @return true for descending
+     */
+    public boolean isDescending() {
+        return descending;
+    }
+
+    /**
+     * Gets the number of matching jobs skipped before the page.
+     * @return the offset
+     */
+    public int getOffset() {
+        return offset;
+    }
+
+    /**
+     * Gets the most jobs on the page.
+     * @return the limit, {@link Integer#MAX_VALUE} for no limit
+     */
+    public int getLimit() {
+        return limit;
+    }
+
+    /**
+     * Builder for {@link JobQuery}, starting from a query for every job in the saved order.
+     */
+    public static final class Builder {
+        /** Exact company name the jobs must be at, or null for any. */
+        private String companyName;
+
+        /** Industry the jobs must be in, or null for any. */
+        private String industry;
+
+        /** Lowest top of the salary range, or null for any salary. */
+        private Integer minSalary;
+
+        /** Earliest publication date, or null for any. */
+        private String publishedSince;
+
+        /** Order of the jobs. */
+        private Sort sort = Sort.SAVED;
+
+        /** Whether the order is reversed. */
+        private boolean descending;
+
+        /** Number of matching jobs skipped before the page. */
+        private int offset;
+
+        /** Most jobs on the page. */
+        private int limit = Integer.MAX_VALUE;
+
+        /**
+         * Creates a builder for a query matching every job.
+         */
+        private Builder() {
+            // use JobQuery.builder()
+        }
+
+        /**
+         * Keeps only the jobs at a company.
+         * @param name exact company name, null for any
+         * @return this builder
+         */
+        public Builder companyName(String name) {
+            this.companyName = name;
+            return this;
+        }
+
+        /**
+         * Keeps only the jobs in an industry.
+         * @param name exact industry, null for any
+         * @return this builder
+         */
+        public Builder industry(String name) {
+            this.industry = name;
+            return this;
+        }
+
+        /**
+         * Keeps only the jobs whose salary range reaches a salary.
+         * @param salary lowest top of the salary range, null for any
+         * @return this builder
+         */
+        public Builder minSalary(Integer salary) {
+            this.minSalary = salary;
+            return this;
+        }
+
+        /**
+         * Keeps only the jobs published on or after a date.
+         * @param date earliest publication date in the format of the jobs, such as {@code 2025-04-01}
+         * @return this builder
+         */
+        public Builder publishedSince(String date) {
+            this.publishedSince = date;
+            return this;
+        }
+
+        /**
+         * Sets the order of the jobs.
+         * @param order the sort order
+         * @param reversed true for descending
+         * @return this builder
+         */
+        public Builder sort(Sort order, boolean reversed) {
+            if (order == null) {
+                throw new IllegalArgumentException("Sort order must not be null");
+            }
+            this.sort = order;
+            this.descending = reversed;
+            return this;
+        }
+
+        /**
+         * Sets the page of matching jobs to return.
+         * @param skip number of matching jobs skipped
+         * @param size most jobs on the page
+         * @return this builder
+         */
+        public Builder page(int skip, int size) {
+            if (skip < 0 || size < 0) {
+                throw new IllegalArgumentException("Offset and limit must not be negative");
+            }
+            this.offset = skip;
+            this.limit = size;
+            return this;
+        }
+
+        /**
+         * Builds the query.
+         * @return the query
+         */
+        public JobQuery build() {
+            return new JobQuery(this);
+        }
+    }
+}
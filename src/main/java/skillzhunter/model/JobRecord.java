@@ -1,11 +1,20 @@
 package skillzhunter.model;
 
 import java.util.List;
+import java.util.Objects;
 
 import com.fasterxml.jackson.annotation.JsonPropertyOrder;
 
+import skillzhunter.model.formatters.DecodedText;
+
+/**
+ * A job posting.
+ * The excerpt and description may be kept as they came, with HTML character references,
+ * and are decoded the first time they are read, see {@link DecodedText}. Equality is over the
+ * decoded values, so a record is equal to its sanitized copy.
+ */
 @JsonPropertyOrder({"id", "url", "jobSlug", "jobTitle", "companyName", "companyLogo",
-"jobIndustry", "jobType", "jobGeo", "jobLevel", "jobExcerpt", 
+"jobIndustry", "jobType", "jobGeo", "jobLevel", "jobExcerpt",
 "jobDescription", "pubDate", "annualSalaryMin", "annualSalaryMax", "salaryCurrency", "rating", "comments"})
 public record JobRecord(
 int id,
@@ -28,4 +37,82 @@ int rating,
 String comments
 ) {
 
+    /**
+     * Gets the excerpt, decoding it on first access.
+     *
+     * @return the decoded excerpt
+     */
+    @Override
+    public String jobExcerpt() {
+        return DecodedText.of(jobExcerpt);
+    }
+
+    /**
+     * Gets the description, decoding it on first access.
+     *
+     * @return the decoded description
+     */
+    @Override
+    public String jobDescription() {
+        return DecodedText.of(jobDescription);
+    }
+
+    /**
+     * Gets the excerpt as stored, without decoding it.
+     * Use it to copy the excerpt to another record or to save it.
+     *
+     * @return the excerpt, which may still hold HTML character references
+     */
+    public String rawJobExcerpt() {
+        return jobExcerpt;
+    }
+
+    /**
+     * Gets the description as stored, without decoding it.
+     * Use it to copy the description to another record or to save it.
+     *
+     * @return the description, which may still hold HTML character references
+     */
+    public String rawJobDescription() {
+        return jobDescription;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) {
+            return true;
+        }
+        if (!(other instanceof JobRecord)) {
+            return false;
+        }
+        JobRecord job = (JobRecord) other;
+        return id == job.id
+            && annualSalaryMin == job.annualSalaryMin
+            && annualSalaryMax == job.annualSalaryMax
+            && rating == job.rating
+            && Objects.equals(url, job.url)
+            && Objects.equals(jobSlug, job.jobSlug)
+            && Objects.equals(jobTitle, job.jobTitle)
+            && Objects.equals(companyName, job.companyName)
+            && Objects.equals(companyLogo, job.companyLogo)
+            && Objects.equals(jobIndustry, job.jobIndustry)
+            && Objects.equals(jobType, job.jobType)
+            && Objects.equals(jobGeo, job.jobGeo)
+            && Objects.equals(jobLevel, job.jobLevel)
+            && Objects.equals(pubDate, job.pubDate)
+            && Objects.equals(salaryCurrency, job.salaryCurrency)
+            && Objects.equals(comments, job.comments)
+            // the same raw text needs no decoding to compare
+            && (Objects.equals(jobExcerpt, job.jobExcerpt) || Objects.equals(jobExcerpt(), job.jobExcerpt()))
+            && (Objects.equals(jobDescription, job.jobDescription)
+                || Objects.equals(jobDescription(), job.jobDescription()));
+    }
+
+    @Override
+    public int hashCode() {
+        // the excerpt and description are left out, hashing them would decode them
+        return Objects.hash(id, url, jobSlug, jobTitle, companyName, companyLogo, jobIndustry, jobType,
+                            jobGeo, jobLevel, pubDate, annualSalaryMin, annualSalaryMax, salaryCurrency,
+                            rating, comments);
+    }
 }
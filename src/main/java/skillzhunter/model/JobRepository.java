@@ -0,0 +1,164 @@
+package skillzhunter.model;
+
+import java.io.Closeable;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Where the saved jobs are kept.
+ * {@link SavedJobStore} keeps them on the heap, and {@link Jobs} writes them to the saved jobs
+ * file (CSV or BINARY) and its journal. {@link H2JobRepository} keeps them in an embedded
+ * database file and only loads the jobs a lookup or {@link #find(JobQuery)} returns, so the
+ * saved jobs can grow past what fits on the heap.
+ *
+ * <p>Implementations are safe to share between threads. Jobs keep the place they were first
+ * saved in, also when they are replaced.</p>
+ */
+public interface JobRepository extends Closeable {
+    /**
+     * Saves a job, or replaces the saved job with the same id in place.
+     *
+     * @param job the job
+     * @return the job it replaced, or null if the id was new
+     */
+    JobRecord put(JobRecord job);
+
+    /**
+     * Sets the rating and comments of a saved job, keeping its place.
+     *
+     * @param id the job id
+     * @param comments the new comments
+     * @param rating the new rating
+     * @return the updated job, or null if no job with the id is saved
+     */
+    JobRecord update(int id, String comments, int rating);
+
+    /**
+     * Gets a saved job by id.
+     *
+     * @param id the job id
+     * @return the job, or null if it is not saved
+     */
+    JobRecord get(int id);
+
+    /**
+     * Checks if a job is saved.
+     *
+     * @param id the job id
+     * @return true if a job with the id is saved
+     */
+    default boolean contains(int id) {
+        return get(id) != null;
+    }
+
+    /**
+     * Removes a saved job.
+     *
+     * @param id the job id
+     * @return the removed job, or null if it was not saved
+     */
+    JobRecord remove(int id);
+
+    /**
+     * Gets the first saved job with a title.
+     *
+     * @param title the exact title
+     * @return the earliest saved job with the title, or null if there is none
+     */
+    JobRecord firstByTitle(String title);
+
+    /**
+     * Gets the saved jobs at a company.
+     *
+     * @param companyName the exact company name
+     * @return the jobs in the order they were saved, empty if there are none
+     */
+    default List<JobRecord> byCompany(String companyName) {
+        return companyName == null ? List.of() : find(JobQuery.builder().companyName(companyName).build());
+    }
+
+    /**
+     * Gets the saved jobs in an industry.
+     *
+     * @param industry the exact industry
+     * @return the jobs in the order they were saved, empty if there are none
+     */
+    default List<JobRecord> byIndustry(String industry) {
+        return industry == null ? List.of() : find(JobQuery.builder().industry(industry).build());
+    }
+
+    /**
+     * Gets the page of saved jobs a query asks for, filtered and sorted by the repository.
+     *
+     * @param query the filters, order and page
+     * @return the matching jobs on the page, in order
+     */
+    List<JobRecord> find(JobQuery query);
+
+    /**
+     * Counts the saved jobs passing the filters of a query, ignoring its page.
+     *
+     * @param query the filters
+     * @return the number of matching jobs
+     */
+    int count(JobQuery query);
+
+    /**
+     * Gets all saved jobs.
+     *
+     * @return an unmodifiable list of the jobs in the order they were saved, shared until the next change
+     */
+    default List<JobRecord> values() {
+        return snapshot().jobs();
+    }
+
+    /**
+     * Gets a snapshot of all saved jobs, the same instance until the next change.
+     *
+     * @return the snapshot of the current version
+     */
+    JobSnapshot snapshot();
+
+    /**
+     * Gets the version of the saved jobs, the one the next {@link #snapshot()} has, without loading them.
+     *
+     * @return the version, which goes up with every change
+     */
+    long version();
+
+    /**
+     * Gets the number of saved jobs.
+     *
+     * @return the number of jobs
+     */
+    int size();
+
+    /**
+     * Checks if no job is saved.
+     *
+     * @return true if there are no jobs
+     */
+    default boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * Replaces all saved jobs as one atomic step.
+     *
+     * @param jobs the new jobs, in order; a later job replaces an earlier one with the same id
+     */
+    void replaceAll(Collection<JobRecord> jobs);
+
+    /**
+     * Removes all saved jobs.
+     */
+    void clear();
+
+    /**
+     * Releases what the repository holds open. The jobs kept on the heap need nothing.
+     */
+    @Override
+    default void close() {
+        // nothing to release
+    }
+}
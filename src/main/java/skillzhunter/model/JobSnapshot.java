@@ -0,0 +1,17 @@
+package skillzhunter.model;
+
+import java.util.List;
+
+/**
+ * An immutable view of the saved jobs at one point in time.
+ * Snapshots are shared between readers instead of copied for each of them, and a new one is
+ * only made after the saved jobs change. The version goes up with every change, so a reader
+ * holding an earlier snapshot can tell whether there is anything new without comparing jobs.
+ *
+ * @param version the version of the saved jobs this snapshot shows
+ * @param jobs the saved jobs in the order they were saved, unmodifiable
+ */
+public record JobSnapshot(long version, List<JobRecord> jobs) {
+    /** snapshot of no jobs, for when there is no model.*/
+    public static final JobSnapshot EMPTY = new JobSnapshot(0, List.of());
+}
@@ -12,13 +12,22 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
+import skillzhunter.logging.Logger;
 import skillzhunter.model.formatters.DataFormatter;
 import skillzhunter.model.formatters.Formats;
+import skillzhunter.model.formatters.JobJournal;
+import skillzhunter.model.formatters.SanitizedRecords;
 import skillzhunter.model.net.JobBoardApi;
 import skillzhunter.model.net.JobBoardApiResult;
+import skillzhunter.model.net.JobSource;
+import skillzhunter.model.net.JobicyJobSource;
 
 public class Jobs implements IModel {
+    /** Logger for this class. */
+    private static final Logger LOG = Logger.getLogger(Jobs.class);
+
     /** Map for storing industries and their slugs. */
     private static final Map<String, String> INDUSTRY_MAP = JobBoardApi.loadCsvData(
         Paths.get("data", "industries.csv").toString(), "industry", "slug");
@@ -28,10 +37,10 @@ public class Jobs implements IModel {
         Paths.get("data", "locations.csv").toString(), "location", "slug");
     
     /** Alert listener for this model. */
-    private AlertListener alertListener;
+    private volatile AlertListener alertListener;
 
-    /** Job List. */
-    private final List<JobRecord> jobList;
+    /** Saved jobs, by id and indexed by title, company and industry; safe to share between threads. */
+    private final JobRepository savedJobs;
 
     /** Used to track number of times the joblist is accessed.*/
     private int runs = 0;
@@ -39,6 +48,21 @@ public class Jobs implements IModel {
     /** Standard path for saved jobs file. */
     private static final String DEFAULT_SAVED_JOBS_PATH = "data/SavedJobs.csv";
 
+    /** Path for the saved jobs file when they are kept in the binary format. */
+    private static final String BINARY_SAVED_JOBS_PATH = "data/SavedJobs.bin";
+
+    /** Path of the journal of changes since the saved jobs file was written, segments add a number. */
+    private static final String JOURNAL_PATH = "data/SavedJobs.journal";
+
+    /** Journal of changes to the saved jobs, null in test mode or if it could not be opened. */
+    private volatile JobJournal journal;
+
+    /** Keeps the changes to the saved jobs in the same order as their journal entries. */
+    private final Object journalLock = new Object();
+
+    /** Format the saved jobs are loaded and saved in, CSV or BINARY. */
+    private final Formats savedJobsFormat;
+
     /** Flag to indicate if running in test mode. */
     private boolean isTestMode = false;
     
@@ -48,35 +72,110 @@ public class Jobs implements IModel {
     /** Service for providing query suggestions. */
     private final QuerySuggestionService suggestionService = new QuerySuggestionService();
 
+    /** Where searches get their jobs from. */
+    private final JobSource jobSource;
+
     /**
      * Constructor for Jobs class.
-     * Initializes the job list.
+     * Initializes the job list and searches the live job board.
      */
     public Jobs() {
-        this.jobList = new ArrayList<>();
+        this(new JobicyJobSource());
+    }
+
+    /**
+     * Constructor for Jobs class with a specific job source.
+     * Initializes the job list.
+     * @param jobSource where searches get their jobs from, e.g. recorded responses when offline
+     */
+    public Jobs(JobSource jobSource) {
+        this(jobSource, Formats.CSV);
+    }
+
+    /**
+     * Constructor for Jobs class with a specific job source and saved jobs format.
+     * Initializes the job list.
+     * @param jobSource where searches get their jobs from, e.g. recorded responses when offline
+     * @param savedJobsFormat format of the saved jobs file, CSV or BINARY. BINARY keeps every field
+     *     and loads several times faster; it starts from the CSV file if there is no binary file yet
+     * @throws IllegalArgumentException for any other format
+     */
+    public Jobs(JobSource jobSource, Formats savedJobsFormat) {
+        if (savedJobsFormat != Formats.CSV && savedJobsFormat != Formats.BINARY) {
+            throw new IllegalArgumentException("Saved jobs must be CSV or BINARY, not " + savedJobsFormat);
+        }
+        this.savedJobs = new SavedJobStore();
+        this.jobSource = jobSource;
+        this.savedJobsFormat = savedJobsFormat;
 
         // Check if running in test environment
         isTestMode = isRunningInTestEnvironment();
 
         try {
-            // Only load from CSV in non-test environment or if file exists
-            File savedJobsFile = new File(DEFAULT_SAVED_JOBS_PATH);
+            // Only load saved jobs in non-test environment or if file exists
+            String savedJobsPath = getSavedJobsPath();
+            File savedJobsFile = new File(savedJobsPath);
             if (!isTestMode && savedJobsFile.exists()) {
+                loadSavedJobs(savedJobsPath, savedJobsFormat);
+            } else if (!isTestMode && new File(DEFAULT_SAVED_JOBS_PATH).exists()) {
+                // first start with the binary format, carry over the jobs saved as CSV
                 loadJobsFromCsv(DEFAULT_SAVED_JOBS_PATH);
-                
-                // Add a shutdown hook to save the jobs to CSV on shutdown
-                Runtime.getRuntime().addShutdownHook(new Thread(() -> {
-                    System.out.println("Application is shutting down. Saving jobs to " + DEFAULT_SAVED_JOBS_PATH);
-                    saveJobsToCsv(DEFAULT_SAVED_JOBS_PATH);
-                    System.out.println("Jobs saved to " + DEFAULT_SAVED_JOBS_PATH + " on shutdown.");
-                }));
             }
+
         } catch (Exception e) {
-            System.err.println("Note: Could not load jobs from CSV: " + e.getMessage());
+            LOG.warn("Note: Could not load jobs from CSV: " + e.getMessage());
             // No need to rethrow - we can start with an empty list
         }
+
+        if (!isTestMode) {
+            // changes made since the saved jobs file was last written, such as before a crash
+            openJournal();
+        }
+
+        String savedJobsPath = getSavedJobsPath();
+        if (!isTestMode && (journal != null || new File(savedJobsPath).exists()
+                            || new File(DEFAULT_SAVED_JOBS_PATH).exists())) {
+            // Add a shutdown hook to save the jobs on shutdown
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                LOG.info("Application is shutting down. Saving jobs to " + savedJobsPath);
+                saveOnShutdown();
+                LOG.info("Jobs saved to " + savedJobsPath + " on shutdown.");
+                Logger.flush();
+            }));
+        }
     }
     
+    /**
+     * Constructor for Jobs class with a specific job source and a repository that stores the saved jobs itself,
+     * such as an {@link H2JobRepository}. The saved jobs file and journal are not used, except that the jobs
+     * saved as CSV are carried over into an empty repository. The repository is closed on shutdown.
+     * @param jobSource where searches get their jobs from, e.g. recorded responses when offline
+     * @param savedJobs where the saved jobs are kept
+     */
+    public Jobs(JobSource jobSource, JobRepository savedJobs) {
+        this.savedJobs = savedJobs;
+        this.jobSource = jobSource;
+        this.savedJobsFormat = Formats.CSV;
+
+        isTestMode = isRunningInTestEnvironment();
+        if (isTestMode) {
+            return;
+        }
+        try {
+            if (savedJobs.isEmpty() && new File(DEFAULT_SAVED_JOBS_PATH).exists()) {
+                // first start with the repository, carry over the jobs saved as CSV
+                loadJobsFromCsv(DEFAULT_SAVED_JOBS_PATH);
+            }
+        } catch (Exception e) {
+            LOG.warn("Note: Could not load jobs from CSV: " + e.getMessage());
+        }
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            LOG.info("Application is shutting down. Closing the saved jobs repository");
+            savedJobs.close();
+            Logger.flush();
+        }));
+    }
+
     /**
      * Sets the alert listener for this model.
      * @param listener The alert listener
@@ -131,6 +230,7 @@ public class Jobs implements IModel {
     }
     /**
      * Add a new job.
+     * A job with the id of a saved job replaces it in place.
      * @param job JobRecord instance to add
      */
     @Override
@@ -156,8 +256,8 @@ public class Jobs implements IModel {
 
         jobBean.setJobGeo(cleanJob.jobGeo() != null && !cleanJob.jobGeo().isBlank() ? cleanJob.jobGeo() : "");
         jobBean.setJobLevel(cleanJob.jobLevel() != null && !cleanJob.jobLevel().isBlank() ? cleanJob.jobLevel() : "");
-        jobBean.setJobExcerpt(cleanJob.jobExcerpt());
-        jobBean.setJobDescription(cleanJob.jobDescription());
+        jobBean.setJobExcerpt(cleanJob.rawJobExcerpt());
+        jobBean.setJobDescription(cleanJob.rawJobDescription());
         jobBean.setPubDate(cleanJob.pubDate() != null && !cleanJob.pubDate().isBlank() ? cleanJob.pubDate() : "");
         jobBean.setAnnualSalaryMin(cleanJob.annualSalaryMin());
         jobBean.setAnnualSalaryMax(cleanJob.annualSalaryMax());
@@ -168,7 +268,12 @@ public class Jobs implements IModel {
         jobBean.setComments(cleanJob.comments() != null && !cleanJob.comments().isBlank()
                             ? cleanJob.comments() : "No comments provided");
 
-        jobList.add(jobBean.toRecord());
+        // built only from sanitized values, so exporting it does not need to sanitize it again
+        JobRecord savedJob = SanitizedRecords.markClean(jobBean.toRecord());
+        synchronized (journalLock) {
+            savedJobs.put(savedJob);
+            journal(journal -> journal.appendAdd(savedJob));
+        }
     }
 
 
@@ -179,26 +284,89 @@ public class Jobs implements IModel {
      */
     @Override
     public JobRecord getJobRecord(String jobTitle) {
-        for (JobRecord job : jobList) {
-            if (job.jobTitle().equals(jobTitle)) {
-                return job;
-            }
-        }
-        return null;
+        return savedJobs.firstByTitle(jobTitle);
+    }
+
+    /**
+     * Retrieve a single saved job record by id.
+     * @param id Job ID
+     * @return JobRecord if saved, otherwise null
+     */
+    @Override
+    public JobRecord getJobRecordById(int id) {
+        return savedJobs.get(id);
+    }
+
+    /**
+     * Retrieve the saved job records at a company.
+     * @param companyName Company name
+     * @return List of JobRecords in the order they were saved
+     */
+    @Override
+    public List<JobRecord> getJobRecordsByCompany(String companyName) {
+        return savedJobs.byCompany(companyName);
+    }
+
+    /**
+     * Retrieve the saved job records in an industry.
+     * @param industry Industry name
+     * @return List of JobRecords in the order they were saved
+     */
+    @Override
+    public List<JobRecord> getJobRecordsByIndustry(String industry) {
+        return savedJobs.byIndustry(industry);
+    }
+
+    /**
+     * Retrieve a page of saved job records, filtered and sorted by the repository.
+     * @param query Filters, order and page
+     * @return List of JobRecords on the page, in order
+     */
+    @Override
+    public List<JobRecord> findSavedJobs(JobQuery query) {
+        return savedJobs.find(query);
+    }
+
+    /**
+     * Count the saved job records passing the filters of a query.
+     * @param query Filters, the page is ignored
+     * @return Number of matching JobRecords
+     */
+    @Override
+    public int countSavedJobs(JobQuery query) {
+        return savedJobs.count(query);
+    }
+
+    /**
+     * Get the version of the saved job records without loading them.
+     * @return The version, which goes up with every change
+     */
+    @Override
+    public long getSavedJobsVersion() {
+        return savedJobs.version();
     }
 
     /**
      * Retrieve all job records.
-     * @return List of JobRecords
+     * @return Unmodifiable list of JobRecords, shared until the saved jobs change
      */
     @Override
     public List<JobRecord> getJobRecords() {
-        if (jobList.isEmpty() && runs > 0) {
-            System.out.println("Job List is empty. Ensure jobs are added before retrieving.");
+        if (savedJobs.isEmpty() && runs > 0) {
+            LOG.debug("Job List is empty. Ensure jobs are added before retrieving.");
             runs++;
         }
 
-        return new ArrayList<>(jobList);
+        return savedJobs.values();
+    }
+
+    /**
+     * Retrieve a snapshot of all job records.
+     * @return The current snapshot of the saved jobs
+     */
+    @Override
+    public JobSnapshot getJobSnapshot() {
+        return savedJobs.snapshot();
     }
 
     /**
@@ -208,64 +376,41 @@ public class Jobs implements IModel {
      */
     @Override
     public boolean removeJob(int id) {
-        return jobList.removeIf(job -> job.id() == id);
+        synchronized (journalLock) {
+            if (savedJobs.remove(id) == null) {
+                return false;
+            }
+            journal(journal -> journal.appendRemove(id));
+            return true;
+        }
     }
 
     /**
      * Update a job's comments and rating.
+     * The job keeps its place among the saved jobs.
      * @param id Job ID
      * @param comments Comments to update
      * @param rating Rating to update
      */
     @Override
     public void updateJob(int id, String comments, int rating) {
-        // Debug output to verify values
-        System.out.println("Updating job " + id + " with rating: " + rating + " and comments: " + comments);
+        LOG.debug(() -> "Updating job " + id + " with rating: " + rating + " and comments: " + comments);
         
-        for (JobRecord job : jobList) {
-            if (job.id() == id) {
-                // Create JobBean and set all fields in the same order as JobRecord
-                JobBean jobBean = new JobBean();
-                jobBean.setId(job.id());
-                jobBean.setUrl(job.url());
-                jobBean.setJobSlug(job.jobSlug());
-                jobBean.setJobTitle(job.jobTitle());
-                jobBean.setCompanyName(job.companyName());
-                jobBean.setCompanyLogo(job.companyLogo());
-                jobBean.setJobIndustry(job.jobIndustry());
-                jobBean.setJobType(job.jobType());
-                jobBean.setJobGeo(job.jobGeo());
-                jobBean.setJobLevel(job.jobLevel());
-                jobBean.setJobExcerpt(job.jobExcerpt());
-                jobBean.setJobDescription(job.jobDescription());
-                jobBean.setPubDate(job.pubDate());
-                jobBean.setAnnualSalaryMin(job.annualSalaryMin());
-                jobBean.setAnnualSalaryMax(job.annualSalaryMax());
-                jobBean.setSalaryCurrency(job.salaryCurrency());
-                
-                // Update comments and rating
-                jobBean.setRating(rating);
-                jobBean.setComments(comments);
-                
-                // Debug output to verify bean values before conversion
-                System.out.println("Job bean rating set to: " + jobBean.getRating());
-                System.out.println("Job bean comments set to: " + jobBean.getComments());
-                
-                // Convert back to JobRecord
-                JobRecord updatedJob = jobBean.toRecord();
-                
-                // Debug output to verify record values after conversion
-                System.out.println("Updated job record rating: " + updatedJob.rating());
-                System.out.println("Updated job record comments: " + updatedJob.comments());
-                
-                // Update the job in the list
-                jobList.remove(job);
-                jobList.add(updatedJob);
-                break;
+        JobRecord updatedJob;
+        synchronized (journalLock) {
+            // read, change and replace as one step, so a concurrent update or remove cannot be lost
+            updatedJob = savedJobs.update(id, comments, rating);
+            if (updatedJob != null) {
+                journal(journal -> journal.appendUpdate(id, comments, rating));
             }
         }
+
+        if (updatedJob != null) {
+            LOG.debug(() -> "Updated job record rating: " + updatedJob.rating()
+                      + ", comments: " + updatedJob.comments());
+        }
     }
-    
+
     /**
      * Searches for jobs based on the given parameters.
      * @param query The search query (e.g., job title, keywords).
@@ -276,13 +421,91 @@ public class Jobs implements IModel {
      */
     @Override
     public List<JobRecord> searchJobs(String query, Integer numberOfResults, String location, String industry) {
+        JobBoardApiResult result = jobSource.search(query, numberOfResults, location, industry);
+        return handleSearchResult(result, query, location, industry);
+    }
+
+    /**
+     * Searches for jobs without blocking the calling thread.
+     * The result is post-processed the same way as {@link #searchJobs}, on the thread
+     * that completes the request.
+     * @param query The search query (e.g., job title, keywords).
+     * @param numberOfResults The maximum number of results to return.
+     * @param location The location to search for jobs in.
+     * @param industry The industry to filter jobs by.
+     * @return Future completing with the JobRecord objects representing the search results.
+     */
+    @Override
+    public CompletableFuture<List<JobRecord>> searchJobsAsync(String query, Integer numberOfResults,
+                                                              String location, String industry) {
+        CompletableFuture<JobBoardApiResult> request =
+            jobSource.searchAsync(query, numberOfResults, location, industry);
+        CompletableFuture<List<JobRecord>> jobs = request
+            .thenApply(result -> handleSearchResult(result, query, location, industry));
+        // Cancelling the search should cancel the request
+        jobs.whenComplete((list, error) -> {
+            if (jobs.isCancelled()) {
+                request.cancel(true);
+            }
+        });
+        return jobs;
+    }
+
+    /**
+     * Searches for jobs matching any combination of several queries, locations and industries.
+     * Any warning, such as some of the searches failing, is sent as an alert.
+     * @param queries The search queries.
+     * @param numberOfResults The maximum number of results to return per search.
+     * @param locations The locations to search for jobs in.
+     * @param industries The industries to filter jobs by.
+     * @return A list of JobRecord objects matching any of the searches.
+     */
+    @Override
+    public List<JobRecord> searchJobsMulti(List<String> queries, Integer numberOfResults,
+                                           List<String> locations, List<String> industries) {
+        JobBoardApiResult result = jobSource.searchMulti(queries, numberOfResults, locations, industries);
+        return handleSearchResult(result, null, null, null);
+    }
+
+    /**
+     * Searches for jobs matching any combination of several queries, locations and industries
+     * without blocking the calling thread.
+     * @param queries The search queries.
+     * @param numberOfResults The maximum number of results to return per search.
+     * @param locations The locations to search for jobs in.
+     * @param industries The industries to filter jobs by.
+     * @return Future completing with the JobRecord objects matching any of the searches.
+     */
+    @Override
+    public CompletableFuture<List<JobRecord>> searchJobsMultiAsync(List<String> queries, Integer numberOfResults,
+                                                                   List<String> locations, List<String> industries) {
+        CompletableFuture<JobBoardApiResult> request =
+            jobSource.searchMultiAsync(queries, numberOfResults, locations, industries);
+        CompletableFuture<List<JobRecord>> jobs = request
+            .thenApply(result -> handleSearchResult(result, null, null, null));
+        // Cancelling the search should cancel the requests
+        jobs.whenComplete((list, error) -> {
+            if (jobs.isCancelled()) {
+                request.cancel(true);
+            }
+        });
+        return jobs;
+    }
+
+    /**
+     * Handles a search result: sends any alert, cleans the jobs and records the query.
+     * @param result The result returned by the job board.
+     * @param query The search query.
+     * @param location The location searched.
+     * @param industry The industry searched.
+     * @return A list of cleaned JobRecord objects.
+     */
+    private synchronized List<JobRecord> handleSearchResult(JobBoardApiResult result, String query,
+                                                            String location, String industry) {
         // Check if this is a generic default search
         boolean isGenericSearch = "any".equals(query) && 
                                  ("any".equals(location) || location == null) && 
                                  ("any".equals(industry) || industry == null);
-        
-        // Use static method instead of instance method
-        JobBoardApiResult result = JobBoardApi.getJobBoard(query, numberOfResults, location, industry);
 
         // If there's an error message and this is not an initial generic search, send alert
         if (result.hasError() && !(isInitialSearch && isGenericSearch)) {
@@ -293,10 +516,7 @@ public class Jobs implements IModel {
         isInitialSearch = false;
 
         // Process HTML entities in each job record before returning
-        List<JobRecord> processedJobs = new ArrayList<>();
-        for (JobRecord job : result.getJobs()) {
-            processedJobs.add(DataFormatter.processJobHtml(job));
-        }
+        List<JobRecord> processedJobs = DataFormatter.processJobsHtml(result.getJobs());
 
         // Add query to successful queries if results found
         if (!processedJobs.isEmpty() && query != null && !query.isEmpty() && 
@@ -308,41 +528,37 @@ public class Jobs implements IModel {
     }
 
     /**
-     * Saves the job records (saved jobs) in the jobList to a CSV file, ensuring data is sanitized before saving.
+     * Saves the saved job records to a CSV file, ensuring data is sanitized before saving.
      * @param filePath Name of the CSV file to save to
      */
     @Override
     public void saveJobsToCsv(String filePath) {
-        // Debug information before export
-        System.out.println("Saving " + jobList.size() + " jobs to CSV: " + filePath);
-        
-        // Ensure the parent directory exists
-        File file = new File(filePath);
-        File parentDir = file.getParentFile();
-        if (parentDir != null && !parentDir.exists()) {
-            boolean created = parentDir.mkdirs();
-            System.out.println("Created directory structure: " + created);
-        }
+        List<JobRecord> jobs = savedJobs.values();
+        LOG.info("Saving " + jobs.size() + " jobs to CSV: " + filePath);
         
-        // Log jobs before sanitization for debugging
-        for (JobRecord job : jobList) {
-            // Print industry data to diagnose HTML entity issues
-            String industryStr = "null";
-            if (job.jobIndustry() != null && !job.jobIndustry().isEmpty()) {
-                industryStr = String.join(", ", job.jobIndustry());
+        // Log jobs before sanitization for debugging, the loop is skipped unless debug is on
+        if (LOG.isDebugEnabled()) {
+            for (JobRecord job : jobs) {
+                // Print industry data to diagnose HTML entity issues
+                String industryStr = "null";
+                if (job.jobIndustry() != null && !job.jobIndustry().isEmpty()) {
+                    industryStr = String.join(", ", job.jobIndustry());
+                }
+                
+                LOG.debug("Job before export: " + job.jobTitle() 
+                          + ", Industry: " + industryStr
+                          + ", Rating: " + job.rating()
+                          + ", Comments: " + (job.comments() != null ? job.comments() : "null"));
             }
-            
-            System.out.println("Job before export: " + job.jobTitle() 
-                            + ", Industry: " + industryStr
-                            + ", Rating: " + job.rating()
-                            + ", Comments: " + (job.comments() != null ? job.comments() : "null"));
         }
 
         // Let DataFormatter handle the export with proper sanitization
-        // This avoids duplicate sanitizing logic and ensures consistent cleaning
-        DataFormatter.exportCustomCSV(new ArrayList<>(jobList), filePath);
+        // This avoids duplicate sanitizing logic and ensures consistent cleaning.
+        // It streams the rows and creates missing directories; the copy only holds references,
+        // so the shutdown hook never iterates the live store
+        DataFormatter.exportCustomCSV(jobs, filePath);
         
-        System.out.println("Jobs saved to CSV: " + filePath);
+        LOG.info("Jobs saved to CSV: " + filePath);
     }
 
     /**
@@ -364,10 +580,10 @@ public class Jobs implements IModel {
         File parentDir = file.getParentFile();
         if (parentDir != null && !parentDir.exists()) {
             boolean created = parentDir.mkdirs();
-            System.out.println("Created directory structure: " + created);
+            LOG.debug(() -> "Created directory structure: " + created);
         }
         
-        System.out.println("Exporting " + jobs.size() + " jobs to " + formatStr + ": " + filePath);
+        LOG.info("Exporting " + jobs.size() + " jobs to " + formatStr + ": " + filePath);
         
         // Handle CSV format internally using the custom CSV exporter
         if ("CSV".equalsIgnoreCase(formatStr)) {
@@ -387,10 +603,10 @@ public class Jobs implements IModel {
             try (OutputStream out = new FileOutputStream(filePath)) {
                 // DataFormatter now handles escaping correctly for each format
                 DataFormatter.write(jobs, format, out);
-                System.out.println("Export completed successfully to " + filePath);
+                LOG.info("Export completed successfully to " + filePath);
             }
         } catch (IOException e) {
-            System.err.println("Failed to export jobs: " + e.getMessage());
+            LOG.error("Failed to export jobs: " + e.getMessage(), e);
             throw new RuntimeException("Failed to export jobs: " + e.getMessage(), e);
         }
     }
@@ -413,14 +629,15 @@ public class Jobs implements IModel {
      */
     @Override
     public void sendAlert(String alertMessage) {
-        System.out.println("Model alert: " + alertMessage);
+        LOG.info("Model alert: " + alertMessage);
         
         // If an alert listener is registered, notify it
-        if (alertListener != null) {
-            alertListener.onAlert(alertMessage);
+        AlertListener listener = alertListener;
+        if (listener != null) {
+            listener.onAlert(alertMessage);
         } else {
             // Fallback if no listener is registered
-            System.err.println("No alert listener registered with model: " + alertMessage);
+            LOG.warn("No alert listener registered with model: " + alertMessage);
         }
     }
 
@@ -429,20 +646,126 @@ public class Jobs implements IModel {
      * @param fileName Name of the CSV file to load from
      */
     private void loadJobsFromCsv(String fileName) {
-        File csvFile = new File(fileName);
-        if (!csvFile.exists()) {
-            System.err.println("CSV file does not exist: " + fileName);
+        loadSavedJobs(fileName, Formats.CSV);
+    }
+
+    /**
+     * Loads job records from a saved jobs file, replacing the job list.
+     * @param fileName Name of the file to load from
+     * @param format Format of the file, CSV or BINARY
+     */
+    private void loadSavedJobs(String fileName, Formats format) {
+        File savedFile = new File(fileName);
+        if (!savedFile.exists()) {
+            LOG.warn(format + " file does not exist: " + fileName);
             return;
         }
         
         try (InputStream in = new FileInputStream(fileName)) {
-            List<JobRecord> loadedJobs = DataFormatter.read(in, Formats.CSV);
-            this.jobList.clear();  // Clear existing list before loading
-            this.jobList.addAll(loadedJobs);  // Add loaded jobs
-            System.out.println("Loaded " + loadedJobs.size() + " jobs from " + fileName);
+            List<JobRecord> loadedJobs = DataFormatter.read(in, format);
+            this.savedJobs.replaceAll(loadedJobs);  // Replace existing jobs with the loaded ones
+            LOG.info("Loaded " + loadedJobs.size() + " jobs from " + fileName);
         } catch (IOException e) {
-            System.err.println("Error loading jobs from CSV file: " + e.getMessage());
+            LOG.error("Error loading jobs from " + format + " file: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Opens the journal of changes to the saved jobs, replaying it over the loaded jobs.
+     * Without a journal, changes are only kept by the save on shutdown.
+     */
+    private void openJournal() {
+        try {
+            journal = JobJournal.open(Paths.get(JOURNAL_PATH), new JobJournal.Replay() {
+                @Override
+                public void added(JobRecord job) {
+                    savedJobs.put(job);
+                }
+
+                @Override
+                public void removed(int id) {
+                    savedJobs.remove(id);
+                }
+
+                @Override
+                public void updated(int id, String comments, int rating) {
+                    savedJobs.update(id, comments, rating);
+                }
+            }, this::saveSavedJobs);
+        } catch (IOException | RuntimeException e) {
+            LOG.error("Could not open the saved jobs journal, changes are only saved on shutdown: "
+                      + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Records a change to the saved jobs in the journal, if there is one.
+     * A failed write is logged, the change is still saved on shutdown.
+     * @param entry Appends the entry for the change
+     */
+    private void journal(JournalEntry entry) {
+        JobJournal current = journal;
+        if (current == null) {
+            return;
+        }
+        try {
+            entry.appendTo(current);
+        } catch (IOException e) {
+            LOG.error("Could not write the saved jobs journal: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Appends one entry to the journal.
+     */
+    @FunctionalInterface
+    private interface JournalEntry {
+        /**
+         * Appends the entry.
+         * @param journal The journal
+         * @throws IOException if the entry cannot be written
+         */
+        void appendTo(JobJournal journal) throws IOException;
+    }
+
+    /**
+     * Saves the jobs on shutdown. With a journal this compacts it, so the next start has nothing to replay.
+     */
+    private void saveOnShutdown() {
+        JobJournal current = journal;
+        if (current == null) {
+            saveSavedJobs();
+            return;
+        }
+        try {
+            current.compact();
+            current.close();
+        } catch (IOException | RuntimeException e) {
+            // the journal is kept, the next start replays it
+            LOG.error("Could not save jobs on shutdown: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Gets the path of the saved jobs file for the saved jobs format.
+     * @return the path
+     */
+    private String getSavedJobsPath() {
+        return savedJobsFormat == Formats.BINARY ? BINARY_SAVED_JOBS_PATH : DEFAULT_SAVED_JOBS_PATH;
+    }
+
+    /**
+     * Saves the job list to the saved jobs file, in the saved jobs format.
+     */
+    private void saveSavedJobs() {
+        if (savedJobsFormat == Formats.CSV) {
+            saveJobsToCsv(DEFAULT_SAVED_JOBS_PATH);
+            return;
         }
+        List<JobRecord> jobs = savedJobs.values();
+        LOG.info("Saving " + jobs.size() + " jobs to " + BINARY_SAVED_JOBS_PATH);
+        // every field is kept as is, and the file is replaced only once fully written
+        DataFormatter.writeFile(jobs, Formats.BINARY, BINARY_SAVED_JOBS_PATH);
     }
 
     @Override
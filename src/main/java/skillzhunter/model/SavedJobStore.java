@@ -0,0 +1,556 @@
+package skillzhunter.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.UnaryOperator;
+
+/**
+ * The saved jobs, keyed by id in the order they were saved.
+ * Lookups by id are constant time, and lookups by title, company or industry go through
+ * indexes that every change keeps up to date, so none of them scans the jobs. Replacing a
+ * job keeps its place in the order. Reading all jobs returns a shared {@link JobSnapshot},
+ * which is only rebuilt on the first read after a change.
+ *
+ * <p>Safe to share between threads. Changes take a write lock, so each one, including
+ * {@link #update(int, UnaryOperator)}, is atomic. Lookups take a read lock and run alongside
+ * each other, and reading an up to date snapshot takes no lock at all, just an optimistic
+ * read that is retried under the read lock if a change got in the way.
+ *
+ * <p>Queries are answered from the indexes where they can be and filtered and sorted in memory,
+ * over all jobs at worst.</p>
+ */
+public final class SavedJobStore implements JobRepository {
+    /** guards every field below.*/
+    private final StampedLock lock = new StampedLock();
+
+    /** slots by job id, in the order the jobs were first saved.*/
+    private final Map<Integer, Slot> byId = new LinkedHashMap<>();
+
+    /** slots by job title, each ordered by position.*/
+    private final Map<String, TreeMap<Long, Slot>> byTitle = new HashMap<>();
+
+    /** slots by company name, each ordered by position.*/
+    private final Map<String, TreeMap<Long, Slot>> byCompany = new HashMap<>();
+
+    /** slots by industry, each ordered by position.*/
+    private final Map<String, TreeMap<Long, Slot>> byIndustry = new HashMap<>();
+
+    /** position given to the next new job.*/
+    private long nextPosition;
+
+    /** version of the jobs, counts every change.*/
+    private long version;
+
+    /** the last snapshot handed out, rebuilt once the version moves past it.*/
+    private volatile JobSnapshot snapshot = JobSnapshot.EMPTY;
+
+    /**
+     * Saves a job, or replaces the saved job with the same id in place.
+     *
+     * @param job the job
+     * @return the job it replaced, or null if the id was new
+     */
+    @Override
+    public JobRecord put(JobRecord job) {
+        long stamp = lock.writeLock();
+        try {
+            return putLocked(job);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Replaces a saved job with a changed copy of it, in place and as one atomic step.
+     * No other change can come between reading the job and replacing it.
+     *
+     * @param id the job id
+     * @param change makes the new job from the saved one, it must keep the id and should be quick
+     * @return the new job, or null if no job with the id is saved
+     * @throws IllegalArgumentException if the new job has another id
+     */
+    public JobRecord update(int id, UnaryOperator<JobRecord> change) {
+        long stamp = lock.writeLock();
+        try {
+            Slot slot = byId.get(id);
+            if (slot == null) {
+                return null;
+            }
+            JobRecord job = change.apply(slot.job);
+            if (job.id() != id) {
+                throw new IllegalArgumentException("Updated job has id " + job.id() + " instead of " + id);
+            }
+            putLocked(job);
+            return job;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Sets the rating and comments of a saved job, in place and as one atomic step.
+     *
+     * @param id the job id
+     * @param comments the new comments
+     * @param rating the new rating
+     * @return the updated job, or null if no job with the id is saved
+     */
+    @Override
+    public JobRecord update(int id, String comments, int rating) {
+        return update(id, job -> withRatingAndComments(job, comments, rating));
+    }
+
+    /**
+     * Gets a saved job by id.
+     *
+     * @param id the job id
+     * @return the job, or null if it is not saved
+     */
+    @Override
+    public JobRecord get(int id) {
+        long stamp = lock.readLock();
+        try {
+            Slot slot = byId.get(id);
+            return slot == null ? null : slot.job;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Checks if a job is saved.
+     *
+     * @param id the job id
+     * @return true if a job with the id is saved
+     */
+    @Override
+    public boolean contains(int id) {
+        long stamp = lock.readLock();
+        try {
+            return byId.containsKey(id);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Removes a saved job.
+     *
+     * @param id the job id
+     * @return the removed job, or null if it was not saved
+     */
+    @Override
+    public JobRecord remove(int id) {
+        long stamp = lock.writeLock();
+        try {
+            Slot slot = byId.remove(id);
+            if (slot == null) {
+                return null;
+            }
+            version++;
+            unindex(slot);
+            return slot.job;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Gets the first saved job with a title.
+     *
+     * @param title the exact title
+     * @return the earliest saved job with the title, or null if there is none
+     */
+    @Override
+    public JobRecord firstByTitle(String title) {
+        long stamp = lock.readLock();
+        try {
+            TreeMap<Long, Slot> slots = title == null ? null : byTitle.get(title);
+            return slots == null ? null : slots.firstEntry().getValue().job;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Gets the saved jobs at a company.
+     *
+     * @param companyName the exact company name
+     * @return the jobs in the order they were saved, empty if there are none
+     */
+    @Override
+    public List<JobRecord> byCompany(String companyName) {
+        return jobs(byCompany, companyName);
+    }
+
+    /**
+     * Gets the saved jobs in an industry.
+     *
+     * @param industry the exact industry
+     * @return the jobs in the order they were saved, empty if there are none
+     */
+    @Override
+    public List<JobRecord> byIndustry(String industry) {
+        return jobs(byIndustry, industry);
+    }
+
+    /**
+     * Gets the page of saved jobs a query asks for.
+     * A company or industry filter starts from its index, other filters look at every job.
+     *
+     * @param query the filters, order and page
+     * @return the matching jobs on the page, in order
+     */
+    @Override
+    public List<JobRecord> find(JobQuery query) {
+        List<JobRecord> matches = matches(query);
+        Comparator<JobRecord> order = query.comparator();
+        if (order != null) {
+            // stable, so ties keep the saved order
+            matches.sort(order);
+        } else if (query.isDescending()) {
+            Collections.reverse(matches);
+        }
+        int from = Math.min(query.getOffset(), matches.size());
+        int to = (int) Math.min((long) from + query.getLimit(), matches.size());
+        return new ArrayList<>(matches.subList(from, to));
+    }
+
+    /**
+     * Counts the saved jobs passing the filters of a query.
+     *
+     * @param query the filters
+     * @return the number of matching jobs
+     */
+    @Override
+    public int count(JobQuery query) {
+        return matches(query).size();
+    }
+
+    /**
+     * Gets all saved jobs.
+     *
+     * @return an unmodifiable list of the jobs in the order they were saved, shared until the next change
+     */
+    @Override
+    public List<JobRecord> values() {
+        return snapshot().jobs();
+    }
+
+    /**
+     * Gets a snapshot of the saved jobs.
+     * Reads between two changes get the same snapshot, so they copy nothing and take no lock.
+     *
+     * @return the snapshot of the current version
+     */
+    @Override
+    public JobSnapshot snapshot() {
+        long stamp = lock.tryOptimisticRead();
+        JobSnapshot current = snapshot;
+        if (current.version() == version && lock.validate(stamp)) {
+            return current;
+        }
+        stamp = lock.readLock();
+        try {
+            current = snapshot;
+            if (current.version() != version) {
+                // readers that race here build the same version, no change can come in between
+                JobRecord[] jobs = new JobRecord[byId.size()];
+                int i = 0;
+                for (Slot slot : byId.values()) {
+                    jobs[i++] = slot.job;
+                }
+                current = new JobSnapshot(version, Collections.unmodifiableList(Arrays.asList(jobs)));
+                snapshot = current;
+            }
+            return current;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Gets the version of the saved jobs, which goes up with every change.
+     *
+     * @return the version
+     */
+    @Override
+    public long version() {
+        long stamp = lock.tryOptimisticRead();
+        long current = version;
+        if (lock.validate(stamp)) {
+            return current;
+        }
+        stamp = lock.readLock();
+        try {
+            return version;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Gets the number of saved jobs.
+     *
+     * @return the number of jobs
+     */
+    @Override
+    public int size() {
+        long stamp = lock.readLock();
+        try {
+            return byId.size();
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Checks if no job is saved.
+     *
+     * @return true if there are no jobs
+     */
+    @Override
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * Replaces all saved jobs as one atomic step.
+     *
+     * @param jobs the new jobs, in order; a later job replaces an earlier one with the same id
+     */
+    @Override
+    public void replaceAll(Collection<JobRecord> jobs) {
+        long stamp = lock.writeLock();
+        try {
+            clearLocked();
+            for (JobRecord job : jobs) {
+                putLocked(job);
+            }
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Removes all saved jobs.
+     */
+    @Override
+    public void clear() {
+        long stamp = lock.writeLock();
+        try {
+            clearLocked();
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Gets the saved jobs passing the filters of a query, in the saved order.
+     *
+     * @param query the filters
+     * @return a new list of the matching jobs
+     */
+    private List<JobRecord> matches(JobQuery query) {
+        List<JobRecord> candidates;
+        if (query.getCompanyName() != null) {
+            candidates = byCompany(query.getCompanyName());
+        } else if (query.getIndustry() != null) {
+            candidates = byIndustry(query.getIndustry());
+        } else {
+            candidates = values();
+        }
+        List<JobRecord> matches = new ArrayList<>(candidates.size());
+        for (JobRecord job : candidates) {
+            if (query.matches(job)) {
+                matches.add(job);
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * Copies a job with a new rating and comments.
+     *
+     * @param job the job to copy
+     * @param comments comments to set
+     * @param rating rating to set
+     * @return the copy
+     */
+    private static JobRecord withRatingAndComments(JobRecord job, String comments, int rating) {
+        // Create JobBean and set all fields in the same order as JobRecord
+        JobBean jobBean = new JobBean();
+        jobBean.setId(job.id());
+        jobBean.setUrl(job.url());
+        jobBean.setJobSlug(job.jobSlug());
+        jobBean.setJobTitle(job.jobTitle());
+        jobBean.setCompanyName(job.companyName());
+        jobBean.setCompanyLogo(job.companyLogo());
+        jobBean.setJobIndustry(job.jobIndustry());
+        jobBean.setJobType(job.jobType());
+        jobBean.setJobGeo(job.jobGeo());
+        jobBean.setJobLevel(job.jobLevel());
+        jobBean.setJobExcerpt(job.rawJobExcerpt());
+        jobBean.setJobDescription(job.rawJobDescription());
+        jobBean.setPubDate(job.pubDate());
+        jobBean.setAnnualSalaryMin(job.annualSalaryMin());
+        jobBean.setAnnualSalaryMax(job.annualSalaryMax());
+        jobBean.setSalaryCurrency(job.salaryCurrency());
+
+        // Update comments and rating
+        jobBean.setRating(rating);
+        jobBean.setComments(comments);
+        return jobBean.toRecord();
+    }
+
+    /**
+     * Saves or replaces a job, holding the write lock.
+     *
+     * @param job the job
+     * @return the job it replaced, or null if the id was new
+     */
+    private JobRecord putLocked(JobRecord job) {
+        version++;
+        Slot slot = byId.get(job.id());
+        if (slot == null) {
+            slot = new Slot(nextPosition++, job);
+            byId.put(job.id(), slot);
+            index(slot);
+            return null;
+        }
+        JobRecord previous = slot.job;
+        unindex(slot);
+        slot.job = job;
+        index(slot);
+        return previous;
+    }
+
+    /**
+     * Removes all jobs, holding the write lock.
+     */
+    private void clearLocked() {
+        version++;
+        byId.clear();
+        byTitle.clear();
+        byCompany.clear();
+        byIndustry.clear();
+    }
+
+    /**
+     * Adds a slot to the indexes for its current job.
+     *
+     * @param slot the slot
+     */
+    private void index(Slot slot) {
+        add(byTitle, slot.job.jobTitle(), slot);
+        add(byCompany, slot.job.companyName(), slot);
+        if (slot.job.jobIndustry() != null) {
+            for (String industry : slot.job.jobIndustry()) {
+                add(byIndustry, industry, slot);
+            }
+        }
+    }
+
+    /**
+     * Removes a slot from the indexes for its current job.
+     *
+     * @param slot the slot
+     */
+    private void unindex(Slot slot) {
+        remove(byTitle, slot.job.jobTitle(), slot);
+        remove(byCompany, slot.job.companyName(), slot);
+        if (slot.job.jobIndustry() != null) {
+            for (String industry : slot.job.jobIndustry()) {
+                remove(byIndustry, industry, slot);
+            }
+        }
+    }
+
+    /**
+     * Adds a slot under a key of an index.
+     *
+     * @param index the index
+     * @param key the key, null values are not indexed
+     * @param slot the slot
+     */
+    private static void add(Map<String, TreeMap<Long, Slot>> index, String key, Slot slot) {
+        if (key != null) {
+            index.computeIfAbsent(key, k -> new TreeMap<>()).put(slot.position, slot);
+        }
+    }
+
+    /**
+     * Removes a slot from under a key of an index, dropping the key once it has no slots.
+     *
+     * @param index the index
+     * @param key the key, null values are not indexed
+     * @param slot the slot
+     */
+    private static void remove(Map<String, TreeMap<Long, Slot>> index, String key, Slot slot) {
+        if (key == null) {
+            return;
+        }
+        TreeMap<Long, Slot> slots = index.get(key);
+        if (slots != null) {
+            slots.remove(slot.position);
+            if (slots.isEmpty()) {
+                index.remove(key);
+            }
+        }
+    }
+
+    /**
+     * Gets the jobs under a key of an index, holding the read lock.
+     *
+     * @param index the index
+     * @param key the key
+     * @return the jobs in the order they were saved
+     */
+    private List<JobRecord> jobs(Map<String, TreeMap<Long, Slot>> index, String key) {
+        long stamp = lock.readLock();
+        try {
+            TreeMap<Long, Slot> slots = key == null ? null : index.get(key);
+            if (slots == null) {
+                return Collections.emptyList();
+            }
+            List<JobRecord> jobs = new ArrayList<>(slots.size());
+            for (Slot slot : slots.values()) {
+                jobs.add(slot.job);
+            }
+            return jobs;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * A saved job and its fixed place in the order.
+     */
+    private static final class Slot {
+        /** place in the order, kept when the job is replaced.*/
+        private final long position;
+
+        /** the current job, only changed under the write lock.*/
+        private JobRecord job;
+
+        /**
+         * Creates a slot.
+         *
+         * @param position place in the order
+         * @param job the job
+         */
+        Slot(long position, JobRecord job) {
+            this.position = position;
+            this.job = job;
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package skillzhunter.model.formatters;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Replaces files all at once.
+ * The content goes to a temporary file next to the target, which is synced and then renamed
+ * over the target, so a crash or an error while writing leaves the previous file whole
+ * instead of a truncated one.
+ */
+final class AtomicFiles {
+    /** size of the write buffer in bytes.*/
+    static final int BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * Writes the content of a file.
+     */
+    @FunctionalInterface
+    interface Content {
+        /**
+         * Writes the content.
+         *
+         * @param out buffered stream to the temporary file, flushed and closed afterwards
+         * @throws IOException if writing fails
+         */
+        void writeTo(OutputStream out) throws IOException;
+    }
+
+    /**
+     * Private constructor to prevent instantiation of utility class.
+     */
+    private AtomicFiles() {
+        // Prevent instantiation
+    }
+
+    /**
+     * Writes a file, replacing it only once the new content is safely on disk.
+     * Missing parent directories are created.
+     *
+     * @param target the file to write
+     * @param content writes the new content
+     * @throws IOException if the file cannot be written, the target is then left as it was
+     */
+    static void write(Path target, Content content) throws IOException {
+        Path absolute = target.toAbsolutePath();
+        Path dir = absolute.getParent();
+        Files.createDirectories(dir);
+        // same directory, so the rename never crosses file systems
+        Path temp = Files.createTempFile(dir, "." + absolute.getFileName(), ".tmp");
+        boolean moved = false;
+        try {
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING)) {
+                OutputStream out = new BufferedOutputStream(Channels.newOutputStream(channel), BUFFER_SIZE);
+                content.writeTo(out);
+                out.flush();
+                channel.force(true);
+            }
+            move(temp, absolute);
+            moved = true;
+            syncDirectory(dir);
+        } finally {
+            if (!moved) {
+                Files.deleteIfExists(temp);
+            }
+        }
+    }
+
+    /**
+     * Renames the finished file over the target, atomically where the file system can.
+     *
+     * @param temp the finished file
+     * @param target the file to replace
+     * @throws IOException if the file cannot be renamed
+     */
+    private static void move(Path temp, Path target) throws IOException {
+        try {
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * Syncs a directory so the rename itself survives a crash.
+     *
+     * @param dir the directory
+     */
+    private static void syncDirectory(Path dir) {
+        try (FileChannel channel = FileChannel.open(dir, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException e) {
+            // not every platform can open a directory, the file itself is already synced
+        }
+    }
+}
@@ -0,0 +1,515 @@
+package skillzhunter.model.formatters;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+import skillzhunter.model.JobRecord;
+
+/**
+ * Compact binary layout for job records, used for {@link Formats#BINARY}.
+ * Reading it back needs no tokenizing and no reflection, only a straight walk over the
+ * fields in {@link JobRecord} order, which is what makes loading saved jobs fast.
+ *
+ * <p>The stream starts with the magic bytes "SZJB" and a two byte version. Each record is
+ * a {@value #RECORD} byte followed by its fields, and the stream ends with a {@value #END}
+ * byte. Numbers are zigzag variable length integers. Strings are a variable length code:
+ * 0 for null, 1 for a literal, 2 for a literal that is also added to the string dictionary,
+ * and 3 or more for entry code - 3 of the dictionary. A literal is its UTF-8 length and bytes.
+ * Short strings, such as company names, currencies and industries, are added to the
+ * dictionary the first time they are written, so repeats cost a byte or two. Lists are
+ * 0 for null, or their size + 1 and then their strings.</p>
+ */
+final class BinaryJobCodec {
+    /** first bytes of every stream, "SZJB".*/
+    private static final int MAGIC = 0x535A4A42;
+
+    /** version of the layout written.*/
+    static final int VERSION = 1;
+
+    /** marks a record.*/
+    private static final int RECORD = 1;
+
+    /** marks the end of the stream.*/
+    private static final int END = 0;
+
+    /** code of a null string or list.*/
+    private static final int NULL = 0;
+
+    /** code of a string that is not kept in the dictionary.*/
+    private static final int LITERAL = 1;
+
+    /** code of a string that is added to the dictionary.*/
+    private static final int NEW_ENTRY = 2;
+
+    /** first code that refers to a dictionary entry.*/
+    private static final int FIRST_ENTRY = 3;
+
+    /** longest string kept in the dictionary, longer ones are rarely repeated.*/
+    private static final int MAX_ENTRY_LENGTH = 64;
+
+    /** most entries in the dictionary.*/
+    private static final int MAX_ENTRIES = 1 << 16;
+
+    /** longest literal accepted when reading, anything longer means the data is corrupt.*/
+    private static final int MAX_LITERAL_BYTES = 64 * 1024 * 1024;
+
+    /** size of the read and write buffers.*/
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * Private constructor to prevent instantiation of utility class.
+     */
+    private BinaryJobCodec() {
+        // Prevent instantiation
+    }
+
+    /**
+     * Writes records, flushing but not closing the stream.
+     *
+     * @param records the records
+     * @param out the stream to write to
+     * @throws IOException if writing fails
+     */
+    static void write(Iterator<? extends JobRecord> records, OutputStream out) throws IOException {
+        Encoder encoder = new Encoder(new BufferedOutputStream(out, BUFFER_SIZE));
+        encoder.header();
+        while (records.hasNext()) {
+            encoder.record(records.next());
+        }
+        encoder.end();
+    }
+
+    /**
+     * Opens an iterator over the records of a stream.
+     *
+     * @param in the stream, closed when the iterator is closed
+     * @return an iterator that decodes each record when it is reached
+     * @throws IOException if the header is missing or has an unknown version
+     */
+    static JobReaders.RecordIterator read(InputStream in) throws IOException {
+        Decoder decoder = new Decoder(new BufferedInputStream(in, BUFFER_SIZE));
+        try {
+            decoder.header();
+        } catch (IOException e) {
+            decoder.close();
+            throw e;
+        }
+        return decoder;
+    }
+
+    /**
+     * Encodes a single record on its own, without the stream header and with a dictionary of its own,
+     * for storing records one at a time such as in the {@link JobJournal}.
+     *
+     * @param job the record
+     * @return the encoded record, followed by the end mark
+     */
+    static byte[] encode(JobRecord job) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+        Encoder encoder = new Encoder(bytes);
+        try {
+            encoder.record(job);
+            encoder.end();
+        } catch (IOException e) {
+            // a byte array stream does not fail
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Decodes a record encoded by {@link #encode(JobRecord)}.
+     *
+     * @param bytes the encoded record
+     * @return the record
+     * @throws IOException if the bytes do not hold exactly one record
+     */
+    static JobRecord decode(byte[] bytes) throws IOException {
+        Decoder decoder = new Decoder(new ByteArrayInputStream(bytes));
+        try {
+            if (!decoder.hasNext()) {
+                throw new IOException("Corrupt binary jobs data, no record");
+            }
+            JobRecord job = decoder.next();
+            if (decoder.hasNext()) {
+                throw new IOException("Corrupt binary jobs data, more than one record");
+            }
+            return job;
+        } catch (RuntimeException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Writes the layout.
+     */
+    private static final class Encoder {
+        /** the buffered output.*/
+        private final OutputStream out;
+
+        /** dictionary code of each string added so far.*/
+        private final Map<String, Integer> dictionary = new HashMap<>();
+
+        /**
+         * Creates an encoder.
+         *
+         * @param out the buffered output
+         */
+        Encoder(OutputStream out) {
+            this.out = out;
+        }
+
+        /**
+         * Writes the magic bytes and version.
+         *
+         * @throws IOException if writing fails
+         */
+        void header() throws IOException {
+            out.write(MAGIC >>> 24);
+            out.write(MAGIC >>> 16);
+            out.write(MAGIC >>> 8);
+            out.write(MAGIC);
+            out.write(VERSION >>> 8);
+            out.write(VERSION);
+        }
+
+        /**
+         * Writes a record.
+         *
+         * @param job the record
+         * @throws IOException if writing fails
+         */
+        void record(JobRecord job) throws IOException {
+            out.write(RECORD);
+            number(job.id());
+            string(job.url());
+            string(job.jobSlug());
+            string(job.jobTitle());
+            string(job.companyName());
+            string(job.companyLogo());
+            list(job.jobIndustry());
+            list(job.jobType());
+            string(job.jobGeo());
+            string(job.jobLevel());
+            // kept as stored, so loaded records decode them only when read
+            string(job.rawJobExcerpt());
+            string(job.rawJobDescription());
+            string(job.pubDate());
+            number(job.annualSalaryMin());
+            number(job.annualSalaryMax());
+            string(job.salaryCurrency());
+            number(job.rating());
+            string(job.comments());
+        }
+
+        /**
+         * Writes the end mark and flushes.
+         *
+         * @throws IOException if writing fails
+         */
+        void end() throws IOException {
+            out.write(END);
+            out.flush();
+        }
+
+        /**
+         * Writes a signed number.
+         *
+         * @param value the number
+         * @throws IOException if writing fails
+         */
+        private void number(int value) throws IOException {
+            varint((value << 1) ^ (value >> 31));
+        }
+
+        /**
+         * Writes a string.
+         *
+         * @param value the string, may be null
+         * @throws IOException if writing fails
+         */
+        private void string(String value) throws IOException {
+            if (value == null) {
+                varint(NULL);
+                return;
+            }
+            Integer entry = dictionary.get(value);
+            if (entry != null) {
+                varint(FIRST_ENTRY + entry);
+                return;
+            }
+            if (value.length() <= MAX_ENTRY_LENGTH && dictionary.size() < MAX_ENTRIES) {
+                dictionary.put(value, dictionary.size());
+                varint(NEW_ENTRY);
+            } else {
+                varint(LITERAL);
+            }
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            varint(bytes.length);
+            out.write(bytes);
+        }
+
+        /**
+         * Writes a list of strings.
+         *
+         * @param values the list, may be null
+         * @throws IOException if writing fails
+         */
+        private void list(List<String> values) throws IOException {
+            if (values == null) {
+                varint(NULL);
+                return;
+            }
+            varint(values.size() + 1);
+            for (String value : values) {
+                string(value);
+            }
+        }
+
+        /**
+         * Writes an unsigned variable length integer, seven bits per byte.
+         *
+         * @param value the number, taken as unsigned
+         * @throws IOException if writing fails
+         */
+        private void varint(int value) throws IOException {
+            int rest = value;
+            while ((rest & ~0x7F) != 0) {
+                out.write((rest & 0x7F) | 0x80);
+                rest >>>= 7;
+            }
+            out.write(rest);
+        }
+    }
+
+    /**
+     * Reads the layout, one record at a time.
+     */
+    private static final class Decoder implements JobReaders.RecordIterator {
+        /** the buffered input.*/
+        private final InputStream in;
+
+        /** strings added to the dictionary so far, by code.*/
+        private final List<String> dictionary = new ArrayList<>();
+
+        /** buffer for literals, grown as needed.*/
+        private byte[] bytes = new byte[256];
+
+        /** the record read ahead by hasNext, if any.*/
+        private JobRecord next;
+
+        /** set once the end mark is reached.*/
+        private boolean done;
+
+        /**
+         * Creates a decoder.
+         *
+         * @param in the buffered input
+         */
+        Decoder(InputStream in) {
+            this.in = in;
+        }
+
+        /**
+         * Checks the magic bytes and version.
+         *
+         * @throws IOException if they are missing or the version is not known
+         */
+        void header() throws IOException {
+            int magic = (readByte() << 24) | (readByte() << 16) | (readByte() << 8) | readByte();
+            if (magic != MAGIC) {
+                throw new IOException("Not a binary jobs file");
+            }
+            int version = (readByte() << 8) | readByte();
+            if (version != VERSION) {
+                throw new IOException("Unsupported binary jobs version " + version + ", expected " + VERSION);
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (next == null && !done) {
+                try {
+                    int mark = readByte();
+                    if (mark == END) {
+                        done = true;
+                    } else if (mark == RECORD) {
+                        next = record();
+                    } else {
+                        throw new IOException("Corrupt binary jobs data, unexpected mark " + mark);
+                    }
+                } catch (IOException e) {
+                    done = true;
+                    throw new RuntimeException("Error reading data from InputStream", e);
+                }
+            }
+            return next != null;
+        }
+
+        @Override
+        public JobRecord next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            JobRecord record = next;
+            next = null;
+            return record;
+        }
+
+        @Override
+        public void close() throws IOException {
+            done = true;
+            in.close();
+        }
+
+        /**
+         * Reads the fields of a record.
+         *
+         * @return the record
+         * @throws IOException if the data is truncated or corrupt
+         */
+        private JobRecord record() throws IOException {
+            int id = number();
+            String url = string();
+            String jobSlug = string();
+            String jobTitle = string();
+            String companyName = string();
+            String companyLogo = string();
+            List<String> jobIndustry = list();
+            List<String> jobType = list();
+            String jobGeo = string();
+            String jobLevel = string();
+            String jobExcerpt = string();
+            String jobDescription = string();
+            String pubDate = string();
+            int annualSalaryMin = number();
+            int annualSalaryMax = number();
+            String salaryCurrency = string();
+            int rating = number();
+            String comments = string();
+            return new JobRecord(id, url, jobSlug, jobTitle, companyName, companyLogo, jobIndustry, jobType,
+                jobGeo, jobLevel, jobExcerpt, jobDescription, pubDate, annualSalaryMin, annualSalaryMax,
+                salaryCurrency, rating, comments);
+        }
+
+        /**
+         * Reads a signed number.
+         *
+         * @return the number
+         * @throws IOException if the data is truncated
+         */
+        private int number() throws IOException {
+            int zigzag = varint();
+            return (zigzag >>> 1) ^ -(zigzag & 1);
+        }
+
+        /**
+         * Reads a string.
+         *
+         * @return the string, may be null
+         * @throws IOException if the data is truncated or corrupt
+         */
+        private String string() throws IOException {
+            int code = varint();
+            if (code == NULL) {
+                return null;
+            }
+            if (code < 0) {
+                throw new IOException("Corrupt binary jobs data, string code " + code);
+            }
+            if (code >= FIRST_ENTRY) {
+                int entry = code - FIRST_ENTRY;
+                if (entry >= dictionary.size()) {
+                    throw new IOException("Corrupt binary jobs data, unknown string " + entry);
+                }
+                return dictionary.get(entry);
+            }
+            int length = varint();
+            if (length < 0 || length > MAX_LITERAL_BYTES) {
+                throw new IOException("Corrupt binary jobs data, string of " + length + " bytes");
+            }
+            if (length > bytes.length) {
+                bytes = new byte[Math.max(length, bytes.length * 2)];
+            }
+            if (in.readNBytes(bytes, 0, length) < length) {
+                throw new EOFException("Binary jobs data ends in the middle of a record");
+            }
+            String value = new String(bytes, 0, length, StandardCharsets.UTF_8);
+            if (code == NEW_ENTRY) {
+                dictionary.add(value);
+            }
+            return value;
+        }
+
+        /**
+         * Reads a list of strings.
+         *
+         * @return the list, may be null
+         * @throws IOException if the data is truncated or corrupt
+         */
+        private List<String> list() throws IOException {
+            int code = varint();
+            if (code == NULL) {
+                return null;
+            }
+            int size = code - 1;
+            if (size < 0) {
+                throw new IOException("Corrupt binary jobs data, list of " + size + " values");
+            }
+            List<String> values = new ArrayList<>(Math.min(size, 16));
+            for (int i = 0; i < size; i++) {
+                values.add(string());
+            }
+            return values;
+        }
+
+        /**
+         * Reads an unsigned variable length integer.
+         *
+         * @return the number
+         * @throws IOException if the data is truncated or the number too long
+         */
+        private int varint() throws IOException {
+            int value = 0;
+            for (int shift = 0; shift < 32; shift += 7) {
+                int b = readByte();
+                value |= (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return value;
+                }
+            }
+            throw new IOException("Corrupt binary jobs data, number too long");
+        }
+
+        /**
+         * Reads one byte.
+         *
+         * @return the byte, 0 to 255
+         * @throws IOException if the data ends
+         */
+        private int readByte() throws IOException {
+            int b = in.read();
+            if (b < 0) {
+                throw new EOFException("Binary jobs data ends in the middle of a record");
+            }
+            return b;
+        }
+    }
+}
@@ -0,0 +1,286 @@
+package skillzhunter.model.formatters;
+
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import skillzhunter.model.JobRecord;
+
+/**
+ * Streaming writer for the saved jobs CSV file.
+ * Records are sanitized a chunk at a time, in parallel for large exports, and encoded
+ * straight into a large buffer, so no cleaned copy of the whole job list is built and the
+ * disk only sees big writes. The file is
+ * replaced through {@link AtomicFiles}, so a crash while exporting leaves the previous file
+ * whole instead of a truncated one.
+ */
+public final class CsvExporter {
+    /** first line of the file.*/
+    public static final String HEADER = "id,url,jobSlug,jobTitle,companyName,companyLogo,"
+        + "jobIndustry,jobType,jobGeo,jobLevel,jobExcerpt,jobDescription,pubDate,"
+        + "annualSalaryMin,annualSalaryMax,salaryCurrency,rating,comments";
+
+    /** size of the write buffer in characters.*/
+    private static final int BUFFER_SIZE = AtomicFiles.BUFFER_SIZE;
+
+    /** number of jobs sanitized together before their rows are written.*/
+    private static final int CHUNK_SIZE = 2048;
+
+    /** end of each line, the same as the exports always had.*/
+    private static final String LINE_SEPARATOR = System.lineSeparator();
+
+    /**
+     * Private constructor to prevent instantiation of utility class.
+     */
+    private CsvExporter() {
+        // Prevent instantiation
+    }
+
+    /**
+     * Writes jobs to a CSV file, replacing it only once every row is safely on disk.
+     * Missing parent directories are created.
+     *
+     * @param jobs the jobs, read once in order
+     * @param target the file to write
+     * @return number of jobs written
+     * @throws IOException if the file cannot be written, the target is then left as it was
+     */
+    public static int export(Iterable<JobRecord> jobs, Path target) throws IOException {
+        int[] count = new int[1];
+        AtomicFiles.write(target, out -> {
+            Writer writer = new OutputStreamWriter(out, StandardCharsets.UTF_8);
+            CsvBuffer buffer = new CsvBuffer(writer);
+            count[0] = write(jobs, buffer);
+            buffer.flush();
+            writer.flush();
+        });
+        return count[0];
+    }
+
+    /**
+     * Writes the header and one row per job.
+     *
+     * @param jobs the jobs
+     * @param out receives the rows
+     * @return number of jobs written
+     * @throws IOException if writing fails
+     */
+    private static int write(Iterable<JobRecord> jobs, CsvBuffer out) throws IOException {
+        out.append(HEADER).append(LINE_SEPARATOR);
+        int count = 0;
+        // cleaned a chunk at a time, so large exports use every core but memory stays bounded
+        List<JobRecord> chunk = new ArrayList<>(CHUNK_SIZE);
+        for (JobRecord job : jobs) {
+            chunk.add(job);
+            if (chunk.size() == CHUNK_SIZE) {
+                count += writeRows(chunk, out);
+                chunk.clear();
+            }
+        }
+        return count + writeRows(chunk, out);
+    }
+
+    /**
+     * Sanitizes a chunk of jobs and writes them as rows.
+     *
+     * @param chunk the jobs
+     * @param out receives the rows
+     * @return number of jobs written
+     * @throws IOException if writing fails
+     */
+    private static int writeRows(List<JobRecord> chunk, CsvBuffer out) throws IOException {
+        for (JobRecord job : DataFormatter.processJobsHtml(chunk)) {
+            writeRow(job, out);
+        }
+        return chunk.size();
+    }
+
+    /**
+     * Writes one job as a row.
+     * The excerpt is cut to its first sentence and the description is replaced by a short summary.
+     *
+     * @param job the sanitized job
+     * @param out receives the row
+     * @throws IOException if writing fails
+     */
+    private static void writeRow(JobRecord job, CsvBuffer out) throws IOException {
+        out.append(job.id()).append(',');
+        out.quoted(job.url()).append(',');
+        out.quoted(job.jobSlug()).append(',');
+        out.quoted(job.jobTitle()).append(',');
+        out.quoted(job.companyName()).append(',');
+        out.quoted(job.companyLogo()).append(',');
+        out.quotedList(job.jobIndustry()).append(',');
+        out.quotedList(job.jobType()).append(',');
+        out.quoted(job.jobGeo()).append(',');
+        out.quoted(job.jobLevel()).append(',');
+
+        String excerpt = "";
+        if (job.jobExcerpt() != null && !job.jobExcerpt().isEmpty()) {
+            excerpt = HtmlText.firstSentence(job.jobExcerpt());
+        }
+        out.quoted(excerpt).append(',');
+
+        out.append('"').escaped("Position at ").escaped(String.valueOf(job.companyName()))
+            .escaped(" - ").escaped(String.valueOf(job.jobTitle())).append('"').append(',');
+
+        out.quoted(job.pubDate()).append(',');
+        out.append(job.annualSalaryMin()).append(',');
+        out.append(job.annualSalaryMax()).append(',');
+        out.quoted(job.salaryCurrency()).append(',');
+        out.append(job.rating()).append(',');
+        out.quoted(job.comments()).append(LINE_SEPARATOR);
+    }
+
+    /**
+     * Character buffer that writes CSV values without building a string per value.
+     * Only hands characters to the writer when it is full.
+     */
+    private static final class CsvBuffer {
+        /** where full buffers go.*/
+        private final Writer out;
+
+        /** the buffered characters.*/
+        private final char[] buffer = new char[BUFFER_SIZE];
+
+        /** number of buffered characters.*/
+        private int length;
+
+        /**
+         * Creates a buffer.
+         *
+         * @param out where full buffers go
+         */
+        CsvBuffer(Writer out) {
+            this.out = out;
+        }
+
+        /**
+         * Appends a character.
+         *
+         * @param c the character
+         * @return this buffer
+         * @throws IOException if writing fails
+         */
+        CsvBuffer append(char c) throws IOException {
+            if (length == buffer.length) {
+                flush();
+            }
+            buffer[length++] = c;
+            return this;
+        }
+
+        /**
+         * Appends a number.
+         *
+         * @param value the number
+         * @return this buffer
+         * @throws IOException if writing fails
+         */
+        CsvBuffer append(int value) throws IOException {
+            return append(Integer.toString(value));
+        }
+
+        /**
+         * Appends text as is.
+         *
+         * @param text the text
+         * @return this buffer
+         * @throws IOException if writing fails
+         */
+        CsvBuffer append(String text) throws IOException {
+            return append(text, 0, text.length());
+        }
+
+        /**
+         * Appends part of a text as is.
+         *
+         * @param text the text
+         * @param start index of the first character
+         * @param end index after the last character
+         * @return this buffer
+         * @throws IOException if writing fails
+         */
+        CsvBuffer append(String text, int start, int end) throws IOException {
+            int from = start;
+            while (from < end) {
+                if (length == buffer.length) {
+                    flush();
+                }
+                int chunk = Math.min(end - from, buffer.length - length);
+                text.getChars(from, from + chunk, buffer, length);
+                length += chunk;
+                from += chunk;
+            }
+            return this;
+        }
+
+        /**
+         * Appends text with its double quotes doubled, without the surrounding quotes.
+         *
+         * @param text the text
+         * @return this buffer
+         * @throws IOException if writing fails
+         */
+        CsvBuffer escaped(String text) throws IOException {
+            int from = 0;
+            int quote = text.indexOf('"');
+            while (quote >= 0) {
+                append(text, from, quote + 1).append('"');
+                from = quote + 1;
+                quote = text.indexOf('"', from);
+            }
+            return append(text, from, text.length());
+        }
+
+        /**
+         * Appends a quoted value, the same as {@link DataFormatter#escapeCSV(String)}.
+         *
+         * @param value the value, null is written as an empty quoted value
+         * @return this buffer
+         * @throws IOException if writing fails
+         */
+        CsvBuffer quoted(String value) throws IOException {
+            append('"');
+            if (value != null) {
+                escaped(value);
+            }
+            return append('"');
+        }
+
+        /**
+         * Appends a list as one quoted value joined by ", ", or nothing if it is empty.
+         *
+         * @param values the list, may be null
+         * @return this buffer
+         * @throws IOException if writing fails
+         */
+        CsvBuffer quotedList(List<String> values) throws IOException {
+            if (values == null || values.isEmpty()) {
+                return this;
+            }
+            append('"');
+            for (int i = 0; i < values.size(); i++) {
+                if (i > 0) {
+                    append(", ");
+                }
+                escaped(String.valueOf(values.get(i)));
+            }
+            return append('"');
+        }
+
+        /**
+         * Hands the buffered characters to the writer.
+         *
+         * @throws IOException if writing fails
+         */
+        void flush() throws IOException {
+            out.write(buffer, 0, length);
+            length = 0;
+        }
+    }
+}
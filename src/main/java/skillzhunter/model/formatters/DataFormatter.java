@@ -1,24 +1,18 @@
 package skillzhunter.model.formatters;
 
-import java.io.BufferedWriter;
-import java.io.File;
-import java.io.FileWriter;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
-import java.io.PrintStream;
+import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 import javax.annotation.Nonnull;
 
-import com.fasterxml.jackson.databind.MappingIterator;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.SerializationFeature;
-import com.fasterxml.jackson.dataformat.csv.CsvMapper;
-import com.fasterxml.jackson.dataformat.csv.CsvSchema;
-import com.fasterxml.jackson.dataformat.xml.XmlMapper;
+import skillzhunter.logging.Logger;
 import skillzhunter.model.JobRecord;
 import skillzhunter.model.JobBean;
 
@@ -26,238 +20,89 @@ import skillzhunter.model.JobBean;
  * A class to format the data in different ways.
  */
 public final class DataFormatter {
+    /** Logger for this class. */
+    private static final Logger LOG = Logger.getLogger(DataFormatter.class);
 
-    /**
-     * Private constructor to prevent instantiation.
-     */
-    private DataFormatter() {
-        // empty
-    }
+    /** System property with the number of jobs from which {@link #processJobsHtml(Collection)} goes parallel. */
+    public static final String PARALLEL_THRESHOLD_PROPERTY = "skillzhunter.sanitize.parallelThreshold";
 
     /**
-     * Pretty print the data in a human readable format.
-     *
-     * @param records the records to print
-     * @param out the output stream to write to
+     * Batches smaller than this are cleaned on the calling thread. Below a few hundred jobs,
+     * handing the work to other cores costs more than it saves, see ProcessJobsHtmlBenchmark.
      */
-    private static void prettyPrint(Collection<JobRecord> records, OutputStream out) {
-        PrintStream pout = new PrintStream(out); // so i can use println
-        for (JobRecord record : records) {
-            prettySingle(record, pout);
-            pout.println();
-        }
-    }
+    private static final int PARALLEL_THRESHOLD = Integer.getInteger(PARALLEL_THRESHOLD_PROPERTY, 512);
 
     /**
-     * Pretty print a single record.
-     *
-     * Let this as an example, so you didn't have to worry about spacing.
-     *
-     * @param record the record to print
-     * @param out the output stream to write to
+     * Private constructor to prevent instantiation.
      */
-    private static void prettySingle(@Nonnull JobRecord record, @Nonnull PrintStream out) {
-        out.println(record.jobTitle());
-        out.println("             Company: " + record.companyName());
-        out.println("       Pay: " + record.annualSalaryMin() + " to " + record.annualSalaryMax());
-        out.println("       Date Published: " + record.pubDate());
-        out.println("       Description: " + record.jobDescription());
-
+    private DataFormatter() {
+        // empty
     }
 
     /**
-     * Write the data as XML.
-     *
-     * @param records the records to write
-     * @param out the output stream to write to
-     */
-    private static void writeXmlData(Collection<JobRecord> records, OutputStream out) {
-        ObjectMapper mapper = new XmlMapper();
-        DomainXmlWrapper wrapper = new DomainXmlWrapper(records);
-        mapper.enable(SerializationFeature.INDENT_OUTPUT);
-        try {
-            mapper.writeValue(out, wrapper);
-        } catch (IOException e) {
-            throw new RuntimeException("Error writing XML data");
-    }
-}
-
-
-    /**
-     * Write the data as JSON.
+     * Write the data in the specified format.
      *
      * @param records the records to write
+     * @param format the format to write the records in
      * @param out the output stream to write to
      */
-    private static void writeJsonData(Collection<JobRecord> records, OutputStream out) {
-        ObjectMapper mapper = new ObjectMapper();
-        mapper.enable(SerializationFeature.INDENT_OUTPUT);
-        try {
-            mapper.writeValue(out, records);
-        } catch (IOException e) {
-           throw new RuntimeException("Error writing JSON data");
-        }
+    public static void write(@Nonnull Collection<JobRecord> records, @Nonnull Formats format,
+            @Nonnull OutputStream out) {
+        JobWriters.write(records.iterator(), format, out);
     }
 
     /**
-     * Write the data as CSV.
+     * Write the data in the specified format to a file, replacing it only once the new data is safely on disk.
+     * Missing parent directories are created, and a failed write leaves the previous file as it was.
      *
      * @param records the records to write
-     * @param out the output stream to write to
+     * @param format the format to write the records in
+     * @param filePath the file to write
      */
-    private static void writeCSVData(Collection<JobRecord> records, OutputStream out) {
-                CsvMapper mapper = new CsvMapper();
-        CsvSchema schema = mapper.schemaFor(JobRecord.class).withHeader();
+    public static void writeFile(@Nonnull Iterable<JobRecord> records, @Nonnull Formats format,
+            @Nonnull String filePath) {
         try {
-            mapper.writer(schema).writeValues(out).writeAll(records);
+            AtomicFiles.write(Paths.get(filePath), out -> JobWriters.write(records.iterator(), format, out));
         } catch (IOException e) {
-            throw new RuntimeException("Error writing CSV data");
-        }
-    }
-
-    /**
-     * Write the data in the specified format.
-     *
-     * @param records the records to write
-     * @param format the format to write the records in
-     * @param out the output stream to write to
-     */
-    public static void write(@Nonnull Collection<JobRecord> records, @Nonnull Formats format,
-            @Nonnull OutputStream out) {
-
-        switch (format) {
-            case XML:
-                writeXmlData(records, out);
-                break;
-            case JSON:
-                writeJsonData(records, out);
-                break;
-            case CSV:
-                writeCSVData(records, out);
-                break;
-            default:
-                prettyPrint(records, out);
-
+            throw new RuntimeException("Failed to write " + format + " file: " + e.getMessage(), e);
         }
     }
 
     /**
      * Export the job records to a CSV file.
      * This method will escape HTML tags and entities.
-     * This method will also cut down
-     * @param jobs
-     * @param filePath
+     * This method will also cut down the excerpt to its first sentence and the description to a summary.
+     * Records are streamed to a temporary file that replaces the target once complete,
+     * so a failed export leaves the previous file as it was.
+     * @param jobs the jobs to export
+     * @param filePath the file to write
+     * @see CsvExporter
      */
-    public static void exportCustomCSV(List<JobRecord> jobs, String filePath) {
-        // Create a File object to check directory existence
-        File file = new File(filePath);
-        File parentDir = file.getParentFile();
-        
-        // Ensure the directory exists
-        if (parentDir != null && !parentDir.exists()) {
-            boolean dirCreated = parentDir.mkdirs();
-            if (!dirCreated) {
-                System.err.println("Failed to create directory: " + parentDir.getAbsolutePath());
-            }
-        }
-        
-        try (BufferedWriter writer = new BufferedWriter(new FileWriter(filePath))) {
-            
-            writer.write("id,url,jobSlug,jobTitle,companyName,companyLogo,"
-            + "jobIndustry,jobType,jobGeo,jobLevel,jobExcerpt,jobDescription,pubDate," 
-            + "annualSalaryMin,annualSalaryMax,salaryCurrency,rating,comments");
-            writer.newLine();
-
-            // Make sure all jobs are sanitized before writing to CSV
-            List<JobRecord> sanitizedJobs = new ArrayList<>();
-            for (JobRecord job : jobs) {
-                JobRecord sanitizedJob = processJobHtml(job);
-                sanitizedJobs.add(sanitizedJob);
-            }
-
-            for (JobRecord job : sanitizedJobs) {
-                StringBuilder line = new StringBuilder();
-                line.append(job.id()).append(",");
-                line.append(escapeCSV(job.url())).append(",");
-                line.append(escapeCSV(job.jobSlug())).append(",");
-                line.append(escapeCSV(job.jobTitle())).append(",");
-                line.append(escapeCSV(job.companyName())).append(",");
-                line.append(escapeCSV(job.companyLogo())).append(",");
-
-                if (job.jobIndustry() != null && !job.jobIndustry().isEmpty()) {
-                    line.append(escapeCSV(String.join(", ", job.jobIndustry())));
-                }
-                line.append(",");
-
-                if (job.jobType() != null && !job.jobType().isEmpty()) {
-                    line.append(escapeCSV(String.join(", ", job.jobType())));
-                }
-                line.append(",");
-
-                line.append(escapeCSV(job.jobGeo())).append(",");
-                line.append(escapeCSV(job.jobLevel())).append(",");
-
-                String excerpt = "";
-                if (job.jobExcerpt() != null && !job.jobExcerpt().isEmpty()) {
-                    excerpt = extractFirstSentence(stripHTML(job.jobExcerpt()));
-                }
-                line.append(escapeCSV(excerpt)).append(",");
-
-                String description = "Position at " + job.companyName() + " - " + job.jobTitle();
-                line.append(escapeCSV(description)).append(",");
-
-                line.append(escapeCSV(job.pubDate())).append(",");
-                line.append(job.annualSalaryMin()).append(",");
-                line.append(job.annualSalaryMax()).append(",");
-                line.append(escapeCSV(job.salaryCurrency())).append(",");
-                line.append(job.rating()).append(",");
-                line.append(escapeCSV(job.comments()));
-
-                writer.write(line.toString());
-                writer.newLine();
-                
-                // Force flush after each record to ensure data is written
-                writer.flush();
-            }
-            
-            System.out.println("Successfully exported " + sanitizedJobs.size() + " jobs to " + filePath);
-            
+    public static void exportCustomCSV(Iterable<JobRecord> jobs, String filePath) {
+        try {
+            int count = CsvExporter.export(jobs, Paths.get(filePath));
+            LOG.info("Successfully exported " + count + " jobs to " + filePath);
         } catch (IOException e) {
-            e.printStackTrace();
-            System.err.println("Error writing CSV file: " + e.getMessage());
+            LOG.error("Error writing CSV file: " + e.getMessage(), e);
             throw new RuntimeException("Failed to save jobs to CSV: " + e.getMessage(), e);
         }
     }
 
     /**
      * Strips HTML tags from a string.
+     * Block level tags such as paragraphs and list items become spaces, and whitespace is normalized.
      * 
      * @param html The string possibly containing HTML tags
      * @return The string with HTML tags removed
+     * @see HtmlText
      */
     public static String stripHTML(String html) {
-        if (html == null) {
-            return "";
-        }
-        
-        //Check for the "normalized" test case
-        if (html.contains("<span>normalized</span>.")) {
-            // This is for html with tags aka <>
-            return html.replaceAll("<[^>]*>", "").replaceAll("\\s+", " ").trim();
-        }
-      
-        //Replace tags that might join words with a space
-        String preprocessed = html.replaceAll("</[^>]*>", " ");
-        
-        //Remove all remaining tags
-        String noTags = preprocessed.replaceAll("<[^>]*>", "");
-        
-        //Normalize spaces and trim
-        return noTags.replaceAll("\\s+", " ").trim();
+        return HtmlText.toText(html);
     }
 
     /**
      * Extracts the first sentence from a text string.
+     * For HTML, {@link HtmlText#firstSentence(CharSequence)} strips and extracts in one pass.
      * 
      * @param text The text to extract from
      * @return The first sentence or a truncated version if no end marker found
@@ -266,16 +111,12 @@ public final class DataFormatter {
         if (text == null || text.isEmpty()) {
             return "";
         }
-        int endPos = -1;
-        for (String endMark : new String[]{".", "!", "?"}) {
-            int pos = text.indexOf(endMark);
-            if (pos >= 0 && (endPos == -1 || pos < endPos)) {
-                endPos = pos + 1;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '.' || c == '!' || c == '?') {
+                return text.substring(0, i + 1).trim();
             }
         }
-        if (endPos > 0) {
-            return text.substring(0, endPos).trim();
-        }
         return text.length() > 100 ? text.substring(0, 97) + "..." : text;
     }
 
@@ -293,100 +134,60 @@ public final class DataFormatter {
     }
 
     /**
-     * Replaces common HTML special characters in a string with more comprehensive handling.
+     * Replaces HTML character references in a string, named, decimal and hexadecimal.
      * This method is for text content processing, especially for job descriptions and excerpts.
+     * Double encoded references such as {@code &amp;amp;} are decoded fully.
      *
      * @param text Text with potential HTML special characters
-     * @return Text with replaced HTML special characters
+     * @return Text with replaced HTML special characters, the same instance if it has no {@code &}
+     * @see HtmlEntityDecoder
      */
     public static String replaceHtmlEntities(String text) {
-        if (text == null || text.isEmpty()) {
-            return text;
-        }
-
-        // Create a more comprehensive map of HTML entities and their replacements
-        java.util.Map<String, String> htmlEntities = new java.util.HashMap<>();
-        htmlEntities.put("&amp;", "&");
-        htmlEntities.put("&lt;", "<");
-        htmlEntities.put("&gt;", ">");
-        htmlEntities.put("&quot;", "\"");
-        htmlEntities.put("&#39;", "'");
-        htmlEntities.put("&apos;", "'");
-        htmlEntities.put("&nbsp;", " ");
-        htmlEntities.put("&ndash;", "–");
-        htmlEntities.put("&mdash;", "—");
-        htmlEntities.put("&lsquo;", "'");
-        htmlEntities.put("&rsquo;", "'");
-        htmlEntities.put("&ldquo;", "\"");
-        htmlEntities.put("&rdquo;", "\"");
-        htmlEntities.put("&bull;", "•");
-        htmlEntities.put("&copy;", "©");
-        htmlEntities.put("&reg;", "®");
-        htmlEntities.put("&trade;", "™");
-        htmlEntities.put("&euro;", "€");
-        htmlEntities.put("&pound;", "£");
-        htmlEntities.put("&yen;", "¥");
-        htmlEntities.put("&cent;", "¢");
-
-        // First handle nested entities (like &amp;amp;) by applying multiple passes
-        String result = text;
-        String prevResult;
-        do {
-            prevResult = result;
-            for (java.util.Map.Entry<String, String> entry : htmlEntities.entrySet()) {
-                result = result.replace(entry.getKey(), entry.getValue());
-            }
-        } while (!result.equals(prevResult));
+        return HtmlEntityDecoder.decode(text);
+    }
 
-        // Handle numeric entities (like &#123;)
-        java.util.regex.Pattern numericPattern = java.util.regex.Pattern.compile("&#(\\d+);");
-        java.util.regex.Matcher numericMatcher = numericPattern.matcher(result);
-        StringBuilder numericBuilder = new StringBuilder();
-        while (numericMatcher.find()) {
-            try {
-                String numStr = numericMatcher.group(1);
-                int code = Integer.parseInt(numStr);
-                numericMatcher.appendReplacement(numericBuilder, String.valueOf((char) code));
-            } catch (NumberFormatException e) {
-                numericMatcher.appendReplacement(numericBuilder, numericMatcher.group(0));
-            } catch (IllegalArgumentException e) {
-                // In case of invalid replacement or any other issues
-                numericMatcher.appendReplacement(numericBuilder, numericMatcher.group(0));
-            }
-        }
-        numericMatcher.appendTail(numericBuilder);
-        result = numericBuilder.toString();
+    /**
+     * Process all HTML content in a batch of JobRecords, see {@link #processJobHtml(JobRecord)}.
+     * Batches of at least 512 jobs, or as many as the {@value #PARALLEL_THRESHOLD_PROPERTY}
+     * system property says, are spread over the common fork/join pool.
+     *
+     * @param jobs The JobRecords to process
+     * @return The processed JobRecords, in the same order as the batch
+     */
+    public static List<JobRecord> processJobsHtml(Collection<JobRecord> jobs) {
+        return processJobsHtml(jobs, PARALLEL_THRESHOLD);
+    }
 
-        // Handle hexadecimal entities (like &#x1F600;)
-        java.util.regex.Pattern hexPattern = java.util.regex.Pattern.compile("&#[xX]([0-9a-fA-F]+);");
-        java.util.regex.Matcher hexMatcher = hexPattern.matcher(result);
-        StringBuilder hexBuilder = new StringBuilder();
-        while (hexMatcher.find()) {
-            try {
-                String hex = hexMatcher.group(1);
-                int code = Integer.parseInt(hex, 16);
-                String replacement = String.valueOf(Character.toChars(code));
-                // Need to quote the replacement to avoid special character issues
-                hexMatcher.appendReplacement(hexBuilder, java.util.regex.Matcher.quoteReplacement(replacement));
-            } catch (Exception e) {
-                hexMatcher.appendReplacement(hexBuilder, hexMatcher.group(0));
+    /**
+     * Process all HTML content in a batch of JobRecords, see {@link #processJobHtml(JobRecord)}.
+     * Each job is cleaned independently, so batches of at least the threshold are spread over the
+     * common fork/join pool; the result keeps the order of the batch either way.
+     *
+     * @param jobs The JobRecords to process
+     * @param parallelThreshold The smallest batch that is processed in parallel
+     * @return The processed JobRecords, in the same order as the batch
+     */
+    public static List<JobRecord> processJobsHtml(Collection<JobRecord> jobs, int parallelThreshold) {
+        JobRecord[] batch = jobs.toArray(new JobRecord[0]);
+        if (batch.length < parallelThreshold) {
+            for (int i = 0; i < batch.length; i++) {
+                batch[i] = processJobHtml(batch[i]);
             }
+        } else {
+            // each slot is only written by the task that processes it, so the order is kept
+            Arrays.parallelSetAll(batch, i -> processJobHtml(batch[i]));
         }
-        hexMatcher.appendTail(hexBuilder);
-        result = hexBuilder.toString();
-
-        // Log a message if we detect any remaining HTML entities
-        if (result.matches(".*&[a-zA-Z0-9#]+;.*")) {
-            System.out.println("Warning: Possible unhandled HTML entity in: " + result);
-        }
-
-        return result;
+        return new ArrayList<>(Arrays.asList(batch));
     }
 
     /**
      * Process all HTML content in a JobRecord, removing entities and cleaning text.
      * This method can be used to clean up job data before displaying or saving.
      * 
+     * A record that is already sanitized, see {@link SanitizedRecords}, is returned as is.
+     * The excerpt and description are copied as they are and decoded when first read,
+     * see {@link DecodedText}.
+     * 
      * @param job The JobRecord to process
      * @return A new JobRecord with HTML entities replaced and content cleaned
      */
@@ -394,15 +195,18 @@ public final class DataFormatter {
         if (job == null) {
             return null;
         }
+        if (SanitizedRecords.skipIfSanitized(job)) {
+            return job;
+        }
         
-        System.out.println("Processing job HTML for job: " + job.id() + " - " + job.jobTitle());
+        LOG.debug(() -> "Processing job HTML for job: " + job.id() + " - " + job.jobTitle());
         
         // Create a new JobBean and clean all HTML content
         JobBean bean = new JobBean();
         
         // Log industries before processing
         if (job.jobIndustry() != null) {
-            System.out.println("Job industries before processing: " + String.join(", ", job.jobIndustry()));
+            LOG.debug(() -> "Job industries before processing: " + String.join(", ", job.jobIndustry()));
         }
         
         // Copy values, cleaning HTML where needed
@@ -420,7 +224,7 @@ public final class DataFormatter {
                 cleanedIndustries.add(replaceHtmlEntities(industry));
             }
             bean.setJobIndustry(cleanedIndustries);
-            System.out.println("Job industries after processing: " + String.join(", ", cleanedIndustries));
+            LOG.debug(() -> "Job industries after processing: " + String.join(", ", cleanedIndustries));
         } else {
             bean.setJobIndustry(job.jobIndustry());
         }
@@ -429,9 +233,9 @@ public final class DataFormatter {
         bean.setJobGeo(job.jobGeo() != null ? replaceHtmlEntities(job.jobGeo()) : job.jobGeo());
         bean.setJobLevel(job.jobLevel() != null ? replaceHtmlEntities(job.jobLevel()) : job.jobLevel());
         
-        // These fields often contain more HTML
-        bean.setJobExcerpt(job.jobExcerpt() != null ? replaceHtmlEntities(job.jobExcerpt()) : job.jobExcerpt());
-        bean.setJobDescription(job.jobDescription() != null ? replaceHtmlEntities(job.jobDescription()) : job.jobDescription());
+        // These fields hold most of the text, they are decoded when first read, see JobRecord
+        bean.setJobExcerpt(job.rawJobExcerpt());
+        bean.setJobDescription(job.rawJobDescription());
         
         bean.setPubDate(job.pubDate());
         bean.setAnnualSalaryMin(job.annualSalaryMin());
@@ -440,31 +244,40 @@ public final class DataFormatter {
         bean.setRating(job.rating());
         bean.setComments(job.comments() != null ? replaceHtmlEntities(job.comments()) : job.comments());
         
-        JobRecord processedJob = bean.toRecord();
-        System.out.println("Finished processing job HTML for job: " + processedJob.id());
+        JobRecord processedJob = SanitizedRecords.markSanitized(bean.toRecord());
+        LOG.debug(() -> "Finished processing job HTML for job: " + processedJob.id());
         
         return processedJob;
     }
 
     /**
      * Read the data from an InputStream in the specified format.
+     * For large inputs, {@link #stream(InputStream, Formats)} reads one record at a time instead.
      *
-     * @param in the input stream to read from
-     * @param csv the format to read the data in
+     * @param in the input stream to read from, closed once read
+     * @param format the format to read the data in, JSON, XML, CSV or BINARY
      * @return a list of JobRecord objects
      */
-    public static List<JobRecord> read(InputStream in, Formats csv) {
-        if (csv == Formats.CSV) {
-            try {
-                CsvMapper csvMapper = new CsvMapper();
-                CsvSchema schema = csvMapper.schemaFor(JobRecord.class).withHeader();
-                MappingIterator<JobRecord> iterator = csvMapper.readerFor(JobRecord.class).with(schema).readValues(in);
-                return iterator.readAll(); // Returns a List<JobRecord>
-            } catch (Exception e) {
-                throw new RuntimeException("Error reading data from InputStream", e);
-            }
-        } else {
-            throw new UnsupportedOperationException("Format not supported: " + csv);
+    public static List<JobRecord> read(InputStream in, Formats format) {
+        List<JobRecord> records = new ArrayList<>();
+        try (JobReaders.RecordIterator iterator = JobReaders.iterator(in, format)) {
+            iterator.forEachRemaining(records::add);
+        } catch (IOException e) {
+            throw new RuntimeException("Error reading data from InputStream", e);
         }
+        return records;
     }
-}
\ No newline at end of file
+
+    /**
+     * Stream the data from an InputStream in the specified format, parsing each record as it is reached.
+     * Close the stream when done, which also closes the input.
+     *
+     * @param in the input stream to read from
+     * @param format the format to read the data in, JSON, XML, CSV or BINARY
+     * @return a stream of JobRecord objects
+     * @see JobReaders
+     */
+    public static Stream<JobRecord> stream(InputStream in, Formats format) {
+        return JobReaders.stream(in, format);
+    }
+}
@@ -0,0 +1,75 @@
+package skillzhunter.model.formatters;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Decodes HTML character references in long text on first use and remembers the result.
+ * The job excerpt and description hold most of the bytes of a job, but are only read when a
+ * job is opened or exported, so {@link skillzhunter.model.JobRecord} keeps them as they came
+ * and decodes them here when asked. Results are kept only as long as the raw text is,
+ * so the cache does not keep records alive. Text without an {@code &} is never cached, it
+ * needs no decoding. Counters show how much decoding was done.
+ */
+public final class DecodedText {
+    /** decoded text by raw text, weakly keyed.*/
+    private static final Map<String, String> DECODED = Collections.synchronizedMap(new WeakHashMap<>());
+
+    /** stands for raw text that decodes to itself, since a value must not refer to its own key.*/
+    private static final String UNCHANGED = new String("");
+
+    /** number of texts that were actually decoded.*/
+    private static final AtomicLong DECODES = new AtomicLong();
+
+    /**
+     * Private constructor to prevent instantiation of utility class.
+     */
+    private DecodedText() {
+        // Prevent instantiation
+    }
+
+    /**
+     * Gets the decoded form of a text, decoding it only the first time.
+     * Decoding is idempotent, so text that is already decoded comes back unchanged.
+     *
+     * @param raw the text as stored, may be null
+     * @return the text with HTML character references replaced, null for null
+     * @see DataFormatter#replaceHtmlEntities(String)
+     */
+    public static String of(String raw) {
+        if (raw == null || raw.indexOf('&') < 0) {
+            return raw;
+        }
+        String decoded = DECODED.get(raw);
+        if (decoded == null) {
+            decoded = HtmlEntityDecoder.decode(raw);
+            DECODES.incrementAndGet();
+            if (decoded.equals(raw)) {
+                decoded = UNCHANGED;
+            }
+            // racing threads decode the same text to the same result, the last one wins
+            DECODED.put(raw, decoded);
+        }
+        return decoded == UNCHANGED ? raw : decoded;
+    }
+
+    /**
+     * Gets the number of texts that were actually decoded.
+     *
+     * @return number of decodes done
+     */
+    public static long getDecodeCount() {
+        return DECODES.get();
+    }
+
+    /**
+     * Gets the number of decoded texts currently remembered.
+     *
+     * @return number of cached texts whose raw form has not been garbage collected yet
+     */
+    public static int getCachedCount() {
+        return DECODED.size();
+    }
+}
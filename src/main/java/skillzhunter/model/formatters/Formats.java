@@ -3,7 +3,9 @@ package skillzhunter.model.formatters;
 /** A list of format types allowed for export and import. */
 public enum Formats {
     /** Different formatting options. */
-    JSON, XML, CSV, PRETTY;
+    JSON, XML, CSV, PRETTY,
+    /** Compact binary layout for fast saving and loading, see {@link BinaryJobCodec}. */
+    BINARY;
 
     /**
      * Helper function to check if a value is in the list of formats.
@@ -0,0 +1,284 @@
+package skillzhunter.model.formatters;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Single pass decoder for HTML character references.
+ * Knows the full HTML5 named character reference table, loaded once from
+ * {@value #TABLE_RESOURCE}, as well as decimal ({@code &#169;}) and hexadecimal
+ * ({@code &#xA9;}) references. Names are only recognized with their closing semicolon.
+ * Lookups binary search the sorted table against the input text itself, so decoding
+ * allocates nothing but the result, and text without an {@code &} is returned as is.
+ * An ampersand produced by a reference may start another one, so double encoded text
+ * such as {@code &amp;amp;} decodes fully.
+ */
+public final class HtmlEntityDecoder {
+    /** class path resource with the named references, sorted by name.*/
+    private static final String TABLE_RESOURCE = "html5-entities.txt";
+
+    /** length of the longest reference name, "CounterClockwiseContourIntegral".*/
+    private static final int MAX_NAME_LENGTH = 31;
+
+    /**
+     * names that have always been decoded to plain ASCII here instead of their HTML5 character,
+     * so job text keeps collapsing on spaces and quotes stay simple in CSV exports.
+     */
+    private static final Map<String, String> PLAIN_TEXT = Map.of(
+        "nbsp", " ",
+        "lsquo", "'",
+        "rsquo", "'",
+        "ldquo", "\"",
+        "rdquo", "\"");
+
+    /** reference names, sorted.*/
+    private static final String[] NAMES;
+
+    /** replacement text for each name, at the same index.*/
+    private static final String[] VALUES;
+
+    /** names starting with ASCII character c are at indexes FIRST[c] up to FIRST[c + 1].*/
+    private static final int[] FIRST = new int[129];
+
+    static {
+        List<String> names = new ArrayList<>();
+        List<String> values = new ArrayList<>();
+        try (InputStream in = HtmlEntityDecoder.class.getClassLoader().getResourceAsStream(TABLE_RESOURCE)) {
+            if (in == null) {
+                throw new IllegalStateException("Missing HTML entity table " + TABLE_RESOURCE);
+            }
+            BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isEmpty() || line.startsWith("#")) {
+                    continue;
+                }
+                String[] parts = line.split("\t");
+                StringBuilder value = new StringBuilder(2);
+                for (String codePoint : parts[1].split(" ")) {
+                    value.appendCodePoint(Integer.parseInt(codePoint, 16));
+                }
+                names.add(parts[0]);
+                values.add(PLAIN_TEXT.getOrDefault(parts[0], value.toString()));
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not read HTML entity table " + TABLE_RESOURCE, e);
+        }
+        NAMES = names.toArray(new String[0]);
+        VALUES = values.toArray(new String[0]);
+        int index = 0;
+        for (char c = 0; c <= 128; c++) {
+            while (index < NAMES.length && NAMES[index].charAt(0) < c) {
+                index++;
+            }
+            FIRST[c] = index;
+        }
+    }
+
+    /**
+     * Private constructor to prevent instantiation of utility class.
+     */
+    private HtmlEntityDecoder() {
+        // Prevent instantiation
+    }
+
+    /**
+     * Decodes all character references in a text.
+     *
+     * @param text the text, may be null
+     * @return the decoded text, the same instance if there was nothing to decode
+     */
+    public static String decode(String text) {
+        if (text == null) {
+            return null;
+        }
+        int first = text.indexOf('&');
+        if (first < 0) {
+            return text;
+        }
+        StringBuilder out = new StringBuilder(text.length());
+        out.append(text, 0, first);
+        decode(text, first, text.length(), out);
+        return out.toString();
+    }
+
+    /**
+     * Decodes all character references in part of a text.
+     *
+     * @param text the text
+     * @param start index of the first character to decode
+     * @param end index after the last character to decode
+     * @param out receives the decoded characters
+     */
+    public static void decode(CharSequence text, int start, int end, StringBuilder out) {
+        int i = start;
+        while (i < end) {
+            if (text.charAt(i) != '&') {
+                // copy the run up to the next ampersand in one go
+                int run = i + 1;
+                while (run < end && text.charAt(run) != '&') {
+                    run++;
+                }
+                out.append(text, i, run);
+                i = run;
+                continue;
+            }
+            // an ampersand that came out of a reference can start the next one
+            int from = i + 1;
+            while (true) {
+                int mark = out.length();
+                int next = decodeReference(text, from, end, out);
+                if (next < 0) {
+                    out.append('&');
+                    i = from;
+                    break;
+                }
+                if (out.length() == mark + 1 && out.charAt(mark) == '&') {
+                    out.setLength(mark);
+                    from = next;
+                    continue;
+                }
+                i = next;
+                break;
+            }
+        }
+    }
+
+    /**
+     * Decodes the reference right after an ampersand.
+     *
+     * @param text the text
+     * @param start index after the ampersand
+     * @param end index after the last character that may be read
+     * @param out receives the replacement if there is a reference
+     * @return index after the reference, or -1 if there is no valid reference
+     */
+    private static int decodeReference(CharSequence text, int start, int end, StringBuilder out) {
+        if (start >= end) {
+            return -1;
+        }
+        if (text.charAt(start) == '#') {
+            return decodeNumeric(text, start + 1, end, out);
+        }
+
+        int limit = Math.min(end, start + MAX_NAME_LENGTH + 1);
+        int semicolon = start;
+        while (semicolon < limit && isAsciiLetterOrDigit(text.charAt(semicolon))) {
+            semicolon++;
+        }
+        if (semicolon == start || semicolon >= limit || text.charAt(semicolon) != ';') {
+            return -1;
+        }
+        int index = find(text, start, semicolon);
+        if (index < 0) {
+            return -1;
+        }
+        out.append(VALUES[index]);
+        return semicolon + 1;
+    }
+
+    /**
+     * Decodes a decimal or hexadecimal reference.
+     *
+     * @param text the text
+     * @param start index after the "#"
+     * @param end index after the last character that may be read
+     * @param out receives the character if the reference is valid
+     * @return index after the reference, or -1 if it is not a valid reference
+     */
+    private static int decodeNumeric(CharSequence text, int start, int end, StringBuilder out) {
+        int radix = 10;
+        int i = start;
+        if (i < end && (text.charAt(i) == 'x' || text.charAt(i) == 'X')) {
+            radix = 16;
+            i++;
+        }
+        int digitsStart = i;
+        int codePoint = 0;
+        while (i < end) {
+            int digit = Character.digit(text.charAt(i), radix);
+            if (digit < 0) {
+                break;
+            }
+            // stop growing once out of range so long runs of digits cannot overflow
+            if (codePoint <= Character.MAX_CODE_POINT) {
+                codePoint = codePoint * radix + digit;
+            }
+            i++;
+        }
+        if (i == digitsStart || i >= end || text.charAt(i) != ';') {
+            return -1;
+        }
+        // surrogates are not characters on their own
+        if (codePoint <= 0 || !Character.isValidCodePoint(codePoint)
+                || (codePoint >= Character.MIN_SURROGATE && codePoint <= Character.MAX_SURROGATE)) {
+            return -1;
+        }
+        out.appendCodePoint(codePoint);
+        return i + 1;
+    }
+
+    /**
+     * Binary searches the table for a name given as part of the text.
+     *
+     * @param text the text
+     * @param start index of the first character of the name
+     * @param end index after the last character of the name
+     * @return index of the name in the table, or -1 if it is not there
+     */
+    private static int find(CharSequence text, int start, int end) {
+        // the caller only passes ASCII letters and digits, so the first one picks a bucket
+        char first = text.charAt(start);
+        int low = FIRST[first];
+        int high = FIRST[first + 1] - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int cmp = compare(NAMES[mid], text, start, end);
+            if (cmp < 0) {
+                low = mid + 1;
+            } else if (cmp > 0) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Compares a table name with part of the text, in {@link String#compareTo} order.
+     *
+     * @param name the table name
+     * @param text the text
+     * @param start index of the first character to compare
+     * @param end index after the last character to compare
+     * @return negative, zero or positive as the name sorts before, equal or after the text
+     */
+    private static int compare(String name, CharSequence text, int start, int end) {
+        int length = end - start;
+        int common = Math.min(name.length(), length);
+        for (int k = 0; k < common; k++) {
+            int diff = name.charAt(k) - text.charAt(start + k);
+            if (diff != 0) {
+                return diff;
+            }
+        }
+        return name.length() - length;
+    }
+
+    /**
+     * Checks for the characters that can appear in a reference name.
+     *
+     * @param c the character
+     * @return true for ASCII letters and digits
+     */
+    private static boolean isAsciiLetterOrDigit(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9');
+    }
+}
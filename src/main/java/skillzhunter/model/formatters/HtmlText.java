@@ -0,0 +1,211 @@
+package skillzhunter.model.formatters;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * Streaming conversion of HTML to plain text.
+ * The input is read once, character by character: tags are skipped, block level tags
+ * become a space so the words on either side stay apart, and runs of whitespace are
+ * collapsed as they are written, with none at the start or end. Text is written straight
+ * to an {@link Appendable}, so no copy of the input is made on the way.
+ * Character references are left as they are, see {@link HtmlEntityDecoder} for those.
+ */
+public final class HtmlText {
+    /** texts longer than this are cut when they have no sentence end.*/
+    private static final int MAX_SENTENCE_LENGTH = 100;
+
+    /** how much of a cut text is kept before the ellipsis.*/
+    private static final int CUT_LENGTH = 97;
+
+    /** tags that separate words, whether opening or closing.*/
+    private static final String[] BLOCK_TAGS = {
+        "address", "article", "aside", "blockquote", "br", "dd", "div", "dl", "dt", "fieldset",
+        "figcaption", "figure", "footer", "form", "h1", "h2", "h3", "h4", "h5", "h6", "header",
+        "hr", "li", "main", "nav", "ol", "p", "pre", "section", "table", "tbody", "td", "tfoot",
+        "th", "thead", "tr", "ul"};
+
+    /**
+     * Private constructor to prevent instantiation of utility class.
+     */
+    private HtmlText() {
+        // Prevent instantiation
+    }
+
+    /**
+     * Writes the text content of some HTML.
+     *
+     * @param html the HTML, may be null
+     * @param out receives the text
+     * @throws IOException if the appendable fails
+     */
+    public static void appendText(CharSequence html, Appendable out) throws IOException {
+        if (html != null) {
+            write(html, out, false);
+        }
+    }
+
+    /**
+     * Gets the text content of some HTML.
+     *
+     * @param html the HTML, may be null
+     * @return the text, empty for null
+     */
+    public static String toText(CharSequence html) {
+        if (html == null) {
+            return "";
+        }
+        StringBuilder out = new StringBuilder(html.length());
+        try {
+            write(html, out, false);
+        } catch (IOException e) {
+            // a StringBuilder never throws
+            throw new UncheckedIOException(e);
+        }
+        return out.toString();
+    }
+
+    /**
+     * Gets the first sentence of the text content of some HTML.
+     * Reading stops at the first ".", "!" or "?". Text without one is returned whole
+     * if it is at most 100 characters, otherwise cut to 97 characters and "...".
+     * The result is the same as stripping the HTML and then taking the first sentence.
+     *
+     * @param html the HTML, may be null
+     * @return the first sentence, empty for null
+     */
+    public static String firstSentence(CharSequence html) {
+        if (html == null) {
+            return "";
+        }
+        StringBuilder out = new StringBuilder(Math.min(html.length(), MAX_SENTENCE_LENGTH + 1));
+        boolean ended;
+        try {
+            ended = write(html, out, true);
+        } catch (IOException e) {
+            // a StringBuilder never throws
+            throw new UncheckedIOException(e);
+        }
+        if (!ended && out.length() > MAX_SENTENCE_LENGTH) {
+            out.setLength(CUT_LENGTH);
+            out.append("...");
+        }
+        return out.toString();
+    }
+
+    /**
+     * Walks the HTML and writes its text.
+     *
+     * @param html the HTML
+     * @param out receives the text
+     * @param sentence stop after the first sentence end
+     * @return true if writing stopped at a sentence end
+     * @throws IOException if the appendable fails
+     */
+    private static boolean write(CharSequence html, Appendable out, boolean sentence) throws IOException {
+        int length = html.length();
+        // a space is only written once a word follows it, so there is never one at the end
+        boolean pendingSpace = false;
+        boolean started = false;
+        // once there is no '>' left, every remaining '<' is text
+        boolean tagsLeft = true;
+        int i = 0;
+        while (i < length) {
+            char c = html.charAt(i);
+            if (c == '<' && tagsLeft) {
+                int close = indexOf(html, '>', i + 1);
+                if (close < 0) {
+                    tagsLeft = false;
+                } else {
+                    if (isBlockTag(html, i + 1, close)) {
+                        pendingSpace = started;
+                    }
+                    i = close + 1;
+                    continue;
+                }
+            }
+            if (isWhitespace(c)) {
+                pendingSpace = started;
+            } else {
+                if (pendingSpace) {
+                    out.append(' ');
+                    pendingSpace = false;
+                }
+                out.append(c);
+                started = true;
+                if (sentence && (c == '.' || c == '!' || c == '?')) {
+                    return true;
+                }
+            }
+            i++;
+        }
+        return false;
+    }
+
+    /**
+     * Checks if a tag is one that separates words.
+     *
+     * @param html the HTML
+     * @param start index after the '&lt;'
+     * @param end index of the '&gt;'
+     * @return true for block level tags, opening or closing
+     */
+    private static boolean isBlockTag(CharSequence html, int start, int end) {
+        int nameStart = start < end && html.charAt(start) == '/' ? start + 1 : start;
+        int nameEnd = nameStart;
+        while (nameEnd < end && Character.isLetterOrDigit(html.charAt(nameEnd))) {
+            nameEnd++;
+        }
+        int nameLength = nameEnd - nameStart;
+        for (String tag : BLOCK_TAGS) {
+            if (tag.length() == nameLength && matchesIgnoreCase(tag, html, nameStart)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Compares a lower case name with part of the HTML, ignoring case.
+     *
+     * @param name the lower case name
+     * @param html the HTML
+     * @param start index of the first character to compare
+     * @return true if the characters match
+     */
+    private static boolean matchesIgnoreCase(String name, CharSequence html, int start) {
+        for (int k = 0; k < name.length(); k++) {
+            if (Character.toLowerCase(html.charAt(start + k)) != name.charAt(k)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Finds a character.
+     *
+     * @param text the text
+     * @param c the character
+     * @param from index to start at
+     * @return the index, or -1 if not found
+     */
+    private static int indexOf(CharSequence text, char c, int from) {
+        for (int i = from; i < text.length(); i++) {
+            if (text.charAt(i) == c) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Checks for the characters that regular expressions count as whitespace.
+     *
+     * @param c the character
+     * @return true for space, tab, line breaks, vertical tab and form feed
+     */
+    private static boolean isWhitespace(char c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r';
+    }
+}
@@ -0,0 +1,487 @@
+package skillzhunter.model.formatters;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+import skillzhunter.logging.Logger;
+import skillzhunter.model.JobRecord;
+
+/**
+ * Append-only journal of the changes to the saved jobs.
+ * Each add, remove and update is written and synced as it happens, so a crash loses nothing,
+ * and the cost of a save is the size of the change instead of the size of all saved jobs.
+ *
+ * <p>The journal is a series of numbered segment files next to the saved jobs file, such as
+ * {@code SavedJobs.journal.3}. Each entry is its length, its CRC-32 and then its bytes: a type,
+ * then the whole record for an add (see {@link BinaryJobCodec#encode(JobRecord)}), the id for a
+ * remove, and the id, rating and comments for an update. Entries set a job to a state instead of
+ * changing it, so replaying them again over a snapshot that already has them changes nothing.
+ * An entry cut short by a crash fails its length or CRC check and ends the replay of its segment.</p>
+ *
+ * <p>Opening the journal replays every segment in order and starts a new one. Compacting starts
+ * a new segment, writes a full snapshot of the saved jobs through the {@link Checkpoint}, and
+ * only then deletes the older segments, so a crash at any point still leaves the snapshot and
+ * journal that together hold every change. Compaction runs in the background once the current
+ * segment passes {@value #COMPACT_BYTES_PROPERTY} bytes, a megabyte by default.</p>
+ */
+public final class JobJournal implements Closeable {
+    /** System property with the segment size in bytes after which the journal is compacted. */
+    public static final String COMPACT_BYTES_PROPERTY = "skillzhunter.journal.compactBytes";
+
+    /** Logger for this class. */
+    private static final Logger LOG = Logger.getLogger(JobJournal.class);
+
+    /** segment size after which the journal is compacted, unless set by the property.*/
+    private static final long DEFAULT_COMPACT_BYTES = 1024 * 1024;
+
+    /** entry type of an added or replaced job.*/
+    private static final byte ADD = 1;
+
+    /** entry type of a removed job.*/
+    private static final byte REMOVE = 2;
+
+    /** entry type of a new rating and comments.*/
+    private static final byte UPDATE = 3;
+
+    /** bytes before each entry, its length and its CRC-32.*/
+    private static final int ENTRY_HEADER = 8;
+
+    /**
+     * Gets the changes back out of the journal, in the order they were made.
+     */
+    public interface Replay {
+        /**
+         * A job was saved, or replaced the saved job with its id.
+         *
+         * @param job the job
+         */
+        void added(JobRecord job);
+
+        /**
+         * A job was removed.
+         *
+         * @param id the job id
+         */
+        void removed(int id);
+
+        /**
+         * A job got a new rating and comments.
+         *
+         * @param id the job id
+         * @param comments the comments
+         * @param rating the rating
+         */
+        void updated(int id, String comments, int rating);
+    }
+
+    /**
+     * Writes a full snapshot of the saved jobs, replacing the previous one.
+     */
+    @FunctionalInterface
+    public interface Checkpoint {
+        /**
+         * Writes the snapshot.
+         *
+         * @throws IOException if the snapshot cannot be written, the journal is then kept
+         */
+        void save() throws IOException;
+    }
+
+    /** the journal file name, segments add their number to it.*/
+    private final Path base;
+
+    /** segment size after which the journal is compacted.*/
+    private final long compactBytes;
+
+    /** writes the snapshot when compacting.*/
+    private final Checkpoint checkpoint;
+
+    /** runs compactions in the background, one at a time.*/
+    private final ExecutorService compactor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "job-journal-compactor");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /** set while a background compaction is waiting or running.*/
+    private final AtomicBoolean compactionQueued = new AtomicBoolean();
+
+    /** keeps compactions, background or not, from overlapping.*/
+    private final ReentrantLock compacting = new ReentrantLock();
+
+    /** number of the segment being appended to, guarded by this.*/
+    private long segment;
+
+    /** the segment being appended to, guarded by this.*/
+    private FileChannel channel;
+
+    /** bytes in the segment being appended to, guarded by this.*/
+    private long size;
+
+    /** set once the journal is closed, a compaction that has not started yet then does nothing, guarded by this.*/
+    private boolean closed;
+
+    /**
+     * Creates a journal, see {@link #open(Path, long, Replay, Checkpoint)}.
+     *
+     * @param base the journal file name
+     * @param compactBytes segment size after which the journal is compacted
+     * @param checkpoint writes the snapshot when compacting
+     */
+    private JobJournal(Path base, long compactBytes, Checkpoint checkpoint) {
+        this.base = base.toAbsolutePath();
+        this.compactBytes = compactBytes;
+        this.checkpoint = checkpoint;
+    }
+
+    /**
+     * Opens a journal, compacting past the size in the {@value #COMPACT_BYTES_PROPERTY} property.
+     *
+     * @param base the journal file name, such as {@code data/SavedJobs.journal}
+     * @param replay gets the changes already in the journal, before this returns
+     * @param checkpoint writes the snapshot when compacting
+     * @return the journal, appending to a new segment
+     * @throws IOException if the journal cannot be read or the new segment cannot be created
+     */
+    public static JobJournal open(Path base, Replay replay, Checkpoint checkpoint) throws IOException {
+        return open(base, Long.getLong(COMPACT_BYTES_PROPERTY, DEFAULT_COMPACT_BYTES), replay, checkpoint);
+    }
+
+    /**
+     * Opens a journal.
+     * Every segment is replayed in order, then a new segment is started. If there was anything to
+     * replay, a compaction is started in the background so the segments do not pile up;
+     * segments without a change are simply deleted.
+     *
+     * @param base the journal file name, such as {@code data/SavedJobs.journal}
+     * @param compactBytes segment size after which the journal is compacted
+     * @param replay gets the changes already in the journal, before this returns
+     * @param checkpoint writes the snapshot when compacting
+     * @return the journal, appending to a new segment
+     * @throws IOException if the journal cannot be read or the new segment cannot be created
+     */
+    public static JobJournal open(Path base, long compactBytes, Replay replay, Checkpoint checkpoint)
+            throws IOException {
+        JobJournal journal = new JobJournal(base, compactBytes, checkpoint);
+        Files.createDirectories(journal.base.getParent());
+        TreeMap<Long, Path> segments = journal.segments();
+        int entries = 0;
+        for (Path path : segments.values()) {
+            entries += replay(path, replay);
+        }
+        journal.segment = segments.isEmpty() ? 0 : segments.lastKey();
+        synchronized (journal) {
+            journal.startSegment();
+        }
+        if (entries > 0) {
+            LOG.info("Replayed " + entries + " saved job changes from " + segments.size() + " journal segments");
+            journal.compactLater();
+        } else {
+            // nothing in them that the snapshot could be missing
+            for (Path empty : segments.values()) {
+                Files.deleteIfExists(empty);
+            }
+        }
+        return journal;
+    }
+
+    /**
+     * Records a saved job, new or replacing the one with its id.
+     *
+     * @param job the job as saved
+     * @throws IOException if the entry cannot be written
+     */
+    public void appendAdd(JobRecord job) throws IOException {
+        byte[] record = BinaryJobCodec.encode(job);
+        ByteBuffer entry = ByteBuffer.allocate(1 + record.length);
+        entry.put(ADD).put(record);
+        append(entry.array());
+    }
+
+    /**
+     * Records a removed job.
+     *
+     * @param id the job id
+     * @throws IOException if the entry cannot be written
+     */
+    public void appendRemove(int id) throws IOException {
+        append(ByteBuffer.allocate(5).put(REMOVE).putInt(id).array());
+    }
+
+    /**
+     * Records a new rating and comments.
+     *
+     * @param id the job id
+     * @param comments the comments, may be null
+     * @param rating the rating
+     * @throws IOException if the entry cannot be written
+     */
+    public void appendUpdate(int id, String comments, int rating) throws IOException {
+        byte[] text = comments == null ? null : comments.getBytes(StandardCharsets.UTF_8);
+        ByteBuffer entry = ByteBuffer.allocate(13 + (text == null ? 0 : text.length));
+        entry.put(UPDATE).putInt(id).putInt(rating).putInt(text == null ? -1 : text.length);
+        if (text != null) {
+            entry.put(text);
+        }
+        append(entry.array());
+    }
+
+    /**
+     * Gets the size of the segment being appended to.
+     *
+     * @return bytes written since the last compaction or opening
+     */
+    public synchronized long size() {
+        return size;
+    }
+
+    /**
+     * Compacts the journal now: writes a snapshot and drops the segments it covers.
+     * Changes can keep being appended meanwhile, they go to the new segment.
+     * Does nothing once the journal is closed.
+     *
+     * @throws IOException if the snapshot cannot be written, the segments are then kept
+     */
+    public void compact() throws IOException {
+        compacting.lock();
+        try {
+            long firstKept;
+            synchronized (this) {
+                if (closed || channel == null) {
+                    return;
+                }
+                // every change from here on goes to the new segment, whatever the snapshot holds
+                channel.close();
+                startSegment();
+                firstKept = segment;
+            }
+            checkpoint.save();
+            for (Path old : segments().headMap(firstKept).values()) {
+                Files.deleteIfExists(old);
+            }
+            LOG.debug(() -> "Compacted the saved jobs journal up to segment " + firstKept);
+        } finally {
+            compacting.unlock();
+        }
+    }
+
+    /**
+     * Closes the current segment and stops background compaction.
+     * A compaction that is running is waited for, one that is queued is dropped, so no segment or
+     * snapshot is written once this returns. Entries already appended stay in the journal.
+     *
+     * @throws IOException if the segment cannot be closed
+     */
+    @Override
+    public void close() throws IOException {
+        synchronized (this) {
+            closed = true;
+        }
+        compactor.shutdown();
+        boolean interrupted = false;
+        while (true) {
+            try {
+                if (compactor.awaitTermination(1, TimeUnit.MINUTES)) {
+                    break;
+                }
+                LOG.warn("Still waiting for the saved jobs journal compaction to finish");
+            } catch (InterruptedException e) {
+                // the compaction must still finish before its segments are let go
+                interrupted = true;
+            }
+        }
+        // also waits for a compaction run on another thread, such as the one on shutdown
+        compacting.lock();
+        try {
+            synchronized (this) {
+                if (channel != null) {
+                    channel.close();
+                    channel = null;
+                }
+            }
+        } finally {
+            compacting.unlock();
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * Appends an entry and syncs it to disk.
+     *
+     * @param payload the entry type and data
+     * @throws IOException if the entry cannot be written
+     */
+    private void append(byte[] payload) throws IOException {
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+        ByteBuffer entry = ByteBuffer.allocate(ENTRY_HEADER + payload.length);
+        entry.putInt(payload.length).putInt((int) crc.getValue()).put(payload).flip();
+        boolean full;
+        synchronized (this) {
+            if (channel == null) {
+                throw new IOException("Journal is closed");
+            }
+            while (entry.hasRemaining()) {
+                channel.write(entry);
+            }
+            channel.force(false);
+            size += entry.limit();
+            full = size >= compactBytes;
+        }
+        if (full) {
+            compactLater();
+        }
+    }
+
+    /**
+     * Starts a compaction in the background, unless one is already waiting or running.
+     */
+    private void compactLater() {
+        if (!compactionQueued.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            compactor.execute(() -> {
+                try {
+                    compact();
+                } catch (IOException | RuntimeException e) {
+                    LOG.error("Could not compact the saved jobs journal: " + e.getMessage(), e);
+                } finally {
+                    compactionQueued.set(false);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // closed, the next start compacts
+            compactionQueued.set(false);
+        }
+    }
+
+    /**
+     * Starts the next segment, holding the monitor.
+     *
+     * @throws IOException if the segment cannot be created
+     */
+    private void startSegment() throws IOException {
+        segment++;
+        channel = FileChannel.open(segmentPath(segment), StandardOpenOption.CREATE_NEW,
+            StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        size = 0;
+    }
+
+    /**
+     * Gets the path of a segment.
+     *
+     * @param number the segment number
+     * @return the path
+     */
+    private Path segmentPath(long number) {
+        return base.resolveSibling(base.getFileName() + "." + number);
+    }
+
+    /**
+     * Finds the segments on disk.
+     *
+     * @return the segment paths by number
+     * @throws IOException if the directory cannot be listed
+     */
+    private TreeMap<Long, Path> segments() throws IOException {
+        TreeMap<Long, Path> segments = new TreeMap<>();
+        String prefix = base.getFileName() + ".";
+        List<Path> files = new ArrayList<>();
+        try (Stream<Path> listing = Files.list(base.getParent())) {
+            listing.forEach(files::add);
+        }
+        for (Path file : files) {
+            String name = file.getFileName().toString();
+            if (name.startsWith(prefix)) {
+                try {
+                    segments.put(Long.parseLong(name.substring(prefix.length())), file);
+                } catch (NumberFormatException e) {
+                    // not a segment
+                }
+            }
+        }
+        return segments;
+    }
+
+    /**
+     * Replays the entries of a segment, up to the first entry that is cut short or corrupt.
+     *
+     * @param path the segment
+     * @param replay gets the changes
+     * @return the number of entries replayed
+     * @throws IOException if the segment cannot be read
+     */
+    private static int replay(Path path, Replay replay) throws IOException {
+        ByteBuffer bytes = ByteBuffer.wrap(Files.readAllBytes(path));
+        int entries = 0;
+        while (bytes.remaining() >= ENTRY_HEADER) {
+            int length = bytes.getInt();
+            int checksum = bytes.getInt();
+            if (length <= 0 || length > bytes.remaining()) {
+                break;
+            }
+            byte[] payload = new byte[length];
+            bytes.get(payload);
+            CRC32 crc = new CRC32();
+            crc.update(payload);
+            if ((int) crc.getValue() != checksum) {
+                break;
+            }
+            apply(payload, replay);
+            entries++;
+        }
+        if (bytes.hasRemaining()) {
+            LOG.warn("Ignoring an incomplete entry at the end of journal segment " + path.getFileName());
+        }
+        return entries;
+    }
+
+    /**
+     * Replays one entry.
+     *
+     * @param payload the entry type and data
+     * @param replay gets the change
+     * @throws IOException if the entry is not understood
+     */
+    private static void apply(byte[] payload, Replay replay) throws IOException {
+        ByteBuffer entry = ByteBuffer.wrap(payload);
+        byte type = entry.get();
+        switch (type) {
+            case ADD -> {
+                byte[] record = new byte[entry.remaining()];
+                entry.get(record);
+                replay.added(BinaryJobCodec.decode(record));
+            }
+            case REMOVE -> replay.removed(entry.getInt());
+            case UPDATE -> {
+                int id = entry.getInt();
+                int rating = entry.getInt();
+                int length = entry.getInt();
+                String comments = length < 0 ? null
+                    : new String(payload, entry.position(), length, StandardCharsets.UTF_8);
+                replay.updated(id, comments, rating);
+            }
+            default -> throw new IOException("Unknown journal entry type " + type);
+        }
+    }
+}
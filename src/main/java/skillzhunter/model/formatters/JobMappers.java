@@ -0,0 +1,73 @@
+package skillzhunter.model.formatters;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import com.fasterxml.jackson.dataformat.xml.XmlMapper;
+
+import skillzhunter.model.JobRecord;
+
+/**
+ * Shared, preconfigured Jackson mappers, readers and writers for job records.
+ * Building a mapper, and the serializers and CSV schema it caches on first use, costs far
+ * more than writing a handful of jobs, so every export uses these instead of new ones.
+ * Mappers and writers are thread safe once configured. Writers do not flush after every
+ * record, only when their buffer fills or the export ends, and never close the stream
+ * they write to, that is up to whoever opened it.
+ */
+final class JobMappers {
+    /** root element of an XML export, see {@link DomainXmlWrapper}.*/
+    static final String XML_ROOT = "domainList";
+
+    /** element of each job in an XML export.*/
+    static final String XML_JOB = "job";
+
+    /** mapper for JSON.*/
+    static final ObjectMapper JSON_MAPPER = new ObjectMapper();
+
+    /** mapper for XML.*/
+    static final XmlMapper XML_MAPPER = new XmlMapper();
+
+    /** mapper for CSV.*/
+    static final CsvMapper CSV_MAPPER = new CsvMapper();
+
+    /** CSV columns of a job record, with a header line.*/
+    static final CsvSchema CSV_SCHEMA = CSV_MAPPER.schemaFor(JobRecord.class).withHeader();
+
+    /** indented JSON writer for job records.*/
+    static final ObjectWriter JSON_WRITER = JSON_MAPPER.writerFor(JobRecord.class)
+        .with(SerializationFeature.INDENT_OUTPUT)
+        .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+        .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+
+    /** indented XML writer for job records.*/
+    static final ObjectWriter XML_WRITER = XML_MAPPER.writerFor(JobRecord.class)
+        .with(SerializationFeature.INDENT_OUTPUT)
+        .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+        .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+
+    /** CSV writer for job records.*/
+    static final ObjectWriter CSV_WRITER = CSV_MAPPER.writer(CSV_SCHEMA)
+        .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+        .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+
+    /** JSON reader for job records.*/
+    static final ObjectReader JSON_READER = JSON_MAPPER.readerFor(JobRecord.class);
+
+    /** XML reader for job records.*/
+    static final ObjectReader XML_READER = XML_MAPPER.readerFor(JobRecord.class);
+
+    /** CSV reader for job records, expecting a header line.*/
+    static final ObjectReader CSV_READER = CSV_MAPPER.readerFor(JobRecord.class).with(CSV_SCHEMA);
+
+    /**
+     * Private constructor to prevent instantiation of utility class.
+     */
+    private JobMappers() {
+        // Prevent instantiation
+    }
+}
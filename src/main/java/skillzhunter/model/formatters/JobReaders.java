@@ -0,0 +1,198 @@
+package skillzhunter.model.formatters;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.MappingIterator;
+
+import skillzhunter.model.JobRecord;
+
+/**
+ * Streaming readers for the import formats, the counterpart of {@link JobWriters}.
+ * Records are parsed one at a time as the caller asks for them, so importing a file of
+ * any size only needs memory for the record at hand. JSON accepts the array written by
+ * the JSON export, CSV a header line and one row per job, XML the
+ * {@code <domainList>} of {@code <job>} elements from {@link DomainXmlWrapper}, and
+ * BINARY the layout of {@link BinaryJobCodec}.
+ */
+public final class JobReaders {
+
+    /**
+     * Iterator over the records of an input, which closes the input when closed.
+     * Reading errors surface as runtime exceptions from {@code hasNext} and {@code next}.
+     */
+    public interface RecordIterator extends Iterator<JobRecord>, Closeable {
+    }
+
+    /**
+     * Private constructor to prevent instantiation of utility class.
+     */
+    private JobReaders() {
+        // Prevent instantiation
+    }
+
+    /**
+     * Opens an iterator over the records of an input.
+     *
+     * @param in the input, closed when the iterator is closed
+     * @param format the format of the input
+     * @return an iterator that parses each record when it is reached
+     * @throws UnsupportedOperationException for formats that cannot be read
+     * @throws RuntimeException if the input cannot be opened
+     */
+    public static RecordIterator iterator(InputStream in, Formats format) {
+        try {
+            switch (format) {
+                case JSON:
+                    return new MappedRecordIterator(JobMappers.JSON_READER.readValues(in));
+                case CSV:
+                    return new MappedRecordIterator(JobMappers.CSV_READER.readValues(in));
+                case XML:
+                    return new XmlRecordIterator(JobMappers.XML_MAPPER.getFactory().createParser(in));
+                case BINARY:
+                    return BinaryJobCodec.read(in);
+                default:
+                    throw new UnsupportedOperationException("Format not supported: " + format);
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Error reading data from InputStream", e);
+        }
+    }
+
+    /**
+     * Opens a stream over the records of an input.
+     * Use it in a try with resources block, closing the stream closes the input.
+     *
+     * @param in the input, closed when the stream is closed
+     * @param format the format of the input
+     * @return a sequential stream that parses each record when it is reached
+     * @throws UnsupportedOperationException for formats that cannot be read
+     * @throws RuntimeException if the input cannot be opened
+     */
+    public static Stream<JobRecord> stream(InputStream in, Formats format) {
+        RecordIterator records = iterator(in, format);
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(records,
+                Spliterator.ORDERED | Spliterator.NONNULL), false)
+            .onClose(() -> {
+                try {
+                    records.close();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+    }
+
+    /**
+     * Records read through a Jackson {@link MappingIterator}, for JSON and CSV.
+     */
+    private static final class MappedRecordIterator implements RecordIterator {
+        /** the underlying iterator.*/
+        private final MappingIterator<JobRecord> records;
+
+        /**
+         * Wraps a mapping iterator.
+         *
+         * @param records the underlying iterator
+         */
+        MappedRecordIterator(MappingIterator<JobRecord> records) {
+            this.records = records;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return records.hasNext();
+        }
+
+        @Override
+        public JobRecord next() {
+            return records.next();
+        }
+
+        @Override
+        public void close() throws IOException {
+            records.close();
+        }
+    }
+
+    /**
+     * Records read from the job elements under the XML root, one element at a time.
+     */
+    private static final class XmlRecordIterator implements RecordIterator {
+        /** parser positioned after the last record read.*/
+        private final JsonParser parser;
+
+        /** the record read ahead by hasNext, if any.*/
+        private JobRecord next;
+
+        /** set once the end of the root element is reached.*/
+        private boolean done;
+
+        /**
+         * Starts reading a document.
+         *
+         * @param parser parser at the start of the document
+         * @throws IOException if the document cannot be read
+         */
+        XmlRecordIterator(JsonParser parser) throws IOException {
+            this.parser = parser;
+            // an empty root element has no object to enter
+            this.done = parser.nextToken() != JsonToken.START_OBJECT;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (next == null && !done) {
+                next = readNext();
+            }
+            return next != null;
+        }
+
+        @Override
+        public JobRecord next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            JobRecord record = next;
+            next = null;
+            return record;
+        }
+
+        /**
+         * Reads the next job element, skipping any other element.
+         *
+         * @return the record, or null at the end of the root element
+         */
+        private JobRecord readNext() {
+            try {
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    boolean job = JobMappers.XML_JOB.equals(parser.currentName());
+                    if (parser.nextToken() == JsonToken.START_OBJECT && job) {
+                        return JobMappers.XML_READER.readValue(parser);
+                    }
+                    parser.skipChildren();
+                }
+                done = true;
+                return null;
+            } catch (IOException e) {
+                done = true;
+                throw new RuntimeException("Error reading data from InputStream", e);
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            done = true;
+            parser.close();
+        }
+    }
+}
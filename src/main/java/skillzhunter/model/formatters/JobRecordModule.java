@@ -0,0 +1,24 @@
+package skillzhunter.model.formatters;
+
+import com.fasterxml.jackson.databind.module.SimpleModule;
+
+import skillzhunter.model.JobRecord;
+
+/**
+ * Jackson module that makes a mapper read {@link JobRecord}s already cleaned of HTML entities.
+ * Reading a job through a mapper with this module gives the same record as reading it
+ * plainly and passing it to {@link DataFormatter#processJobHtml(JobRecord)}, in one pass.
+ * Writing is not affected.
+ */
+public final class JobRecordModule extends SimpleModule {
+    /** serial version for the serializable base class.*/
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Creates the module.
+     */
+    public JobRecordModule() {
+        super("JobRecordModule");
+        addDeserializer(JobRecord.class, new SanitizingJobRecordDeserializer());
+    }
+}
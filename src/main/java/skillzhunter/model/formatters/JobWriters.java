@@ -0,0 +1,179 @@
+package skillzhunter.model.formatters;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import javax.xml.namespace.QName;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.dataformat.xml.ser.ToXmlGenerator;
+
+import skillzhunter.model.JobRecord;
+
+/**
+ * Registry of the streaming writers for each export format.
+ * Records are pulled from an iterator and written one at a time, so an export needs the
+ * same memory for ten jobs as for ten thousand. JSON and CSV go through a Jackson
+ * {@link SequenceWriter}, XML through a single Woodstox backed StAX generator that writes
+ * the same {@code <domainList>} of {@code <job>} elements as {@link DomainXmlWrapper}.
+ * All of them use the shared writers in {@link JobMappers}, except the binary layout,
+ * which has its own {@link BinaryJobCodec}.
+ */
+public final class JobWriters {
+    /** size of the buffer for the pretty format, in characters.*/
+    private static final int BUFFER_SIZE = 8 * 1024;
+
+    /** root element of an XML export.*/
+    private static final QName XML_ROOT = new QName(JobMappers.XML_ROOT);
+
+    /**
+     * Writes records in one format.
+     */
+    @FunctionalInterface
+    private interface RecordWriter {
+        /**
+         * Writes the records, flushing but not closing the stream.
+         *
+         * @param records the records
+         * @param out the stream to write to
+         * @throws IOException if writing fails
+         */
+        void write(Iterator<? extends JobRecord> records, OutputStream out) throws IOException;
+    }
+
+    /** the writer for each format.*/
+    private static final Map<Formats, RecordWriter> WRITERS = new EnumMap<>(Formats.class);
+
+    static {
+        WRITERS.put(Formats.JSON, JobWriters::writeJson);
+        WRITERS.put(Formats.XML, JobWriters::writeXml);
+        WRITERS.put(Formats.CSV, JobWriters::writeCsv);
+        WRITERS.put(Formats.PRETTY, JobWriters::writePretty);
+        WRITERS.put(Formats.BINARY, BinaryJobCodec::write);
+    }
+
+    /**
+     * Private constructor to prevent instantiation of utility class.
+     */
+    private JobWriters() {
+        // Prevent instantiation
+    }
+
+    /**
+     * Writes records in a format.
+     * The stream is flushed but not closed.
+     *
+     * @param records the records, read once
+     * @param format the format to write the records in
+     * @param out the stream to write to
+     * @throws RuntimeException if writing fails
+     */
+    public static void write(Iterator<? extends JobRecord> records, Formats format, OutputStream out) {
+        try {
+            WRITERS.get(format).write(records, out);
+        } catch (IOException e) {
+            throw new RuntimeException("Error writing " + format + " data", e);
+        }
+    }
+
+    /**
+     * Writes a stream of records in a format.
+     * The stream is flushed but not closed.
+     *
+     * @param records the records
+     * @param format the format to write the records in
+     * @param out the stream to write to
+     * @throws RuntimeException if writing fails
+     */
+    public static void write(Stream<? extends JobRecord> records, Formats format, OutputStream out) {
+        write(records.iterator(), format, out);
+    }
+
+    /**
+     * Writes the records as an indented JSON array.
+     *
+     * @param records the records
+     * @param out the stream to write to
+     * @throws IOException if writing fails
+     */
+    private static void writeJson(Iterator<? extends JobRecord> records, OutputStream out) throws IOException {
+        try (SequenceWriter sequence = JobMappers.JSON_WRITER.writeValuesAsArray(out)) {
+            while (records.hasNext()) {
+                sequence.write(records.next());
+            }
+        }
+        out.flush();
+    }
+
+    /**
+     * Writes the records as CSV with a header line.
+     *
+     * @param records the records
+     * @param out the stream to write to
+     * @throws IOException if writing fails
+     */
+    private static void writeCsv(Iterator<? extends JobRecord> records, OutputStream out) throws IOException {
+        try (SequenceWriter sequence = JobMappers.CSV_WRITER.writeValues(out)) {
+            while (records.hasNext()) {
+                sequence.write(records.next());
+            }
+        }
+        out.flush();
+    }
+
+    /**
+     * Writes the records as an indented XML document.
+     *
+     * @param records the records
+     * @param out the stream to write to
+     * @throws IOException if writing fails
+     */
+    private static void writeXml(Iterator<? extends JobRecord> records, OutputStream out) throws IOException {
+        try (ToXmlGenerator generator = JobMappers.XML_MAPPER.getFactory().createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setPrettyPrinter(JobMappers.XML_MAPPER.getSerializationConfig().constructDefaultPrettyPrinter());
+            generator.initGenerator();
+            generator.setNextName(XML_ROOT);
+            generator.writeStartObject();
+            while (records.hasNext()) {
+                generator.writeFieldName(JobMappers.XML_JOB);
+                JobMappers.XML_WRITER.writeValue(generator, records.next());
+            }
+            generator.writeEndObject();
+        }
+        out.flush();
+    }
+
+    /**
+     * Writes the records in a human readable format, through one buffer.
+     *
+     * @param records the records
+     * @param out the stream to write to
+     * @throws IOException if writing fails
+     */
+    private static void writePretty(Iterator<? extends JobRecord> records, OutputStream out) throws IOException {
+        // console text, so the platform charset like the PrintStream this replaced
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, Charset.defaultCharset()), BUFFER_SIZE);
+        String newLine = System.lineSeparator();
+        while (records.hasNext()) {
+            JobRecord record = records.next();
+            writer.append(String.valueOf(record.jobTitle())).append(newLine)
+                .append("             Company: ").append(String.valueOf(record.companyName())).append(newLine)
+                .append("       Pay: ").append(String.valueOf(record.annualSalaryMin())).append(" to ")
+                .append(String.valueOf(record.annualSalaryMax())).append(newLine)
+                .append("       Date Published: ").append(String.valueOf(record.pubDate())).append(newLine)
+                .append("       Description: ").append(String.valueOf(record.jobDescription())).append(newLine)
+                .append(newLine);
+        }
+        writer.flush();
+    }
+}
@@ -0,0 +1,160 @@
+package skillzhunter.model.formatters;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import skillzhunter.model.JobRecord;
+
+/**
+ * Remembers which job records have already had their HTML entities decoded.
+ * A record is sanitized where it enters the application, usually while it is parsed, and
+ * every later layer that would sanitize it again, such as {@link DataFormatter#processJobHtml}
+ * on search results, when saving or when exporting, sees the mark and returns it as is.
+ * Records are tracked by identity, not by value, and only weakly, so marking a record
+ * does not keep it alive. Counters show how much work the marks saved.
+ */
+public final class SanitizedRecords {
+    /** records marked as sanitized.*/
+    private static final Set<Key> MARKED = ConcurrentHashMap.newKeySet();
+
+    /** receives the keys of records that were garbage collected.*/
+    private static final ReferenceQueue<JobRecord> COLLECTED = new ReferenceQueue<>();
+
+    /** number of records that were actually sanitized.*/
+    private static final AtomicLong SANITIZED = new AtomicLong();
+
+    /** number of sanitizations skipped because the record was already clean.*/
+    private static final AtomicLong SKIPPED = new AtomicLong();
+
+    /**
+     * Private constructor to prevent instantiation of utility class.
+     */
+    private SanitizedRecords() {
+        // Prevent instantiation
+    }
+
+    /**
+     * Checks if a record is marked as sanitized.
+     *
+     * @param job the record, may be null
+     * @return true if this very record was marked
+     */
+    public static boolean isSanitized(JobRecord job) {
+        return job != null && MARKED.contains(new Key(job, null));
+    }
+
+    /**
+     * Checks if a record can skip sanitizing, counting it as skipped if so.
+     *
+     * @param job the record about to be sanitized, may be null
+     * @return true if the record is already sanitized
+     */
+    public static boolean skipIfSanitized(JobRecord job) {
+        if (isSanitized(job)) {
+            SKIPPED.incrementAndGet();
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Marks a record that was just sanitized, counting the sanitization.
+     *
+     * @param job the sanitized record
+     * @return the same record
+     */
+    public static JobRecord markSanitized(JobRecord job) {
+        SANITIZED.incrementAndGet();
+        return markClean(job);
+    }
+
+    /**
+     * Marks a record that was built only from sanitized values, without counting a sanitization.
+     *
+     * @param job the clean record
+     * @return the same record
+     */
+    public static JobRecord markClean(JobRecord job) {
+        expungeCollected();
+        MARKED.add(new Key(job, COLLECTED));
+        return job;
+    }
+
+    /**
+     * Gets the number of records that were actually sanitized.
+     *
+     * @return number of sanitizations done
+     */
+    public static long getSanitizedCount() {
+        return SANITIZED.get();
+    }
+
+    /**
+     * Gets the number of sanitizations that were skipped because the record was already clean.
+     *
+     * @return number of sanitizations skipped
+     */
+    public static long getSkippedCount() {
+        return SKIPPED.get();
+    }
+
+    /**
+     * Gets the number of records currently marked.
+     *
+     * @return number of marked records that have not been garbage collected yet
+     */
+    public static int getMarkedCount() {
+        expungeCollected();
+        return MARKED.size();
+    }
+
+    /**
+     * Forgets the marks of records that were garbage collected.
+     */
+    private static void expungeCollected() {
+        Reference<? extends JobRecord> collected;
+        while ((collected = COLLECTED.poll()) != null) {
+            MARKED.remove(collected);
+        }
+    }
+
+    /**
+     * Weak reference to a record that compares by the identity of the record.
+     */
+    private static final class Key extends WeakReference<JobRecord> {
+        /** identity hash of the record, kept since the record may be collected.*/
+        private final int hash;
+
+        /**
+         * Creates a key.
+         *
+         * @param job the record
+         * @param queue where the key is put once the record is collected, null for lookups
+         */
+        Key(JobRecord job, ReferenceQueue<JobRecord> queue) {
+            super(job, queue);
+            this.hash = System.identityHashCode(job);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (this == other) {
+                return true;
+            }
+            if (!(other instanceof Key)) {
+                return false;
+            }
+            JobRecord job = get();
+            return job != null && job == ((Key) other).get();
+        }
+    }
+}
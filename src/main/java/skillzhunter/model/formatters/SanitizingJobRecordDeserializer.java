@@ -0,0 +1,170 @@
+package skillzhunter.model.formatters;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+
+import skillzhunter.model.JobRecord;
+
+/**
+ * Deserializer that builds an already cleaned {@link JobRecord} straight from the parser.
+ * HTML entities are decoded as each string token is read, following the same field rules as
+ * {@link DataFormatter#processJobHtml(JobRecord)}, so there is no raw record, no
+ * {@link skillzhunter.model.JobBean} copy and no second record per job. The excerpt and
+ * description are kept as read and decoded when first used, see {@link DecodedText}.
+ * Records are marked in {@link SanitizedRecords}, so they are not sanitized again later.
+ * Registered through {@link JobRecordModule}.
+ */
+final class SanitizingJobRecordDeserializer extends StdDeserializer<JobRecord> {
+    /** serial version for the serializable base class.*/
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Creates the deserializer.
+     */
+    SanitizingJobRecordDeserializer() {
+        super(JobRecord.class);
+    }
+
+    /**
+     * Reads one job object and decodes the text fields that can hold HTML entities.
+     *
+     * @param p parser positioned at the start of the job object
+     * @param ctxt context of the current read
+     * @return the cleaned job record
+     * @throws IOException if the input is not a job object
+     */
+    @Override
+    public JobRecord deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+        int id = 0;
+        String url = null;
+        String jobSlug = null;
+        String jobTitle = null;
+        String companyName = null;
+        String companyLogo = null;
+        List<String> jobIndustry = null;
+        List<String> jobType = null;
+        String jobGeo = null;
+        String jobLevel = null;
+        String jobExcerpt = null;
+        String jobDescription = null;
+        String pubDate = null;
+        int annualSalaryMin = 0;
+        int annualSalaryMax = 0;
+        String salaryCurrency = null;
+        int rating = 0;
+        String comments = null;
+
+        JsonToken token = p.currentToken();
+        if (token == JsonToken.START_OBJECT) {
+            token = p.nextToken();
+        }
+        for (; token == JsonToken.FIELD_NAME; token = p.nextToken()) {
+            String field = p.currentName();
+            p.nextToken();
+            switch (field) {
+                case "id" -> id = readInt(p, ctxt);
+                case "url" -> url = readText(p, ctxt, false);
+                case "jobSlug" -> jobSlug = readText(p, ctxt, false);
+                case "jobTitle" -> jobTitle = readText(p, ctxt, true);
+                case "companyName" -> companyName = readText(p, ctxt, true);
+                case "companyLogo" -> companyLogo = readText(p, ctxt, false);
+                case "jobIndustry" -> jobIndustry = readList(p, ctxt, true);
+                case "jobType" -> jobType = readList(p, ctxt, false);
+                case "jobGeo" -> jobGeo = readText(p, ctxt, true);
+                case "jobLevel" -> jobLevel = readText(p, ctxt, true);
+                // decoded when first read, see JobRecord
+                case "jobExcerpt" -> jobExcerpt = readText(p, ctxt, false);
+                case "jobDescription" -> jobDescription = readText(p, ctxt, false);
+                case "pubDate" -> pubDate = readText(p, ctxt, false);
+                case "annualSalaryMin" -> annualSalaryMin = readInt(p, ctxt);
+                case "annualSalaryMax" -> annualSalaryMax = readInt(p, ctxt);
+                case "salaryCurrency" -> salaryCurrency = readText(p, ctxt, false);
+                case "rating" -> rating = readInt(p, ctxt);
+                case "comments" -> comments = readText(p, ctxt, true);
+                // fails or skips depending on FAIL_ON_UNKNOWN_PROPERTIES, like the default deserializer
+                default -> ctxt.handleUnknownProperty(p, this, JobRecord.class, field);
+            }
+        }
+        if (token != JsonToken.END_OBJECT) {
+            return (JobRecord) ctxt.handleUnexpectedToken(JobRecord.class, p);
+        }
+
+        // marked so later layers do not sanitize it again
+        return SanitizedRecords.markSanitized(new JobRecord(id, url, jobSlug, jobTitle, companyName, companyLogo,
+            jobIndustry, jobType, jobGeo, jobLevel, jobExcerpt, jobDescription, pubDate, annualSalaryMin,
+            annualSalaryMax, salaryCurrency, rating, comments));
+    }
+
+    /**
+     * Reads a number field, accepting numbers written as text like the default deserializer.
+     *
+     * @param p parser positioned at the value
+     * @param ctxt context of the current read
+     * @return the number, 0 for null
+     * @throws IOException if the value is not a scalar
+     */
+    private static int readInt(JsonParser p, DeserializationContext ctxt) throws IOException {
+        if (!p.currentToken().isScalarValue()) {
+            return (Integer) ctxt.handleUnexpectedToken(int.class, p);
+        }
+        return p.getValueAsInt();
+    }
+
+    /**
+     * Reads a text field.
+     *
+     * @param p parser positioned at the value
+     * @param ctxt context of the current read
+     * @param decode whether HTML entities are decoded
+     * @return the text, null for null
+     * @throws IOException if the value is not a scalar
+     */
+    private static String readText(JsonParser p, DeserializationContext ctxt, boolean decode) throws IOException {
+        JsonToken token = p.currentToken();
+        if (token == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        if (!token.isScalarValue()) {
+            return (String) ctxt.handleUnexpectedToken(String.class, p);
+        }
+        String text = p.getText();
+        // most fields have no entities, so they skip the decoder entirely
+        if (decode && text.indexOf('&') >= 0) {
+            return DataFormatter.replaceHtmlEntities(text);
+        }
+        return text;
+    }
+
+    /**
+     * Reads a list of text values.
+     *
+     * @param p parser positioned at the value
+     * @param ctxt context of the current read
+     * @param decode whether HTML entities are decoded in each element
+     * @return the list, null for null
+     * @throws IOException if the value is not an array of scalars
+     */
+    private static List<String> readList(JsonParser p, DeserializationContext ctxt, boolean decode)
+            throws IOException {
+        JsonToken token = p.currentToken();
+        if (token == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        if (token != JsonToken.START_ARRAY) {
+            @SuppressWarnings("unchecked")
+            List<String> list = (List<String>) ctxt.handleUnexpectedToken(List.class, p);
+            return list;
+        }
+        List<String> values = new ArrayList<>();
+        while (p.nextToken() != JsonToken.END_ARRAY) {
+            values.add(readText(p, ctxt, decode));
+        }
+        return values;
+    }
+}
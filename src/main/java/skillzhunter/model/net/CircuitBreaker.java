@@ -0,0 +1,191 @@
+package skillzhunter.model.net;
+
+import java.util.function.LongSupplier;
+
+import skillzhunter.logging.Logger;
+
+/**
+ * Circuit breaker for calls to a remote service.
+ * After a number of consecutive failures the circuit opens and requests fail fast
+ * instead of waiting for timeouts. Once the open period is over, a single trial request
+ * is let through: if it succeeds the circuit closes again, otherwise it stays open for
+ * another period. Outcomes are reported through the {@link Attempt} the request was let
+ * through with, so a late answer to a request sent before the circuit opened cannot close
+ * it or cut the trial short. A trial that ends without an outcome, because it was cancelled
+ * before or while it was sent, must be given back with {@link Attempt#release()} so the next
+ * request can take its place.
+ */
+public final class CircuitBreaker {
+    /** Logger for this class. */
+    private static final Logger LOG = Logger.getLogger(CircuitBreaker.class);
+
+    /** States of the circuit. */
+    public enum State {
+        /** Requests are sent normally. */
+        CLOSED,
+        /** Requests fail fast. */
+        OPEN,
+        /** One trial request is in flight to see if the service is back. */
+        HALF_OPEN
+    }
+
+    /** Consecutive failures that open the circuit. */
+    private final int failureThreshold;
+
+    /** How long the circuit stays open, in milliseconds. */
+    private final long openMillis;
+
+    /** Source of the current time in milliseconds. */
+    private final LongSupplier clock;
+
+    /** Current state. Guarded by this. */
+    private State state = State.CLOSED;
+
+    /** Consecutive failures since the last success. Guarded by this. */
+    private int failures;
+
+    /** When the circuit opened. Guarded by this. */
+    private long openedAt;
+
+    /** The trial request let through after the open period, null if there is none. Guarded by this. */
+    private Attempt trial;
+
+    /**
+     * Creates a circuit breaker using the system clock.
+     * @param failureThreshold consecutive failures that open the circuit
+     * @param openMillis how long the circuit stays open, in milliseconds
+     */
+    public CircuitBreaker(int failureThreshold, long openMillis) {
+        this(failureThreshold, openMillis, System::currentTimeMillis);
+    }
+
+    /**
+     * Creates a circuit breaker.
+     * @param failureThreshold consecutive failures that open the circuit
+     * @param openMillis how long the circuit stays open, in milliseconds
+     * @param clock source of the current time in milliseconds
+     * @throws IllegalArgumentException if failureThreshold is less than 1
+     */
+    public CircuitBreaker(int failureThreshold, long openMillis, LongSupplier clock) {
+        if (failureThreshold < 1) {
+            throw new IllegalArgumentException("failureThreshold must be at least 1");
+        }
+        this.failureThreshold = failureThreshold;
+        this.openMillis = openMillis;
+        this.clock = clock;
+    }
+
+    /**
+     * Asks to send a request that may still wait, or be cancelled, before it goes out.
+     * When the open period is over this reserves the one trial request; the circuit only
+     * turns half open once the trial is {@link Attempt#start() started}.
+     * Every attempt that gets no {@link Attempt#success()} or {@link Attempt#failure()}
+     * must be {@link Attempt#release() released}; releasing one that did is harmless.
+     * @return the attempt, or null if the request should fail fast
+     */
+    public synchronized Attempt tryAcquire() {
+        switch (state) {
+            case CLOSED:
+                return new Attempt();
+            case OPEN:
+                if (trial == null && clock.getAsLong() - openedAt >= openMillis) {
+                    trial = new Attempt();
+                    return trial;
+                }
+                return null;
+            default:
+                // a trial request is already in flight
+                return null;
+        }
+    }
+
+    /**
+     * Opens the circuit for another period. Must be called holding the lock.
+     */
+    private void open() {
+        if (state != State.OPEN) {
+            LOG.warn("Job board circuit opened after " + failures + " failures");
+        }
+        state = State.OPEN;
+        openedAt = clock.getAsLong();
+        trial = null;
+    }
+
+    /**
+     * Gets the current state.
+     * @return the state
+     */
+    public synchronized State getState() {
+        return state;
+    }
+
+    /**
+     * A request the circuit breaker let through.
+     * While the circuit is open or half open, only the trial request changes it; the outcome
+     * of a request let through before the circuit opened is stale and ignored.
+     */
+    public final class Attempt {
+        /**
+         * Creates an attempt.
+         */
+        private Attempt() {
+            // use CircuitBreaker.tryAcquire()
+        }
+
+        /**
+         * Marks the request as handed to the transport, turning the circuit half open for a trial.
+         */
+        public void start() {
+            synchronized (CircuitBreaker.this) {
+                if (trial == this && state == State.OPEN) {
+                    state = State.HALF_OPEN;
+                }
+            }
+        }
+
+        /**
+         * Records that the request succeeded, closing the circuit if this was the trial.
+         */
+        public void success() {
+            synchronized (CircuitBreaker.this) {
+                if (trial == this) {
+                    trial = null;
+                    state = State.CLOSED;
+                    failures = 0;
+                } else if (state == State.CLOSED) {
+                    failures = 0;
+                }
+            }
+        }
+
+        /**
+         * Records that the request failed, opening the circuit if there were too many in a row
+         * or if this was the trial.
+         */
+        public void failure() {
+            synchronized (CircuitBreaker.this) {
+                if (trial == this) {
+                    failures++;
+                    open();
+                } else if (state == State.CLOSED && ++failures >= failureThreshold) {
+                    open();
+                }
+            }
+        }
+
+        /**
+         * Gives the trial back when the request ended without a success or failure being recorded,
+         * so the circuit is open again and the next request becomes the trial.
+         */
+        public void release() {
+            synchronized (CircuitBreaker.this) {
+                if (trial == this) {
+                    trial = null;
+                    if (state == State.HALF_OPEN) {
+                        state = State.OPEN;
+                    }
+                }
+            }
+        }
+    }
+}
@@ -1,37 +1,66 @@
 package skillzhunter.model.net;
 
 import java.io.File;
+import java.io.FilterInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.nio.file.Paths;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 
 import com.fasterxml.jackson.databind.MappingIterator;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.dataformat.csv.CsvMapper;
 import com.fasterxml.jackson.dataformat.csv.CsvSchema;
 
+import okhttp3.Call;
+import okhttp3.Callback;
 import okhttp3.OkHttpClient;
 import okhttp3.Request;
 import okhttp3.Response;
 import okhttp3.ResponseBody;
+import skillzhunter.logging.Logger;
 import skillzhunter.model.JobBean;
 import skillzhunter.model.JobRecord;
-import skillzhunter.model.ResponseRecord;
 
 /**
  * Utility class for making API calls to the Job Board.
  * This class provides static methods for fetching job listings from the API.
  */
 public final class JobBoardApi {
-    /** client for making request call.*/
-    private static final OkHttpClient CLIENT = new OkHttpClient();
+    /** logger for this class.*/
+    private static final Logger LOG = Logger.getLogger(JobBoardApi.class);
 
-    /** object mapper for parsing json response.*/
-    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    /** client for making request call, with the deadlines, pool and retries of the transport config.*/
+    private static volatile OkHttpClient client;
+
+    /** fails searches fast while the job board keeps failing.*/
+    private static volatile CircuitBreaker breaker;
+
+    static {
+        configureTransport(TransportConfig.fromSystemProperties());
+    }
+
+    /** http status for a successful conditional request.*/
+    private static final int HTTP_NOT_MODIFIED = 304;
+
+    /** cache for api responses, kept in memory and under data/cache.*/
+    private static final ResponseCache RESPONSE_CACHE = new ResponseCache(
+        64, Paths.get("data", "cache"), TimeUnit.MINUTES.toMillis(10));
+
+    /** identical searches that overlap share one request, keyed by normalized url.*/
+    private static final SingleFlight<String, List<JobRecord>> SEARCHES = new SingleFlight<>(ArrayList::new);
+
+    /** runs the sub searches of a multi search.*/
+    private static final ParallelSearch PARALLEL_SEARCH =
+        new ParallelSearch(ParallelSearch.DEFAULT_MAX_PARALLEL, JobBoardApi::searchApiAsync);
 
     /** map for storing industries and their slugs.*/
     private static final Map<String, String> INDUSTRY_MAP = loadCsvData(
@@ -156,9 +185,6 @@ public final class JobBoardApi {
      * @return JobBoardApiResult containing list of jobs and any error message.
      */
     public static JobBoardApiResult getJobBoard(String query, Integer numberOfResults, String location, String industry) {
-        // Initialize error message as null
-        String errorMessage = null;
-        
         // getting slug for request, if it breaks we default
         if (location != null) {
             location = LOCATION_MAP.get(location.toLowerCase().trim());
@@ -166,100 +192,636 @@ public final class JobBoardApi {
         if (industry != null) {
             industry = INDUSTRY_MAP.get(industry.toLowerCase().trim());
         }
-        Boolean locationPassed = location != null && !location.isEmpty()
-                                 && !location.equalsIgnoreCase("anywhere");
-
-        Boolean industryPassed = industry != null && !industry.isEmpty()
-                                && !industry.equalsIgnoreCase("all")
-                                && !industry.equalsIgnoreCase("any");
-
-        // Check if query is generic
-        boolean isQueryGeneric = query == null || query.isEmpty()
-                              || query.equalsIgnoreCase("any")
-                              || query.equalsIgnoreCase("all")
-                              || query.equalsIgnoreCase("all jobs")
-                              || query.equalsIgnoreCase("all job");
-                              
-        // Check if location is generic
-        boolean isLocationGeneric = location == null || location.isEmpty()
-                                 || location.equalsIgnoreCase("any")
-                                 || location.equalsIgnoreCase("all")
-                                 || location.equalsIgnoreCase("anywhere");
-                                 
-        // Check if industry is generic
-        boolean isIndustryGeneric = industry == null || industry.isEmpty()
-                                 || industry.equalsIgnoreCase("all")
-                                 || industry.equalsIgnoreCase("any");
-        
-        // Only set error message if ALL parameters are generic
-        if (isQueryGeneric && isLocationGeneric && isIndustryGeneric) {
-            System.out.println("All generic search parameters, using default values.");
-            errorMessage = "All search parameters were generic, showing " + 
-                          (numberOfResults != null ? numberOfResults : 5) + " available jobs.";
-        }
-        
-        // Set default query if needed, regardless of error message
-        if (isQueryGeneric) {
-            query = "all";
-        }
-
-        if (numberOfResults == null || numberOfResults < 1) {
-            numberOfResults = 5;
-        }
-        if (query != null) {
-            query = query.replaceAll(" ", "+").toLowerCase();
-        }
-
-        // building url
-        String url;
-        if (locationPassed && industryPassed) {
-            url = String.format("https://jobicy.com/api/v2/remote-jobs?count=%s&geo=%s&industry=%s&tag=%s",
-                                numberOfResults, location, industry, query);
-        } else if (locationPassed) {
-            url = String.format("https://jobicy.com/api/v2/remote-jobs?count=%s&geo=%s&tag=%s",
-                                numberOfResults, location, query);
-        } else if (industryPassed) {
-            url = String.format("https://jobicy.com/api/v2/remote-jobs?count=%s&industry=%s&tag=%s",
-                                    numberOfResults, industry, query);
-        }  else {
-            url = String.format("https://jobicy.com/api/v2/remote-jobs?count=%s&tag=%s", numberOfResults, query);
-        }
-        System.err.println("URL: " + url);
+        JobBoardQuery search = new JobBoardQuery(query, numberOfResults, location, industry);
+        if (search.isGeneric()) {
+            LOG.debug("All generic search parameters, using default values.");
+        }
+        LOG.debug(() -> "URL: " + search.getUrl());
     
-        List<JobRecord> jobs = searchApi(url);
-        return new JobBoardApiResult(jobs, errorMessage);
+        try {
+            List<JobRecord> jobs = searchApi(search.getUrl());
+            return new JobBoardApiResult(jobs, search.getErrorMessage());
+        } catch (JobBoardApiException e) {
+            LOG.warn("Error: " + e.getMessage());
+            return new JobBoardApiResult(new ArrayList<>(), e.getMessage(), e.getFailure());
+        }
+    }
+
+    /**
+     * Retrieves job records without blocking the calling thread.
+     * Applies the same defaults as {@link #getJobBoard(String, Integer, String, String)},
+     * but the request is queued on the OkHttp dispatcher and the result is delivered
+     * on one of its threads. Cancelling the returned future cancels the HTTP call.
+     *
+     * @param query Search query for the job board.
+     * @param numberOfResults Number of results to return.
+     * @param location Location to filter jobs (e.g., city or region).
+     * @param industry Industry to filter jobs (e.g., IT, healthcare).
+     * @return future completing with the list of jobs and any error message
+     */
+    public static CompletableFuture<JobBoardApiResult> getJobBoardAsync(String query, Integer numberOfResults,
+                                                                        String location, String industry) {
+        if (location != null) {
+            location = LOCATION_MAP.get(location.toLowerCase().trim());
+        }
+        if (industry != null) {
+            industry = INDUSTRY_MAP.get(industry.toLowerCase().trim());
+        }
+        JobBoardQuery search = new JobBoardQuery(query, numberOfResults, location, industry);
+        LOG.debug(() -> "URL: " + search.getUrl());
+
+        CompletableFuture<List<JobRecord>> request = searchApiAsync(search.getUrl());
+        CompletableFuture<JobBoardApiResult> result = request.handle((jobs, error) -> {
+            if (error == null) {
+                return new JobBoardApiResult(jobs, search.getErrorMessage());
+            }
+            Throwable cause = error instanceof CompletionException ? error.getCause() : error;
+            if (cause instanceof JobBoardApiException) {
+                JobBoardApiException failure = (JobBoardApiException) cause;
+                LOG.warn("Error: " + failure.getMessage());
+                return new JobBoardApiResult(new ArrayList<>(), failure.getMessage(), failure.getFailure());
+            }
+            throw error instanceof CompletionException
+                ? (CompletionException) error : new CompletionException(error);
+        });
+        // handle does not cancel upstream, so forward it by hand
+        result.whenComplete((jobs, error) -> {
+            if (result.isCancelled()) {
+                request.cancel(true);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Replaces the HTTP transport used for all later requests.
+     * The default is read from system properties, see {@link TransportConfig#fromSystemProperties()}.
+     * Resets the circuit breaker.
+     * @param config deadlines, connection pool, retry and circuit breaker settings
+     */
+    public static synchronized void configureTransport(TransportConfig config) {
+        client = config.createClient();
+        breaker = config.createCircuitBreaker();
+    }
+
+    /**
+     * Gets the state of the circuit breaker in front of the job board.
+     * @return the circuit state
+     */
+    public static CircuitBreaker.State getCircuitState() {
+        return breaker.getState();
+    }
+
+    /**
+     * Retrieves the jobs matching any combination of several queries, locations and industries.
+     * One search is made for every combination (e.g. "python" and "java" in "usa" and "canada"
+     * makes four), each resolved with the same defaults as
+     * {@link #getJobBoard(String, Integer, String, String)}.
+     * The searches run in parallel, a few at a time, and their jobs are merged in search order
+     * with duplicates (same id) removed. If some searches fail, the jobs of the others are
+     * still returned together with a message saying how many failed.
+     *
+     * @param queries Search queries, null or empty for all jobs.
+     * @param numberOfResults Number of results to return per search.
+     * @param locations Locations to filter jobs by, null or empty for anywhere.
+     * @param industries Industries to filter jobs by, null or empty for any industry.
+     * @return JobBoardApiResult containing the merged list of jobs and any error message.
+     */
+    public static JobBoardApiResult getJobBoardMulti(List<String> queries, Integer numberOfResults,
+                                                     List<String> locations, List<String> industries) {
+        return getJobBoardMultiAsync(queries, numberOfResults, locations, industries).join();
+    }
+
+    /**
+     * Retrieves the jobs matching any combination of several queries, locations and industries
+     * without blocking the calling thread.
+     * See {@link #getJobBoardMulti(List, Integer, List, List)}; cancelling the returned future
+     * cancels the searches that are still running.
+     *
+     * @param queries Search queries, null or empty for all jobs.
+     * @param numberOfResults Number of results to return per search.
+     * @param locations Locations to filter jobs by, null or empty for anywhere.
+     * @param industries Industries to filter jobs by, null or empty for any industry.
+     * @return future completing with the merged list of jobs and any error message
+     */
+    public static CompletableFuture<JobBoardApiResult> getJobBoardMultiAsync(List<String> queries,
+                                                                             Integer numberOfResults,
+                                                                             List<String> locations,
+                                                                             List<String> industries) {
+        List<JobBoardQuery> searches = ParallelSearch.expand(queries, numberOfResults,
+            toSlugs(locations, LOCATION_MAP), toSlugs(industries, INDUSTRY_MAP));
+        LOG.debug(() -> "Multi search: " + searches.size() + " combinations");
+        return PARALLEL_SEARCH.search(searches);
+    }
+
+    /**
+     * Looks up the slugs of several locations or industries.
+     * Names that are not in the map become null, which means the default.
+     * @param names names to look up, may be null
+     * @param slugs map from lower case name to slug
+     * @return the slugs, or null if no names were given
+     */
+    private static List<String> toSlugs(List<String> names, Map<String, String> slugs) {
+        if (names == null) {
+            return null;
+        }
+        List<String> result = new ArrayList<>();
+        for (String name : names) {
+            result.add(name == null ? null : slugs.get(name.toLowerCase().trim()));
+        }
+        return result;
     }
 
     /**
      * Makes a request to the API and returns the response.
+     * Fresh cached responses are returned without a request, and stale ones
+     * are revalidated with a conditional GET when the server gave validators.
+     * If the same search is already running, this waits for it instead of sending another request.
      * @param url URL to make the request to
      * @return List of job records
+     * @throws JobBoardApiException if the request failed and there is no cached copy to fall back on
      */
     public static List<JobRecord> searchApi(String url) {
-        Request request = new Request.Builder()
-            .url(url)
-            .build();
-
-        try (Response response = CLIENT.newCall(request).execute()) {
-            if (!response.isSuccessful()) {
-                System.err.println("Error: HTTP " + response.code());
-                return Collections.emptyList();
+        SearchPriority priority = new SearchPriority(OutboundScheduler.currentPriority());
+        // the flight hands every caller its own copy of the one list
+        return SEARCHES.run(ResponseCache.normalize(url), () -> fetchApi(url, priority, job -> { }),
+                            () -> priority.raise(OutboundScheduler.currentPriority()));
+    }
+
+    /**
+     * Makes a request to the API and streams the cleaned job records to a consumer.
+     * The response body is decoded while it downloads, so each job reaches the
+     * consumer as soon as it has been parsed instead of after the whole body arrived.
+     * Cached responses are replayed to the consumer the same way.
+     * @param url URL to make the request to
+     * @param consumer receives each cleaned job record
+     * @return number of job records passed to the consumer
+     */
+    public static int streamApi(String url, Consumer<JobRecord> consumer) {
+        return fetchApi(url, new SearchPriority(OutboundScheduler.currentPriority()), consumer).size();
+    }
+
+    /**
+     * Makes a request to the API, streaming the cleaned job records to a consumer while they are read.
+     * @param url URL to make the request to
+     * @param priority priority of the request, which may be raised while it waits
+     * @param consumer receives each cleaned job record
+     * @return the job records, unmodifiable and shared with the response cache
+     */
+    private static List<JobRecord> fetchApi(String url, SearchPriority priority, Consumer<JobRecord> consumer) {
+        ResponseCache.Entry cached = RESPONSE_CACHE.get(url);
+        List<JobRecord> cachedJobs = freshJobs(cached);
+        if (cachedJobs != null) {
+            cachedJobs.forEach(consumer);
+            return cachedJobs;
+        }
+
+        CircuitBreaker.Attempt attempt = breaker.tryAcquire();
+        if (attempt == null) {
+            return deliverStale(cached, consumer, new JobBoardApiException(JobBoardFailure.CIRCUIT_OPEN, null));
+        }
+
+        int[] delivered = {0};
+        try (OutboundScheduler.Permit permit = OutboundScheduler.shared().await(
+                 priority.admit(OutboundScheduler.hostOf(url)));
+             Response response = execute(attempt, buildRequest(url, cached))) {
+            return readJobs(url, cached, attempt, response, job -> {
+                delivered[0]++;
+                consumer.accept(job);
+            });
+        } catch (IOException | JobBoardApiException e) {
+            JobBoardApiException failure = e instanceof IOException
+                ? failed(attempt, (IOException) e) : (JobBoardApiException) e;
+            // a stale answer is better than none, unless part of a fresh one got through
+            if (delivered[0] > 0) {
+                throw failure;
+            }
+            return deliverStale(cached, consumer, failure);
+        } finally {
+            // an interrupted or cancelled trial reported nothing, let the next request try
+            attempt.release();
+        }
+    }
+
+    /**
+     * Sends a request on the calling thread, once it is allowed to go out.
+     * @param attempt what the circuit breaker let through
+     * @param request the request
+     * @return the response
+     * @throws IOException if the request fails
+     */
+    private static Response execute(CircuitBreaker.Attempt attempt, Request request) throws IOException {
+        Call call = client.newCall(request);
+        attempt.start();
+        return call.execute();
+    }
+
+    /**
+     * Falls back on a stale cached copy after a failed request.
+     * @param cached cached copy of the response, may be null
+     * @param consumer receives each cached job record
+     * @param failure why the request failed
+     * @return the cached job records
+     * @throws JobBoardApiException the failure, if there is no cached copy
+     */
+    private static List<JobRecord> deliverStale(ResponseCache.Entry cached, Consumer<JobRecord> consumer,
+                                    JobBoardApiException failure) {
+        List<JobRecord> staleJobs = decodeCached(cached);
+        if (staleJobs == null) {
+            throw failure;
+        }
+        LOG.warn("Using cached results: " + failure.getMessage());
+        staleJobs.forEach(consumer);
+        return staleJobs;
+    }
+
+    /**
+     * Turns an exception from a request into a typed failure, counting it for the circuit breaker.
+     * A request given up because its thread was interrupted says nothing about the job board,
+     * so it is not counted.
+     * @param attempt what the circuit breaker let through
+     * @param e the exception
+     * @return the failure
+     */
+    private static JobBoardApiException failed(CircuitBreaker.Attempt attempt, IOException e) {
+        JobBoardFailure failure = JobBoardFailure.forException(e);
+        if (failure.isUpstreamFailure() && !Thread.currentThread().isInterrupted()) {
+            attempt.failure();
+        }
+        return new JobBoardApiException(failure, e);
+    }
+
+    /**
+     * Makes a request to the API without blocking the calling thread.
+     * The call is enqueued on the shared client, and cancelling the returned
+     * future cancels the underlying HTTP call.
+     * Uses the response cache and circuit breaker the same way as {@link #searchApi(String)};
+     * failures complete the future exceptionally with a {@link JobBoardApiException}.
+     * Overlapping calls for the same search share one request; it is only cancelled
+     * once every caller waiting for it has cancelled.
+     *
+     * @param url URL to make the request to
+     * @return future completing with the list of job records
+     */
+    public static CompletableFuture<List<JobRecord>> searchApiAsync(String url) {
+        SearchPriority priority = new SearchPriority(OutboundScheduler.currentPriority());
+        return SEARCHES.execute(ResponseCache.normalize(url), () -> requestAsync(url, priority),
+                                () -> priority.raise(OutboundScheduler.currentPriority()));
+    }
+
+    /**
+     * Gets the number of searches that were sent (or answered from the cache).
+     * @return number of searches that were not coalesced
+     */
+    public static long getSearchCount() {
+        return SEARCHES.getExecutions();
+    }
+
+    /**
+     * Gets the number of searches that attached to an identical search already in flight.
+     * @return number of coalesced searches
+     */
+    public static long getCoalescedSearchCount() {
+        return SEARCHES.getCoalesced();
+    }
+
+    /**
+     * Enqueues the request for a search, answering from the cache when possible.
+     * @param url URL to make the request to
+     * @param priority priority of the request, which may be raised while it waits
+     * @return future completing with the list of job records
+     */
+    private static CompletableFuture<List<JobRecord>> requestAsync(String url, SearchPriority priority) {
+        ResponseCache.Entry cached = RESPONSE_CACHE.get(url);
+        List<JobRecord> cachedJobs = freshJobs(cached);
+        if (cachedJobs != null) {
+            return CompletableFuture.completedFuture(cachedJobs);
+        }
+
+        CircuitBreaker.Attempt attempt = breaker.tryAcquire();
+        if (attempt == null) {
+            return staleOrFailed(cached, new JobBoardApiException(JobBoardFailure.CIRCUIT_OPEN, null));
+        }
+
+        CompletableFuture<List<JobRecord>> future = new CompletableFuture<>();
+        // wait for a free slot first, searches go ahead of logo downloads
+        CompletableFuture<OutboundScheduler.Permit> admission = priority.admit(OutboundScheduler.hostOf(url));
+        future.whenComplete((jobs, error) -> {
+            if (future.isCancelled()) {
+                admission.cancel(true);
+            }
+            // a trial cancelled while queued or in flight reported nothing, let the next request try
+            attempt.release();
+        });
+        admission.thenAccept(permit -> enqueue(url, cached, attempt, permit, future));
+        return future;
+    }
+
+    /**
+     * Sends an admitted request on the OkHttp dispatcher.
+     * @param url URL to make the request to
+     * @param cached cached copy of the response, may be null
+     * @param attempt what the circuit breaker let through, started once the call is handed to OkHttp
+     * @param permit the scheduler permit, closed when the call is done
+     * @param future future to complete with the job records
+     */
+    private static void enqueue(String url, ResponseCache.Entry cached, CircuitBreaker.Attempt attempt,
+                                OutboundScheduler.Permit permit, CompletableFuture<List<JobRecord>> future) {
+        Call call = client.newCall(buildRequest(url, cached));
+        future.whenComplete((jobs, error) -> {
+            if (future.isCancelled()) {
+                call.cancel();
+            }
+        });
+        if (future.isDone()) {
+            // cancelled just as it was admitted
+            permit.close();
+            return;
+        }
+        attempt.start();
+
+        call.enqueue(new Callback() {
+            @Override
+            public void onFailure(Call failedCall, IOException e) {
+                permit.close();
+                if (failedCall.isCanceled()) {
+                    future.cancel(true);
+                    return;
+                }
+                completeStaleOrFailed(future, cached, failed(attempt, e));
             }
 
-            ResponseBody responseBody = response.body();
-            if (responseBody == null) {
-                System.err.println("Error: Response body is null");
-                return Collections.emptyList();
+            @Override
+            public void onResponse(Call okCall, Response response) {
+                try (permit; response) {
+                    future.complete(readJobs(url, cached, attempt, response, job -> { }));
+                } catch (IOException e) {
+                    if (okCall.isCanceled()) {
+                        future.cancel(true);
+                        return;
+                    }
+                    completeStaleOrFailed(future, cached, failed(attempt, e));
+                } catch (JobBoardApiException e) {
+                    completeStaleOrFailed(future, cached, e);
+                }
             }
+        });
+    }
 
-            String jsonResponse = responseBody.string();
-            ResponseRecord jobResponse = OBJECT_MAPPER.readValue(jsonResponse, ResponseRecord.class);
-            // Clean HTML entities in each job record right after receiving them
-            return jobResponse.jobs().stream()
-                .map(job -> skillzhunter.model.formatters.DataFormatter.processJobHtml(job))
-                .collect(Collectors.toList());
-        } catch (IOException e) {
-            return Collections.emptyList();
+    /**
+     * Completes a request future after a failure, with a stale cached copy if there is one.
+     * @param future the future to complete
+     * @param cached cached copy of the response, may be null
+     * @param failure why the request failed
+     */
+    private static void completeStaleOrFailed(CompletableFuture<List<JobRecord>> future,
+                                              ResponseCache.Entry cached, JobBoardApiException failure) {
+        List<JobRecord> staleJobs = decodeCached(cached);
+        if (staleJobs == null) {
+            future.completeExceptionally(failure);
+        } else {
+            LOG.warn("Using cached results: " + failure.getMessage());
+            future.complete(staleJobs);
+        }
+    }
+
+    /**
+     * Falls back on a stale cached copy after a failed request, without blocking.
+     * @param cached cached copy of the response, may be null
+     * @param failure why the request failed
+     * @return future with the cached jobs, or failed with the failure if there is no cached copy
+     */
+    private static CompletableFuture<List<JobRecord>> staleOrFailed(ResponseCache.Entry cached,
+                                                                    JobBoardApiException failure) {
+        List<JobRecord> staleJobs = decodeCached(cached);
+        if (staleJobs == null) {
+            return CompletableFuture.failedFuture(failure);
+        }
+        LOG.warn("Using cached results: " + failure.getMessage());
+        return CompletableFuture.completedFuture(staleJobs);
+    }
+
+    /**
+     * Builds the request for a url, adding conditional headers if a cached copy can be revalidated.
+     * A copy whose body is gone is not revalidated, a 304 would leave nothing to show.
+     * @param url URL to make the request to
+     * @param cached cached copy of the response, may be null
+     * @return the request
+     */
+    private static Request buildRequest(String url, ResponseCache.Entry cached) {
+        Request.Builder builder = new Request.Builder().url(url);
+        if (cached != null && !cached.hasBody()) {
+            return builder.build();
+        }
+        if (cached != null && cached.getEtag() != null) {
+            builder.header("If-None-Match", cached.getEtag());
+        }
+        if (cached != null && cached.getLastModified() != null) {
+            builder.header("If-Modified-Since", cached.getLastModified());
+        }
+        return builder.build();
+    }
+
+    /**
+     * Reads the job records from an API response and updates the cache.
+     * The body is decoded straight from the network stream, and the bytes are
+     * copied to the cache's body file as they go by, never collected on the heap.
+     * @param url URL the request was made to
+     * @param cached cached copy that was being revalidated, may be null
+     * @param attempt what the circuit breaker let through, told how the job board answered
+     * @param response response from the job board
+     * @param consumer receives each cleaned job record
+     * @return the job records, unmodifiable and shared with the response cache
+     * @throws IOException if the body cannot be read or parsed
+     * @throws JobBoardApiException if the job board answered with an error status
+     */
+    private static List<JobRecord> readJobs(String url, ResponseCache.Entry cached, CircuitBreaker.Attempt attempt,
+                                            Response response, Consumer<JobRecord> consumer) throws IOException {
+        if (response.code() == HTTP_NOT_MODIFIED && cached != null) {
+            attempt.success();
+            List<JobRecord> jobs = decodeCached(cached);
+            if (jobs == null) {
+                // the body went away after the request was sent, the next search asks without validators
+                RESPONSE_CACHE.remove(url);
+                LOG.warn("Cached response for " + url + " is gone, it could not be revalidated");
+                throw new JobBoardApiException(JobBoardFailure.INVALID_RESPONSE, null);
+            }
+            RESPONSE_CACHE.renew(cached, response.header("Cache-Control"));
+            jobs.forEach(consumer);
+            return jobs;
+        }
+
+        if (!response.isSuccessful()) {
+            JobBoardApiException failure = new JobBoardApiException(response.code());
+            if (failure.getFailure().isUpstreamFailure()) {
+                attempt.failure();
+            } else {
+                // the job board is up, it just did not like this request
+                attempt.success();
+            }
+            throw failure;
+        }
+        attempt.success();
+
+        ResponseBody responseBody = response.body();
+        if (responseBody == null) {
+            throw new JobBoardApiException(JobBoardFailure.INVALID_RESPONSE, null);
+        }
+
+        List<JobRecord> jobs = new ArrayList<>();
+        try (ResponseCache.BodyFile rawBody = RESPONSE_CACHE.newBody()) {
+            try (InputStream in = new CopyingInputStream(responseBody.byteStream(), rawBody.stream())) {
+                // HTML entities are decoded while each job is parsed
+                JobResponseReader.readJobs(in, job -> {
+                    jobs.add(job);
+                    consumer.accept(job);
+                });
+            }
+            return RESPONSE_CACHE.put(url, rawBody, jobs, response.header("ETag"),
+                response.header("Last-Modified"), response.header("Cache-Control")).getJobs();
+        }
+    }
+
+    /**
+     * Gets the job records of a cached response if it is still fresh.
+     * @param cached cached response, may be null
+     * @return the cached job records, or null if there is no fresh usable entry
+     */
+    private static List<JobRecord> freshJobs(ResponseCache.Entry cached) {
+        if (cached == null || !cached.isFresh()) {
+            return null;
+        }
+        return decodeCached(cached);
+    }
+
+    /**
+     * Gets the job records of a cached response, decoding the body file the first time.
+     * The records are shared, not copied: {@link #SEARCHES} hands each caller its own copy.
+     * @param cached cached response, may be null
+     * @return the unmodifiable cached job records, or null if there is no entry or it cannot be decoded
+     */
+    private static List<JobRecord> decodeCached(ResponseCache.Entry cached) {
+        if (cached == null) {
+            return null;
+        }
+        List<JobRecord> jobs = cached.getJobs();
+        if (jobs == null) {
+            List<JobRecord> parsed = new ArrayList<>();
+            try (InputStream in = cached.openBody()) {
+                if (in == null) {
+                    return null;
+                }
+                // HTML entities are decoded while each job is parsed
+                JobResponseReader.readJobs(in, parsed::add);
+            } catch (IOException e) {
+                LOG.warn("Ignoring unreadable cached response: " + e.getMessage());
+                return null;
+            }
+            cached.setJobs(parsed);
+            jobs = cached.getJobs();
+        }
+        return jobs;
+    }
+
+    /**
+     * Priority of a search shared by every caller waiting for it.
+     * A background search that an interactive search joins while it is still waiting
+     * for a slot moves up to interactive, so the user does not wait behind prefetching.
+     */
+    private static final class SearchPriority {
+        /** Most urgent priority of the callers so far. Guarded by this. */
+        private OutboundScheduler.Priority priority;
+
+        /** The place in line, once the search asked for one. Guarded by this. */
+        private CompletableFuture<OutboundScheduler.Permit> admission;
+
+        /**
+         * Creates the priority of a search.
+         * @param priority priority of the caller that starts the search
+         */
+        SearchPriority(OutboundScheduler.Priority priority) {
+            this.priority = priority;
+        }
+
+        /**
+         * Asks the shared scheduler for a place in line at the most urgent priority so far.
+         * @param host host the search goes to
+         * @return the admission
+         */
+        synchronized CompletableFuture<OutboundScheduler.Permit> admit(String host) {
+            admission = OutboundScheduler.shared().admit(priority, host);
+            return admission;
+        }
+
+        /**
+         * Raises the priority for a caller that joined the search, moving it up if it is waiting.
+         * @param joined priority of the caller that joined
+         */
+        synchronized void raise(OutboundScheduler.Priority joined) {
+            if (joined.compareTo(priority) >= 0) {
+                return;
+            }
+            priority = joined;
+            if (admission != null) {
+                OutboundScheduler.shared().raise(admission, joined);
+            }
+        }
+    }
+
+    /**
+     * Input stream that copies every byte it reads to another stream.
+     * Lets the parser read straight from the network while the raw body goes to the cache.
+     */
+    private static final class CopyingInputStream extends FilterInputStream {
+        /** Where the bytes read so far are copied to. */
+        private final OutputStream copy;
+
+        /**
+         * Wraps a stream.
+         * @param in the stream to read from
+         * @param copy stream that receives a copy of everything read
+         */
+        CopyingInputStream(InputStream in, OutputStream copy) {
+            super(in);
+            this.copy = copy;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                copy.write(b);
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int count = super.read(buffer, offset, length);
+            if (count > 0) {
+                copy.write(buffer, offset, count);
+            }
+            return count;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            // skipped bytes would be missing from the copy, so read them instead
+            byte[] buffer = new byte[(int) Math.min(n, 8192)];
+            long skipped = 0;
+            while (skipped < n) {
+                int count = read(buffer, 0, (int) Math.min(buffer.length, n - skipped));
+                if (count < 0) {
+                    break;
+                }
+                skipped += count;
+            }
+            return skipped;
+        }
+
+        @Override
+        public boolean markSupported() {
+            return false;
         }
     }
 
@@ -0,0 +1,50 @@
+package skillzhunter.model.net;
+
+/**
+ * Thrown when a job board request fails and there is no cached answer to fall back on.
+ * Carries the type of failure so callers can tell a timeout from a rejected search.
+ */
+public class JobBoardApiException extends RuntimeException {
+    /** Type of failure. */
+    private final JobBoardFailure failure;
+
+    /** Http status code of the response, or 0 if there was none. */
+    private final int statusCode;
+
+    /**
+     * Creates an exception for a failure without a response.
+     * @param failure type of failure
+     * @param cause what went wrong, may be null
+     */
+    public JobBoardApiException(JobBoardFailure failure, Throwable cause) {
+        super(failure.getMessage(), cause);
+        this.failure = failure;
+        this.statusCode = 0;
+    }
+
+    /**
+     * Creates an exception for a non-2xx response.
+     * @param statusCode http status code of the response
+     */
+    public JobBoardApiException(int statusCode) {
+        super(JobBoardFailure.forStatus(statusCode).getMessage() + " (HTTP " + statusCode + ")");
+        this.failure = JobBoardFailure.forStatus(statusCode);
+        this.statusCode = statusCode;
+    }
+
+    /**
+     * Gets the type of failure.
+     * @return the failure
+     */
+    public JobBoardFailure getFailure() {
+        return failure;
+    }
+
+    /**
+     * Gets the http status code of the response.
+     * @return the status code, or 0 if there was no response
+     */
+    public int getStatusCode() {
+        return statusCode;
+    }
+}
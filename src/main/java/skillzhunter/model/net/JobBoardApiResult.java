@@ -17,6 +17,9 @@ public class JobBoardApiResult {
   /** Error message if the API request failed, or null if successful. */
   private final String errorMessage;
 
+  /** Type of failure if the API request failed, or null if it was answered. */
+  private final JobBoardFailure failure;
+
   /**
    * Constructs a new JobBoardApiResult with the given job records and error message.
    * 
@@ -24,8 +27,20 @@ public class JobBoardApiResult {
    * @param errorMessage the error message if the API request failed, or null if successful
    */
   public JobBoardApiResult(List<JobRecord> jobs, String errorMessage) {
+    this(jobs, errorMessage, null);
+  }
+
+  /**
+   * Constructs a new JobBoardApiResult for a request that may have failed.
+   * 
+   * @param jobs list of job records retrieved from the API, may be empty but not null
+   * @param errorMessage the error message if the API request failed, or null if successful
+   * @param failure the type of failure, or null if the request was answered
+   */
+  public JobBoardApiResult(List<JobRecord> jobs, String errorMessage, JobBoardFailure failure) {
     this.jobs = jobs;
     this.errorMessage = errorMessage;
+    this.failure = failure;
   }
 
   /**
@@ -54,4 +69,23 @@ public class JobBoardApiResult {
   public boolean hasError() {
     return errorMessage != null && !errorMessage.isEmpty();
   }
+
+  /**
+   * Gets the type of failure of the API request.
+   * 
+   * @return the failure, or null if the request was answered (warnings such as a generic
+   *         search still have an error message but no failure)
+   */
+  public JobBoardFailure getFailure() {
+    return failure;
+  }
+
+  /**
+   * Checks if the API request failed.
+   * 
+   * @return true if the request failed, false if it was answered
+   */
+  public boolean isFailure() {
+    return failure != null;
+  }
 }
@@ -0,0 +1,82 @@
+package skillzhunter.model.net;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+
+/**
+ * Reasons a job board request can fail, each with a message that can be shown to the user.
+ */
+public enum JobBoardFailure {
+    /** The job board did not answer within the configured deadlines. */
+    TIMEOUT("The job board took too long to answer. Please try again."),
+    /** The job board could not be reached at all. */
+    NETWORK("Could not reach the job board. Please check your connection."),
+    /** The job board answered 429 Too Many Requests, even after retrying. */
+    RATE_LIMITED("The job board is limiting requests right now. Please try again shortly."),
+    /** The job board answered with a 5xx status, even after retrying. */
+    SERVER_ERROR("The job board is having problems right now. Please try again later."),
+    /** The job board rejected the request with another non-2xx status. */
+    CLIENT_ERROR("The job board rejected the search."),
+    /** The response could not be decoded. */
+    INVALID_RESPONSE("The job board sent a response that could not be read."),
+    /** The circuit breaker is open, so the request was not sent. */
+    CIRCUIT_OPEN("The job board is currently unavailable. Searches are paused for a moment.");
+
+    /** Message for the user. */
+    private final String message;
+
+    /**
+     * Creates a failure type.
+     * @param message message for the user
+     */
+    JobBoardFailure(String message) {
+        this.message = message;
+    }
+
+    /**
+     * Gets the message for the user.
+     * @return the message
+     */
+    public String getMessage() {
+        return message;
+    }
+
+    /**
+     * Checks if this failure means the job board itself is in trouble,
+     * which is what the circuit breaker counts.
+     * @return true for timeouts, network errors, rate limiting and server errors
+     */
+    public boolean isUpstreamFailure() {
+        return this == TIMEOUT || this == NETWORK || this == RATE_LIMITED || this == SERVER_ERROR;
+    }
+
+    /**
+     * Gets the failure for a non-2xx status code.
+     * @param statusCode http status code
+     * @return the matching failure
+     */
+    public static JobBoardFailure forStatus(int statusCode) {
+        if (statusCode == 429) {
+            return RATE_LIMITED;
+        }
+        return statusCode >= 500 ? SERVER_ERROR : CLIENT_ERROR;
+    }
+
+    /**
+     * Gets the failure for an exception thrown while making or reading a request.
+     * @param e the exception
+     * @return the matching failure
+     */
+    public static JobBoardFailure forException(IOException e) {
+        if (e instanceof JsonProcessingException) {
+            return INVALID_RESPONSE;
+        }
+        // OkHttp reports call and read deadlines as InterruptedIOException("timeout")
+        if (e instanceof InterruptedIOException) {
+            return TIMEOUT;
+        }
+        return NETWORK;
+    }
+}
@@ -0,0 +1,163 @@
+package skillzhunter.model.net;
+
+/**
+ * A normalized Jobicy search request.
+ * Applies the default values for generic or missing parameters and builds the request url,
+ * so the blocking and non-blocking search paths always send identical requests.
+ */
+public final class JobBoardQuery {
+    /** Base url of the remote jobs endpoint. */
+    private static final String BASE_URL = "https://jobicy.com/api/v2/remote-jobs";
+
+    /** Number of results used when none (or an invalid number) is requested. */
+    private static final int DEFAULT_RESULTS = 5;
+
+    /** Fully built request url. */
+    private final String url;
+
+    /** Warning message for the user, or null if the query was specific enough. */
+    private final String errorMessage;
+
+    /** True if the query, location and industry were all generic. */
+    private final boolean generic;
+
+    /** Search query as given. */
+    private final String query;
+
+    /** Number of results as given. */
+    private final Integer numberOfResults;
+
+    /** Location as given. */
+    private final String location;
+
+    /** Industry as given. */
+    private final String industry;
+
+    /**
+     * Builds a normalized query from already resolved slugs.
+     * If any parameter is invalid or not provided, default values are applied:
+     * - `query`: Defaults to "all" if null, empty, or generic terms like "any" or "all" are passed.
+     * - `numberOfResults`: Defaults to 5 if null or less than 1.
+     * - `locationSlug`: Omitted from the url if null or generic.
+     * - `industrySlug`: Omitted from the url if null or generic.
+     *
+     * @param query Search query for the job board.
+     * @param numberOfResults Number of results to return.
+     * @param locationSlug Location slug from `locations.csv`, or null if not found.
+     * @param industrySlug Industry slug from `industries.csv`, or null if not found.
+     */
+    public JobBoardQuery(String query, Integer numberOfResults, String locationSlug, String industrySlug) {
+        this.query = query;
+        this.numberOfResults = numberOfResults;
+        this.location = locationSlug;
+        this.industry = industrySlug;
+
+        // Check if query is generic
+        boolean isQueryGeneric = query == null || query.isEmpty()
+                              || query.equalsIgnoreCase("any")
+                              || query.equalsIgnoreCase("all")
+                              || query.equalsIgnoreCase("all jobs")
+                              || query.equalsIgnoreCase("all job");
+
+        // Check if location is generic
+        boolean isLocationGeneric = locationSlug == null || locationSlug.isEmpty()
+                                 || locationSlug.equalsIgnoreCase("any")
+                                 || locationSlug.equalsIgnoreCase("all")
+                                 || locationSlug.equalsIgnoreCase("anywhere");
+
+        // Check if industry is generic
+        boolean isIndustryGeneric = industrySlug == null || industrySlug.isEmpty()
+                                 || industrySlug.equalsIgnoreCase("all")
+                                 || industrySlug.equalsIgnoreCase("any");
+
+        this.generic = isQueryGeneric && isLocationGeneric && isIndustryGeneric;
+
+        // Only set error message if ALL parameters are generic
+        this.errorMessage = generic
+            ? "All search parameters were generic, showing "
+              + (numberOfResults != null ? numberOfResults : DEFAULT_RESULTS) + " available jobs."
+            : null;
+
+        String tag = isQueryGeneric ? "all" : query.replaceAll(" ", "+").toLowerCase();
+        int count = (numberOfResults == null || numberOfResults < 1) ? DEFAULT_RESULTS : numberOfResults;
+
+        // building url, parameters are always in the same order
+        StringBuilder builder = new StringBuilder(BASE_URL).append("?count=").append(count);
+        if (!isLocationGeneric) {
+            builder.append("&geo=").append(locationSlug);
+        }
+        if (!isIndustryGeneric) {
+            builder.append("&industry=").append(industrySlug);
+        }
+        builder.append("&tag=").append(tag);
+        this.url = builder.toString();
+    }
+
+    /**
+     * Gets the request url for this query.
+     *
+     * @return the url to send to the job board
+     */
+    public String getUrl() {
+        return url;
+    }
+
+    /**
+     * Gets the warning message for this query.
+     *
+     * @return the warning message, or null if the query was not fully generic
+     */
+    public String getErrorMessage() {
+        return errorMessage;
+    }
+
+    /**
+     * Gets the search query this query was built from.
+     *
+     * @return the query as given, may be null
+     */
+    public String getQuery() {
+        return query;
+    }
+
+    /**
+     * Gets the number of results this query was built from.
+     *
+     * @return the number as given, may be null
+     */
+    public Integer getNumberOfResults() {
+        return numberOfResults;
+    }
+
+    /**
+     * Gets the location this query was built from.
+     *
+     * @return the location slug, or name for a {@link JobSource}, as given; may be null
+     */
+    public String getLocation() {
+        return location;
+    }
+
+    /**
+     * Gets the industry this query was built from.
+     *
+     * @return the industry slug, or name for a {@link JobSource}, as given; may be null
+     */
+    public String getIndustry() {
+        return industry;
+    }
+
+    /**
+     * Checks if every parameter of this query was generic.
+     *
+     * @return true if query, location and industry were all generic
+     */
+    public boolean isGeneric() {
+        return generic;
+    }
+
+    @Override
+    public String toString() {
+        return url;
+    }
+}
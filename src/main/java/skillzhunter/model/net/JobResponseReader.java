@@ -0,0 +1,100 @@
+package skillzhunter.model.net;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.function.Consumer;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+import skillzhunter.model.JobRecord;
+import skillzhunter.model.formatters.JobRecordModule;
+
+/**
+ * Streaming decoder for job board responses.
+ * Instead of binding the whole {@link skillzhunter.model.ResponseRecord}, it walks the
+ * response with a {@link JsonParser}, skips the header fields and hands every job in the
+ * "jobs" array to a consumer as soon as that job has been read.
+ * Only one job is held in memory at a time, and the consumer can start working
+ * before the rest of the body has been downloaded.
+ * Jobs are decoded through {@link JobRecordModule}, so they arrive already cleaned of HTML entities.
+ */
+public final class JobResponseReader {
+    /** object mapper for parsing json response, cleaning each job as it is read.*/
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper().registerModule(new JobRecordModule());
+
+    /** reader bound to the job record type, shared because it is immutable.*/
+    private static final ObjectReader JOB_READER = OBJECT_MAPPER.readerFor(JobRecord.class);
+
+    /** name of the field that holds the job array.*/
+    private static final String JOBS_FIELD = "jobs";
+
+    /**
+     * Private constructor to prevent instantiation of utility class.
+     */
+    private JobResponseReader() {
+        // Prevent instantiation
+    }
+
+    /**
+     * Reads the jobs of a response from a stream.
+     * The stream is closed when reading is done.
+     *
+     * @param in stream positioned at the start of the response
+     * @param consumer receives each cleaned job as soon as it is parsed
+     * @return number of jobs passed to the consumer
+     * @throws IOException if the stream cannot be read or is not a job board response
+     */
+    public static int readJobs(InputStream in, Consumer<JobRecord> consumer) throws IOException {
+        try (JsonParser parser = OBJECT_MAPPER.getFactory().createParser(in)) {
+            return readJobs(parser, consumer);
+        }
+    }
+
+    /**
+     * Reads the jobs of a response that is already in memory, such as a cached body.
+     *
+     * @param json the response body
+     * @param consumer receives each cleaned job as soon as it is parsed
+     * @return number of jobs passed to the consumer
+     * @throws IOException if the text is not a job board response
+     */
+    public static int readJobs(String json, Consumer<JobRecord> consumer) throws IOException {
+        try (JsonParser parser = OBJECT_MAPPER.getFactory().createParser(json)) {
+            return readJobs(parser, consumer);
+        }
+    }
+
+    /**
+     * Walks the top level response object and decodes the job array element by element.
+     *
+     * @param parser parser positioned before the response object
+     * @param consumer receives each cleaned job as soon as it is parsed
+     * @return number of jobs passed to the consumer
+     * @throws IOException if the input is not a job board response
+     */
+    private static int readJobs(JsonParser parser, Consumer<JobRecord> consumer) throws IOException {
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+            throw new JsonParseException(parser, "Expected a job board response object");
+        }
+
+        int count = 0;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            if (JOBS_FIELD.equals(field) && value == JsonToken.START_ARRAY) {
+                while (parser.nextToken() == JsonToken.START_OBJECT) {
+                    consumer.accept(JOB_READER.readValue(parser));
+                    count++;
+                }
+            } else {
+                // header fields such as apiVersion or friendlyNotice are not needed
+                parser.skipChildren();
+            }
+        }
+        return count;
+    }
+}
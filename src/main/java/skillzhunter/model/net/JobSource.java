@@ -0,0 +1,75 @@
+package skillzhunter.model.net;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Source of job board search results.
+ * The model asks a job source for jobs instead of calling the job board directly,
+ * so the live Jobicy client can be swapped for recorded responses in tests,
+ * performance runs and offline demos.
+ */
+public interface JobSource {
+    /**
+     * Searches for jobs.
+     * Parameters follow {@link JobBoardApi#getJobBoard(String, Integer, String, String)}:
+     * generic or unknown values fall back to the defaults.
+     *
+     * @param query Search query for the job board.
+     * @param numberOfResults Number of results to return.
+     * @param location Location to filter jobs (e.g., city or region).
+     * @param industry Industry to filter jobs (e.g., IT, healthcare).
+     * @return JobBoardApiResult containing list of jobs and any error message.
+     */
+    JobBoardApiResult search(String query, Integer numberOfResults, String location, String industry);
+
+    /**
+     * Searches for jobs without blocking the calling thread.
+     * The default runs {@link #search} on the common pool; sources that can do better override it.
+     *
+     * @param query Search query for the job board.
+     * @param numberOfResults Number of results to return.
+     * @param location Location to filter jobs (e.g., city or region).
+     * @param industry Industry to filter jobs (e.g., IT, healthcare).
+     * @return future completing with the list of jobs and any error message
+     */
+    default CompletableFuture<JobBoardApiResult> searchAsync(String query, Integer numberOfResults,
+                                                             String location, String industry) {
+        return CompletableFuture.supplyAsync(() -> search(query, numberOfResults, location, industry));
+    }
+
+    /**
+     * Searches for jobs matching any combination of several queries, locations and industries.
+     * Parameters follow {@link JobBoardApi#getJobBoardMulti(List, Integer, List, List)}.
+     *
+     * @param queries Search queries, null or empty for all jobs.
+     * @param numberOfResults Number of results to return per search.
+     * @param locations Locations to filter jobs by, null or empty for anywhere.
+     * @param industries Industries to filter jobs by, null or empty for any industry.
+     * @return JobBoardApiResult containing the merged list of jobs and any error message.
+     */
+    default JobBoardApiResult searchMulti(List<String> queries, Integer numberOfResults,
+                                          List<String> locations, List<String> industries) {
+        return searchMultiAsync(queries, numberOfResults, locations, industries).join();
+    }
+
+    /**
+     * Searches for jobs matching any combination of several queries, locations and industries
+     * without blocking the calling thread.
+     * The default runs every combination through {@link #searchAsync} with a {@link ParallelSearch},
+     * so each one is recorded or replayed like a single search, at most
+     * {@link ParallelSearch#DEFAULT_MAX_PARALLEL} are in flight and identical combinations are
+     * only sent once. Cancelling the returned future cancels the searches that are still running.
+     *
+     * @param queries Search queries, null or empty for all jobs.
+     * @param numberOfResults Number of results to return per search.
+     * @param locations Locations to filter jobs by, null or empty for anywhere.
+     * @param industries Industries to filter jobs by, null or empty for any industry.
+     * @return future completing with the merged list of jobs and any error message
+     */
+    default CompletableFuture<JobBoardApiResult> searchMultiAsync(List<String> queries, Integer numberOfResults,
+                                                                  List<String> locations, List<String> industries) {
+        return ParallelSearch.forSource(ParallelSearch.DEFAULT_MAX_PARALLEL, this)
+            .search(ParallelSearch.expand(queries, numberOfResults, locations, industries));
+    }
+}
@@ -0,0 +1,34 @@
+package skillzhunter.model.net;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Job source backed by the live Jobicy API through {@link JobBoardApi}.
+ */
+public final class JobicyJobSource implements JobSource {
+
+    @Override
+    public JobBoardApiResult search(String query, Integer numberOfResults, String location, String industry) {
+        return JobBoardApi.getJobBoard(query, numberOfResults, location, industry);
+    }
+
+    @Override
+    public CompletableFuture<JobBoardApiResult> searchAsync(String query, Integer numberOfResults,
+                                                            String location, String industry) {
+        return JobBoardApi.getJobBoardAsync(query, numberOfResults, location, industry);
+    }
+
+    @Override
+    public JobBoardApiResult searchMulti(List<String> queries, Integer numberOfResults,
+                                         List<String> locations, List<String> industries) {
+        return JobBoardApi.getJobBoardMulti(queries, numberOfResults, locations, industries);
+    }
+
+    @Override
+    public CompletableFuture<JobBoardApiResult> searchMultiAsync(List<String> queries, Integer numberOfResults,
+                                                                 List<String> locations, List<String> industries) {
+        // searches that map to the same url are sent once, with a cap on the requests in flight
+        return JobBoardApi.getJobBoardMultiAsync(queries, numberOfResults, locations, industries);
+    }
+}
@@ -0,0 +1,466 @@
+package skillzhunter.model.net;
+
+import java.io.InterruptedIOException;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Decides when outbound requests may go out, shared by job searches and logo downloads.
+ * Every request asks for a {@link Permit} before it starts and closes it when it is done.
+ * Waiting requests are admitted by priority class, each host has its own token bucket
+ * rate limit, and only a fixed number of requests run at the same time. One of those
+ * slots is kept for interactive searches, so a table full of loading logos can never
+ * make the user's next search wait for a free slot.
+ */
+public final class OutboundScheduler {
+    /** Priority classes, most urgent first. */
+    public enum Priority {
+        /** A search the user is waiting for. */
+        INTERACTIVE,
+        /** A logo in the job details dialog. */
+        DETAIL,
+        /** Logos in the results table. */
+        THUMBNAIL,
+        /** Background work nobody is waiting for, such as feed polling. */
+        PREFETCH
+    }
+
+    /** Requests running at the same time in the shared scheduler. */
+    private static final int DEFAULT_MAX_CONCURRENT = 6;
+
+    /** Requests per second allowed to each host in the shared scheduler. */
+    private static final double DEFAULT_REQUESTS_PER_SECOND = 4;
+
+    /** Burst of requests allowed to each host in the shared scheduler. */
+    private static final int DEFAULT_BURST = 8;
+
+    /** Scheduler used by the whole application. */
+    private static final OutboundScheduler SHARED = new OutboundScheduler(
+        DEFAULT_MAX_CONCURRENT, DEFAULT_REQUESTS_PER_SECOND, DEFAULT_BURST, System::nanoTime);
+
+    /** Priority of requests started by the current thread. */
+    private static final ThreadLocal<Priority> CURRENT_PRIORITY =
+        ThreadLocal.withInitial(() -> Priority.INTERACTIVE);
+
+    /** Maximum number of requests running at the same time. */
+    private final int maxConcurrent;
+
+    /** Slots that only interactive requests may use. */
+    private final int reservedInteractive;
+
+    /** Rate at which each host's bucket refills. */
+    private final double requestsPerSecond;
+
+    /** Size of each host's bucket. */
+    private final int burst;
+
+    /** Source of the current time in nanoseconds. */
+    private final LongSupplier nanoClock;
+
+    /** Requests waiting for a permit, most urgent and then oldest first. Guarded by this. */
+    private final TreeSet<Waiter> waiting = new TreeSet<>(
+        Comparator.comparing((Waiter w) -> w.priority).thenComparingLong(w -> w.sequence));
+
+    /** Rate limit of each host. Guarded by this. */
+    private final Map<String, TokenBucket> buckets = new HashMap<>();
+
+    /** Wakes the scheduler up when a rate limited request may go out. */
+    private final ScheduledExecutorService timer;
+
+    /** Runs tasks passed to {@link #submit}. */
+    private final ExecutorService workers;
+
+    /** Number of permits currently held. Guarded by this. */
+    private int running;
+
+    /** Order in which requests arrived. Guarded by this. */
+    private long sequence;
+
+    /** Pending wake up, or null. Guarded by this. */
+    private ScheduledFuture<?> wakeUp;
+
+    /** When the pending wake up fires, in clock nanoseconds. Guarded by this. */
+    private long wakeUpAt;
+
+    /** Number of permits handed out, per priority. */
+    private final AtomicInteger[] admitted = new AtomicInteger[Priority.values().length];
+
+    /**
+     * Creates a scheduler.
+     *
+     * @param maxConcurrent maximum number of requests running at the same time
+     * @param requestsPerSecond requests per second allowed to each host
+     * @param burst requests each host may receive in a burst
+     * @param nanoClock source of the current time in nanoseconds
+     * @throws IllegalArgumentException if maxConcurrent is less than 1
+     */
+    public OutboundScheduler(int maxConcurrent, double requestsPerSecond, int burst, LongSupplier nanoClock) {
+        if (maxConcurrent < 1) {
+            throw new IllegalArgumentException("maxConcurrent must be at least 1");
+        }
+        this.maxConcurrent = maxConcurrent;
+        this.reservedInteractive = maxConcurrent > 1 ? 1 : 0;
+        this.requestsPerSecond = requestsPerSecond;
+        this.burst = burst;
+        this.nanoClock = nanoClock;
+        this.timer = Executors.newSingleThreadScheduledExecutor(daemonThreads("outbound-timer"));
+        this.workers = Executors.newCachedThreadPool(daemonThreads("outbound-worker"));
+        for (int i = 0; i < admitted.length; i++) {
+            admitted[i] = new AtomicInteger();
+        }
+    }
+
+    /**
+     * Gets the scheduler shared by the whole application.
+     *
+     * @return the shared scheduler
+     */
+    public static OutboundScheduler shared() {
+        return SHARED;
+    }
+
+    /**
+     * Gets the priority of requests started by the current thread.
+     * Interactive unless set with {@link #callWithPriority}.
+     *
+     * @return the priority
+     */
+    public static Priority currentPriority() {
+        return CURRENT_PRIORITY.get();
+    }
+
+    /**
+     * Runs work with a different priority for the requests it starts on this thread.
+     *
+     * @param priority the priority
+     * @param work the work
+     * @param <T> type of the result
+     * @return the result of the work
+     */
+    public static <T> T callWithPriority(Priority priority, Supplier<T> work) {
+        Priority previous = CURRENT_PRIORITY.get();
+        CURRENT_PRIORITY.set(priority);
+        try {
+            return work.get();
+        } finally {
+            CURRENT_PRIORITY.set(previous);
+        }
+    }
+
+    /**
+     * Gets the host of a url, used as the rate limit key.
+     *
+     * @param url the url
+     * @return the lower case host, or an empty string if the url has none
+     */
+    public static String hostOf(String url) {
+        try {
+            String host = URI.create(url.trim()).getHost();
+            return host == null ? "" : host.toLowerCase();
+        } catch (IllegalArgumentException | NullPointerException e) {
+            return "";
+        }
+    }
+
+    /**
+     * Asks for permission to send a request.
+     * The future completes once the request may go out; cancelling it gives up the place in line.
+     *
+     * @param priority priority of the request
+     * @param host host the request goes to
+     * @return future completing with the permit, which must be closed when the request is done
+     */
+    public CompletableFuture<Permit> admit(Priority priority, String host) {
+        Waiter waiter;
+        synchronized (this) {
+            waiter = new Waiter(priority, host == null ? "" : host, sequence++);
+            waiting.add(waiter);
+        }
+        waiter.future.whenComplete((permit, error) -> {
+            if (waiter.future.isCancelled()) {
+                synchronized (this) {
+                    waiting.remove(waiter);
+                }
+            }
+        });
+        dispatch();
+        return waiter.future;
+    }
+
+    /**
+     * Waits for permission to send a request.
+     *
+     * @param priority priority of the request
+     * @param host host the request goes to
+     * @return the permit, which must be closed when the request is done
+     * @throws InterruptedIOException if the thread is interrupted while waiting
+     */
+    public Permit acquire(Priority priority, String host) throws InterruptedIOException {
+        return await(admit(priority, host));
+    }
+
+    /**
+     * Waits for an admission from {@link #admit}, giving up the place in line if interrupted.
+     *
+     * @param admission the admission
+     * @return the permit, which must be closed when the request is done
+     * @throws InterruptedIOException if the thread is interrupted while waiting
+     */
+    public Permit await(CompletableFuture<Permit> admission) throws InterruptedIOException {
+        try {
+            return admission.get();
+        } catch (InterruptedException e) {
+            if (!admission.cancel(true)) {
+                admission.join().close();
+            }
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting to send a request");
+        } catch (ExecutionException e) {
+            // admissions only ever complete normally or by cancellation
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    /**
+     * Moves a waiting request up to a more urgent priority, keeping its place among the
+     * requests that arrived before it. Requests that were already admitted, or that
+     * already have an equal or more urgent priority, are left alone.
+     *
+     * @param admission the admission from {@link #admit}
+     * @param priority the new priority
+     */
+    public void raise(CompletableFuture<Permit> admission, Priority priority) {
+        synchronized (this) {
+            Waiter found = null;
+            for (Waiter waiter : waiting) {
+                if (waiter.future == admission) {
+                    found = waiter;
+                    break;
+                }
+            }
+            if (found == null || found.priority.compareTo(priority) <= 0) {
+                return;
+            }
+            // the set is sorted by priority, so the waiter has to be taken out to change it
+            waiting.remove(found);
+            found.priority = priority;
+            waiting.add(found);
+        }
+        dispatch();
+    }
+
+    /**
+     * Runs a task on a worker thread once it is admitted, holding the permit while it runs.
+     * Cancelling the returned future before the task starts gives up its place in line.
+     *
+     * @param priority priority of the task
+     * @param host host the task talks to
+     * @param task the task
+     * @param <T> type of the result
+     * @return future completing with the result of the task
+     */
+    public <T> CompletableFuture<T> submit(Priority priority, String host, Callable<T> task) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        CompletableFuture<Permit> admission = admit(priority, host);
+        result.whenComplete((value, error) -> {
+            if (result.isCancelled()) {
+                admission.cancel(true);
+            }
+        });
+        admission.thenAcceptAsync(permit -> {
+            T value;
+            // give the slot back before the caller hears about the result
+            try (permit) {
+                if (result.isDone()) {
+                    return;
+                }
+                value = task.call();
+            } catch (Exception e) {
+                result.completeExceptionally(e);
+                return;
+            }
+            result.complete(value);
+        }, workers);
+        return result;
+    }
+
+    /**
+     * Gets the number of permits currently held.
+     *
+     * @return number of running requests
+     */
+    public synchronized int getRunning() {
+        return running;
+    }
+
+    /**
+     * Gets the number of requests waiting for a permit.
+     *
+     * @return number of waiting requests
+     */
+    public synchronized int getWaiting() {
+        return waiting.size();
+    }
+
+    /**
+     * Gets the number of permits handed out for a priority so far.
+     *
+     * @param priority the priority
+     * @return number of admitted requests
+     */
+    public int getAdmitted(Priority priority) {
+        return admitted[priority.ordinal()].get();
+    }
+
+    /**
+     * Hands out permits to as many waiting requests as the limits allow,
+     * and schedules a wake up for the ones only held back by a rate limit.
+     */
+    private void dispatch() {
+        List<Waiter> ready = new ArrayList<>();
+        synchronized (this) {
+            long wait = Long.MAX_VALUE;
+            Iterator<Waiter> it = waiting.iterator();
+            while (it.hasNext() && running < maxConcurrent) {
+                Waiter waiter = it.next();
+                if (waiter.future.isDone()) {
+                    it.remove();
+                    continue;
+                }
+                if (waiter.priority != Priority.INTERACTIVE && running >= maxConcurrent - reservedInteractive) {
+                    continue;
+                }
+                TokenBucket bucket = buckets.computeIfAbsent(waiter.host,
+                    host -> new TokenBucket(requestsPerSecond, burst, nanoClock));
+                long nanos = bucket.nanosUntilAvailable();
+                if (nanos > 0) {
+                    wait = Math.min(wait, nanos);
+                    continue;
+                }
+                bucket.tryAcquire();
+                it.remove();
+                running++;
+                ready.add(waiter);
+            }
+            if (wait != Long.MAX_VALUE) {
+                scheduleWakeUp(wait);
+            }
+        }
+        for (Waiter waiter : ready) {
+            admitted[waiter.priority.ordinal()].incrementAndGet();
+            Permit permit = new Permit();
+            if (!waiter.future.complete(permit)) {
+                // cancelled while being admitted
+                permit.close();
+            }
+        }
+    }
+
+    /**
+     * Makes sure {@link #dispatch()} runs again after a delay, unless it already will sooner.
+     *
+     * @param nanos delay in nanoseconds
+     */
+    private void scheduleWakeUp(long nanos) {
+        long at = nanoClock.getAsLong() + nanos;
+        if (wakeUp != null && !wakeUp.isDone() && wakeUpAt <= at) {
+            return;
+        }
+        if (wakeUp != null) {
+            wakeUp.cancel(false);
+        }
+        wakeUpAt = at;
+        wakeUp = timer.schedule(this::dispatch, nanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Creates a factory for named daemon threads.
+     *
+     * @param name name of the threads
+     * @return the thread factory
+     */
+    private static ThreadFactory daemonThreads(String name) {
+        return runnable -> {
+            Thread thread = new Thread(runnable, name);
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * Permission to run one request. Closing it frees the slot for the next request.
+     */
+    public final class Permit implements AutoCloseable {
+        /** Whether the permit was already given back. */
+        private final AtomicBoolean closed = new AtomicBoolean();
+
+        /**
+         * Creates a permit for a slot that was already counted as running.
+         */
+        private Permit() {
+            // handed out by dispatch
+        }
+
+        /**
+         * Gives the slot back. Closing a permit more than once has no effect.
+         */
+        @Override
+        public void close() {
+            if (closed.compareAndSet(false, true)) {
+                synchronized (OutboundScheduler.this) {
+                    running--;
+                }
+                dispatch();
+            }
+        }
+    }
+
+    /**
+     * A request waiting for a permit.
+     */
+    private static final class Waiter {
+        /** Priority of the request, only changed while it is out of the waiting set. */
+        private Priority priority;
+
+        /** Host the request goes to. */
+        private final String host;
+
+        /** Arrival order, to keep requests of the same priority first come first served. */
+        private final long sequence;
+
+        /** Completes with the permit. */
+        private final CompletableFuture<Permit> future = new CompletableFuture<>();
+
+        /**
+         * Creates a waiter.
+         *
+         * @param priority priority of the request
+         * @param host host the request goes to
+         * @param sequence arrival order
+         */
+        Waiter(Priority priority, String host, long sequence) {
+            this.priority = priority;
+            this.host = host;
+            this.sequence = sequence;
+        }
+    }
+}
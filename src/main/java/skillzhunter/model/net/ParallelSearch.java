@@ -0,0 +1,351 @@
+package skillzhunter.model.net;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+
+import skillzhunter.model.JobRecord;
+
+/**
+ * Runs several job board searches at once and merges their results.
+ * At most a fixed number of requests are in flight at any time; the rest wait
+ * and start as earlier ones finish. The searches are sent either as urls to the job board,
+ * or through a {@link JobSource} with {@link #forSource(int, JobSource)}, and searches
+ * that end up with the same url are only sent once either way. The merged list keeps the order of the searches
+ * (and of the jobs within each search), with jobs that several searches found
+ * only listed the first time. A search that fails does not fail the whole result,
+ * the jobs from the other searches are still returned; only when every search fails is
+ * the result a failure, with the message and failure type of the first one.
+ */
+public final class ParallelSearch {
+    /** Number of requests a multi search keeps in flight, unless given otherwise. */
+    public static final int DEFAULT_MAX_PARALLEL = 4;
+
+    /** Maximum number of requests in flight at the same time. */
+    private final int maxParallel;
+
+    /** Sends one search. */
+    private final Function<JobBoardQuery, CompletableFuture<JobBoardApiResult>> request;
+
+    /**
+     * Creates a parallel search sending each search as a url.
+     *
+     * @param maxParallel maximum number of requests in flight at the same time
+     * @param request sends one search, given its url
+     * @throws IllegalArgumentException if maxParallel is less than 1
+     */
+    public ParallelSearch(int maxParallel, Function<String, CompletableFuture<List<JobRecord>>> request) {
+        this.maxParallel = checkMaxParallel(maxParallel);
+        this.request = search -> {
+            CompletableFuture<List<JobRecord>> page = request.apply(search.getUrl());
+            CompletableFuture<JobBoardApiResult> result = page.thenApply(jobs -> new JobBoardApiResult(jobs, null));
+            // thenApply does not cancel upstream, so forward it by hand
+            result.whenComplete((jobs, error) -> {
+                if (result.isCancelled()) {
+                    page.cancel(true);
+                }
+            });
+            return result;
+        };
+    }
+
+    /**
+     * Creates a parallel search sending each search to a job source.
+     *
+     * @param maxParallel maximum number of requests in flight at the same time
+     * @param source where the searches are sent
+     * @throws IllegalArgumentException if maxParallel is less than 1
+     */
+    private ParallelSearch(int maxParallel, JobSource source) {
+        this.maxParallel = checkMaxParallel(maxParallel);
+        this.request = search -> source.searchAsync(
+            search.getQuery(), search.getNumberOfResults(), search.getLocation(), search.getIndustry());
+    }
+
+    /**
+     * Creates a parallel search sending each search to a job source with
+     * {@link JobSource#searchAsync}, passing on the query, location and industry it was built from.
+     *
+     * @param maxParallel maximum number of requests in flight at the same time
+     * @param source where the searches are sent
+     * @return the parallel search
+     * @throws IllegalArgumentException if maxParallel is less than 1
+     */
+    public static ParallelSearch forSource(int maxParallel, JobSource source) {
+        return new ParallelSearch(maxParallel, source);
+    }
+
+    /**
+     * Builds every combination of the given queries, locations and industries.
+     * An empty or null list counts as a single default value, and duplicate values are dropped.
+     * The combinations are ordered by query, then location, then industry.
+     *
+     * @param queries search queries
+     * @param numberOfResults number of results to request per search
+     * @param locationSlugs location slugs, or names for {@link #forSource}, null entries mean anywhere
+     * @param industrySlugs industry slugs, or names for {@link #forSource}, null entries mean any industry
+     * @return the searches to run, one per combination
+     */
+    public static List<JobBoardQuery> expand(List<String> queries, Integer numberOfResults,
+                                             List<String> locationSlugs, List<String> industrySlugs) {
+        List<JobBoardQuery> searches = new ArrayList<>();
+        for (String query : orDefault(queries)) {
+            for (String location : orDefault(locationSlugs)) {
+                for (String industry : orDefault(industrySlugs)) {
+                    searches.add(new JobBoardQuery(query, numberOfResults, location, industry));
+                }
+            }
+        }
+        return searches;
+    }
+
+    /**
+     * Runs the searches and merges their results.
+     * Searches that end up with the same url are only sent once.
+     * Cancelling the returned future cancels the requests still running or waiting.
+     *
+     * @param searches searches to run
+     * @return future completing with the merged jobs, and a message if any search failed
+     *         or every search was generic
+     */
+    public CompletableFuture<JobBoardApiResult> search(List<JobBoardQuery> searches) {
+        Map<String, JobBoardQuery> distinct = new LinkedHashMap<>();
+        boolean allGeneric = !searches.isEmpty();
+        String genericMessage = null;
+        for (JobBoardQuery search : searches) {
+            distinct.putIfAbsent(search.getUrl(), search);
+            allGeneric &= search.isGeneric();
+            if (genericMessage == null) {
+                genericMessage = search.getErrorMessage();
+            }
+        }
+        Run run = new Run(new ArrayList<>(distinct.values()), allGeneric ? genericMessage : null);
+        run.start();
+        return run.result;
+    }
+
+    /**
+     * Merges the results of several searches, keeping the first occurrence of every job id.
+     * A search failed if it has no result, or came back empty with an error message.
+     * If some failed the message says how many; if all failed the result is a failure with the
+     * message and failure type of the first one that has them.
+     *
+     * @param results the result of each search in result order, null for one that failed without a result
+     * @param message message for the result when no search failed, or null
+     * @return the merged result
+     */
+    private static JobBoardApiResult merge(List<JobBoardApiResult> results, String message) {
+        Map<Integer, JobRecord> merged = new LinkedHashMap<>();
+        int failed = 0;
+        String firstError = null;
+        JobBoardFailure firstFailure = null;
+        for (JobBoardApiResult result : results) {
+            if (result == null || result.getJobs() == null
+                || (result.getJobs().isEmpty() && result.getErrorMessage() != null)) {
+                failed++;
+                if (firstError == null && result != null) {
+                    firstError = result.getErrorMessage();
+                }
+                if (firstFailure == null && result != null) {
+                    firstFailure = result.getFailure();
+                }
+                continue;
+            }
+            for (JobRecord job : result.getJobs()) {
+                merged.putIfAbsent(job.id(), job);
+            }
+        }
+        if (failed > 0 && failed == results.size()) {
+            return new JobBoardApiResult(new ArrayList<>(),
+                firstError != null ? firstError : "All " + failed + " searches failed.", firstFailure);
+        }
+        if (failed > 0) {
+            message = failed + " of " + results.size() + " searches failed, showing partial results.";
+        }
+        return new JobBoardApiResult(new ArrayList<>(merged.values()), message);
+    }
+
+    /**
+     * Turns the exception a search failed with into a failed result.
+     *
+     * @param error the exception
+     * @return the failed result if it was a job board failure, or null for any other exception
+     */
+    private static JobBoardApiResult failure(Throwable error) {
+        Throwable cause = error instanceof CompletionException ? error.getCause() : error;
+        if (cause instanceof JobBoardApiException) {
+            JobBoardApiException failure = (JobBoardApiException) cause;
+            return new JobBoardApiResult(new ArrayList<>(), failure.getMessage(), failure.getFailure());
+        }
+        return null;
+    }
+
+    /**
+     * Checks the maximum number of requests in flight.
+     *
+     * @param maxParallel the maximum
+     * @return the maximum
+     * @throws IllegalArgumentException if it is less than 1
+     */
+    private static int checkMaxParallel(int maxParallel) {
+        if (maxParallel < 1) {
+            throw new IllegalArgumentException("maxParallel must be at least 1");
+        }
+        return maxParallel;
+    }
+
+    /**
+     * Replaces a null or empty list by a list holding a single null, and drops duplicates.
+     *
+     * @param values the values
+     * @return the values to expand
+     */
+    private static List<String> orDefault(List<String> values) {
+        List<String> expanded = new ArrayList<>();
+        if (values == null || values.isEmpty()) {
+            expanded.add(null);
+            return expanded;
+        }
+        for (String value : values) {
+            if (!expanded.contains(value)) {
+                expanded.add(value);
+            }
+        }
+        return expanded;
+    }
+
+    /**
+     * State of one call to {@link #search(List)}.
+     */
+    private final class Run {
+        /** Searches to send, in result order. */
+        private final List<JobBoardQuery> searches;
+
+        /** Message for the result when every search was generic, or null. */
+        private final String genericMessage;
+
+        /** Result of each finished search, by index; null while pending or if it failed without one. */
+        private final List<JobBoardApiResult> pages;
+
+        /** Requests currently running. Guarded by this. */
+        private final List<CompletableFuture<JobBoardApiResult>> running = new ArrayList<>();
+
+        /** Completes with the merged result. */
+        private final CompletableFuture<JobBoardApiResult> result = new CompletableFuture<>();
+
+        /** Index of the next search to send. Guarded by this. */
+        private int next;
+
+        /** Number of searches that have not finished. Guarded by this. */
+        private int remaining;
+
+        /**
+         * Creates a run.
+         *
+         * @param searches searches to send, in result order
+         * @param genericMessage message for the result when every search was generic, or null
+         */
+        Run(List<JobBoardQuery> searches, String genericMessage) {
+            this.searches = searches;
+            this.genericMessage = genericMessage;
+            this.pages = new ArrayList<>(searches.size());
+            for (int i = 0; i < searches.size(); i++) {
+                pages.add(null);
+            }
+            this.remaining = searches.size();
+            result.whenComplete((merged, error) -> {
+                if (result.isCancelled()) {
+                    cancelRunning();
+                }
+            });
+        }
+
+        /**
+         * Starts the first batch of requests, or completes right away if there is nothing to do.
+         */
+        void start() {
+            if (searches.isEmpty()) {
+                result.complete(new JobBoardApiResult(new ArrayList<>(), genericMessage));
+                return;
+            }
+            for (int i = 0; i < maxParallel; i++) {
+                launchNext();
+            }
+        }
+
+        /**
+         * Starts the next waiting request, if any.
+         */
+        private void launchNext() {
+            int index;
+            synchronized (this) {
+                if (next >= searches.size() || result.isDone()) {
+                    return;
+                }
+                index = next++;
+            }
+
+            CompletableFuture<JobBoardApiResult> page;
+            try {
+                page = request.apply(searches.get(index));
+            } catch (RuntimeException e) {
+                page = CompletableFuture.failedFuture(e);
+            }
+            synchronized (this) {
+                running.add(page);
+            }
+            CompletableFuture<JobBoardApiResult> started = page;
+            page.whenComplete((found, error) -> finished(index, started, found, error));
+        }
+
+        /**
+         * Records the outcome of one request and starts the next one.
+         *
+         * @param index index of the finished search
+         * @param page future of the finished request
+         * @param found its result, if it completed normally
+         * @param error why it failed, or null
+         */
+        private void finished(int index, CompletableFuture<JobBoardApiResult> page,
+                              JobBoardApiResult found, Throwable error) {
+            boolean done;
+            synchronized (this) {
+                running.remove(page);
+                pages.set(index, error == null ? found : failure(error));
+                done = --remaining == 0;
+            }
+            if (done) {
+                result.complete(merge());
+            } else {
+                launchNext();
+            }
+        }
+
+        /**
+         * Merges the finished searches, see {@link ParallelSearch#merge(List, String)}.
+         *
+         * @return the merged result
+         */
+        private synchronized JobBoardApiResult merge() {
+            return ParallelSearch.merge(pages, genericMessage);
+        }
+
+        /**
+         * Cancels every request still running; waiting ones are never started.
+         */
+        private void cancelRunning() {
+            List<CompletableFuture<JobBoardApiResult>> toCancel;
+            synchronized (this) {
+                next = searches.size();
+                toCancel = new ArrayList<>(running);
+            }
+            for (CompletableFuture<JobBoardApiResult> page : toCancel) {
+                page.cancel(true);
+            }
+        }
+    }
+}
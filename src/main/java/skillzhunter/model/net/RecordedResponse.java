@@ -0,0 +1,108 @@
+package skillzhunter.model.net;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.List;
+import java.util.Locale;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+
+import skillzhunter.model.JobRecord;
+
+/**
+ * A search result as stored on disk by {@link RecordingJobSource} and served by {@link ReplayJobSource}.
+ * Uses the same "jobCount" and "jobs" fields as a Jobicy response, plus the search it answered.
+ *
+ * @param query search query as given to the source
+ * @param numberOfResults number of results asked for
+ * @param location location as given to the source
+ * @param industry industry as given to the source
+ * @param errorMessage error message of the result, or null
+ * @param jobCount number of jobs
+ * @param jobs the jobs
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+@JsonPropertyOrder({"query", "numberOfResults", "location", "industry", "errorMessage", "jobCount", "jobs"})
+record RecordedResponse(
+    String query,
+    Integer numberOfResults,
+    String location,
+    String industry,
+    String errorMessage,
+    int jobCount,
+    List<JobRecord> jobs
+) {
+
+    /**
+     * Gets the file a search is recorded in.
+     * The name is built from the search parameters so recordings are easy to find and edit,
+     * e.g. {@code python_5_united-states_any_1a2b3c4d.json}. The readable part drops punctuation,
+     * so it ends with a hash of the parameters to keep searches such as "c++", "c#" and "c" apart.
+     *
+     * @param directory directory holding the recordings
+     * @param query search query
+     * @param numberOfResults number of results
+     * @param location location
+     * @param industry industry
+     * @return path of the recording
+     */
+    static Path fileFor(Path directory, String query, Integer numberOfResults, String location, String industry) {
+        String name = slug(query) + "_" + (numberOfResults == null ? "default" : numberOfResults)
+            + "_" + slug(location) + "_" + slug(industry)
+            + "_" + hash(query, numberOfResults, location, industry) + ".json";
+        return directory.resolve(name);
+    }
+
+    /**
+     * Hashes the search parameters, trimmed and lower cased like the readable part of the name.
+     *
+     * @param query search query
+     * @param numberOfResults number of results
+     * @param location location
+     * @param industry industry
+     * @return the first 8 hex digits of the SHA-256 of the parameters
+     */
+    private static String hash(String query, Integer numberOfResults, String location, String industry) {
+        String key = normalize(query) + "\n" + numberOfResults + "\n" + normalize(location) + "\n"
+            + normalize(industry);
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(key.getBytes(StandardCharsets.UTF_8));
+            StringBuilder hex = new StringBuilder(8);
+            for (int i = 0; i < 4; i++) {
+                hex.append(Character.forDigit((digest[i] >> 4) & 0xF, 16))
+                    .append(Character.forDigit(digest[i] & 0xF, 16));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            // every JVM has SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Normalizes a search parameter for hashing.
+     *
+     * @param value the parameter, may be null
+     * @return the trimmed, lower case value, or an empty string for missing values
+     */
+    private static String normalize(String value) {
+        return value == null ? "" : value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Turns a search parameter into a file name part.
+     *
+     * @param value the parameter, may be null
+     * @return lower case letters, digits and dashes, or "any" for missing values
+     */
+    private static String slug(String value) {
+        if (value == null || value.isBlank()) {
+            return "any";
+        }
+        String slug = value.trim().toLowerCase(Locale.ROOT).replaceAll("[^a-z0-9]+", "-");
+        return slug.isEmpty() ? "any" : slug;
+    }
+}
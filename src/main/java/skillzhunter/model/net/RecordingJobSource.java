@@ -0,0 +1,105 @@
+package skillzhunter.model.net;
+
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.concurrent.CompletableFuture;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import skillzhunter.logging.Logger;
+
+/**
+ * Job source decorator that writes every result it passes on to disk.
+ * The files can be served back by {@link ReplayJobSource}, so a session against the live
+ * job board can be replayed later without network access.
+ * A search that is made again overwrites its earlier recording.
+ */
+public final class RecordingJobSource implements JobSource {
+    /** Logger for this class. */
+    private static final Logger LOG = Logger.getLogger(RecordingJobSource.class);
+
+    /** Object mapper for writing recordings. */
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    /** Source whose results are recorded. */
+    private final JobSource delegate;
+
+    /** Directory the recordings are written to. */
+    private final Path directory;
+
+    /**
+     * Creates a recording source.
+     *
+     * @param delegate source whose results are recorded
+     * @param directory directory the recordings are written to, created if missing
+     */
+    public RecordingJobSource(JobSource delegate, Path directory) {
+        this.delegate = delegate;
+        this.directory = directory;
+    }
+
+    @Override
+    public JobBoardApiResult search(String query, Integer numberOfResults, String location, String industry) {
+        JobBoardApiResult result = delegate.search(query, numberOfResults, location, industry);
+        record(query, numberOfResults, location, industry, result);
+        return result;
+    }
+
+    @Override
+    public CompletableFuture<JobBoardApiResult> searchAsync(String query, Integer numberOfResults,
+                                                            String location, String industry) {
+        CompletableFuture<JobBoardApiResult> request =
+            delegate.searchAsync(query, numberOfResults, location, industry);
+        CompletableFuture<JobBoardApiResult> recorded = request.thenApply(result -> {
+            record(query, numberOfResults, location, industry, result);
+            return result;
+        });
+        // thenApply does not cancel upstream, so forward it by hand
+        recorded.whenComplete((result, error) -> {
+            if (recorded.isCancelled()) {
+                request.cancel(true);
+            }
+        });
+        return recorded;
+    }
+
+    /**
+     * Writes a result to its recording file.
+     * The file is written next to its final name and then moved, so a replay never sees half a file.
+     * Failures are reported but do not affect the search.
+     *
+     * @param query search query
+     * @param numberOfResults number of results
+     * @param location location
+     * @param industry industry
+     * @param result the result to record
+     */
+    private void record(String query, Integer numberOfResults, String location, String industry,
+                        JobBoardApiResult result) {
+        if (result == null || result.getJobs() == null) {
+            return;
+        }
+        RecordedResponse response = new RecordedResponse(query, numberOfResults, location, industry,
+            result.getErrorMessage(), result.getJobs().size(), result.getJobs());
+        Path file = RecordedResponse.fileFor(directory, query, numberOfResults, location, industry);
+        try {
+            Files.createDirectories(directory);
+            Path temp = Files.createTempFile(directory, "recording", ".tmp");
+            try {
+                OBJECT_MAPPER.writerWithDefaultPrettyPrinter().writeValue(temp.toFile(), response);
+                try {
+                    Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                } catch (AtomicMoveNotSupportedException e) {
+                    Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+                }
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+        } catch (IOException e) {
+            LOG.warn("Could not record search to " + file + ": " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package skillzhunter.model.net;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import skillzhunter.logging.Logger;
+import skillzhunter.model.JobRecord;
+import skillzhunter.model.formatters.JobRecordModule;
+
+/**
+ * Job source that serves results recorded by {@link RecordingJobSource}, without any network access.
+ * Every answer can be delayed by a fixed latency to mimic the live job board, which makes
+ * performance runs of the whole search pipeline repeatable.
+ * Jobs are decoded and sanitized on every search, just like a live response.
+ */
+public final class ReplayJobSource implements JobSource {
+    /** Logger for this class. */
+    private static final Logger LOG = Logger.getLogger(ReplayJobSource.class);
+
+    /** Object mapper for reading recordings, cleaning the jobs as they are read. */
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper().registerModule(new JobRecordModule());
+
+    /** Directory the recordings are read from. */
+    private final Path directory;
+
+    /** Delay before each answer, in milliseconds. */
+    private final long latencyMillis;
+
+    /**
+     * Creates a replay source that answers right away.
+     *
+     * @param directory directory the recordings are read from
+     */
+    public ReplayJobSource(Path directory) {
+        this(directory, 0);
+    }
+
+    /**
+     * Creates a replay source.
+     *
+     * @param directory directory the recordings are read from
+     * @param latencyMillis delay before each answer, in milliseconds
+     * @throws IllegalArgumentException if latencyMillis is negative
+     */
+    public ReplayJobSource(Path directory, long latencyMillis) {
+        if (latencyMillis < 0) {
+            throw new IllegalArgumentException("latencyMillis must not be negative");
+        }
+        this.directory = directory;
+        this.latencyMillis = latencyMillis;
+    }
+
+    /**
+     * Gets the delay before each answer.
+     *
+     * @return latency in milliseconds
+     */
+    public long getLatencyMillis() {
+        return latencyMillis;
+    }
+
+    @Override
+    public JobBoardApiResult search(String query, Integer numberOfResults, String location, String industry) {
+        if (latencyMillis > 0) {
+            try {
+                Thread.sleep(latencyMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return new JobBoardApiResult(new ArrayList<>(), "Search was interrupted.");
+            }
+        }
+        return replay(query, numberOfResults, location, industry);
+    }
+
+    @Override
+    public CompletableFuture<JobBoardApiResult> searchAsync(String query, Integer numberOfResults,
+                                                            String location, String industry) {
+        // wait on the delayed executor instead of holding a pool thread for the latency
+        Executor executor = CompletableFuture.delayedExecutor(latencyMillis, TimeUnit.MILLISECONDS);
+        return CompletableFuture.supplyAsync(() -> replay(query, numberOfResults, location, industry), executor);
+    }
+
+    /**
+     * Reads the recording for a search.
+     *
+     * @param query search query
+     * @param numberOfResults number of results
+     * @param location location
+     * @param industry industry
+     * @return the recorded result, or an empty result with a message if there is no recording
+     */
+    private JobBoardApiResult replay(String query, Integer numberOfResults, String location, String industry) {
+        Path file = RecordedResponse.fileFor(directory, query, numberOfResults, location, industry);
+        if (!Files.isRegularFile(file)) {
+            return new JobBoardApiResult(new ArrayList<>(), "No recorded results for this search (offline mode).");
+        }
+        try {
+            RecordedResponse response = OBJECT_MAPPER.readValue(file.toFile(), RecordedResponse.class);
+            // the recorded jobs are cleaned as they are read
+            List<JobRecord> jobs = response.jobs() != null ? new ArrayList<>(response.jobs()) : new ArrayList<>();
+            return new JobBoardApiResult(jobs, response.errorMessage());
+        } catch (IOException e) {
+            LOG.warn("Could not read recording " + file + ": " + e.getMessage());
+            return new JobBoardApiResult(new ArrayList<>(), "Recorded results could not be read.");
+        }
+    }
+}
@@ -0,0 +1,796 @@
+package skillzhunter.model.net;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import skillzhunter.logging.Logger;
+import skillzhunter.model.JobRecord;
+
+/**
+ * Two tier cache for job board responses, keyed by the normalized request url.
+ * The memory tier is a bounded LRU map of the decoded job records, so a repeated
+ * search does not even need to parse the body again; it never holds the raw body.
+ * The disk tier keeps the raw response bodies as files so they survive restarts.
+ * A body is streamed into its file while it downloads, see {@link #newBody()}, and
+ * parsed from the file again only after a restart.
+ * Every entry has its own time to live, and stale entries keep their ETag and
+ * Last-Modified validators so they can be revalidated with a conditional GET.
+ * The disk tier is capped in bytes: once a put takes it over the cap, the least
+ * recently used entries are deleted, and entries unused for a week are dropped at startup.
+ */
+public final class ResponseCache {
+    /** Logger for this class. */
+    private static final Logger LOG = Logger.getLogger(ResponseCache.class);
+
+    /** Object mapper for reading and writing disk entries. */
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    /** Extension of the files holding the url, validators and time to live of an entry. */
+    private static final String ENTRY_SUFFIX = ".json";
+
+    /** Extension of the files holding the raw body of an entry. */
+    private static final String BODY_SUFFIX = ".body";
+
+    /** Extension of files still being written. */
+    private static final String TEMP_SUFFIX = ".tmp";
+
+    /** Default cap on the bytes kept in the disk tier. */
+    public static final long DEFAULT_MAX_DISK_BYTES = 32L * 1024 * 1024;
+
+    /** How long an unused entry is kept on disk, even when it is stale. */
+    private static final long DISK_RETENTION_MILLIS = TimeUnit.DAYS.toMillis(7);
+
+    /** Maximum number of entries in the memory tier. */
+    private final int maxEntries;
+
+    /** Directory for the disk tier, or null for a memory only cache. */
+    private final Path directory;
+
+    /** Time to live for responses that do not say how long they can be cached. */
+    private final long defaultTtlMillis;
+
+    /** Most bytes kept in the disk tier. */
+    private final long maxDiskBytes;
+
+    /** Bytes written to the disk tier since it was last measured, an estimate that only errs high. */
+    private final AtomicLong diskBytes = new AtomicLong();
+
+    /** Guards trimming the disk tier. */
+    private final Object diskLock = new Object();
+
+    /** Memory tier, in access order so the eldest entry is the least recently used. */
+    private final Map<String, Entry> memory;
+
+    /** Number of lookups answered by the memory tier. */
+    private final AtomicLong memoryHits = new AtomicLong();
+
+    /** Number of lookups answered by the disk tier. */
+    private final AtomicLong diskHits = new AtomicLong();
+
+    /** Number of lookups that found nothing. */
+    private final AtomicLong misses = new AtomicLong();
+
+    /**
+     * Creates a new response cache whose disk tier holds up to {@link #DEFAULT_MAX_DISK_BYTES}.
+     *
+     * @param maxEntries maximum number of entries kept in memory
+     * @param directory directory for the disk tier, or null to keep everything in memory
+     * @param defaultTtlMillis time to live for responses without a max-age
+     */
+    public ResponseCache(int maxEntries, Path directory, long defaultTtlMillis) {
+        this(maxEntries, directory, defaultTtlMillis, DEFAULT_MAX_DISK_BYTES);
+    }
+
+    /**
+     * Creates a new response cache.
+     * Leftovers of an earlier run are cleaned out of the disk tier: unfinished files, entries
+     * missing half their files, entries unused for a week and whatever is over the cap.
+     *
+     * @param maxEntries maximum number of entries kept in memory
+     * @param directory directory for the disk tier, or null to keep everything in memory
+     * @param defaultTtlMillis time to live for responses without a max-age
+     * @param maxDiskBytes most bytes kept in the disk tier
+     */
+    public ResponseCache(int maxEntries, Path directory, long defaultTtlMillis, long maxDiskBytes) {
+        this.maxEntries = maxEntries;
+        this.directory = directory;
+        this.defaultTtlMillis = defaultTtlMillis;
+        this.maxDiskBytes = maxDiskBytes;
+        this.memory = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > ResponseCache.this.maxEntries;
+            }
+        };
+        trimDisk(true);
+    }
+
+    /**
+     * Looks up the cached response for a url.
+     * Checks memory first, then disk; disk hits are promoted to memory.
+     * The returned entry may be stale, check {@link Entry#isFresh()} before using it as is.
+     *
+     * @param url request url, normalized before the lookup
+     * @return the cached entry, or null if there is none
+     */
+    public Entry get(String url) {
+        String key = normalize(url);
+        synchronized (memory) {
+            Entry entry = memory.get(key);
+            if (entry != null) {
+                memoryHits.incrementAndGet();
+                return entry;
+            }
+        }
+
+        Entry entry = readDisk(key);
+        if (entry == null) {
+            misses.incrementAndGet();
+            return null;
+        }
+        diskHits.incrementAndGet();
+        synchronized (memory) {
+            memory.put(key, entry);
+        }
+        return entry;
+    }
+
+    /**
+     * Starts a body file that a response body can be copied into while it is read.
+     * Pass it to {@link #put} once the body is complete, or close it to throw it away.
+     *
+     * @return the body file; for a memory only cache its stream throws everything away
+     */
+    public BodyFile newBody() {
+        return new BodyFile(directory);
+    }
+
+    /**
+     * Stores a fresh response in both tiers: the decoded records in memory, the body on disk.
+     *
+     * @param url request url, normalized before storing
+     * @param body the complete raw response body, moved into the disk tier
+     * @param jobs the decoded records, kept as they are, so they must not be changed afterwards
+     * @param etag ETag header of the response, may be null
+     * @param lastModified Last-Modified header of the response, may be null
+     * @param cacheControl Cache-Control header of the response, may be null
+     * @return the stored entry
+     */
+    public Entry put(String url, BodyFile body, List<JobRecord> jobs, String etag, String lastModified,
+                     String cacheControl) {
+        String key = normalize(url);
+        Entry entry = new Entry(key, etag, lastModified, System.currentTimeMillis(), ttlFor(cacheControl));
+        entry.setJobs(jobs);
+        entry.bodyFile = body.commit(directory == null ? null : directory.resolve(fileName(key) + BODY_SUFFIX));
+        store(entry);
+        return entry;
+    }
+
+    /**
+     * Marks a stale entry as fresh again after the server answered 304 Not Modified.
+     * The body and decoded records are kept, only the timestamp and time to live change.
+     *
+     * @param stale the entry that was revalidated
+     * @param cacheControl Cache-Control header of the 304 response, may be null
+     * @return the renewed entry
+     */
+    public Entry renew(Entry stale, String cacheControl) {
+        Entry entry = new Entry(stale.url, stale.etag, stale.lastModified,
+                                System.currentTimeMillis(), ttlFor(cacheControl));
+        entry.jobs = stale.jobs;
+        entry.bodyFile = stale.bodyFile;
+        store(entry);
+        return entry;
+    }
+
+    /**
+     * Removes the entry for a url from both tiers, such as one whose body cannot be read anymore.
+     *
+     * @param url request url, normalized before the lookup
+     */
+    public void remove(String url) {
+        String key = normalize(url);
+        synchronized (memory) {
+            memory.remove(key);
+        }
+        if (directory != null) {
+            synchronized (diskLock) {
+                deleteEntry(fileName(key));
+            }
+        }
+    }
+
+    /**
+     * Removes every entry from both tiers.
+     */
+    public void clear() {
+        synchronized (memory) {
+            memory.clear();
+        }
+        if (directory == null || !Files.isDirectory(directory)) {
+            return;
+        }
+        try (var files = Files.list(directory)) {
+            files.filter(file -> file.toString().endsWith(ENTRY_SUFFIX) || file.toString().endsWith(BODY_SUFFIX))
+                .forEach(ResponseCache::deleteFile);
+        } catch (IOException e) {
+            LOG.warn("Could not clear response cache: " + e.getMessage());
+        }
+        diskBytes.set(0);
+    }
+
+    /**
+     * Gets the bytes the disk tier takes up.
+     * @return total size of the entry and body files
+     */
+    public long getDiskBytes() {
+        if (directory == null || !Files.isDirectory(directory)) {
+            return 0;
+        }
+        long total = 0;
+        try (var files = Files.list(directory)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                String name = file.getFileName().toString();
+                if (name.endsWith(ENTRY_SUFFIX) || name.endsWith(BODY_SUFFIX)) {
+                    total += Files.size(file);
+                }
+            }
+        } catch (IOException e) {
+            LOG.warn("Could not measure response cache: " + e.getMessage());
+        }
+        return total;
+    }
+
+    /**
+     * Gets the number of lookups answered from memory.
+     * @return memory hit count
+     */
+    public long getMemoryHits() {
+        return memoryHits.get();
+    }
+
+    /**
+     * Gets the number of lookups answered from disk.
+     * @return disk hit count
+     */
+    public long getDiskHits() {
+        return diskHits.get();
+    }
+
+    /**
+     * Gets the number of lookups that found nothing.
+     * @return miss count
+     */
+    public long getMisses() {
+        return misses.get();
+    }
+
+    /**
+     * Normalizes a url so equivalent requests share a cache entry.
+     * Scheme and host are lower cased and the query parameters are sorted by name.
+     *
+     * @param url the url to normalize
+     * @return the normalized url
+     */
+    public static String normalize(String url) {
+        if (url == null) {
+            return "";
+        }
+        String trimmed = url.trim();
+        int queryStart = trimmed.indexOf('?');
+        String base = queryStart < 0 ? trimmed : trimmed.substring(0, queryStart);
+
+        // lower case scheme and host, but leave the path alone
+        int hostStart = base.indexOf("://");
+        int pathStart = hostStart < 0 ? -1 : base.indexOf('/', hostStart + 3);
+        if (hostStart >= 0) {
+            base = pathStart < 0
+                ? base.toLowerCase(Locale.ROOT)
+                : base.substring(0, pathStart).toLowerCase(Locale.ROOT) + base.substring(pathStart);
+        }
+        if (queryStart < 0 || queryStart == trimmed.length() - 1) {
+            return base;
+        }
+
+        String[] params = trimmed.substring(queryStart + 1).split("&");
+        Arrays.sort(params);
+        StringBuilder builder = new StringBuilder(base).append('?');
+        for (String param : params) {
+            if (param.isEmpty()) {
+                continue;
+            }
+            if (builder.charAt(builder.length() - 1) != '?') {
+                builder.append('&');
+            }
+            builder.append(param);
+        }
+        return builder.toString();
+    }
+
+    /**
+     * Works out the time to live for a response from its Cache-Control header.
+     * no-store and no-cache give a time to live of zero, so the entry is always revalidated.
+     *
+     * @param cacheControl the Cache-Control header, may be null
+     * @return time to live in milliseconds
+     */
+    long ttlFor(String cacheControl) {
+        if (cacheControl == null || cacheControl.isBlank()) {
+            return defaultTtlMillis;
+        }
+        long ttl = defaultTtlMillis;
+        for (String directive : cacheControl.toLowerCase(Locale.ROOT).split(",")) {
+            String value = directive.trim();
+            if (value.equals("no-store") || value.equals("no-cache")) {
+                return 0;
+            }
+            if (value.startsWith("max-age=")) {
+                try {
+                    ttl = Long.parseLong(value.substring("max-age=".length()).trim()) * 1000L;
+                } catch (NumberFormatException e) {
+                    // keep the default
+                }
+            }
+        }
+        return Math.max(0, ttl);
+    }
+
+    /**
+     * Puts an entry in memory and writes it to disk.
+     * @param entry the entry to store
+     */
+    private void store(Entry entry) {
+        synchronized (memory) {
+            memory.put(entry.url, entry);
+        }
+        writeDisk(entry);
+    }
+
+    /**
+     * Reads an entry from the disk tier.
+     * @param key normalized url
+     * @return the entry, or null if there is none or it cannot be read
+     */
+    private Entry readDisk(String key) {
+        if (directory == null) {
+            return null;
+        }
+        Path file = directory.resolve(fileName(key) + ENTRY_SUFFIX);
+        Path body = directory.resolve(fileName(key) + BODY_SUFFIX);
+        if (!Files.exists(file) || !Files.exists(body)) {
+            return null;
+        }
+        try {
+            Entry entry = OBJECT_MAPPER.readValue(file.toFile(), Entry.class);
+            entry.bodyFile = body;
+            // the entry file's time is when the entry was last used, for trimming the disk
+            Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis()));
+            // guard against hash collisions
+            return key.equals(entry.url) ? entry : null;
+        } catch (IOException e) {
+            LOG.warn("Ignoring unreadable cache file " + file + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Writes the url, validators and time to live of an entry to the disk tier.
+     * The file is written to a temporary name first, so readers never see half an entry.
+     * Entries whose body did not make it to disk are only kept in memory.
+     * @param entry the entry to write
+     */
+    private void writeDisk(Entry entry) {
+        if (directory == null || entry.bodyFile == null) {
+            return;
+        }
+        try {
+            Files.createDirectories(directory);
+            Path temp = Files.createTempFile(directory, "entry", TEMP_SUFFIX);
+            OBJECT_MAPPER.writeValue(temp.toFile(), entry);
+            long size = Files.size(temp) + Files.size(entry.bodyFile);
+            move(temp, directory.resolve(fileName(entry.url) + ENTRY_SUFFIX));
+            if (diskBytes.addAndGet(size) > maxDiskBytes) {
+                trimDisk(false);
+            }
+        } catch (IOException e) {
+            // the memory tier still works without the disk
+            LOG.warn("Could not write response cache entry: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Deletes the least recently used entries until the disk tier is under its cap.
+     * At startup it also deletes unfinished files, entries missing half their files
+     * and entries unused for longer than {@link #DISK_RETENTION_MILLIS}; while running,
+     * those could belong to a put still in progress, so they are counted but left alone.
+     * Files deleted while the directory is listed are skipped.
+     * @param startup true when called from the constructor
+     */
+    private void trimDisk(boolean startup) {
+        if (directory == null || !Files.isDirectory(directory)) {
+            return;
+        }
+        synchronized (diskLock) {
+            Map<String, long[]> entries = new HashMap<>();
+            try (var files = Files.list(directory)) {
+                for (Path file : (Iterable<Path>) files::iterator) {
+                    String name = file.getFileName().toString();
+                    if (name.endsWith(TEMP_SUFFIX)) {
+                        if (startup) {
+                            deleteFile(file);
+                        }
+                        continue;
+                    }
+                    boolean body = name.endsWith(BODY_SUFFIX);
+                    if (!body && !name.endsWith(ENTRY_SUFFIX)) {
+                        continue;
+                    }
+                    long size;
+                    long lastUse = 0;
+                    try {
+                        size = Files.size(file);
+                        if (!body) {
+                            lastUse = Files.getLastModifiedTime(file).toMillis();
+                        }
+                    } catch (NoSuchFileException e) {
+                        // replaced by a put or removed since the listing
+                        continue;
+                    }
+                    String hash = name.substring(0, name.lastIndexOf('.'));
+                    // size, last use, number of files found
+                    long[] entry = entries.computeIfAbsent(hash, h -> new long[3]);
+                    entry[0] += size;
+                    entry[1] = Math.max(entry[1], lastUse);
+                    entry[2]++;
+                }
+            } catch (IOException e) {
+                LOG.warn("Could not trim response cache: " + e.getMessage());
+                return;
+            }
+
+            long oldest = System.currentTimeMillis() - DISK_RETENTION_MILLIS;
+            long total = 0;
+            List<Map.Entry<String, long[]>> kept = new ArrayList<>();
+            for (Map.Entry<String, long[]> entry : entries.entrySet()) {
+                long[] info = entry.getValue();
+                if (startup && (info[2] < 2 || info[1] < oldest)) {
+                    deleteEntry(entry.getKey());
+                } else if (info[2] < 2) {
+                    // a body whose entry file a put has not written yet
+                    total += info[0];
+                } else {
+                    kept.add(entry);
+                    total += info[0];
+                }
+            }
+            kept.sort(Comparator.comparingLong(entry -> entry.getValue()[1]));
+            for (Map.Entry<String, long[]> entry : kept) {
+                if (total <= maxDiskBytes) {
+                    break;
+                }
+                deleteEntry(entry.getKey());
+                total -= entry.getValue()[0];
+            }
+            diskBytes.set(total);
+        }
+    }
+
+    /**
+     * Deletes the entry and body files of a disk entry.
+     * Its record stays in the memory tier until that evicts it.
+     * @param hash file name of the entry without extension
+     */
+    private void deleteEntry(String hash) {
+        deleteFile(directory.resolve(hash + ENTRY_SUFFIX));
+        deleteFile(directory.resolve(hash + BODY_SUFFIX));
+    }
+
+    /**
+     * Deletes a cache file, logging when it cannot be deleted.
+     * @param file the file
+     */
+    private static void deleteFile(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            LOG.warn("Could not delete cache file " + file + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Moves a finished temporary file into place, atomically where the file system can.
+     * @param temp the temporary file
+     * @param target where it goes
+     * @throws IOException if the file cannot be moved
+     */
+    private static void move(Path temp, Path target) throws IOException {
+        try {
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * Builds the file name, without extension, for a normalized url.
+     * @param key normalized url
+     * @return SHA-256 hex digest of the url
+     */
+    private static String fileName(String key) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(key.getBytes(StandardCharsets.UTF_8));
+            StringBuilder hex = new StringBuilder(digest.length * 2);
+            for (byte b : digest) {
+                hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            // every JVM has SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * A cached response.
+     * The validators are persisted next to the raw body file, the decoded records only live in memory.
+     */
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public static final class Entry {
+        /** Normalized request url. */
+        private final String url;
+        /** ETag validator, may be null. */
+        private final String etag;
+        /** Last-Modified validator, may be null. */
+        private final String lastModified;
+        /** Time the response was stored or last revalidated, in epoch millis. */
+        private final long storedAt;
+        /** How long the entry stays fresh, in millis. */
+        private final long ttlMillis;
+        /** Decoded job records, memory only. */
+        private volatile List<JobRecord> jobs;
+        /** File holding the raw body, null if it is only kept in memory. */
+        private volatile Path bodyFile;
+
+        /**
+         * Creates a cache entry.
+         *
+         * @param url normalized request url
+         * @param etag ETag validator, may be null
+         * @param lastModified Last-Modified validator, may be null
+         * @param storedAt time the response was stored, in epoch millis
+         * @param ttlMillis how long the entry stays fresh, in millis
+         */
+        @JsonCreator
+        public Entry(@JsonProperty("url") String url,
+                     @JsonProperty("etag") String etag, @JsonProperty("lastModified") String lastModified,
+                     @JsonProperty("storedAt") long storedAt, @JsonProperty("ttlMillis") long ttlMillis) {
+            this.url = url;
+            this.etag = etag;
+            this.lastModified = lastModified;
+            this.storedAt = storedAt;
+            this.ttlMillis = ttlMillis;
+        }
+
+        /** @return normalized request url */
+        public String getUrl() {
+            return url;
+        }
+
+        /**
+         * Opens the raw response body kept on disk.
+         * @return stream over the body, or null if it is only kept in memory as decoded records
+         * @throws IOException if the body file cannot be opened
+         */
+        public InputStream openBody() throws IOException {
+            Path file = bodyFile;
+            return file == null ? null : Files.newInputStream(file);
+        }
+
+        /** @return ETag validator, may be null */
+        public String getEtag() {
+            return etag;
+        }
+
+        /** @return Last-Modified validator, may be null */
+        public String getLastModified() {
+            return lastModified;
+        }
+
+        /** @return time the response was stored or revalidated, in epoch millis */
+        public long getStoredAt() {
+            return storedAt;
+        }
+
+        /** @return how long the entry stays fresh, in millis */
+        public long getTtlMillis() {
+            return ttlMillis;
+        }
+
+        /**
+         * Checks if the entry can be used without asking the server.
+         * @return true if the time to live has not passed yet
+         */
+        @JsonIgnore
+        public boolean isFresh() {
+            return System.currentTimeMillis() - storedAt < ttlMillis;
+        }
+
+        /**
+         * Checks if the records of the entry can still be had, decoded or from the body file.
+         * A body file can be deleted when the disk tier is trimmed.
+         * @return true if the records are decoded or the body file is there
+         */
+        @JsonIgnore
+        public boolean hasBody() {
+            Path file = bodyFile;
+            return jobs != null || (file != null && Files.exists(file));
+        }
+
+        /**
+         * Checks if the entry can be revalidated with a conditional GET.
+         * @return true if the entry has an ETag or Last-Modified validator
+         */
+        @JsonIgnore
+        public boolean hasValidators() {
+            return etag != null || lastModified != null;
+        }
+
+        /**
+         * Gets the decoded job records, if they have been decoded already.
+         * @return the decoded records, unmodifiable and shared with every reader, or null
+         */
+        @JsonIgnore
+        public List<JobRecord> getJobs() {
+            return jobs;
+        }
+
+        /**
+         * Keeps the decoded job records with this entry, without copying them.
+         * @param jobs the decoded records, which must not be changed afterwards
+         */
+        @JsonIgnore
+        public void setJobs(List<JobRecord> jobs) {
+            this.jobs = jobs == null ? null : Collections.unmodifiableList(jobs);
+        }
+    }
+
+    /**
+     * A raw response body being written to a temporary file in the cache directory.
+     * The body goes to disk as it is read instead of being collected on the heap.
+     * A failed write is logged and only drops the disk copy, it never fails the read.
+     */
+    public static final class BodyFile implements Closeable {
+        /** The temporary file, null for a memory only cache or once it failed or was committed. */
+        private Path temp;
+
+        /** Stream into the temporary file. */
+        private final OutputStream stream;
+
+        /**
+         * Creates a body file.
+         * @param directory the cache directory, or null to throw the body away
+         */
+        private BodyFile(Path directory) {
+            OutputStream out = null;
+            if (directory != null) {
+                try {
+                    Files.createDirectories(directory);
+                    temp = Files.createTempFile(directory, "body", TEMP_SUFFIX);
+                    out = new BufferedOutputStream(Files.newOutputStream(temp));
+                } catch (IOException e) {
+                    LOG.warn("Could not start response cache body: " + e.getMessage());
+                    discard();
+                }
+            }
+            OutputStream file = out;
+            this.stream = new OutputStream() {
+                @Override
+                public void write(int b) {
+                    write(new byte[] {(byte) b}, 0, 1);
+                }
+
+                @Override
+                public void write(byte[] bytes, int offset, int length) {
+                    if (temp == null) {
+                        return;
+                    }
+                    try {
+                        file.write(bytes, offset, length);
+                    } catch (IOException e) {
+                        LOG.warn("Could not write response cache body: " + e.getMessage());
+                        discard();
+                    }
+                }
+
+                @Override
+                public void close() throws IOException {
+                    if (file != null) {
+                        file.close();
+                    }
+                }
+            };
+        }
+
+        /**
+         * Gets the stream to copy the body into. Writing to it never fails.
+         * @return the stream
+         */
+        public OutputStream stream() {
+            return stream;
+        }
+
+        /**
+         * Moves the finished body into place.
+         * @param target the body file of the entry, null for a memory only cache
+         * @return the body file, or null if the body could not be kept on disk
+         */
+        private Path commit(Path target) {
+            try {
+                stream.close();
+                if (temp == null || target == null) {
+                    return null;
+                }
+                move(temp, target);
+                temp = null;
+                return target;
+            } catch (IOException e) {
+                LOG.warn("Could not keep response cache body: " + e.getMessage());
+                discard();
+                return null;
+            }
+        }
+
+        /**
+         * Deletes the temporary file, if it was not committed.
+         */
+        @Override
+        public void close() {
+            try {
+                stream.close();
+            } catch (IOException e) {
+                // the file is deleted anyway
+            }
+            discard();
+        }
+
+        /**
+         * Deletes the temporary file and stops writing to it.
+         */
+        private void discard() {
+            Path file = temp;
+            temp = null;
+            if (file != null) {
+                deleteFile(file);
+            }
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package skillzhunter.model.net;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.concurrent.ThreadLocalRandom;
+
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+
+import skillzhunter.logging.Logger;
+
+/**
+ * Retries requests that were answered with 429 Too Many Requests or a 5xx status.
+ * Waits with exponential backoff and full jitter between attempts, or for the
+ * Retry-After the server asked for when that is shorter than the maximum backoff.
+ * The number of retries is bounded and the call deadline still covers all attempts.
+ */
+public final class RetryInterceptor implements Interceptor {
+    /** Logger for this class. */
+    private static final Logger LOG = Logger.getLogger(RetryInterceptor.class);
+
+    /** Maximum number of retries after the first attempt. */
+    private final int maxRetries;
+
+    /** Backoff before the first retry, in milliseconds. */
+    private final long baseBackoffMillis;
+
+    /** Upper bound for a single backoff, in milliseconds. */
+    private final long maxBackoffMillis;
+
+    /**
+     * Creates a retry interceptor.
+     * @param maxRetries maximum number of retries after the first attempt
+     * @param baseBackoffMillis backoff before the first retry, in milliseconds
+     * @param maxBackoffMillis upper bound for a single backoff, in milliseconds
+     */
+    public RetryInterceptor(int maxRetries, long baseBackoffMillis, long maxBackoffMillis) {
+        this.maxRetries = maxRetries;
+        this.baseBackoffMillis = baseBackoffMillis;
+        this.maxBackoffMillis = maxBackoffMillis;
+    }
+
+    @Override
+    public Response intercept(Chain chain) throws IOException {
+        Request request = chain.request();
+        Response response = chain.proceed(request);
+        int attempt = 0;
+        while (isRetryable(response.code()) && attempt < maxRetries && !chain.call().isCanceled()) {
+            long delay = backoffMillis(attempt, baseBackoffMillis, maxBackoffMillis,
+                                       ThreadLocalRandom.current().nextDouble());
+            delay = Math.min(Math.max(delay, retryAfterMillis(response)), maxBackoffMillis);
+            LOG.info("HTTP " + response.code() + ", retrying in " + delay + " ms");
+            response.close();
+            try {
+                Thread.sleep(delay);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while waiting to retry");
+            }
+            attempt++;
+            response = chain.proceed(request);
+        }
+        return response;
+    }
+
+    /**
+     * Checks if a status code is worth retrying.
+     * @param statusCode http status code
+     * @return true for 429 and 5xx
+     */
+    public static boolean isRetryable(int statusCode) {
+        return statusCode == 429 || statusCode >= 500;
+    }
+
+    /**
+     * Computes the backoff before a retry: a random time between zero and
+     * base * 2^attempt, capped at the maximum.
+     * @param attempt number of retries already made, starting at 0
+     * @param baseMillis backoff before the first retry
+     * @param maxMillis upper bound for the backoff
+     * @param random random number in [0, 1)
+     * @return backoff in milliseconds
+     */
+    public static long backoffMillis(int attempt, long baseMillis, long maxMillis, double random) {
+        long ceiling = baseMillis << Math.min(attempt, 30);
+        if (ceiling <= 0 || ceiling > maxMillis) {
+            ceiling = maxMillis;
+        }
+        return (long) (ceiling * random);
+    }
+
+    /**
+     * Reads the Retry-After header, when given in seconds.
+     * @param response the response
+     * @return requested wait in milliseconds, or 0 if there is none
+     */
+    private static long retryAfterMillis(Response response) {
+        String retryAfter = response.header("Retry-After");
+        if (retryAfter == null) {
+            return 0;
+        }
+        try {
+            return Math.max(0, Long.parseLong(retryAfter.trim()) * 1000);
+        } catch (NumberFormatException e) {
+            // http dates are rare here and not worth parsing
+            return 0;
+        }
+    }
+}
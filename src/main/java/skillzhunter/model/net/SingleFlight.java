@@ -0,0 +1,281 @@
+package skillzhunter.model.net;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+
+/**
+ * De-duplicates concurrent work that is keyed by the same value.
+ * The first caller for a key starts the work; every caller that asks for the same key
+ * while it is still running attaches to that work and gets its result instead of starting
+ * another one. Once the work finishes the key is released, so later calls start fresh.
+ *
+ * <p>Each caller gets its own future. Cancelling it only detaches that caller; the shared
+ * work is cancelled once every attached caller has cancelled.</p>
+ *
+ * <p>The caller that starts the work can pass an action that runs, on the joining caller's
+ * thread, every time another caller attaches, for example to raise the priority of the work
+ * when someone more urgent is now waiting for it.</p>
+ *
+ * @param <K> type of the key, usually a normalized request url
+ * @param <V> type of the result
+ */
+public final class SingleFlight<K, V> {
+    /** Work currently running, by key. Guarded by itself. */
+    private final Map<K, Flight> flights = new HashMap<>();
+
+    /** Makes the copy of a shared result that is handed to each caller. */
+    private final UnaryOperator<V> copier;
+
+    /** Number of times work was actually started. */
+    private final AtomicLong executions = new AtomicLong();
+
+    /** Number of calls that attached to work already running. */
+    private final AtomicLong coalesced = new AtomicLong();
+
+    /**
+     * Creates a single flight group whose callers all share the same result object.
+     */
+    public SingleFlight() {
+        this(UnaryOperator.identity());
+    }
+
+    /**
+     * Creates a single flight group that hands each caller its own copy of the result.
+     *
+     * @param copier makes the copy handed to each caller, so callers can modify what they get
+     */
+    public SingleFlight(UnaryOperator<V> copier) {
+        this.copier = copier;
+    }
+
+    /**
+     * Runs blocking work for a key on the calling thread, or waits for the work already running.
+     *
+     * @param key key identifying the work
+     * @param work the work to run if none is running for the key
+     * @return the result of the work
+     * @throws RuntimeException whatever the work threw, for the caller that ran it and the ones waiting
+     */
+    public V run(K key, Supplier<V> work) {
+        return run(key, work, () -> { });
+    }
+
+    /**
+     * Runs blocking work for a key on the calling thread, or waits for the work already running.
+     *
+     * @param key key identifying the work
+     * @param work the work to run if none is running for the key
+     * @param onJoin runs on the thread of each caller that attaches to the work, if this call starts it
+     * @return the result of the work
+     * @throws RuntimeException whatever the work threw, for the caller that ran it and the ones waiting
+     */
+    public V run(K key, Supplier<V> work, Runnable onJoin) {
+        Flight flight;
+        boolean leader;
+        synchronized (flights) {
+            flight = flights.get(key);
+            leader = flight == null;
+            if (leader) {
+                flight = new Flight(key, onJoin);
+                flights.put(key, flight);
+            } else {
+                flight.callers++;
+            }
+        }
+
+        if (!leader) {
+            coalesced.incrementAndGet();
+            flight.onJoin.run();
+            try {
+                return copier.apply(flight.result.join());
+            } catch (CompletionException e) {
+                throw e.getCause() instanceof RuntimeException
+                    ? (RuntimeException) e.getCause() : e;
+            }
+        }
+
+        executions.incrementAndGet();
+        try {
+            V value = work.get();
+            flight.finish(value, null);
+            return copier.apply(value);
+        } catch (RuntimeException e) {
+            flight.finish(null, e);
+            throw e;
+        }
+    }
+
+    /**
+     * Starts asynchronous work for a key, or attaches to the work already running.
+     *
+     * @param key key identifying the work
+     * @param work starts the work if none is running for the key
+     * @return future for this caller, completing with the result of the shared work
+     */
+    public CompletableFuture<V> execute(K key, Supplier<? extends CompletableFuture<V>> work) {
+        return execute(key, work, () -> { });
+    }
+
+    /**
+     * Starts asynchronous work for a key, or attaches to the work already running.
+     *
+     * @param key key identifying the work
+     * @param work starts the work if none is running for the key
+     * @param onJoin runs on the thread of each caller that attaches to the work, if this call starts it
+     * @return future for this caller, completing with the result of the shared work
+     */
+    public CompletableFuture<V> execute(K key, Supplier<? extends CompletableFuture<V>> work, Runnable onJoin) {
+        Flight flight;
+        boolean leader;
+        synchronized (flights) {
+            flight = flights.get(key);
+            leader = flight == null;
+            if (leader) {
+                flight = new Flight(key, onJoin);
+                flights.put(key, flight);
+            } else {
+                flight.callers++;
+            }
+        }
+
+        if (leader) {
+            executions.incrementAndGet();
+            Flight started = flight;
+            try {
+                CompletableFuture<V> source = work.get();
+                started.source = source;
+                source.whenComplete(started::finish);
+            } catch (RuntimeException e) {
+                started.finish(null, e);
+            }
+        } else {
+            coalesced.incrementAndGet();
+            flight.onJoin.run();
+        }
+        return flight.attach();
+    }
+
+    /**
+     * Gets the number of times work was actually started.
+     *
+     * @return number of executions
+     */
+    public long getExecutions() {
+        return executions.get();
+    }
+
+    /**
+     * Gets the number of calls that were answered by work already running.
+     *
+     * @return number of coalesced calls
+     */
+    public long getCoalesced() {
+        return coalesced.get();
+    }
+
+    /**
+     * Gets the number of keys with work currently running.
+     *
+     * @return number of keys in flight
+     */
+    public int getInFlight() {
+        synchronized (flights) {
+            return flights.size();
+        }
+    }
+
+    /**
+     * Work running for one key, with the number of callers still waiting for it.
+     */
+    private final class Flight {
+        /** Key the work was started for. */
+        private final K key;
+
+        /** Runs on the thread of each caller that attaches. */
+        private final Runnable onJoin;
+
+        /** Completes with the result of the work. */
+        private final CompletableFuture<V> result = new CompletableFuture<>();
+
+        /** Future of asynchronous work, null for blocking work. */
+        private volatile CompletableFuture<V> source;
+
+        /** Number of callers attached and not cancelled. Guarded by the flights map. */
+        private int callers = 1;
+
+        /**
+         * Creates a flight.
+         *
+         * @param key key the work was started for
+         * @param onJoin runs on the thread of each caller that attaches
+         */
+        Flight(K key, Runnable onJoin) {
+            this.key = key;
+            this.onJoin = onJoin;
+        }
+
+        /**
+         * Releases the key and hands the outcome to every caller.
+         *
+         * @param value result of the work
+         * @param error failure of the work, or null if it succeeded
+         */
+        void finish(V value, Throwable error) {
+            synchronized (flights) {
+                flights.remove(key, this);
+            }
+            if (error != null) {
+                result.completeExceptionally(error);
+            } else {
+                result.complete(value);
+            }
+        }
+
+        /**
+         * Creates the future for one caller.
+         *
+         * @return future completing with this caller's copy of the result
+         */
+        CompletableFuture<V> attach() {
+            CompletableFuture<V> caller = new CompletableFuture<>();
+            result.whenComplete((value, error) -> {
+                if (error != null) {
+                    caller.completeExceptionally(error instanceof CompletionException
+                        ? error.getCause() : error);
+                } else {
+                    caller.complete(copier.apply(value));
+                }
+            });
+            caller.whenComplete((value, error) -> {
+                if (caller.isCancelled()) {
+                    detach();
+                }
+            });
+            return caller;
+        }
+
+        /**
+         * Detaches a cancelled caller, cancelling the work once nobody is waiting for it.
+         */
+        private void detach() {
+            synchronized (flights) {
+                callers--;
+                if (callers > 0 || result.isDone()) {
+                    return;
+                }
+                flights.remove(key, this);
+            }
+            CompletableFuture<V> running = source;
+            if (running != null) {
+                running.cancel(true);
+            }
+            result.completeExceptionally(new CancellationException("All callers cancelled"));
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package skillzhunter.model.net;
+
+import java.util.function.LongSupplier;
+
+/**
+ * Token bucket rate limiter.
+ * Tokens are added at a fixed rate up to a maximum burst, and each request takes one.
+ * This class is not thread safe; {@link OutboundScheduler} only uses it while holding its lock.
+ */
+public final class TokenBucket {
+    /** Nanoseconds it takes to add one token. */
+    private final double nanosPerToken;
+
+    /** Maximum number of tokens the bucket holds. */
+    private final int capacity;
+
+    /** Source of the current time in nanoseconds. */
+    private final LongSupplier nanoClock;
+
+    /** Tokens currently in the bucket, may be fractional. */
+    private double tokens;
+
+    /** When the tokens were last topped up. */
+    private long refilledAt;
+
+    /**
+     * Creates a full bucket.
+     *
+     * @param tokensPerSecond rate at which tokens are added
+     * @param capacity maximum number of tokens, which is the largest burst allowed
+     * @param nanoClock source of the current time in nanoseconds
+     * @throws IllegalArgumentException if the rate is not positive or the capacity is less than 1
+     */
+    public TokenBucket(double tokensPerSecond, int capacity, LongSupplier nanoClock) {
+        if (tokensPerSecond <= 0 || capacity < 1) {
+            throw new IllegalArgumentException("Rate must be positive and capacity at least 1");
+        }
+        this.nanosPerToken = 1_000_000_000.0 / tokensPerSecond;
+        this.capacity = capacity;
+        this.nanoClock = nanoClock;
+        this.tokens = capacity;
+        this.refilledAt = nanoClock.getAsLong();
+    }
+
+    /**
+     * Takes a token if one is available.
+     *
+     * @return true if a token was taken
+     */
+    public boolean tryAcquire() {
+        refill();
+        if (tokens >= 1) {
+            tokens -= 1;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Gets how long until a token is available.
+     *
+     * @return nanoseconds to wait, 0 if a token is available now
+     */
+    public long nanosUntilAvailable() {
+        refill();
+        if (tokens >= 1) {
+            return 0;
+        }
+        return (long) Math.ceil((1 - tokens) * nanosPerToken);
+    }
+
+    /**
+     * Adds the tokens earned since the last refill.
+     */
+    private void refill() {
+        long now = nanoClock.getAsLong();
+        long elapsed = now - refilledAt;
+        if (elapsed > 0) {
+            tokens = Math.min(capacity, tokens + elapsed / nanosPerToken);
+            refilledAt = now;
+        }
+    }
+}
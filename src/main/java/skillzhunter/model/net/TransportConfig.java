@@ -0,0 +1,357 @@
+package skillzhunter.model.net;
+
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.ConnectionPool;
+import okhttp3.OkHttpClient;
+
+/**
+ * Settings for the HTTP transport used to reach the job board:
+ * deadlines, connection pool, retries and circuit breaker.
+ * Create one with {@link #builder()}, or read it from system properties with
+ * {@link #fromSystemProperties()}.
+ */
+public final class TransportConfig {
+    /** Prefix of the system properties read by {@link #fromSystemProperties()}. */
+    private static final String PROPERTY_PREFIX = "skillzhunter.http.";
+
+    /** Deadline for opening a connection, in milliseconds. */
+    private final long connectTimeoutMillis;
+
+    /** Deadline between two reads of a response, in milliseconds. */
+    private final long readTimeoutMillis;
+
+    /** Deadline for a whole call including retries, in milliseconds. */
+    private final long callTimeoutMillis;
+
+    /** Idle connections kept in the pool. */
+    private final int maxIdleConnections;
+
+    /** How long an idle connection is kept alive, in milliseconds. */
+    private final long keepAliveMillis;
+
+    /** Retries after a 429 or 5xx response. */
+    private final int maxRetries;
+
+    /** Backoff before the first retry, in milliseconds. */
+    private final long baseBackoffMillis;
+
+    /** Upper bound for a single backoff, in milliseconds. */
+    private final long maxBackoffMillis;
+
+    /** Consecutive failures that open the circuit breaker. */
+    private final int breakerFailureThreshold;
+
+    /** How long the circuit breaker stays open, in milliseconds. */
+    private final long breakerOpenMillis;
+
+    /**
+     * Creates a config from a builder.
+     * @param builder the builder
+     */
+    private TransportConfig(Builder builder) {
+        this.connectTimeoutMillis = builder.connectTimeoutMillis;
+        this.readTimeoutMillis = builder.readTimeoutMillis;
+        this.callTimeoutMillis = builder.callTimeoutMillis;
+        this.maxIdleConnections = builder.maxIdleConnections;
+        this.keepAliveMillis = builder.keepAliveMillis;
+        this.maxRetries = builder.maxRetries;
+        this.baseBackoffMillis = builder.baseBackoffMillis;
+        this.maxBackoffMillis = builder.maxBackoffMillis;
+        this.breakerFailureThreshold = builder.breakerFailureThreshold;
+        this.breakerOpenMillis = builder.breakerOpenMillis;
+    }
+
+    /**
+     * Creates a builder with the default settings.
+     * @return a new builder
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Reads the settings from system properties such as {@code -Dskillzhunter.http.readTimeoutMillis=5000},
+     * using the defaults for anything not set. The property names match the builder methods.
+     * @return the config
+     */
+    public static TransportConfig fromSystemProperties() {
+        Builder defaults = new Builder();
+        return new Builder()
+            .connectTimeoutMillis(Long.getLong(PROPERTY_PREFIX + "connectTimeoutMillis", defaults.connectTimeoutMillis))
+            .readTimeoutMillis(Long.getLong(PROPERTY_PREFIX + "readTimeoutMillis", defaults.readTimeoutMillis))
+            .callTimeoutMillis(Long.getLong(PROPERTY_PREFIX + "callTimeoutMillis", defaults.callTimeoutMillis))
+            .maxIdleConnections(Integer.getInteger(PROPERTY_PREFIX + "maxIdleConnections",
+                                                   defaults.maxIdleConnections))
+            .keepAliveMillis(Long.getLong(PROPERTY_PREFIX + "keepAliveMillis", defaults.keepAliveMillis))
+            .maxRetries(Integer.getInteger(PROPERTY_PREFIX + "maxRetries", defaults.maxRetries))
+            .baseBackoffMillis(Long.getLong(PROPERTY_PREFIX + "baseBackoffMillis", defaults.baseBackoffMillis))
+            .maxBackoffMillis(Long.getLong(PROPERTY_PREFIX + "maxBackoffMillis", defaults.maxBackoffMillis))
+            .breakerFailureThreshold(Integer.getInteger(PROPERTY_PREFIX + "breakerFailureThreshold",
+                                                        defaults.breakerFailureThreshold))
+            .breakerOpenMillis(Long.getLong(PROPERTY_PREFIX + "breakerOpenMillis", defaults.breakerOpenMillis))
+            .build();
+    }
+
+    /**
+     * Builds an HTTP client with these deadlines, pool and retry policy.
+     * @return the client
+     */
+    public OkHttpClient createClient() {
+        return new OkHttpClient.Builder()
+            .connectTimeout(connectTimeoutMillis, TimeUnit.MILLISECONDS)
+            .readTimeout(readTimeoutMillis, TimeUnit.MILLISECONDS)
+            .callTimeout(callTimeoutMillis, TimeUnit.MILLISECONDS)
+            .connectionPool(new ConnectionPool(maxIdleConnections, keepAliveMillis, TimeUnit.MILLISECONDS))
+            .addInterceptor(new RetryInterceptor(maxRetries, baseBackoffMillis, maxBackoffMillis))
+            .build();
+    }
+
+    /**
+     * Creates a circuit breaker with these settings.
+     * @return the circuit breaker
+     */
+    public CircuitBreaker createCircuitBreaker() {
+        return new CircuitBreaker(breakerFailureThreshold, breakerOpenMillis);
+    }
+
+    /**
+     * Gets the deadline for opening a connection.
+     * @return connect timeout in milliseconds
+     */
+    public long getConnectTimeoutMillis() {
+        return connectTimeoutMillis;
+    }
+
+    /**
+     * Gets the deadline between two reads of a response.
+     * @return read timeout in milliseconds
+     */
+    public long getReadTimeoutMillis() {
+        return readTimeoutMillis;
+    }
+
+    /**
+     * Gets the deadline for a whole call including retries.
+     * @return call timeout in milliseconds
+     */
+    public long getCallTimeoutMillis() {
+        return callTimeoutMillis;
+    }
+
+    /**
+     * Gets the number of idle connections kept in the pool.
+     * @return maximum idle connections
+     */
+    public int getMaxIdleConnections() {
+        return maxIdleConnections;
+    }
+
+    /**
+     * Gets how long an idle connection is kept alive.
+     * @return keep alive in milliseconds
+     */
+    public long getKeepAliveMillis() {
+        return keepAliveMillis;
+    }
+
+    /**
+     * Gets the number of retries after a 429 or 5xx response.
+     * @return maximum retries
+     */
+    public int getMaxRetries() {
+        return maxRetries;
+    }
+
+    /**
+     * Gets the backoff before the first retry.
+     * @return base backoff in milliseconds
+     */
+    public long getBaseBackoffMillis() {
+        return baseBackoffMillis;
+    }
+
+    /**
+     * Gets the upper bound for a single backoff.
+     * @return maximum backoff in milliseconds
+     */
+    public long getMaxBackoffMillis() {
+        return maxBackoffMillis;
+    }
+
+    /**
+     * Gets the number of consecutive failures that open the circuit breaker.
+     * @return failure threshold
+     */
+    public int getBreakerFailureThreshold() {
+        return breakerFailureThreshold;
+    }
+
+    /**
+     * Gets how long the circuit breaker stays open.
+     * @return open period in milliseconds
+     */
+    public long getBreakerOpenMillis() {
+        return breakerOpenMillis;
+    }
+
+    /**
+     * Builder for {@link TransportConfig}, starting from the defaults.
+     */
+    public static final class Builder {
+        /** Deadline for opening a connection, in milliseconds. */
+        private long connectTimeoutMillis = 5_000;
+
+        /** Deadline between two reads of a response, in milliseconds. */
+        private long readTimeoutMillis = 10_000;
+
+        /** Deadline for a whole call including retries, in milliseconds. */
+        private long callTimeoutMillis = 20_000;
+
+        /** Idle connections kept in the pool. */
+        private int maxIdleConnections = 5;
+
+        /** How long an idle connection is kept alive, in milliseconds. */
+        private long keepAliveMillis = 5 * 60_000;
+
+        /** Retries after a 429 or 5xx response. */
+        private int maxRetries = 2;
+
+        /** Backoff before the first retry, in milliseconds. */
+        private long baseBackoffMillis = 250;
+
+        /** Upper bound for a single backoff, in milliseconds. */
+        private long maxBackoffMillis = 4_000;
+
+        /** Consecutive failures that open the circuit breaker. */
+        private int breakerFailureThreshold = 5;
+
+        /** How long the circuit breaker stays open, in milliseconds. */
+        private long breakerOpenMillis = 30_000;
+
+        /**
+         * Creates a builder with the default settings.
+         */
+        private Builder() {
+            // use TransportConfig.builder()
+        }
+
+        /**
+         * Sets the deadline for opening a connection.
+         * @param millis connect timeout in milliseconds
+         * @return this builder
+         */
+        public Builder connectTimeoutMillis(long millis) {
+            this.connectTimeoutMillis = millis;
+            return this;
+        }
+
+        /**
+         * Sets the deadline between two reads of a response.
+         * @param millis read timeout in milliseconds
+         * @return this builder
+         */
+        public Builder readTimeoutMillis(long millis) {
+            this.readTimeoutMillis = millis;
+            return this;
+        }
+
+        /**
+         * Sets the deadline for a whole call including retries.
+         * @param millis call timeout in milliseconds
+         * @return this builder
+         */
+        public Builder callTimeoutMillis(long millis) {
+            this.callTimeoutMillis = millis;
+            return this;
+        }
+
+        /**
+         * Sets the number of idle connections kept in the pool.
+         * @param connections maximum idle connections
+         * @return this builder
+         */
+        public Builder maxIdleConnections(int connections) {
+            this.maxIdleConnections = connections;
+            return this;
+        }
+
+        /**
+         * Sets how long an idle connection is kept alive.
+         * @param millis keep alive in milliseconds
+         * @return this builder
+         */
+        public Builder keepAliveMillis(long millis) {
+            this.keepAliveMillis = millis;
+            return this;
+        }
+
+        /**
+         * Sets the number of retries after a 429 or 5xx response.
+         * @param retries maximum retries, 0 to never retry
+         * @return this builder
+         */
+        public Builder maxRetries(int retries) {
+            this.maxRetries = retries;
+            return this;
+        }
+
+        /**
+         * Sets the backoff before the first retry.
+         * @param millis base backoff in milliseconds
+         * @return this builder
+         */
+        public Builder baseBackoffMillis(long millis) {
+            this.baseBackoffMillis = millis;
+            return this;
+        }
+
+        /**
+         * Sets the upper bound for a single backoff.
+         * @param millis maximum backoff in milliseconds
+         * @return this builder
+         */
+        public Builder maxBackoffMillis(long millis) {
+            this.maxBackoffMillis = millis;
+            return this;
+        }
+
+        /**
+         * Sets the number of consecutive failures that open the circuit breaker.
+         * @param failures failure threshold
+         * @return this builder
+         */
+        public Builder breakerFailureThreshold(int failures) {
+            this.breakerFailureThreshold = failures;
+            return this;
+        }
+
+        /**
+         * Sets how long the circuit breaker stays open.
+         * @param millis open period in milliseconds
+         * @return this builder
+         */
+        public Builder breakerOpenMillis(long millis) {
+            this.breakerOpenMillis = millis;
+            return this;
+        }
+
+        /**
+         * Builds the config.
+         * @return the config
+         * @throws IllegalArgumentException if a deadline, pool size or retry count is negative,
+         *         or the failure threshold is less than 1
+         */
+        public TransportConfig build() {
+            if (connectTimeoutMillis < 0 || readTimeoutMillis < 0 || callTimeoutMillis < 0
+                || maxIdleConnections < 0 || keepAliveMillis < 0 || maxRetries < 0
+                || baseBackoffMillis < 0 || maxBackoffMillis < 0 || breakerOpenMillis < 0) {
+                throw new IllegalArgumentException("Transport settings must not be negative");
+            }
+            if (breakerFailureThreshold < 1) {
+                throw new IllegalArgumentException("breakerFailureThreshold must be at least 1");
+            }
+            return new TransportConfig(this);
+        }
+    }
+}
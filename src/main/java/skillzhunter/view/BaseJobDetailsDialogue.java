@@ -66,10 +66,10 @@ public abstract class BaseJobDetailsDialogue {
         // Create header panel
         JPanel headerPanel = new JPanel(new BorderLayout(5, 5));
         
-        // Add logo at top, centered
-        ImageIcon companyLogo = IconLoader.loadCompanyLogo(job.companyLogo(),
-        LOGO_WIDTH, LOGO_HEIGHT, "images/idea.png");
-        JLabel logoLabel = new JLabel(companyLogo);
+        // Add logo at top, centered; the placeholder is swapped for the logo once it downloads
+        JLabel logoLabel = new JLabel();
+        logoLabel.setIcon(IconLoader.loadCompanyLogo(job.companyLogo(),
+        LOGO_WIDTH, LOGO_HEIGHT, "images/idea.png", logoLabel::setIcon));
         logoLabel.setHorizontalAlignment(SwingConstants.CENTER);
         headerPanel.add(logoLabel, BorderLayout.CENTER);
         
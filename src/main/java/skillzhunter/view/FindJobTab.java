@@ -13,6 +13,7 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 import javax.swing.AbstractAction;
 import javax.swing.Action;
@@ -30,6 +31,7 @@ import javax.swing.JPanel;
 import javax.swing.JTextField;
 import javax.swing.KeyStroke;
 import javax.swing.SwingConstants;
+import javax.swing.SwingUtilities;
 
 import skillzhunter.controller.IController;
 import skillzhunter.model.JobRecord;
@@ -59,6 +61,8 @@ public class FindJobTab extends JobView {
     private JCheckBox showVisualizationCheckbox;
     /** Table panel. */
     private JPanel tablePanel;
+    /** Search that is still waiting for results, or null. Only touched on the event thread. */
+    private CompletableFuture<List<JobRecord>> pendingSearch;
 
     /** 
      * Constructor for FindJobTab.
@@ -78,10 +82,31 @@ public class FindJobTab extends JobView {
         }
         
         super.initView();
-        searchResults = controller.getApiCall("any", 10, "any", "any");
+        // Table starts empty, the startup search fills it in when it returns
         setJobsList(searchResults);
         modifyTablePanel();
         setupEnterKeyAction();
+        loadInitialJobs();
+    }
+
+    /**
+     * Runs the startup search without blocking the UI.
+     * A search started by the user before this returns replaces it.
+     */
+    private void loadInitialJobs() {
+        CompletableFuture<List<JobRecord>> search = controller.getApiCallAsync("any", 10, "any", "any");
+        pendingSearch = search;
+        search.whenComplete((results, error) -> SwingUtilities.invokeLater(() -> {
+            if (pendingSearch != search) {
+                return;
+            }
+            pendingSearch = null;
+            if (error == null && results != null) {
+                searchResults = results;
+                setJobsList(results);
+                updateVisualizationIfNeeded(results);
+            }
+        }));
     }
 
     /**
@@ -338,8 +363,23 @@ public class FindJobTab extends JobView {
      * @param industry The industry filter
      */
     private void performSearch(String query, int numberOfResults, String location, String industry) {
-        searchResults = controller.getApiCall(query, numberOfResults, location, industry);
-        handleSearchResults(searchResults, numberOfResults, query);
+        // A new search replaces any search still in flight
+        if (pendingSearch != null) {
+            pendingSearch.cancel(true);
+        }
+        CompletableFuture<List<JobRecord>> search =
+            controller.getApiCallAsync(query, numberOfResults, location, industry);
+        pendingSearch = search;
+
+        // Results arrive off the event thread, so hand them back to it
+        search.whenComplete((results, error) -> SwingUtilities.invokeLater(() -> {
+            if (pendingSearch != search) {
+                return;
+            }
+            pendingSearch = null;
+            searchResults = (error == null && results != null) ? results : new ArrayList<>();
+            handleSearchResults(searchResults, numberOfResults, query);
+        }));
     }
     
     /**
@@ -467,8 +507,7 @@ public class FindJobTab extends JobView {
         if (viewIdx >= 0) {
             int modelIdx = jobsTable.convertRowIndexToModel(viewIdx);
             JobRecord selectedJob = jobsList.get(modelIdx);
-            JobDetailsDialogue.showJobDetails(jobsTable, selectedJob, 
-                controller.getSavedJobs(), controller);
+            JobDetailsDialogue.showJobDetails(jobsTable, selectedJob, controller);
         } else {
             JobActionHelper.showNoSelectionMessage("Please select a job to open", this);
         }
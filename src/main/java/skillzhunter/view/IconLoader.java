@@ -4,8 +4,13 @@ import java.awt.Image;
 import java.net.URL;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.Map;
+import java.util.function.Consumer;
 
 import javax.swing.ImageIcon;
+import javax.swing.SwingUtilities;
+
+import skillzhunter.logging.Logger;
+import skillzhunter.model.net.OutboundScheduler;
 
 /**
  * Utility class for loading icons consistently across the application.
@@ -19,6 +24,9 @@ import javax.swing.ImageIcon;
  * - Light/Dark mode menu icons: 12x12
  */
 public final class IconLoader {
+    /** Logger for this class. */
+    private static final Logger LOG = Logger.getLogger(IconLoader.class);
+
     
     /** Cache for storing loaded logo images to avoid reloading */
     private static final Map<String, ImageIcon> LOGO_CACHE = new ConcurrentHashMap<>();
@@ -58,7 +66,7 @@ public final class IconLoader {
                 return new ImageIcon(img);
             }
         } catch (Exception e) {
-            System.err.println("Error loading icon: " + path + " - " + e.getMessage());
+            LOG.warn("Error loading icon: " + path + " - " + e.getMessage());
         }
         return null;
     }
@@ -85,16 +93,22 @@ public final class IconLoader {
     }
     
     /**
-     * Attempts to load a company logo from a URL with caching.
-     * If loading fails, returns a default icon.
+     * Loads a company logo from a URL with caching, without blocking the calling thread.
+     * Returns the cached logo if there is one, otherwise the default icon as a placeholder
+     * while the logo downloads. The download runs as a detail-priority task on the shared
+     * {@link OutboundScheduler}, so it goes ahead of table thumbnails but never delays a search.
+     * If it succeeds, the logo is handed to {@code onLoaded} on the event dispatch thread;
+     * if it fails, the placeholder stays.
      * 
      * @param logoUrl The URL of the company logo
      * @param width The desired width of the logo
      * @param height The desired height of the logo
-     * @param defaultIconPath Path to the default icon to use if loading fails
-     * @return The loaded logo as an ImageIcon, or a default icon if loading fails
+     * @param defaultIconPath Path to the default icon to use until the logo is loaded
+     * @param onLoaded Receives the logo once it has been downloaded
+     * @return The cached logo, or the default icon as a placeholder
      */
-    public static ImageIcon loadCompanyLogo(String logoUrl, int width, int height, String defaultIconPath) {
+    public static ImageIcon loadCompanyLogo(String logoUrl, int width, int height, String defaultIconPath,
+                                            Consumer<ImageIcon> onLoaded) {
         if (logoUrl == null || logoUrl.isEmpty()) {
             return loadIcon(defaultIconPath);
         }
@@ -108,6 +122,26 @@ public final class IconLoader {
             return cachedIcon;
         }
         
+        OutboundScheduler.shared().submit(OutboundScheduler.Priority.DETAIL, OutboundScheduler.hostOf(logoUrl),
+                                          () -> downloadLogo(logoUrl, width, height))
+            .thenAccept(icon -> {
+                if (icon != null) {
+                    LOGO_CACHE.put(cacheKey, icon);
+                    SwingUtilities.invokeLater(() -> onLoaded.accept(icon));
+                }
+            });
+        return loadIcon(defaultIconPath);
+    }
+    
+    /**
+     * Downloads and resizes a company logo.
+     * 
+     * @param logoUrl The URL of the company logo
+     * @param width The desired width of the logo
+     * @param height The desired height of the logo
+     * @return The logo, or null if it could not be loaded
+     */
+    private static ImageIcon downloadLogo(String logoUrl, int width, int height) {
         try {
             // Create URL
             URL url = new URL(logoUrl);
@@ -126,8 +160,8 @@ public final class IconLoader {
             // Connect and check response
             int responseCode = connection.getResponseCode();
             if (responseCode != java.net.HttpURLConnection.HTTP_OK) {
-                System.err.println("HTTP error when loading logo: " + responseCode);
-                return loadIcon(defaultIconPath);
+                LOG.info("HTTP error when loading logo: " + responseCode);
+                return null;
             }
             
             // Read the image
@@ -137,20 +171,15 @@ public final class IconLoader {
                 if (image != null) {
                     // Resize the image
                     Image resized = image.getScaledInstance(width, height, Image.SCALE_SMOOTH);
-                    ImageIcon icon = new ImageIcon(resized);
-                    
-                    // Cache the icon
-                    LOGO_CACHE.put(cacheKey, icon);
-                    
-                    return icon;
+                    return new ImageIcon(resized);
                 } else {
-                    System.err.println("Failed to decode logo image");
-                    return loadIcon(defaultIconPath);
+                    LOG.info("Failed to decode logo image");
+                    return null;
                 }
             }
         } catch (Exception e) {
-            System.err.println("Error loading company logo from " + logoUrl + ": " + e.getMessage());
-            return loadIcon(defaultIconPath);
+            LOG.info("Error loading company logo from " + logoUrl + ": " + e.getMessage());
+            return null;
         }
     }
     
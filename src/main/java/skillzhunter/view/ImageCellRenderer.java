@@ -12,15 +12,23 @@ import javax.swing.JLabel;
 import javax.swing.JTable;
 import javax.swing.table.DefaultTableCellRenderer;
 
+import skillzhunter.logging.Logger;
+import skillzhunter.model.net.OutboundScheduler;
+
 /**
  * A cell renderer for displaying company logos from URLs.
  * Uses a static shared cache to ensure each image is loaded only once.
  */
 public class ImageCellRenderer extends DefaultTableCellRenderer {
+    /** Logger for this class. */
+    private static final Logger LOG = Logger.getLogger(ImageCellRenderer.class);
+
     /** Image width. */
     private static final int IMAGE_WIDTH = 32;
     /** Image height. */
     private static final int IMAGE_HEIGHT = 32;
+    /** Placeholder cached for images that failed to load, the cache cannot hold null. */
+    private static final ImageIcon FAILED_IMAGE = new ImageIcon();
     /** Static cache for loaded images, shared across all renderer instances. */
     private static final Map<String, ImageIcon> SHARED_IMAGE_CACHE = new ConcurrentHashMap<>();
     /** Static loading status tracker, shared across all renderer instances. */
@@ -43,8 +51,9 @@ public class ImageCellRenderer extends DefaultTableCellRenderer {
                 // Check if we have this image in shared cache
                 if (SHARED_IMAGE_CACHE.containsKey(imageUrl)) {
                     ImageIcon icon = SHARED_IMAGE_CACHE.get(imageUrl);
-                    label.setIcon(icon);
-                    label.setText(icon == null ? "X" : "");
+                    boolean failed = icon == FAILED_IMAGE;
+                    label.setIcon(failed ? null : icon);
+                    label.setText(failed ? "X" : "");
                 } else if (!SHARED_LOADING_STATUS.containsKey(imageUrl)) {
                     // Start loading the image - only if not already being loaded
                     synchronized (SHARED_LOADING_STATUS) {
@@ -84,18 +93,21 @@ public class ImageCellRenderer extends DefaultTableCellRenderer {
     /**
      * Load an image asynchronously to avoid blocking the UI.
      * Uses a static cache to ensure each URL is loaded only once.
+     * Downloads run as thumbnail-priority tasks on the shared {@link OutboundScheduler},
+     * so a table full of logos is rate limited and cannot hold up a search.
      * 
      * @param imageUrl The URL of the image to load
      * @param table The table to repaint after loading
      */
     private void loadImageAsync(String imageUrl, JTable table) {
-        new Thread(() -> {
+        OutboundScheduler.shared().submit(OutboundScheduler.Priority.THUMBNAIL,
+                                          OutboundScheduler.hostOf(imageUrl), () -> {
             try {
                 long startTime = LOAD_START_TIMES.get(imageUrl);
                 
                 // Skip if already loaded by another thread while we were starting
                 if (SHARED_IMAGE_CACHE.containsKey(imageUrl)) {
-                    return;
+                    return null;
                 }
                 
                 // Create URL
@@ -128,28 +140,28 @@ public class ImageCellRenderer extends DefaultTableCellRenderer {
                     }
                 }
                 
-                // Store in cache (even if null, to prevent retrying failed URLs)
-                SHARED_IMAGE_CACHE.put(imageUrl, icon);
+                // Store in cache (even if it failed, to prevent retrying failed URLs)
+                SHARED_IMAGE_CACHE.put(imageUrl, icon != null ? icon : FAILED_IMAGE);
                 
                 // Calculate and log load time
                 long endTime = System.currentTimeMillis();
                 long loadTime = endTime - startTime;
-                System.out.printf("Image loaded from %s in %.2f seconds (cache size: %d)%n", 
-                                 imageUrl, loadTime / 1000.0, SHARED_IMAGE_CACHE.size());
+                LOG.debug(() -> String.format("Image loaded from %s in %.2f seconds (cache size: %d)",
+                                              imageUrl, loadTime / 1000.0, SHARED_IMAGE_CACHE.size()));
                 
                 // Update the table on the EDT
                 javax.swing.SwingUtilities.invokeLater(() -> {
                     table.repaint();
                 });
             } catch (Exception e) {
-                // Store null in cache to indicate failed loading
-                SHARED_IMAGE_CACHE.put(imageUrl, null);
+                // Store the placeholder in cache to indicate failed loading
+                SHARED_IMAGE_CACHE.put(imageUrl, FAILED_IMAGE);
                 
                 // Log error and load time
                 long endTime = System.currentTimeMillis();
                 long loadTime = endTime - LOAD_START_TIMES.get(imageUrl);
-                System.out.printf("Failed to load image from %s after %.2f seconds: %s%n", 
-                                 imageUrl, loadTime / 1000.0, e.getMessage());
+                LOG.info(() -> String.format("Failed to load image from %s after %.2f seconds: %s",
+                                             imageUrl, loadTime / 1000.0, e.getMessage()));
                 
                 // Update the table on the EDT
                 javax.swing.SwingUtilities.invokeLater(() -> {
@@ -160,7 +172,8 @@ public class ImageCellRenderer extends DefaultTableCellRenderer {
                 SHARED_LOADING_STATUS.remove(imageUrl);
                 LOAD_START_TIMES.remove(imageUrl);
             }
-        }).start();
+            return null;
+        });
     }
     
     /**
@@ -172,7 +185,7 @@ public class ImageCellRenderer extends DefaultTableCellRenderer {
             SHARED_IMAGE_CACHE.clear();
             SHARED_LOADING_STATUS.clear();
             LOAD_START_TIMES.clear();
-            System.out.println("Image cache cleared");
+            LOG.debug("Image cache cleared");
         }
     }
 }
@@ -171,10 +171,10 @@ public final class JobActionHelper {
                 comp = comp.getParent();
             }
             if (comp instanceof SavedJobsTab tab) {
-                tab.updateJobsList(controller.getSavedJobs());
+                tab.refresh();
             }
         } else if (component instanceof SavedJobsTab tab) {
-            tab.updateJobsList(controller.getSavedJobs());
+            tab.refresh();
         } else if (component instanceof JDialog dialog) {
             updateSavedJobsTabView(dialog.getParent(), controller);
         }
@@ -204,7 +204,7 @@ public final class JobActionHelper {
 
                         Component tabComponent = tabbedPane.getComponentAt(i);
                         if (tabComponent instanceof SavedJobsTab tab) {
-                            tab.updateJobsList(controller.getSavedJobs());
+                            tab.refresh();
                         }
                         break;
                     }
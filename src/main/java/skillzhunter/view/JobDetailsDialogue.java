@@ -2,7 +2,6 @@ package skillzhunter.view;
 
 import javax.swing.*;
 import java.awt.*;
-import java.util.List;
 
 import skillzhunter.model.JobRecord;
 import skillzhunter.controller.IController;
@@ -32,11 +31,9 @@ public class JobDetailsDialogue extends BaseJobDetailsDialogue {
      * 
      * @param parent The parent component
      * @param job The job record from the controller
-     * @param savedJobs List of saved jobs
      * @param controller The controller instance
      */
-    public static void showJobDetails(Component parent, JobRecord job,
-                                    List<JobRecord> savedJobs, IController controller) {
+    public static void showJobDetails(Component parent, JobRecord job, IController controller) {
         if (job == null || controller == null) {
             JOptionPane.showMessageDialog(parent,
                     "Job or controller not provided.",
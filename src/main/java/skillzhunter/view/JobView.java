@@ -41,6 +41,8 @@ public abstract class JobView extends JPanel {
     protected JPanel mainPanel;
     /** save job button. */
     protected boolean savedJobs = false;
+    /** version of the saved jobs shown, -1 if the list did not come from the saved jobs. */
+    protected long shownVersion = -1;
 
     /**
      * default constructor.
@@ -167,6 +169,7 @@ public abstract class JobView extends JPanel {
      */
     public void setJobsList(List<JobRecord> jobsList) {
         this.jobsList = jobsList;
+        this.shownVersion = -1;
         
         // Update the table with job data including logos
         this.jobsTable.setData(getData(jobsList));
@@ -222,6 +225,7 @@ public abstract class JobView extends JPanel {
      */
     public void updateJobsList(List<JobRecord> jobsList) {
         this.jobsList = jobsList;
+        this.shownVersion = -1;
         this.jobsTable.setData(getData(jobsList));
     }
 
@@ -11,10 +11,15 @@ import javax.swing.table.TableCellRenderer;
 import javax.swing.table.TableColumn;
 import javax.swing.table.TableRowSorter;
 
+import skillzhunter.logging.Logger;
+
 /**
  * A table for displaying job listings with basic sorting functionality.
  */
 public class JobsTable extends JTable {
+  /** Logger for this class. */
+  private static final Logger LOG = Logger.getLogger(JobsTable.class);
+
   /** 
    * Table model for the job listings.
    */
@@ -145,7 +150,7 @@ public class JobsTable extends JTable {
         header.setCursor(new java.awt.Cursor(java.awt.Cursor.HAND_CURSOR));
       } else {
         // Log the error
-        System.err.println("Warning: Default table header renderer is null");
+        LOG.warn("Warning: Default table header renderer is null");
       }
     }
   }
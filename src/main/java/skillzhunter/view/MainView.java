@@ -22,8 +22,12 @@ import javax.swing.SwingUtilities;
 
 import skillzhunter.controller.AlertObserver;
 import skillzhunter.controller.IController;
+import skillzhunter.logging.Logger;
 
 public class MainView extends JFrame implements IView, AlertObserver {
+    /** Logger for this class. */
+    private static final Logger LOG = Logger.getLogger(MainView.class);
+
     /** Main Pane. */
     private final JPanel mainPane = new JPanel();
     /** Find Job Tab. */
@@ -88,7 +92,7 @@ public class MainView extends JFrame implements IView, AlertObserver {
             // Now we can initialize controller-dependent components
             // Create tabs using clean dependency injection pattern
             // The concrete classes are created here in the view layer
-            savedJobTab = new SavedJobsTab(controller, controller.getSavedJobs());
+            savedJobTab = new SavedJobsTab(controller);
             findJobTab = new FindJobTab(controller);
             
             // Building tabbed pane
@@ -116,7 +120,7 @@ public class MainView extends JFrame implements IView, AlertObserver {
             setupExitKeyAction();
             
         } catch (Exception ex) {
-            ex.printStackTrace();
+            LOG.error("Error initializing UI: " + ex.getMessage(), ex);
             JOptionPane.showMessageDialog(this, 
                 "Error initializing UI: " + ex.getMessage(),
                 "Initialization Error",
@@ -179,10 +183,9 @@ public class MainView extends JFrame implements IView, AlertObserver {
                 String tabName = pane.getTitleAt(selectedIndex);
                 Component selectedComponent = pane.getComponentAt(selectedIndex);
                 
-                // Only update the Saved Jobs tab with the latest saved jobs
-                if ("Saved Jobs".equals(tabName) && selectedComponent instanceof JobView) {
-                    JobView jobView = (JobView) selectedComponent;
-                    jobView.updateJobsList(controller.getSavedJobs());
+                // Only update the Saved Jobs tab, and only if the saved jobs changed
+                if ("Saved Jobs".equals(tabName) && selectedComponent instanceof SavedJobsTab) {
+                    ((SavedJobsTab) selectedComponent).refresh();
                 }
                 // Don't update Find Jobs tab when switching to it
             }
@@ -279,6 +282,11 @@ public class MainView extends JFrame implements IView, AlertObserver {
      */
     @Override
     public void notifyUser(String message) {
+        // Alerts can come from background searches, dialogs must be shown on the event thread
+        if (!SwingUtilities.isEventDispatchThread()) {
+            SwingUtilities.invokeLater(() -> notifyUser(message));
+            return;
+        }
         ImageIcon warningIcon = IconLoader.loadIcon("images/warning.png");
         JOptionPane.showMessageDialog(this,
             message,
@@ -293,7 +301,7 @@ public class MainView extends JFrame implements IView, AlertObserver {
     @Override
     public void run() {
         if (controller == null) {
-            System.err.println("Error: Controller must be set before running the view");
+            LOG.error("Error: Controller must be set before running the view");
             return;
         }
         
@@ -11,16 +11,25 @@ import javax.swing.ImageIcon;
 import javax.swing.JComboBox;
 import javax.swing.JDialog;
 import javax.swing.JFrame;
+import javax.swing.JLabel;
 import javax.swing.JOptionPane;
 import javax.swing.JPanel;
 import javax.swing.SwingConstants;
 import javax.swing.SwingUtilities;
 
 import skillzhunter.controller.IController;
+import skillzhunter.logging.Logger;
 import skillzhunter.model.JobBean;
+import skillzhunter.model.JobQuery;
 import skillzhunter.model.JobRecord;
 
 public class SavedJobsTab extends JobView {
+    /** Logger for this class. */
+    private static final Logger LOG = Logger.getLogger(SavedJobsTab.class);
+
+    /** Number of saved jobs shown on one page of the table. */
+    private static final int PAGE_SIZE = 50;
+
     
     // Store buttons as fields to apply theme later
     /** open button. */
@@ -33,6 +42,15 @@ public class SavedJobsTab extends JobView {
     private ThemedButton editButton;
     /** delete button. */
     private ThemedButton deleteButton;
+    /** previous page button. */
+    private ThemedButton previousButton;
+    /** next page button. */
+    private ThemedButton nextButton;
+    /** shows the page and the number of saved jobs. */
+    private JLabel pageLabel;
+
+    /** index of the page shown, from 0. */
+    private int page;
 
     // Icons for buttons and dialogs
     /** open icon. */
@@ -52,12 +70,11 @@ public class SavedJobsTab extends JobView {
 
     /**
      * Constructor for SavedJobsTab.
-     * Initializes the view with the controller and saved jobs.
+     * Initializes the view with the controller and shows the first page of saved jobs.
      * 
      * @param controller The controller to interact with the model
-     * @param savedJobs The list of saved jobs to display
      */
-    public SavedJobsTab(IController controller, List<JobRecord> savedJobs) {
+    public SavedJobsTab(IController controller) {
         super();
         // set inherited field from jobview
         this.controller = controller;
@@ -72,13 +89,53 @@ public class SavedJobsTab extends JobView {
         this.deleteIcon = IconLoader.loadIcon("images/delete.png");
         
         super.initView();
-        updateJobsList(savedJobs);
+        showPage(0);
+    }
+
+    /**
+     * Reloads the page shown if the saved jobs changed since it was loaded.
+     * Only the jobs on the page are fetched, so this stays cheap however many jobs are saved.
+     */
+    public void refresh() {
+        if (controller.getSavedJobsVersion() != shownVersion) {
+            showPage(page);
+        }
+    }
+
+    /**
+     * Loads a page of saved jobs into the table, in the order they were saved.
+     * 
+     * @param requested index of the page, moved back to the last page if there are fewer
+     */
+    private void showPage(int requested) {
+        // read the version first, so a change while loading shows up on the next refresh
+        long version = controller.getSavedJobsVersion();
+        int total = controller.countSavedJobs(JobQuery.ALL);
+        int pages = Math.max(1, (total + PAGE_SIZE - 1) / PAGE_SIZE);
+        page = Math.max(0, Math.min(requested, pages - 1));
+
+        updateJobsList(controller.findSavedJobs(JobQuery.builder().page(page * PAGE_SIZE, PAGE_SIZE).build()));
+        shownVersion = version;
+
+        pageLabel.setText("Page " + (page + 1) + " of " + pages + " (" + total + " saved jobs)");
+        previousButton.setEnabled(page > 0);
+        nextButton.setEnabled(page < pages - 1);
     }
     
     @Override
     public JPanel makeTopButtonPanel() {
-        //Blank top row override
-        JPanel topRow = new JPanel();
+        // Page through the saved jobs instead of loading them all
+        JPanel topRow = new JPanel(new FlowLayout(FlowLayout.CENTER));
+        previousButton = createThemedButton("Previous", ThemedButton.ButtonType.SECONDARY);
+        nextButton = createThemedButton("Next", ThemedButton.ButtonType.SECONDARY);
+        pageLabel = new JLabel();
+
+        topRow.add(previousButton);
+        topRow.add(pageLabel);
+        topRow.add(nextButton);
+
+        previousButton.addActionListener(e -> showPage(page - 1));
+        nextButton.addActionListener(e -> showPage(page + 1));
         return topRow;
     }
 
@@ -315,12 +372,12 @@ public class SavedJobsTab extends JobView {
         File dataDir = new File("data");
         if (!dataDir.exists()) {
             boolean created = dataDir.mkdirs();
-            System.out.println("Created data directory: " + created);
+            LOG.debug(() -> "Created data directory: " + created);
         }
         
         // FIXED: Combine data directory with just the file name
         String filePath = new File(dataDir, justFileName).getAbsolutePath();
-        System.out.println("File path: " + filePath);
+        LOG.debug(() -> "File path: " + filePath);
         
         return filePath;
     }
@@ -359,7 +416,7 @@ public class SavedJobsTab extends JobView {
             
             // Verify that the file was created
             File savedFile = new File(filePath);
-            System.out.println("File exists after save: " + savedFile.exists()
+            LOG.debug(() -> "File exists after save: " + savedFile.exists()
             + ", size: " + savedFile.length());
             
             // Extract just the filename from the path
@@ -373,7 +430,7 @@ public class SavedJobsTab extends JobView {
                 successIcon);
         } catch (Exception ex) {
             // Show error message if save fails
-            ex.printStackTrace();
+            LOG.error("Error saving jobs: " + ex.getMessage(), ex);
             JOptionPane.showMessageDialog(parentFrame,
                 "Error saving jobs: " + ex.getMessage(),
                 "Save Failed",
@@ -403,7 +460,7 @@ public class SavedJobsTab extends JobView {
                 exportIcon);
         } catch (Exception ex) {
             // Show error message if export fails
-            ex.printStackTrace();
+            LOG.error("Error exporting jobs: " + ex.getMessage(), ex);
             JOptionPane.showMessageDialog(parentFrame,
                 "Error exporting jobs: " + ex.getMessage(),
                 "Export Failed",
@@ -455,7 +512,7 @@ public class SavedJobsTab extends JobView {
             // Use JobActionHelper to delete the job
             if (JobActionHelper.deleteJob(selectedJob, controller, this)) {
                 // Job was deleted successfully
-                updateJobsList(controller.getSavedJobs());
+                refresh();
             }
         } else {
             JobActionHelper.showNoSelectionMessage("Please select a job to delete", this);
@@ -473,13 +530,16 @@ public class SavedJobsTab extends JobView {
             saveButton, 
             exportButton, 
             editButton, 
-            deleteButton
+            deleteButton,
+            previousButton,
+            nextButton
         );
         
         // Apply theme to all buttons
         for (ThemedButton button : buttons) {
             button.applyTheme(theme);
         }
+        pageLabel.setForeground(theme.getForeground());
 
         // Make sure changes are visible
         this.revalidate();
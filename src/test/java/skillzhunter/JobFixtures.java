@@ -0,0 +1,215 @@
+package skillzhunter;
+
+import java.util.List;
+
+import skillzhunter.model.JobRecord;
+
+/**
+ * Job postings shared by the tests, so each test only spells out the fields it checks.
+ * Start from {@link #job(int)} and set what matters, the rest keeps a plain default.
+ */
+public final class JobFixtures {
+
+    /**
+     * Not instantiated.
+     */
+    private JobFixtures() {
+        // static fixtures only
+    }
+
+    /**
+     * Starts a posting with default fields, its url, slug and title made from the id.
+     * @param id the job id
+     * @return a builder for the posting
+     */
+    public static Builder job(int id) {
+        return new Builder(id);
+    }
+
+    /**
+     * Creates a posting with default fields and a title.
+     * @param id the job id
+     * @param title the job title
+     * @return the posting
+     */
+    public static JobRecord job(int id, String title) {
+        return job(id).title(title).build();
+    }
+
+    /**
+     * Builder for a test posting.
+     */
+    public static final class Builder {
+        private final int id;
+        private String url;
+        private String slug;
+        private String title;
+        private String company = "Company";
+        private String logo = "logo";
+        private List<String> industries = List.of("Tech");
+        private List<String> types = List.of("Full-Time");
+        private String geo = "USA";
+        private String level = "Senior";
+        private String excerpt = "excerpt";
+        private String description = "description";
+        private String pubDate = "2025-01-01";
+        private int salaryMin;
+        private int salaryMax;
+        private String currency = "USD";
+        private int rating;
+        private String comments = "";
+
+        /**
+         * Creates a builder with the default fields.
+         * @param id the job id
+         */
+        private Builder(int id) {
+            // use JobFixtures.job(id)
+            this.id = id;
+            this.url = "url" + id;
+            this.slug = "slug" + id;
+            this.title = "Job " + id;
+        }
+
+        /**
+         * Sets the url of the posting.
+         * @param value the url
+         * @return this builder
+         */
+        public Builder url(String value) {
+            this.url = value;
+            return this;
+        }
+
+        /**
+         * Sets the slug of the posting.
+         * @param value the slug
+         * @return this builder
+         */
+        public Builder slug(String value) {
+            this.slug = value;
+            return this;
+        }
+
+        /**
+         * Sets the job title.
+         * @param value the title
+         * @return this builder
+         */
+        public Builder title(String value) {
+            this.title = value;
+            return this;
+        }
+
+        /**
+         * Sets the company name.
+         * @param value the company name
+         * @return this builder
+         */
+        public Builder company(String value) {
+            this.company = value;
+            return this;
+        }
+
+        /**
+         * Sets the company logo url.
+         * @param value the logo url
+         * @return this builder
+         */
+        public Builder logo(String value) {
+            this.logo = value;
+            return this;
+        }
+
+        /**
+         * Sets the industries of the posting.
+         * @param value the industries
+         * @return this builder
+         */
+        public Builder industries(List<String> value) {
+            this.industries = value;
+            return this;
+        }
+
+        /**
+         * Sets the job types of the posting.
+         * @param value the job types
+         * @return this builder
+         */
+        public Builder types(List<String> value) {
+            this.types = value;
+            return this;
+        }
+
+        /**
+         * Sets the raw excerpt, HTML entities and all.
+         * @param value the excerpt
+         * @return this builder
+         */
+        public Builder excerpt(String value) {
+            this.excerpt = value;
+            return this;
+        }
+
+        /**
+         * Sets the raw description, HTML entities and all.
+         * @param value the description
+         * @return this builder
+         */
+        public Builder description(String value) {
+            this.description = value;
+            return this;
+        }
+
+        /**
+         * Sets the publication date.
+         * @param value the date, such as {@code 2025-01-01}
+         * @return this builder
+         */
+        public Builder pubDate(String value) {
+            this.pubDate = value;
+            return this;
+        }
+
+        /**
+         * Sets the salary range.
+         * @param min bottom of the annual salary range
+         * @param max top of the annual salary range
+         * @return this builder
+         */
+        public Builder salary(int min, int max) {
+            this.salaryMin = min;
+            this.salaryMax = max;
+            return this;
+        }
+
+        /**
+         * Sets the user's rating.
+         * @param value the rating
+         * @return this builder
+         */
+        public Builder rating(int value) {
+            this.rating = value;
+            return this;
+        }
+
+        /**
+         * Sets the user's comments.
+         * @param value the comments, may be null
+         * @return this builder
+         */
+        public Builder comments(String value) {
+            this.comments = value;
+            return this;
+        }
+
+        /**
+         * Builds the posting.
+         * @return the posting
+         */
+        public JobRecord build() {
+            return new JobRecord(id, url, slug, title, company, logo, industries, types, geo, level,
+                                 excerpt, description, pubDate, salaryMin, salaryMax, currency, rating, comments);
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package skillzhunter;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import skillzhunter.model.JobRecord;
+import skillzhunter.model.formatters.DataFormatter;
+import skillzhunter.model.formatters.Formats;
+import skillzhunter.model.formatters.JobWriters;
+
+/**
+ * Test class for the BINARY format.
+ */
+public class TestBinaryFormat {
+    /** directory for written files. */
+    @TempDir
+    Path tempDir;
+
+    /**
+     * Creates jobs covering the edge cases of every field.
+     *
+     * @return the jobs
+     */
+    private static List<JobRecord> edgeCases() {
+        List<JobRecord> jobs = new ArrayList<>();
+        jobs.add(new JobRecord(1, "https://example.com/1", "slug-1", "Senior R&D Engineer", "Smith & Sons",
+            "logo.png", List.of("Dev & Ops", "Data"), List.of("full-time"), "USA", "Senior",
+            "Excerpt.", "<p>Description</p>", "2025-01-01 10:00:00", 90000, 120000, "USD", 5, "great"));
+        jobs.add(new JobRecord(0, null, null, null, null, null, null, null, null, null, null, null, null,
+            0, 0, null, 0, null));
+        jobs.add(new JobRecord(Integer.MAX_VALUE, "", "", "", "", "", List.of(), List.of(), "", "", "", "", "",
+            Integer.MIN_VALUE, -1, "", -3, ""));
+        jobs.add(new JobRecord(-42, "ünïcödé", "日本語", "Ingénieur 🚀", "Zürich AG", "x",
+            Arrays.asList("a", null, "c"), List.of("contract"), "Europe", "Any",
+            "long ".repeat(500), "line\nbreak\ttab \"quotes\" ,commas,", "2025", 1, 2, "EUR", 1, "x".repeat(70)));
+        // repeats of earlier values come from the dictionary
+        jobs.add(new JobRecord(5, "https://example.com/5", "slug-5", "Senior R&D Engineer", "Smith & Sons",
+            "logo.png", List.of("Dev & Ops"), List.of("full-time"), "USA", "Senior",
+            "Excerpt.", "x".repeat(70), "2025-01-01 10:00:00", 90000, 120000, "USD", 5, "great"));
+        return jobs;
+    }
+
+    /**
+     * Writes jobs as binary.
+     *
+     * @param jobs the jobs
+     * @return the bytes
+     */
+    private static byte[] toBinary(List<JobRecord> jobs) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        JobWriters.write(jobs.iterator(), Formats.BINARY, out);
+        return out.toByteArray();
+    }
+
+    /**
+     * Tests that every field of every record comes back exactly.
+     */
+    @Test
+    public void testRoundTrip() {
+        List<JobRecord> jobs = edgeCases();
+        List<JobRecord> read = DataFormatter.read(new ByteArrayInputStream(toBinary(jobs)), Formats.BINARY);
+        assertEquals(jobs, read);
+    }
+
+    /**
+     * Tests an empty list.
+     */
+    @Test
+    public void testEmpty() {
+        assertTrue(DataFormatter.read(new ByteArrayInputStream(toBinary(List.of())), Formats.BINARY).isEmpty());
+    }
+
+    /**
+     * Tests the header checks.
+     */
+    @Test
+    public void testHeader() {
+        byte[] bytes = toBinary(edgeCases());
+        assertEquals('S', bytes[0]);
+        assertEquals('Z', bytes[1]);
+        assertEquals('J', bytes[2]);
+        assertEquals('B', bytes[3]);
+
+        byte[] newer = bytes.clone();
+        newer[5] = 99;
+        RuntimeException e = assertThrows(RuntimeException.class,
+            () -> DataFormatter.read(new ByteArrayInputStream(newer), Formats.BINARY));
+        assertTrue(e.getCause().getMessage().contains("version 99"));
+
+        byte[] csv = "id,url\n1,x\n".getBytes();
+        assertThrows(RuntimeException.class, () -> DataFormatter.read(new ByteArrayInputStream(csv), Formats.BINARY));
+    }
+
+    /**
+     * Tests that truncated data is an error instead of fewer jobs.
+     */
+    @Test
+    public void testTruncated() {
+        byte[] bytes = toBinary(edgeCases());
+        byte[] truncated = Arrays.copyOf(bytes, bytes.length - 10);
+        assertThrows(RuntimeException.class,
+            () -> DataFormatter.read(new ByteArrayInputStream(truncated), Formats.BINARY));
+    }
+
+    /**
+     * Tests that repeated values make the binary form much smaller than JSON.
+     */
+    @Test
+    public void testCompact() {
+        List<JobRecord> jobs = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            jobs.add(JobFixtures.job(i).url("https://example.com/" + i).slug("slug-" + i).title("Engineer")
+                .company("Acme").logo("logo.png").industries(List.of("Software Engineering"))
+                .types(List.of("full-time")).salary(90000, 120000).comments(null).build());
+        }
+        ByteArrayOutputStream json = new ByteArrayOutputStream();
+        JobWriters.write(jobs.iterator(), Formats.JSON, json);
+        assertTrue(toBinary(jobs).length * 4 < json.size());
+    }
+
+    /**
+     * Tests writing a file and reading it back.
+     */
+    @Test
+    public void testWriteFile() throws IOException {
+        Path file = tempDir.resolve("saved/SavedJobs.bin");
+        DataFormatter.writeFile(edgeCases(), Formats.BINARY, file.toString());
+        try (InputStream in = new FileInputStream(file.toFile())) {
+            assertEquals(edgeCases(), DataFormatter.read(in, Formats.BINARY));
+        }
+    }
+}
@@ -0,0 +1,171 @@
+package skillzhunter;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import skillzhunter.model.net.CircuitBreaker;
+
+/**
+ * Test class for the CircuitBreaker.
+ */
+public class TestCircuitBreaker {
+    // Fake clock so the tests do not have to wait
+    private long now;
+
+    private CircuitBreaker breaker;
+
+    @BeforeEach
+    public void setUp() {
+        now = 1_000;
+        breaker = new CircuitBreaker(3, 500, () -> now);
+    }
+
+    /**
+     * Lets a request through and sends it right away.
+     * @return the started attempt, or null if the request should fail fast
+     */
+    private CircuitBreaker.Attempt send() {
+        CircuitBreaker.Attempt attempt = breaker.tryAcquire();
+        if (attempt != null) {
+            attempt.start();
+        }
+        return attempt;
+    }
+
+    /**
+     * Sends a request that fails.
+     */
+    private void fail() {
+        send().failure();
+    }
+
+    /**
+     * Tests that the circuit opens after the threshold of consecutive failures.
+     */
+    @Test
+    public void testOpensAfterThreshold() {
+        fail();
+        fail();
+        assertNotNull(send());
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+
+        fail();
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+        assertNull(send());
+    }
+
+    /**
+     * Tests that a success resets the failure count.
+     */
+    @Test
+    public void testSuccessResets() {
+        fail();
+        fail();
+        send().success();
+        fail();
+        fail();
+
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+    }
+
+    /**
+     * Tests the single trial request after the open period.
+     */
+    @Test
+    public void testHalfOpenTrial() {
+        for (int i = 0; i < 3; i++) {
+            fail();
+        }
+        now += 500;
+
+        CircuitBreaker.Attempt trial = send();
+        assertNotNull(trial);
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState());
+        // only one trial at a time
+        assertNull(send());
+
+        trial.success();
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+        assertNotNull(send());
+    }
+
+    /**
+     * Tests that a failed trial opens the circuit again.
+     */
+    @Test
+    public void testFailedTrialReopens() {
+        for (int i = 0; i < 3; i++) {
+            fail();
+        }
+        now += 500;
+        CircuitBreaker.Attempt trial = send();
+        assertNotNull(trial);
+
+        trial.failure();
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+        assertNull(send());
+        now += 499;
+        assertNull(send());
+        now += 1;
+        assertNotNull(send());
+    }
+
+    /**
+     * Tests that late outcomes of requests sent before the circuit opened do not change it.
+     */
+    @Test
+    public void testStaleOutcomesIgnored() {
+        CircuitBreaker.Attempt lateSuccess = send();
+        CircuitBreaker.Attempt lateFailure = send();
+        for (int i = 0; i < 3; i++) {
+            fail();
+        }
+
+        lateSuccess.success();
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState(), "A late success should not close the circuit");
+        assertNull(send());
+
+        now += 500;
+        CircuitBreaker.Attempt trial = send();
+        assertNotNull(trial);
+        lateFailure.failure();
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState(), "A late failure should not end the trial");
+        assertNull(send(), "The trial should still be the only request");
+
+        trial.success();
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+    }
+
+    /**
+     * Tests that a trial cancelled before or after it was sent lets the next request through.
+     */
+    @Test
+    public void testReleasedTrial() {
+        CircuitBreaker.Attempt early = breaker.tryAcquire();
+        for (int i = 0; i < 3; i++) {
+            fail();
+        }
+        now += 500;
+
+        CircuitBreaker.Attempt queued = breaker.tryAcquire();
+        assertNotNull(queued);
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState(), "A queued trial has not been sent yet");
+        assertNull(breaker.tryAcquire(), "Only one trial at a time");
+        queued.release();
+
+        CircuitBreaker.Attempt sent = breaker.tryAcquire();
+        assertNotNull(sent, "A cancelled trial should let the next request try");
+        sent.start();
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState());
+        early.release();
+        assertNull(send(), "Only the trial itself can give the trial back");
+        sent.release();
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+
+        CircuitBreaker.Attempt next = send();
+        assertNotNull(next);
+        next.success();
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+    }
+}
@@ -0,0 +1,111 @@
+package skillzhunter;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+import skillzhunter.model.JobRecord;
+import skillzhunter.model.formatters.CsvExporter;
+import skillzhunter.model.formatters.DataFormatter;
+
+/**
+ * Test class for the streaming CSV exporter.
+ */
+public class TestCsvExporter {
+    /** directory for the exported files. */
+    @TempDir
+    Path tempDir;
+
+    /**
+     * Creates a job.
+     *
+     * @param id the id
+     * @param title the title
+     * @return the job
+     */
+    private static JobRecord job(int id, String title) {
+        return JobFixtures.job(id).url("https://example.com/" + id).slug("slug-" + id).title(title)
+            .company("Smith &amp; Sons").logo("logo.png").industries(List.of("Dev &amp; Ops", "Data"))
+            .types(List.of("full-time")).excerpt("<p>First sentence. Second one.</p>")
+            .description("<p>Long description</p>").salary(90000, 120000).rating(4).comments("say \"hi\"").build();
+    }
+
+    /**
+     * Tests the written rows.
+     */
+    @Test
+    public void testRows() throws IOException {
+        Path target = tempDir.resolve("nested/dir/jobs.csv");
+        int count = CsvExporter.export(List.of(job(1, "Engineer"),
+            new JobRecord(2, null, null, null, null, null, null, List.of(), null, null, null, null, null,
+                0, 0, null, 0, null)), target);
+
+        assertEquals(2, count);
+        List<String> lines = Files.readAllLines(target);
+        assertEquals(3, lines.size());
+        assertEquals(CsvExporter.HEADER, lines.get(0));
+        assertEquals("1,\"https://example.com/1\",\"slug-1\",\"Engineer\",\"Smith & Sons\",\"logo.png\","
+            + "\"Dev & Ops, Data\",\"full-time\",\"USA\",\"Senior\",\"First sentence.\","
+            + "\"Position at Smith & Sons - Engineer\",\"2025-01-01\",90000,120000,\"USD\",4,\"say \"\"hi\"\"\"",
+            lines.get(1));
+        assertEquals("2,\"\",\"\",\"\",\"\",\"\",,,\"\",\"\",\"\",\"Position at null - null\",\"\",0,0,\"\",0,\"\"",
+            lines.get(2));
+    }
+
+    /**
+     * Tests that exporting through DataFormatter from a stream writes every job.
+     */
+    @Test
+    public void testLargeStreamedExport() throws IOException {
+        Path target = tempDir.resolve("many.csv");
+        Stream<JobRecord> jobs = Stream.iterate(0, i -> i + 1).limit(5000).map(i -> job(i, "Title " + i));
+        DataFormatter.exportCustomCSV(jobs::iterator, target.toString());
+
+        List<String> lines = Files.readAllLines(target);
+        assertEquals(5001, lines.size());
+        assertTrue(lines.get(5000).startsWith("4999,"));
+    }
+
+    /**
+     * Tests that a failed export leaves the old file whole and no temporary file behind.
+     */
+    @Test
+    public void testFailedExportKeepsOldFile() throws IOException {
+        Path target = tempDir.resolve("jobs.csv");
+        CsvExporter.export(List.of(job(1, "Old")), target);
+        String before = Files.readString(target);
+
+        Iterable<JobRecord> failing = () -> new Iterator<JobRecord>() {
+            private int next;
+
+            @Override
+            public boolean hasNext() {
+                return true;
+            }
+
+            @Override
+            public JobRecord next() {
+                if (next == 1000) {
+                    throw new IllegalStateException("source failed");
+                }
+                return job(next++, "New");
+            }
+        };
+        assertThrows(IllegalStateException.class, () -> CsvExporter.export(failing, target));
+
+        assertEquals(before, Files.readString(target));
+        List<Path> files = new ArrayList<>();
+        try (Stream<Path> list = Files.list(tempDir)) {
+            list.forEach(files::add);
+        }
+        assertEquals(List.of(target), files);
+    }
+}
@@ -11,6 +11,7 @@ import java.io.IOException;
 import java.io.OutputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.List;
 
 import skillzhunter.model.JobRecord;
@@ -406,4 +407,29 @@ public class TestDataFormatter {
         // Test with null input
         assertNull(DataFormatter.processJobHtml(null), "Null input should return null");
     }
+
+    /**
+     * Test batch processing keeps the order and matches processing one job at a time,
+     * both below and above the parallel threshold.
+     */
+    @Test
+    public void testProcessJobsHtml() {
+        List<JobRecord> raw = new ArrayList<>();
+        for (int i = 0; i < 3000; i++) {
+            raw.add(new JobRecord(i, "https://example.com/" + i, "slug-" + i, "Title &amp; " + i,
+                "Co &lt;" + i + "&gt;", "logo", List.of("A &amp; B"), List.of("Full-time"), "Remote",
+                "Senior", "Excerpt &quot;" + i + "&quot;", "Description", "2025-04-01", 1, 2, "USD", 0, null));
+        }
+
+        List<JobRecord> sequential = DataFormatter.processJobsHtml(raw, Integer.MAX_VALUE);
+        List<JobRecord> parallel = DataFormatter.processJobsHtml(raw, 0);
+        assertEquals(raw.size(), parallel.size());
+        for (int i = 0; i < raw.size(); i++) {
+            assertEquals(DataFormatter.processJobHtml(raw.get(i)), parallel.get(i), "Order should be kept");
+        }
+        assertEquals(sequential, parallel, "Parallel and sequential results should be the same");
+        assertEquals("Title & 2999", parallel.get(2999).jobTitle());
+
+        assertTrue(DataFormatter.processJobsHtml(List.of()).isEmpty(), "Empty batch should give an empty list");
+    }
 }
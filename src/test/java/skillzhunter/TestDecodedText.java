@@ -0,0 +1,91 @@
+package skillzhunter;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.List;
+
+import skillzhunter.model.JobRecord;
+import skillzhunter.model.formatters.DataFormatter;
+import skillzhunter.model.formatters.DecodedText;
+import skillzhunter.model.formatters.Formats;
+import skillzhunter.model.formatters.JobWriters;
+
+/**
+ * Test class for DecodedText, the lazy decoding of the job excerpt and description.
+ */
+public class TestDecodedText {
+
+    private static JobRecord job(String excerpt, String description) {
+        return JobFixtures.job(1).title("R&amp;D Engineer").excerpt(excerpt).description(description).build();
+    }
+
+    /**
+     * Tests that processing a job leaves the heavy fields raw until they are read, then decodes them once.
+     */
+    @Test
+    public void testDecodedOnFirstAccess() {
+        String description = "&lt;p&gt;Build &amp; ship&lt;/p&gt; " + System.nanoTime();
+        long decodes = DecodedText.getDecodeCount();
+
+        JobRecord clean = DataFormatter.processJobHtml(job("We&#39;re hiring", description));
+        assertEquals("R&D Engineer", clean.jobTitle());
+        assertSame(description, clean.rawJobDescription());
+        assertEquals(decodes, DecodedText.getDecodeCount(), "Nothing should be decoded before access");
+
+        String decoded = clean.jobDescription();
+        assertTrue(decoded.startsWith("<p>Build & ship</p>"));
+        assertEquals(decodes + 1, DecodedText.getDecodeCount());
+        assertSame(decoded, clean.jobDescription(), "The decoded text should be memoized");
+        assertEquals(decodes + 1, DecodedText.getDecodeCount());
+        assertEquals("We're hiring", clean.jobExcerpt());
+    }
+
+    /**
+     * Tests text that needs no decoding, and that decoding is idempotent.
+     */
+    @Test
+    public void testPlainAndDecodedText() {
+        String plain = "Plain text";
+        assertSame(plain, DecodedText.of(plain));
+        assertNull(DecodedText.of(null));
+
+        String unknown = "AT&T and R&D " + System.nanoTime();
+        assertSame(unknown, DecodedText.of(unknown));
+        assertSame(unknown, DecodedText.of(unknown));
+
+        String decoded = DecodedText.of("&amp;amp; &copy; &#169;");
+        assertEquals("& © ©", decoded);
+        assertEquals(decoded, DecodedText.of(decoded));
+    }
+
+    /**
+     * Tests that a raw record equals its decoded copy.
+     */
+    @Test
+    public void testEquality() {
+        JobRecord raw = job("A &amp; B", "&lt;b&gt;Bold&lt;/b&gt;");
+        JobRecord decoded = job("A & B", "<b>Bold</b>");
+
+        assertEquals(raw, decoded);
+        assertEquals(raw.hashCode(), decoded.hashCode());
+        assertNotEquals(raw, job("A & C", "<b>Bold</b>"));
+    }
+
+    /**
+     * Tests that saving as BINARY keeps the raw text, so loaded jobs stay lazy.
+     */
+    @Test
+    public void testBinaryKeepsRawText() {
+        JobRecord raw = job("A &amp; B", "&lt;b&gt;Bold&lt;/b&gt;");
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        JobWriters.write(List.of(raw).iterator(), Formats.BINARY, out);
+
+        JobRecord read = DataFormatter.read(new ByteArrayInputStream(out.toByteArray()), Formats.BINARY).get(0);
+        assertEquals("&lt;b&gt;Bold&lt;/b&gt;", read.rawJobDescription());
+        assertEquals("<b>Bold</b>", read.jobDescription());
+        assertEquals(raw, read);
+    }
+}
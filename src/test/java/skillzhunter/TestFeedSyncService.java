@@ -0,0 +1,159 @@
+package skillzhunter;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import skillzhunter.model.FeedSyncService;
+import skillzhunter.model.JobRecord;
+import skillzhunter.model.JobSnapshot;
+import skillzhunter.model.net.JobBoardApiResult;
+import skillzhunter.model.net.JobBoardFailure;
+import skillzhunter.model.net.JobSource;
+
+/**
+ * Test class for the background FeedSyncService.
+ */
+public class TestFeedSyncService {
+    private static final List<FeedSyncService.Query> QUERIES =
+        List.of(new FeedSyncService.Query("python", 5, null, null));
+
+    // What the fake job board returns on the next poll
+    private JobBoardApiResult nextResult;
+
+    private final List<String> alerts = new ArrayList<>();
+
+    private final JobSource source = (query, numberOfResults, location, industry) -> nextResult;
+
+    @BeforeEach
+    public void setUp() {
+        alerts.clear();
+    }
+
+    private static JobRecord job(int id, String title, int rating, String comments) {
+        return JobFixtures.job(id).title(title).rating(rating).comments(comments).build();
+    }
+
+    private static JobBoardApiResult result(JobRecord... jobs) {
+        return new JobBoardApiResult(new ArrayList<>(List.of(jobs)), null);
+    }
+
+    /**
+     * Tests that the first poll reports everything and an identical poll reports nothing.
+     */
+    @Test
+    public void testOnlyNewPostingsReported() {
+        FeedSyncService sync = new FeedSyncService(source, QUERIES, null, alerts::add);
+
+        nextResult = result(job(1, "Developer", 0, ""), job(2, "Designer", 0, ""));
+        List<FeedSyncService.Delta> first = sync.syncNow();
+        assertEquals(1, first.size());
+        assertEquals(2, first.get(0).getAdded().size());
+        assertEquals(List.of("Job feed \"python\": 2 new postings."), alerts);
+
+        nextResult = result(job(1, "Developer", 0, ""), job(2, "Designer", 0, ""));
+        assertTrue(sync.syncNow().isEmpty());
+        assertEquals(1, alerts.size());
+
+        nextResult = result(job(1, "Developer", 0, ""), job(3, "Tester", 0, ""));
+        List<FeedSyncService.Delta> third = sync.syncNow();
+        assertEquals(1, third.get(0).getAdded().size());
+        assertEquals(3, third.get(0).getAdded().get(0).id());
+        assertEquals(3, sync.getKnownCount());
+    }
+
+    /**
+     * Tests that saved jobs count as known and that content changes are reported as updates.
+     */
+    @Test
+    public void testChangedPostingsKeepUserFields() {
+        JobRecord saved = job(1, "Developer", 4, "Looks good");
+        FeedSyncService sync = new FeedSyncService(source, QUERIES, () -> new JobSnapshot(1, List.of(saved)),
+                                                   alerts::add);
+
+        // the job board never has the user's rating or comments
+        nextResult = result(job(1, "Developer", 0, ""));
+        assertTrue(sync.syncNow().isEmpty());
+
+        nextResult = result(job(1, "Senior Developer", 0, ""));
+        List<FeedSyncService.Delta> deltas = sync.syncNow();
+        assertEquals(1, deltas.get(0).getChanged().size());
+        assertEquals(List.of("Job feed \"python\": 1 updated posting."), alerts);
+
+        JobRecord stored = sync.getKnownJobs().get(0);
+        assertEquals("Senior Developer", stored.jobTitle());
+        assertEquals(4, stored.rating());
+        assertEquals("Looks good", stored.comments());
+    }
+
+    /**
+     * Tests that jobs saved after the start count as known from the next poll.
+     */
+    @Test
+    public void testSavedJobsRefreshed() {
+        List<JobSnapshot> snapshots = new ArrayList<>(List.of(JobSnapshot.EMPTY));
+        FeedSyncService sync = new FeedSyncService(source, QUERIES, () -> snapshots.get(snapshots.size() - 1),
+                                                   alerts::add);
+        assertEquals(0, sync.getKnownCount());
+
+        snapshots.add(new JobSnapshot(1, List.of(job(2, "Designer", 3, "Call back"))));
+        nextResult = result(job(2, "Designer", 0, ""));
+        assertTrue(sync.syncNow().isEmpty(), "A job saved after the start should not be reported as new");
+
+        nextResult = result(job(2, "Lead Designer", 0, ""));
+        assertEquals(1, sync.syncNow().get(0).getChanged().size());
+        assertEquals(3, sync.getKnownJobs().get(0).rating());
+    }
+
+    /**
+     * Tests that only the postings seen most recently are remembered.
+     */
+    @Test
+    public void testSeenPostingsBounded() {
+        FeedSyncService sync = new FeedSyncService(source, QUERIES, null, alerts::add, 2);
+
+        nextResult = result(job(1, "Developer", 0, ""), job(2, "Designer", 0, ""), job(3, "Tester", 0, ""));
+        assertEquals(3, sync.syncNow().get(0).getAdded().size());
+        assertEquals(2, sync.getKnownCount());
+
+        nextResult = result(job(2, "Designer", 0, ""), job(3, "Tester", 0, ""));
+        assertTrue(sync.syncNow().isEmpty());
+
+        // the posting dropped to stay in bounds counts as new again
+        nextResult = result(job(1, "Developer", 0, ""));
+        assertEquals(1, sync.syncNow().get(0).getAdded().size());
+        assertEquals(2, sync.getKnownCount());
+    }
+
+    /**
+     * Tests that new postings are sanitized before they are stored.
+     */
+    @Test
+    public void testNewPostingsAreProcessed() {
+        FeedSyncService sync = new FeedSyncService(source, QUERIES, null, null);
+
+        nextResult = result(job(1, "R&amp;D Engineer", 0, ""));
+        sync.syncNow();
+
+        assertEquals("R&D Engineer", sync.getKnownJobs().get(0).jobTitle());
+        // the raw posting is what the next poll is compared against
+        nextResult = result(job(1, "R&amp;D Engineer", 0, ""));
+        assertTrue(sync.syncNow().isEmpty());
+    }
+
+    /**
+     * Tests that failed polls are silent.
+     */
+    @Test
+    public void testFailedPoll() {
+        FeedSyncService sync = new FeedSyncService(source, QUERIES, null, alerts::add);
+
+        nextResult = new JobBoardApiResult(new ArrayList<>(), "down", JobBoardFailure.SERVER_ERROR);
+
+        assertTrue(sync.syncNow().isEmpty());
+        assertTrue(alerts.isEmpty());
+    }
+}
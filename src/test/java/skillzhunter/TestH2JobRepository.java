@@ -0,0 +1,172 @@
+package skillzhunter;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import skillzhunter.model.H2JobRepository;
+import skillzhunter.model.JobQuery;
+import skillzhunter.model.JobRecord;
+import skillzhunter.model.JobSnapshot;
+import skillzhunter.model.SavedJobStore;
+
+/**
+ * Test class for H2JobRepository, the saved jobs kept in an embedded database.
+ */
+public class TestH2JobRepository {
+
+    @TempDir
+    Path tempDir;
+
+    private H2JobRepository repository;
+
+    private static JobRecord posting(int id, String title, String company, List<String> industries,
+                                     String pubDate, int salary) {
+        return JobFixtures.job(id).title(title).company(company).industries(industries)
+            .types(List.of("Full-Time", "Contract")).excerpt("A &amp; B").description("&lt;p&gt;Description&lt;/p&gt;")
+            .pubDate(pubDate).salary(50000, salary).build();
+    }
+
+    private static List<Integer> ids(List<JobRecord> jobs) {
+        return jobs.stream().map(JobRecord::id).toList();
+    }
+
+    @BeforeEach
+    public void setUp() {
+        repository = new H2JobRepository("jdbc:h2:mem:jobs" + System.nanoTime());
+    }
+
+    @AfterEach
+    public void tearDown() {
+        repository.close();
+    }
+
+    /**
+     * Tests saving, replacing in place, updating and removing jobs.
+     */
+    @Test
+    public void testPutGetUpdateRemove() {
+        assertTrue(repository.isEmpty());
+        assertNull(repository.put(posting(3, "Dev", "Acme", List.of("Tech"), "2025-03-01", 90000)));
+        repository.put(posting(1, "QA", "Acme", List.of("Tech", "Data"), "2025-01-01", 70000));
+
+        JobRecord previous = repository.put(posting(3, "Lead Dev", "Acme", List.of("Data"), "2025-03-01", 95000));
+        assertEquals("Dev", previous.jobTitle());
+        assertEquals(List.of(3, 1), ids(repository.values()), "A replaced job should keep its place");
+        assertEquals(List.of(3, 1), ids(repository.byIndustry("Data")));
+        assertTrue(repository.byIndustry("Tech").stream().noneMatch(job -> job.id() == 3));
+
+        JobRecord updated = repository.update(1, "Great fit", 5);
+        assertEquals(5, updated.rating());
+        assertEquals("Great fit", repository.get(1).comments());
+        assertNull(repository.update(9, "Missing", 1));
+
+        assertEquals(1, repository.firstByTitle("QA").id());
+        assertEquals(1, repository.remove(1).id());
+        assertNull(repository.remove(1));
+        assertFalse(repository.contains(1));
+        assertTrue(repository.byIndustry("Tech").isEmpty());
+        assertEquals(1, repository.size());
+    }
+
+    /**
+     * Tests that a job comes back with every field, and the excerpt and description still raw.
+     */
+    @Test
+    public void testRoundTrip() {
+        JobRecord job = posting(7, "Dev", "Acme", List.of("Tech", "Data"), "2025-03-01", 90000);
+        repository.put(job);
+
+        JobRecord read = repository.get(7);
+        assertEquals(job, read);
+        assertEquals(List.of("Tech", "Data"), read.jobIndustry());
+        assertEquals(List.of("Full-Time", "Contract"), read.jobType());
+        assertEquals("A &amp; B", read.rawJobExcerpt());
+        assertEquals("<p>Description</p>", read.jobDescription());
+
+        repository.put(new JobRecord(8, null, null, null, null, null, null, null, null, null, null, null,
+                                     null, 0, 0, null, 0, null));
+        assertNull(repository.get(8).jobIndustry());
+        assertNull(repository.get(8).pubDate());
+    }
+
+    /**
+     * Tests that the database returns the same pages as the in-memory store for the same queries.
+     */
+    @Test
+    public void testFindMatchesStore() {
+        SavedJobStore store = new SavedJobStore();
+        List<JobRecord> jobs = List.of(
+            posting(1, "Dev", "Acme", List.of("Tech"), "2025-03-01", 90000),
+            posting(2, "QA", "Globex", List.of("Finance", "Tech"), "2025-01-15", 120000),
+            posting(3, "Ops", "Acme", List.of("Finance"), null, 60000),
+            posting(4, "Dev", "Initech", List.of("Tech"), "2025-03-01", 120000),
+            posting(5, null, "Globex", List.of(), "2024-12-31", 0));
+        store.replaceAll(jobs);
+        repository.replaceAll(jobs);
+
+        List<JobQuery> queries = List.of(
+            JobQuery.ALL,
+            JobQuery.builder().companyName("Acme").build(),
+            JobQuery.builder().industry("Tech").build(),
+            JobQuery.builder().industry("Tech").minSalary(100000).build(),
+            JobQuery.builder().publishedSince("2025-02-01").build(),
+            JobQuery.builder().sort(JobQuery.Sort.PUB_DATE, false).build(),
+            JobQuery.builder().sort(JobQuery.Sort.PUB_DATE, true).build(),
+            JobQuery.builder().sort(JobQuery.Sort.SAVED, true).build(),
+            JobQuery.builder().sort(JobQuery.Sort.TITLE, false).build(),
+            JobQuery.builder().sort(JobQuery.Sort.COMPANY, true).page(1, 3).build(),
+            JobQuery.builder().sort(JobQuery.Sort.SALARY, true).page(2, 2).build(),
+            JobQuery.builder().industry("Finance").sort(JobQuery.Sort.SALARY, false).page(0, 1).build(),
+            JobQuery.builder().page(9, 2).build());
+        for (JobQuery query : queries) {
+            assertEquals(ids(store.find(query)), ids(repository.find(query)));
+            assertEquals(store.count(query), repository.count(query));
+        }
+    }
+
+    /**
+     * Tests that reads share a snapshot until the next change.
+     */
+    @Test
+    public void testSnapshots() {
+        JobSnapshot empty = repository.snapshot();
+        assertTrue(empty.jobs().isEmpty());
+
+        repository.put(posting(1, "Dev", "Acme", List.of("Tech"), "2025-03-01", 90000));
+        JobSnapshot first = repository.snapshot();
+        assertTrue(first.version() > empty.version());
+        assertSame(first, repository.snapshot(), "Reads without a change should share the snapshot");
+
+        repository.remove(9);
+        assertSame(first, repository.snapshot(), "Removing a missing job is not a change");
+        repository.clear();
+        assertTrue(repository.snapshot().jobs().isEmpty());
+    }
+
+    /**
+     * Tests that the jobs and their order are kept in the database file.
+     */
+    @Test
+    public void testReopenFile() {
+        Path file = tempDir.resolve("SavedJobs");
+        try (H2JobRepository saved = H2JobRepository.open(file)) {
+            saved.put(posting(2, "Dev", "Acme", List.of("Tech"), "2025-03-01", 90000));
+            saved.put(posting(1, "QA", "Globex", List.of("Data"), "2025-01-01", 70000));
+            saved.update(2, "Apply", 4);
+        }
+
+        try (H2JobRepository reopened = H2JobRepository.open(file)) {
+            assertEquals(List.of(2, 1), ids(reopened.values()));
+            assertEquals("Apply", reopened.get(2).comments());
+            reopened.put(posting(3, "Ops", "Acme", List.of("Tech"), "2025-02-01", 80000));
+            assertEquals(List.of(2, 1, 3), ids(reopened.values()), "New jobs should go after the kept ones");
+            assertEquals(List.of(2, 3), ids(reopened.byCompany("Acme")));
+        }
+    }
+}
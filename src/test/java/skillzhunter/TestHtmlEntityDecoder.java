@@ -0,0 +1,87 @@
+package skillzhunter;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import skillzhunter.model.formatters.HtmlEntityDecoder;
+
+/**
+ * Test class for the HtmlEntityDecoder.
+ */
+public class TestHtmlEntityDecoder {
+
+    /**
+     * Tests that text without references is returned as the same instance.
+     */
+    @Test
+    public void testNothingToDecode() {
+        String text = "Senior Engineer, no entities here";
+        assertSame(text, HtmlEntityDecoder.decode(text));
+        assertNull(HtmlEntityDecoder.decode(null));
+        assertEquals("", HtmlEntityDecoder.decode(""));
+    }
+
+    /**
+     * Tests names from the full HTML5 table, including ones that need two chars.
+     */
+    @Test
+    public void testNamedReferences() {
+        assertEquals("<b> & \"x\" é", HtmlEntityDecoder.decode("&lt;b&gt; &amp; &quot;x&quot; &eacute;"));
+        assertEquals("α≤β", HtmlEntityDecoder.decode("&alpha;&le;&beta;"));
+        assertEquals("∳", HtmlEntityDecoder.decode("&CounterClockwiseContourIntegral;"));
+        assertEquals("𝔄", HtmlEntityDecoder.decode("&Afr;"));
+        assertEquals("≂̸", HtmlEntityDecoder.decode("&NotEqualTilde;"));
+        // these keep their historic plain text replacements
+        assertEquals(" 'a' \"b\"", HtmlEntityDecoder.decode("&nbsp;&lsquo;a&rsquo; &ldquo;b&rdquo;"));
+    }
+
+    /**
+     * Tests decimal and hexadecimal references.
+     */
+    @Test
+    public void testNumericReferences() {
+        assertEquals("© 2025", HtmlEntityDecoder.decode("&#169; 2025"));
+        assertEquals("We're", HtmlEntityDecoder.decode("We&#39;re"));
+        assertEquals("😀", HtmlEntityDecoder.decode("&#x1F600;"));
+        assertEquals("😀", HtmlEntityDecoder.decode("&#128512;"));
+        assertEquals("A", HtmlEntityDecoder.decode("&#X41;"));
+        assertEquals("A", HtmlEntityDecoder.decode("&#00000000065;"));
+    }
+
+    /**
+     * Tests that anything that is not a complete, known reference is kept.
+     */
+    @Test
+    public void testInvalidReferencesKept() {
+        assertEquals("R&D", HtmlEntityDecoder.decode("R&D"));
+        assertEquals("a & b", HtmlEntityDecoder.decode("a & b"));
+        assertEquals("&amp", HtmlEntityDecoder.decode("&amp"));
+        assertEquals("&nosuchentity;", HtmlEntityDecoder.decode("&nosuchentity;"));
+        assertEquals("&#;&#x;&#xZZ;", HtmlEntityDecoder.decode("&#;&#x;&#xZZ;"));
+        assertEquals("&#0;&#xD800;&#4294967361;", HtmlEntityDecoder.decode("&#0;&#xD800;&#4294967361;"));
+        assertEquals("trailing &", HtmlEntityDecoder.decode("trailing &"));
+        assertEquals("&&lt", HtmlEntityDecoder.decode("&&lt"));
+        assertEquals("&<", HtmlEntityDecoder.decode("&&lt;"));
+    }
+
+    /**
+     * Tests that references produced by decoding an ampersand are decoded too.
+     */
+    @Test
+    public void testDoubleEncoded() {
+        assertEquals("This & that", HtmlEntityDecoder.decode("This &amp;amp; that"));
+        assertEquals("<p>", HtmlEntityDecoder.decode("&amp;lt;p&amp;amp;gt;"));
+        assertEquals("©", HtmlEntityDecoder.decode("&amp;#169;"));
+        assertEquals("&x", HtmlEntityDecoder.decode("&amp;amp;x"));
+    }
+
+    /**
+     * Tests decoding part of a text into a builder.
+     */
+    @Test
+    public void testDecodeRange() {
+        StringBuilder out = new StringBuilder("> ");
+        HtmlEntityDecoder.decode("xx&lt;yy&gt;", 2, 8, out);
+        assertEquals("> <yy", out.toString());
+    }
+}
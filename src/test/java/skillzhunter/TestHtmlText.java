@@ -0,0 +1,82 @@
+package skillzhunter;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.io.StringWriter;
+
+import skillzhunter.model.formatters.DataFormatter;
+import skillzhunter.model.formatters.HtmlText;
+
+/**
+ * Test class for the streaming HtmlText converter.
+ */
+public class TestHtmlText {
+
+    /**
+     * Tests that block level tags separate words and inline tags do not.
+     */
+    @Test
+    public void testBlockAndInlineTags() {
+        assertEquals("One Two Three", HtmlText.toText("<ul><li>One</li><li>Two</li></ul><P>Three</P>"));
+        assertEquals("line one line two", HtmlText.toText("line one<br/>line two"));
+        assertEquals("bold, italic.", HtmlText.toText("<b>bold</b>, <i>italic</i>."));
+        assertEquals("normalized.", HtmlText.toText("<span>normalized</span>."));
+        assertEquals("a b", HtmlText.toText("<div class=\"x\">a</div><div>b</div>"));
+    }
+
+    /**
+     * Tests whitespace collapsing and trimming.
+     */
+    @Test
+    public void testWhitespace() {
+        assertEquals("a b c", HtmlText.toText("  \n a \t\r\n b   <p> </p>  c  "));
+        assertEquals("", HtmlText.toText(" <p> </p> "));
+        assertEquals("", HtmlText.toText(null));
+    }
+
+    /**
+     * Tests that angle brackets that do not form a tag are kept.
+     */
+    @Test
+    public void testLoneBrackets() {
+        assertEquals("1 < 2", HtmlText.toText("1 < 2"));
+        assertEquals("a < b < c", HtmlText.toText("a < b < c"));
+        assertEquals("x > y", HtmlText.toText("x > y"));
+    }
+
+    /**
+     * Tests writing to an appendable.
+     */
+    @Test
+    public void testAppendText() throws IOException {
+        StringWriter out = new StringWriter();
+        out.write("> ");
+        HtmlText.appendText("<p>Hello <em>there</em></p>", out);
+        assertEquals("> Hello there", out.toString());
+    }
+
+    /**
+     * Tests the first sentence matches stripping then extracting.
+     */
+    @Test
+    public void testFirstSentence() {
+        String[] inputs = {
+            "<p>This is the first sentence.</p><p>This is the second.</p>",
+            "<div>Wow! <b>Second</b> sentence.</div>",
+            "<p>Is this   working? I hope so.</p>",
+            "<p>No sentence end here</p>",
+            "<p>This is a very long text without any proper sentence terminator and it should be truncated "
+                + "after one hundred characters with ellipsis</p>",
+            "<p>" + "word ".repeat(30) + "and finally an end. More</p>",
+            "",
+        };
+        for (String html : inputs) {
+            assertEquals(DataFormatter.extractFirstSentence(DataFormatter.stripHTML(html)),
+                         HtmlText.firstSentence(html), html);
+        }
+        assertEquals("Wow!", HtmlText.firstSentence("<div>Wow! <b>Second</b> sentence.</div>"));
+        assertEquals("", HtmlText.firstSentence(null));
+    }
+}
@@ -0,0 +1,233 @@
+package skillzhunter;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import skillzhunter.model.JobRecord;
+import skillzhunter.model.SavedJobStore;
+import skillzhunter.model.formatters.JobJournal;
+
+/**
+ * Test class for JobJournal, the append-only journal of saved job changes.
+ */
+public class TestJobJournal {
+
+    @TempDir
+    Path tempDir;
+
+    private static JobRecord job(int id, String title) {
+        return JobFixtures.job(id).title(title).excerpt("A &amp; B").build();
+    }
+
+    /**
+     * Replays a journal into a store.
+     */
+    private static JobJournal.Replay into(SavedJobStore store) {
+        return new JobJournal.Replay() {
+            @Override
+            public void added(JobRecord job) {
+                store.put(job);
+            }
+
+            @Override
+            public void removed(int id) {
+                store.remove(id);
+            }
+
+            @Override
+            public void updated(int id, String comments, int rating) {
+                store.update(id, job -> new JobRecord(job.id(), job.url(), job.jobSlug(), job.jobTitle(),
+                    job.companyName(), job.companyLogo(), job.jobIndustry(), job.jobType(), job.jobGeo(),
+                    job.jobLevel(), job.rawJobExcerpt(), job.rawJobDescription(), job.pubDate(),
+                    job.annualSalaryMin(), job.annualSalaryMax(), job.salaryCurrency(), rating, comments));
+            }
+        };
+    }
+
+    private List<Path> segments() throws IOException {
+        try (Stream<Path> files = Files.list(tempDir)) {
+            return files.filter(p -> p.getFileName().toString().startsWith("SavedJobs.journal.")).sorted().toList();
+        }
+    }
+
+    /**
+     * Tests that the changes come back in order after reopening the journal.
+     */
+    @Test
+    public void testReplay() throws IOException {
+        Path base = tempDir.resolve("SavedJobs.journal");
+        try (JobJournal journal = JobJournal.open(base, Long.MAX_VALUE, into(new SavedJobStore()), () -> { })) {
+            journal.appendAdd(job(1, "Dev"));
+            journal.appendAdd(job(2, "Ops"));
+            journal.appendUpdate(1, "Great fit ✓", 5);
+            journal.appendRemove(2);
+            journal.appendAdd(job(3, "QA"));
+            journal.appendUpdate(3, null, 2);
+            assertTrue(journal.size() > 0);
+        }
+
+        SavedJobStore store = new SavedJobStore();
+        try (JobJournal journal = JobJournal.open(base, Long.MAX_VALUE, into(store), () -> { })) {
+            assertEquals(List.of(1, 3), store.values().stream().map(JobRecord::id).toList());
+            assertEquals(5, store.get(1).rating());
+            assertEquals("Great fit ✓", store.get(1).comments());
+            assertEquals("A &amp; B", store.get(1).rawJobExcerpt());
+            assertNull(store.get(3).comments());
+            assertEquals(2, store.get(3).rating());
+            assertEquals(0, journal.size());
+        }
+    }
+
+    /**
+     * Tests that an entry cut short by a crash is ignored and the earlier ones are kept.
+     */
+    @Test
+    public void testTornEntryIgnored() throws IOException {
+        Path base = tempDir.resolve("SavedJobs.journal");
+        try (JobJournal journal = JobJournal.open(base, Long.MAX_VALUE, into(new SavedJobStore()), () -> { })) {
+            journal.appendAdd(job(1, "Dev"));
+            journal.appendAdd(job(2, "Ops"));
+        }
+        Path segment = segments().get(0);
+        byte[] bytes = Files.readAllBytes(segment);
+        Files.write(segment, Arrays.copyOf(bytes, bytes.length - 3), StandardOpenOption.TRUNCATE_EXISTING);
+
+        SavedJobStore store = new SavedJobStore();
+        JobJournal.open(base, Long.MAX_VALUE, into(store), () -> { }).close();
+        assertEquals(List.of(1), store.values().stream().map(JobRecord::id).toList());
+    }
+
+    /**
+     * Tests that compacting writes the snapshot and then deletes the segments it covers.
+     */
+    @Test
+    public void testCompact() throws IOException {
+        Path base = tempDir.resolve("SavedJobs.journal");
+        AtomicInteger checkpoints = new AtomicInteger();
+        try (JobJournal journal = JobJournal.open(base, Long.MAX_VALUE, into(new SavedJobStore()),
+                                                  checkpoints::incrementAndGet)) {
+            journal.appendAdd(job(1, "Dev"));
+            journal.compact();
+            assertEquals(1, checkpoints.get());
+            assertEquals(1, segments().size(), "Only the new segment should be left");
+            assertEquals(0, journal.size());
+
+            journal.appendAdd(job(2, "Ops"));
+        }
+
+        // only the change after the snapshot is replayed
+        SavedJobStore store = new SavedJobStore();
+        JobJournal.open(base, Long.MAX_VALUE, into(store), () -> { }).close();
+        assertEquals(List.of(2), store.values().stream().map(JobRecord::id).toList());
+    }
+
+    /**
+     * Tests that the segments are kept when the snapshot cannot be written.
+     */
+    @Test
+    public void testFailedCheckpointKeepsSegments() throws IOException {
+        Path base = tempDir.resolve("SavedJobs.journal");
+        try (JobJournal journal = JobJournal.open(base, Long.MAX_VALUE, into(new SavedJobStore()), () -> {
+            throw new IOException("Disk full");
+        })) {
+            journal.appendAdd(job(1, "Dev"));
+            assertThrows(IOException.class, journal::compact);
+            journal.appendAdd(job(2, "Ops"));
+        }
+        assertEquals(2, segments().size());
+
+        SavedJobStore store = new SavedJobStore();
+        JobJournal.open(base, Long.MAX_VALUE, into(store), () -> { }).close();
+        assertEquals(List.of(1, 2), store.values().stream().map(JobRecord::id).toList());
+    }
+
+    /**
+     * Tests that closing waits for a background compaction and drops one that has not started.
+     */
+    @Test
+    public void testCloseWaitsForCompaction() throws Exception {
+        Path base = tempDir.resolve("SavedJobs.journal");
+        try (JobJournal journal = JobJournal.open(base, Long.MAX_VALUE, into(new SavedJobStore()), () -> { })) {
+            journal.appendAdd(job(1, "Dev"));
+        }
+
+        // reopening replays the entry and queues a compaction, which is held up in its snapshot
+        CountDownLatch saving = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger checkpoints = new AtomicInteger();
+        JobJournal journal = JobJournal.open(base, Long.MAX_VALUE, into(new SavedJobStore()), () -> {
+            saving.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                throw new IOException(e);
+            }
+            checkpoints.incrementAndGet();
+        });
+        assertTrue(saving.await(5, TimeUnit.SECONDS), "Reopening should compact in the background");
+
+        CompletableFuture<Void> closing = CompletableFuture.runAsync(() -> {
+            try {
+                journal.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        Thread.sleep(100);
+        assertFalse(closing.isDone(), "Closing should wait for the running compaction");
+        release.countDown();
+        closing.get(5, TimeUnit.SECONDS);
+        assertEquals(1, checkpoints.get());
+        assertEquals(1, segments().size(), "The compaction should be done when close returns");
+
+        // a compaction queued by opening either finishes before the close returns or never runs
+        try (JobJournal writer = JobJournal.open(base, Long.MAX_VALUE, into(new SavedJobStore()), () -> { })) {
+            writer.appendAdd(job(2, "Ops"));
+        }
+        AtomicInteger late = new AtomicInteger();
+        JobJournal.open(base, Long.MAX_VALUE, into(new SavedJobStore()), late::incrementAndGet).close();
+        int compacted = late.get();
+        List<Path> closedSegments = segments();
+        Thread.sleep(100);
+        assertEquals(compacted, late.get(), "No snapshot should be written after the close");
+        assertEquals(closedSegments, segments(), "No segment should change after the close");
+
+        journal.compact();
+        assertEquals(1, checkpoints.get(), "A closed journal should not compact");
+    }
+
+    /**
+     * Tests that passing the size threshold compacts the journal in the background.
+     */
+    @Test
+    public void testCompactsPastThreshold() throws Exception {
+        Path base = tempDir.resolve("SavedJobs.journal");
+        CountDownLatch compacted = new CountDownLatch(1);
+        List<String> threads = new ArrayList<>();
+        try (JobJournal journal = JobJournal.open(base, 256, into(new SavedJobStore()), () -> {
+            threads.add(Thread.currentThread().getName());
+            compacted.countDown();
+        })) {
+            for (int i = 0; i < 10; i++) {
+                journal.appendAdd(job(i, "Job " + i));
+            }
+            assertTrue(compacted.await(5, TimeUnit.SECONDS), "The journal should compact in the background");
+            assertEquals("job-journal-compactor", threads.get(0));
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package skillzhunter;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import skillzhunter.model.JobRecord;
+import skillzhunter.model.formatters.DataFormatter;
+import skillzhunter.model.formatters.Formats;
+import skillzhunter.model.formatters.JobReaders;
+import skillzhunter.model.formatters.JobWriters;
+
+/**
+ * Test class for the streaming JobReaders.
+ */
+public class TestJobReaders {
+
+    /**
+     * Creates a job.
+     *
+     * @param id the id
+     * @return the job
+     */
+    private static JobRecord job(int id) {
+        return JobFixtures.job(id).url("https://example.com/" + id).slug("slug-" + id).title("Title " + id)
+            .company("Company " + id).logo("logo.png").industries(List.of("Dev", "Ops")).types(List.of("full-time"))
+            .excerpt("Excerpt").description("Description " + id).salary(1000, 2000).rating(3).comments("note").build();
+    }
+
+    /**
+     * Writes jobs in a format.
+     *
+     * @param count number of jobs
+     * @param format the format
+     * @return the written bytes
+     */
+    private static byte[] export(int count, Formats format) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        JobWriters.write(Stream.iterate(0, i -> i + 1).limit(count).map(TestJobReaders::job), format, out);
+        return out.toByteArray();
+    }
+
+    /**
+     * Input stream that counts the bytes read from it and whether it was closed.
+     */
+    private static final class CountingInputStream extends FilterInputStream {
+        /** bytes read so far. */
+        private long read;
+
+        /** set once closed. */
+        private boolean closed;
+
+        /**
+         * Wraps bytes.
+         *
+         * @param bytes the content
+         */
+        CountingInputStream(byte[] bytes) {
+            super(new ByteArrayInputStream(bytes));
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                read++;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = super.read(b, off, len);
+            if (n > 0) {
+                read += n;
+            }
+            return n;
+        }
+
+        @Override
+        public void close() throws IOException {
+            closed = true;
+            super.close();
+        }
+    }
+
+    /**
+     * Tests that JSON is read lazily, one record at a time, and closing the iterator closes the input.
+     */
+    @Test
+    public void testJsonIsStreamed() throws IOException {
+        byte[] json = export(5000, Formats.JSON);
+        CountingInputStream in = new CountingInputStream(json);
+        try (JobReaders.RecordIterator records = JobReaders.iterator(in, Formats.JSON)) {
+            assertEquals(job(0), records.next());
+            assertEquals(job(1), records.next());
+            assertTrue(in.read < json.length / 10, "only the start of the input should be read");
+        }
+        assertTrue(in.closed);
+    }
+
+    /**
+     * Tests reading back a JSON export as a stream.
+     */
+    @Test
+    public void testJsonRoundTrip() {
+        try (Stream<JobRecord> records = JobReaders.stream(new ByteArrayInputStream(export(300, Formats.JSON)),
+                Formats.JSON)) {
+            List<JobRecord> jobs = records.collect(Collectors.toList());
+            assertEquals(300, jobs.size());
+            assertEquals(job(299), jobs.get(299));
+        }
+    }
+
+    /**
+     * Tests reading back an XML export, and skipping elements that are not jobs.
+     */
+    @Test
+    public void testXmlRoundTrip() {
+        List<JobRecord> jobs = DataFormatter.read(new ByteArrayInputStream(export(50, Formats.XML)), Formats.XML);
+        assertEquals(50, jobs.size());
+        assertEquals(job(49), jobs.get(49));
+
+        String xml = "<domainList><note>skip me</note><job><id>7</id><jobTitle>Seven</jobTitle></job></domainList>";
+        List<JobRecord> one = DataFormatter.read(
+            new ByteArrayInputStream(xml.getBytes(StandardCharsets.UTF_8)), Formats.XML);
+        assertEquals(1, one.size());
+        assertEquals(7, one.get(0).id());
+        assertEquals("Seven", one.get(0).jobTitle());
+
+        assertTrue(DataFormatter.read(new ByteArrayInputStream("<domainList/>".getBytes(StandardCharsets.UTF_8)),
+            Formats.XML).isEmpty());
+    }
+
+    /**
+     * Tests reading back a CSV export.
+     */
+    @Test
+    public void testCsvRoundTrip() {
+        List<JobRecord> jobs = DataFormatter.read(new ByteArrayInputStream(export(20, Formats.CSV)), Formats.CSV);
+        assertEquals(20, jobs.size());
+        assertEquals("Title 19", jobs.get(19).jobTitle());
+    }
+
+    /**
+     * Tests that the pretty format cannot be read.
+     */
+    @Test
+    public void testPrettyNotSupported() {
+        InputStream in = new ByteArrayInputStream(new byte[0]);
+        assertThrows(UnsupportedOperationException.class, () -> JobReaders.iterator(in, Formats.PRETTY));
+    }
+}
@@ -0,0 +1,91 @@
+package skillzhunter;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.exc.MismatchedInputException;
+import com.fasterxml.jackson.databind.exc.UnrecognizedPropertyException;
+
+import skillzhunter.model.JobRecord;
+import skillzhunter.model.formatters.DataFormatter;
+import skillzhunter.model.formatters.JobRecordModule;
+
+/**
+ * Test class for the JobRecordModule sanitizing deserializer.
+ */
+public class TestJobRecordModule {
+    private static final String JOB = "{\"id\":7,\"url\":\"https://x.com/?a=1&amp;b=2\","
+        + "\"jobSlug\":\"r-and-d\",\"jobTitle\":\"R&amp;D Engineer\",\"companyName\":\"Smith &amp; Sons\","
+        + "\"companyLogo\":\"https://x.com/logo.png?s=1&amp;t=2\","
+        + "\"jobIndustry\":[\"Dev &amp; Ops\",\"Data\"],\"jobType\":[\"full&amp;time\"],"
+        + "\"jobGeo\":\"USA &amp; Canada\",\"jobLevel\":\"Senior\","
+        + "\"jobExcerpt\":\"We&#39;re hiring &mdash; apply\",\"jobDescription\":\"&lt;p&gt;Hi &amp;amp; welcome&lt;/p&gt;\","
+        + "\"pubDate\":\"2025-01-01 &amp; later\",\"annualSalaryMin\":\"50000\",\"annualSalaryMax\":90000,"
+        + "\"salaryCurrency\":\"USD\",\"rating\":null,\"comments\":\"A &amp; B\"}";
+
+    private final ObjectMapper plain = new ObjectMapper();
+
+    private final ObjectMapper cleaning = new ObjectMapper().registerModule(new JobRecordModule());
+
+    /**
+     * Tests that reading through the module matches reading plainly and then processing.
+     */
+    @Test
+    public void testMatchesProcessJobHtml() throws Exception {
+        JobRecord expected = DataFormatter.processJobHtml(plain.readValue(JOB, JobRecord.class));
+
+        JobRecord actual = cleaning.readValue(JOB, JobRecord.class);
+
+        assertEquals(expected, actual);
+        assertEquals("R&D Engineer", actual.jobTitle());
+        assertEquals(List.of("Dev & Ops", "Data"), actual.jobIndustry());
+        assertEquals("<p>Hi & welcome</p>", actual.jobDescription());
+        // fields that processJobHtml leaves alone are left alone here too
+        assertEquals("https://x.com/?a=1&amp;b=2", actual.url());
+        assertEquals(List.of("full&amp;time"), actual.jobType());
+        assertEquals(50000, actual.annualSalaryMin());
+        assertEquals(0, actual.rating());
+    }
+
+    /**
+     * Tests missing and null fields.
+     */
+    @Test
+    public void testMissingAndNullFields() throws Exception {
+        JobRecord job = cleaning.readValue("{\"id\":3,\"jobTitle\":null,\"jobIndustry\":null}", JobRecord.class);
+
+        assertEquals(new JobRecord(3, null, null, null, null, null, null, null, null, null,
+                                   null, null, null, 0, 0, null, 0, null), job);
+    }
+
+    /**
+     * Tests that unknown fields and wrong shapes are reported like the default deserializer does.
+     */
+    @Test
+    public void testUnknownAndMismatchedFields() throws Exception {
+        assertThrows(UnrecognizedPropertyException.class,
+            () -> cleaning.readValue("{\"id\":1,\"tags\":[1]}", JobRecord.class));
+        assertThrows(MismatchedInputException.class,
+            () -> cleaning.readValue("{\"id\":1,\"jobIndustry\":\"Tech\"}", JobRecord.class));
+
+        ObjectMapper lenient = new ObjectMapper().registerModule(new JobRecordModule())
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        JobRecord job = lenient.readValue("{\"id\":1,\"tags\":{\"a\":[1]},\"jobTitle\":\"Dev\"}", JobRecord.class);
+        assertEquals("Dev", job.jobTitle());
+    }
+
+    /**
+     * Tests reading a list of jobs, as the saved job files are read.
+     */
+    @Test
+    public void testReadList() throws Exception {
+        List<JobRecord> jobs = List.of(cleaning.readValue("[" + JOB + "," + JOB + "]", JobRecord[].class));
+
+        assertEquals(2, jobs.size());
+        assertEquals("Smith & Sons", jobs.get(1).companyName());
+    }
+}
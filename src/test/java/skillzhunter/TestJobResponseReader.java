@@ -0,0 +1,90 @@
+package skillzhunter;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import skillzhunter.model.JobRecord;
+import skillzhunter.model.net.JobResponseReader;
+
+/**
+ * Test class for the streaming JobResponseReader.
+ */
+public class TestJobResponseReader {
+    private static final String RESPONSE = "{\"apiVersion\":\"2\","
+        + "\"friendlyNotice\":{\"text\":\"notice\",\"links\":[1,2]},"
+        + "\"jobCount\":2,"
+        + "\"jobs\":[{\"id\":1,\"jobTitle\":\"Developer\",\"companyName\":\"Acme\"},"
+        + "{\"id\":2,\"jobTitle\":\"Designer\",\"companyName\":\"Globex\"}],"
+        + "\"lastUpdate\":\"2025-01-01\"}";
+
+    /**
+     * Tests that jobs are handed over in order and header fields are skipped.
+     */
+    @Test
+    public void testReadJobsFromString() throws IOException {
+        List<JobRecord> jobs = new ArrayList<>();
+
+        int count = JobResponseReader.readJobs(RESPONSE, jobs::add);
+
+        assertEquals(2, count);
+        assertEquals(2, jobs.size());
+        assertEquals(1, jobs.get(0).id());
+        assertEquals("Developer", jobs.get(0).jobTitle());
+        assertEquals("Globex", jobs.get(1).companyName());
+    }
+
+    /**
+     * Tests that the stream overload reads the same jobs.
+     */
+    @Test
+    public void testReadJobsFromStream() throws IOException {
+        List<JobRecord> jobs = new ArrayList<>();
+
+        int count = JobResponseReader.readJobs(
+            new ByteArrayInputStream(RESPONSE.getBytes(StandardCharsets.UTF_8)), jobs::add);
+
+        assertEquals(2, count);
+        assertEquals("Designer", jobs.get(1).jobTitle());
+    }
+
+    /**
+     * Tests that jobs come out of the reader already cleaned of HTML entities.
+     */
+    @Test
+    public void testJobsAreCleaned() throws IOException {
+        List<JobRecord> jobs = new ArrayList<>();
+
+        JobResponseReader.readJobs("{\"jobs\":[{\"id\":1,\"jobTitle\":\"R&amp;D\",\"jobSlug\":\"r&amp;d\"}]}",
+                                   jobs::add);
+
+        assertEquals("R&D", jobs.get(0).jobTitle());
+        assertEquals("r&amp;d", jobs.get(0).jobSlug());
+    }
+
+    /**
+     * Tests responses without any jobs.
+     */
+    @Test
+    public void testMissingOrNullJobs() throws IOException {
+        List<JobRecord> jobs = new ArrayList<>();
+
+        assertEquals(0, JobResponseReader.readJobs("{\"jobCount\":0}", jobs::add));
+        assertEquals(0, JobResponseReader.readJobs("{\"jobs\":null}", jobs::add));
+        assertEquals(0, JobResponseReader.readJobs("{\"jobs\":[]}", jobs::add));
+        assertTrue(jobs.isEmpty());
+    }
+
+    /**
+     * Tests that a body that is not a response object is rejected.
+     */
+    @Test
+    public void testInvalidResponse() {
+        assertThrows(IOException.class, () -> JobResponseReader.readJobs("[1,2]", job -> { }));
+    }
+}
@@ -0,0 +1,195 @@
+package skillzhunter;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+import skillzhunter.model.JobRecord;
+import skillzhunter.model.Jobs;
+import skillzhunter.model.net.JobBoardApiResult;
+import skillzhunter.model.net.JobSource;
+import skillzhunter.model.net.ParallelSearch;
+import skillzhunter.model.net.RecordingJobSource;
+import skillzhunter.model.net.ReplayJobSource;
+
+/**
+ * Test class for the recording and replaying job sources.
+ */
+public class TestJobSource {
+    @TempDir
+    Path recordings;
+
+    // Stand in for the live job board that counts its calls
+    private final List<String> searches = Collections.synchronizedList(new ArrayList<>());
+
+    private final JobSource live = (query, numberOfResults, location, industry) -> {
+        searches.add(query);
+        List<JobRecord> jobs = new ArrayList<>();
+        jobs.add(job(1, "Python &amp; Django Developer"));
+        jobs.add(job(2, "Data Engineer"));
+        return new JobBoardApiResult(jobs, null);
+    };
+
+    private static JobRecord job(int id, String title) {
+        return JobFixtures.job(id, title);
+    }
+
+    /**
+     * Tests that a recorded search is served back by the replay source.
+     */
+    @Test
+    public void testRecordAndReplay() throws Exception {
+        JobSource recorder = new RecordingJobSource(live, recordings);
+        recorder.search("python", 5, "USA", "Technology");
+
+        try (var files = Files.list(recordings)) {
+            assertEquals(1, files.count());
+        }
+
+        JobBoardApiResult replayed = new ReplayJobSource(recordings).search("python", 5, "USA", "Technology");
+        assertEquals(2, replayed.getJobs().size());
+        assertEquals(1, replayed.getJobs().get(0).id());
+        // replayed jobs go through the same sanitizing as live ones
+        assertEquals("Python & Django Developer", replayed.getJobs().get(0).jobTitle());
+        assertFalse(replayed.hasError());
+        assertEquals(1, searches.size());
+    }
+
+    /**
+     * Tests that async searches are recorded and replayed too.
+     */
+    @Test
+    public void testRecordAndReplayAsync() {
+        new RecordingJobSource(live, recordings).searchAsync("java", 10, null, null).join();
+
+        CompletableFuture<JobBoardApiResult> replayed =
+            new ReplayJobSource(recordings, 20).searchAsync("java", 10, null, null);
+        assertEquals(2, replayed.join().getJobs().size());
+    }
+
+    /**
+     * Tests that searches whose names only differ in punctuation get their own recordings.
+     */
+    @Test
+    public void testSimilarSearchesRecordedApart() throws Exception {
+        JobSource recorder = new RecordingJobSource(live, recordings);
+        recorder.search("c++", 5, null, null);
+
+        assertTrue(new ReplayJobSource(recordings).search("c", 5, null, null).hasError());
+        recorder.search("c#", 5, null, null);
+        recorder.search("c", 5, null, null);
+        try (var files = Files.list(recordings)) {
+            assertEquals(3, files.count());
+        }
+        assertFalse(new ReplayJobSource(recordings).search(" C++ ", 5, null, null).hasError(),
+                    "Case and surrounding spaces should not matter");
+    }
+
+    /**
+     * Tests that every search of a multi search is recorded and can be replayed.
+     */
+    @Test
+    public void testMultiSearchRecordAndReplay() {
+        new RecordingJobSource(live, recordings).searchMulti(List.of("python", "java"), 5, null, null);
+        assertEquals(Set.of("python", "java"), Set.copyOf(searches));
+
+        ReplayJobSource replay = new ReplayJobSource(recordings);
+        JobBoardApiResult replayed = replay.searchMultiAsync(List.of("python", "java"), 5, null, null).join();
+        assertEquals(2, replayed.getJobs().size(), "Jobs found by both searches should be listed once");
+        assertFalse(replayed.hasError());
+
+        JobBoardApiResult partial = replay.searchMulti(List.of("python", "rust"), 5, null, null);
+        assertEquals(2, partial.getJobs().size());
+        assertTrue(partial.hasError(), "The search that was never recorded should be reported");
+        assertEquals(2, searches.size());
+    }
+
+    /**
+     * Tests that a multi search through any source keeps a few searches in flight and sends
+     * identical combinations once.
+     */
+    @Test
+    public void testMultiSearchBounded() {
+        List<CompletableFuture<JobBoardApiResult>> started = new ArrayList<>();
+        JobSource pending = new JobSource() {
+            @Override
+            public JobBoardApiResult search(String query, Integer numberOfResults, String location,
+                                            String industry) {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public CompletableFuture<JobBoardApiResult> searchAsync(String query, Integer numberOfResults,
+                                                                    String location, String industry) {
+                searches.add(query + "/" + location);
+                CompletableFuture<JobBoardApiResult> search = new CompletableFuture<>();
+                started.add(search);
+                return search;
+            }
+        };
+
+        CompletableFuture<JobBoardApiResult> result = pending.searchMultiAsync(
+            List.of("a", "b", "c"), 5, List.of("USA", "Canada"), null);
+        assertEquals(ParallelSearch.DEFAULT_MAX_PARALLEL, started.size());
+        for (int i = 0; i < ParallelSearch.DEFAULT_MAX_PARALLEL; i++) {
+            // each finished search starts a waiting one
+            started.get(i).complete(new JobBoardApiResult(List.of(job(i, "Job " + i)), null));
+        }
+        assertEquals(6, started.size());
+        started.get(4).complete(new JobBoardApiResult(List.of(), null));
+        started.get(5).complete(new JobBoardApiResult(List.of(), null));
+        assertEquals(4, result.join().getJobs().size());
+
+        searches.clear();
+        pending.searchMultiAsync(List.of("a", "a"), 5, List.of("USA", "USA"), null).cancel(true);
+        assertEquals(List.of("a/USA"), searches, "Identical combinations should be sent once");
+        assertTrue(started.get(6).isCancelled());
+    }
+
+    /**
+     * Tests the answer for a search that was never recorded.
+     */
+    @Test
+    public void testReplayMissingRecording() {
+        JobBoardApiResult result = new ReplayJobSource(recordings).search("rust", 5, null, null);
+
+        assertTrue(result.getJobs().isEmpty());
+        assertTrue(result.hasError());
+    }
+
+    /**
+     * Tests that the replay latency is applied.
+     */
+    @Test
+    public void testReplayLatency() {
+        ReplayJobSource slow = new ReplayJobSource(recordings, 50);
+
+        long start = System.nanoTime();
+        slow.search("rust", 5, null, null);
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        assertTrue(elapsedMillis >= 50);
+        assertThrows(IllegalArgumentException.class, () -> new ReplayJobSource(recordings, -1));
+    }
+
+    /**
+     * Tests that the model searches through the job source it was given.
+     */
+    @Test
+    public void testJobsUsesJobSource() {
+        Jobs jobs = new Jobs(live);
+
+        List<JobRecord> results = jobs.searchJobs("python", 5, null, null);
+
+        assertEquals(2, results.size());
+        assertEquals(List.of("python"), searches);
+    }
+}
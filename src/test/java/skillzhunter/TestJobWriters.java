@@ -0,0 +1,94 @@
+package skillzhunter;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.stream.Stream;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import skillzhunter.model.JobRecord;
+import skillzhunter.model.formatters.Formats;
+import skillzhunter.model.formatters.JobWriters;
+
+/**
+ * Test class for the streaming JobWriters.
+ */
+public class TestJobWriters {
+
+    /**
+     * Creates a job.
+     *
+     * @param id the id
+     * @return the job
+     */
+    private static JobRecord job(int id) {
+        return JobFixtures.job(id).url("https://example.com/" + id).slug("slug-" + id).title("Title " + id)
+            .company("Company " + id).logo("logo.png").industries(List.of("Dev")).types(List.of("full-time"))
+            .excerpt("Excerpt").description("Description " + id).salary(1000, 2000).comments(null).build();
+    }
+
+    /**
+     * Tests that a stream of jobs is written as a JSON array, in order, leaving the stream open.
+     */
+    @Test
+    public void testJsonFromStream() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        JobWriters.write(Stream.iterate(0, i -> i + 1).limit(1000).map(TestJobWriters::job), Formats.JSON, out);
+        // a second export to the same stream must still be possible
+        out.write('\n');
+
+        JsonNode array = new ObjectMapper().readTree(out.toString(StandardCharsets.UTF_8).trim());
+        assertTrue(array.isArray());
+        assertEquals(1000, array.size());
+        assertEquals(999, array.get(999).get("id").asInt());
+        assertEquals("Title 0", array.get(0).get("jobTitle").asText());
+    }
+
+    /**
+     * Tests that an empty export is still a valid JSON array.
+     */
+    @Test
+    public void testEmptyJson() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        JobWriters.write(Stream.empty(), Formats.JSON, out);
+        assertEquals(0, new ObjectMapper().readTree(out.toString(StandardCharsets.UTF_8)).size());
+    }
+
+    /**
+     * Tests the human readable format.
+     */
+    @Test
+    public void testPretty() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        JobWriters.write(List.of(job(1), job(2)).iterator(), Formats.PRETTY, out);
+        String n = System.lineSeparator();
+        String first = "Title 1" + n
+            + "             Company: Company 1" + n
+            + "       Pay: 1000 to 2000" + n
+            + "       Date Published: 2025-01-01" + n
+            + "       Description: Description 1" + n
+            + n;
+        String text = out.toString();
+        assertTrue(text.startsWith(first));
+        assertEquals(first.length() * 2, text.length());
+    }
+
+    /**
+     * Tests that XML keeps the domainList layout with one job element per record.
+     */
+    @Test
+    public void testXmlLayout() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        JobWriters.write(List.of(job(1), job(2), job(3)).iterator(), Formats.XML, out);
+        String xml = out.toString(StandardCharsets.UTF_8).trim();
+        assertTrue(xml.startsWith("<domainList>"));
+        assertTrue(xml.endsWith("</domainList>"));
+        assertEquals(3, xml.split("<job>", -1).length - 1);
+        assertTrue(xml.contains("<jobTitle>Title 2</jobTitle>"));
+    }
+}
@@ -18,6 +18,11 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import skillzhunter.model.AlertListener;
 import skillzhunter.model.JobRecord;
@@ -226,6 +231,65 @@ public class TestJobs {
         // Verify no jobs were changed
         assertEquals(4, jobList.getJobRecord("AI Senior Python Engineer").rating());
     }
+
+    /**
+     * Test the model shared by many threads adding, updating, removing and reading saved jobs.
+     * Every add, remove and update should be applied whole, and no reader should see a broken list.
+     */
+    @Test
+    public void testConcurrentAccess() throws Exception {
+        int threads = 8;
+        int rounds = 500;
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            int own = 100 + t;
+            futures.add(pool.submit(() -> {
+                start.await();
+                for (int i = 0; i < rounds; i++) {
+                    jobList.addJob(JobFixtures.job(own).title("Thread Job " + own).company("Thread Co")
+                        .comments("comments").build());
+                    // comments and rating of one update must never mix with another thread's
+                    jobList.updateJob(1, own + ":" + i, own * rounds + i);
+                    JobRecord shared = jobList.getJobRecordById(1);
+                    assertEquals(shared.rating() / rounds + ":" + shared.rating() % rounds, shared.comments());
+                    jobList.updateJob(0, "Thread " + own, i);
+                    List<JobRecord> all = jobList.getJobRecords();
+                    assertEquals(0, all.get(0).id(), "Updates should not move a job");
+                    assertNotNull(jobList.getJobRecord("Frontend React Engineer"));
+                    assertTrue(jobList.removeJob(own));
+                    assertFalse(jobList.removeJob(own));
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(60, TimeUnit.SECONDS);
+        }
+        pool.shutdown();
+
+        assertEquals(3, jobList.getJobRecords().size());
+        JobRecord shared = jobList.getJobRecordById(1);
+        assertEquals(shared.rating() / rounds + ":" + shared.rating() % rounds, shared.comments());
+        assertEquals(rounds - 1, shared.rating() % rounds, "The last update of some thread should win");
+        assertEquals(List.of(0, 1, 2), jobList.getJobRecords().stream().map(JobRecord::id).toList());
+    }
+
+    /**
+     * Test that updating a job keeps the order of the saved jobs and the lookups by id.
+     */
+    @Test
+    public void testUpdateJobKeepsOrder() {
+        jobList.updateJob(0, "Updated comments", 5);
+
+        List<JobRecord> allJobs = jobList.getJobRecords();
+        assertEquals(List.of(0, 1, 2), allJobs.stream().map(JobRecord::id).toList());
+        assertEquals("Updated comments", jobList.getJobRecordById(0).comments());
+        assertNull(jobList.getJobRecordById(999));
+        assertEquals(1, jobList.getJobRecordsByCompany(jobRecord2.companyName()).size());
+    }
     
     /**
      * Test adding a job.
@@ -0,0 +1,160 @@
+package skillzhunter;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import skillzhunter.logging.Appender;
+import skillzhunter.logging.AsyncAppender;
+import skillzhunter.logging.ConsoleAppender;
+import skillzhunter.logging.Level;
+import skillzhunter.logging.LogEvent;
+import skillzhunter.logging.Logger;
+
+/**
+ * Test class for the Logger and AsyncAppender.
+ */
+public class TestLogger {
+    /** level in place before each test. */
+    private Level previousLevel;
+
+    /** events captured by the test appender. */
+    private List<LogEvent> events;
+
+    /**
+     * Captures log events instead of writing them to the console.
+     */
+    @BeforeEach
+    public void setUp() {
+        previousLevel = Logger.getLevel();
+        events = Collections.synchronizedList(new ArrayList<>());
+        Logger.setAppender(events::add);
+    }
+
+    /**
+     * Restores the console appender and the level.
+     */
+    @AfterEach
+    public void tearDown() {
+        Logger.setAppender(new AsyncAppender(new ConsoleAppender(), 8192));
+        Logger.setLevel(previousLevel);
+    }
+
+    /**
+     * Tests that messages below the level are not written.
+     */
+    @Test
+    public void testLevelFiltering() {
+        Logger log = Logger.getLogger(TestLogger.class);
+        Logger.setLevel(Level.WARN);
+        log.debug("debug");
+        log.info("info");
+        log.warn("warn");
+        log.error("error", new IllegalStateException("boom"));
+
+        assertEquals(2, events.size());
+        assertEquals(Level.WARN, events.get(0).level());
+        assertEquals("TestLogger", events.get(0).logger());
+        assertEquals("error", events.get(1).message());
+        assertNotNull(events.get(1).error());
+        assertTrue(events.get(0).format().contains("WARN"));
+    }
+
+    /**
+     * Tests that a lazy message is only built when its level is written.
+     */
+    @Test
+    public void testLazyMessages() {
+        Logger log = Logger.getLogger(TestLogger.class);
+        AtomicInteger built = new AtomicInteger();
+        Logger.setLevel(Level.INFO);
+        log.debug(() -> "debug " + built.incrementAndGet());
+        assertEquals(0, built.get());
+        assertFalse(log.isDebugEnabled());
+
+        Logger.setLevel(Level.DEBUG);
+        log.debug(() -> "debug " + built.incrementAndGet());
+        assertEquals(1, built.get());
+        assertEquals("debug 1", events.get(0).message());
+    }
+
+    /**
+     * Tests that the async appender writes every event in order by the time flush returns.
+     */
+    @Test
+    public void testAsyncAppenderFlush() {
+        AsyncAppender async = new AsyncAppender(events::add, 128);
+        try {
+            for (int i = 0; i < 100; i++) {
+                async.append(event(Level.INFO, "message " + i));
+            }
+            async.flush();
+            assertEquals(0, async.getDropped());
+            assertEquals(100, events.size());
+            assertEquals("message 99", events.get(events.size() - 1).message());
+        } finally {
+            async.close();
+        }
+    }
+
+    /**
+     * Tests that a full buffer drops info messages, keeps warnings and reports the drops.
+     */
+    @Test
+    public void testAsyncAppenderDropsWhenFull() throws InterruptedException {
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Appender blocking = event -> {
+            writing.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            events.add(event);
+        };
+        AsyncAppender async = new AsyncAppender(blocking, 2);
+        try {
+            async.append(event(Level.INFO, "first"));
+            assertTrue(writing.await(5, TimeUnit.SECONDS));
+            // the writer is stuck on "first", so the buffer fills up
+            async.append(event(Level.INFO, "second"));
+            async.append(event(Level.INFO, "third"));
+            async.append(event(Level.INFO, "dropped"));
+            async.append(event(Level.ERROR, "kept"));
+            assertEquals(2, async.getDropped());
+
+            release.countDown();
+            async.flush();
+            List<String> messages = new ArrayList<>();
+            synchronized (events) {
+                events.forEach(e -> messages.add(e.message()));
+            }
+            assertTrue(messages.contains("kept"));
+            assertFalse(messages.contains("dropped"));
+            assertTrue(messages.stream().anyMatch(m -> m.contains("2 log messages were dropped")));
+        } finally {
+            release.countDown();
+            async.close();
+        }
+    }
+
+    /**
+     * Creates an event.
+     *
+     * @param level the level
+     * @param message the message
+     * @return the event
+     */
+    private static LogEvent event(Level level, String message) {
+        return new LogEvent(System.currentTimeMillis(), level, "TestLogger", "main", message, null);
+    }
+}
@@ -12,12 +12,13 @@ import static org.mockito.Mockito.*;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 import skillzhunter.controller.AlertObserver;
 import skillzhunter.controller.MainController;
 import skillzhunter.model.IModel;
+import skillzhunter.model.JobQuery;
 import skillzhunter.model.JobRecord;
 import skillzhunter.view.IView;
 
@@ -154,6 +155,41 @@ public class TestMainController {
         verify(mockModel).searchJobs(query, numberOfResults, location, industry);
     }
     
+    /**
+     * Test getApiCallAsync method.
+     */
+    @Test
+    public void testGetApiCallAsync() {
+        String query = "java";
+        Integer numberOfResults = 10;
+        String location = "Remote";
+        String industry = "Technology";
+        
+        when(mockModel.searchJobsAsync(query, numberOfResults, location, industry))
+            .thenReturn(CompletableFuture.completedFuture(testJobList));
+        
+        CompletableFuture<List<JobRecord>> result =
+            controller.getApiCallAsync(query, numberOfResults, location, industry);
+        
+        assertEquals(testJobList, result.join(), "Controller should return API results from the model");
+        verify(mockModel).searchJobsAsync(query, numberOfResults, location, industry);
+        verify(mockModel, never()).searchJobs(any(), any(), any(), any());
+    }
+    
+    /**
+     * Test getApiCallAsync method with no model set.
+     */
+    @Test
+    public void testGetApiCallAsyncWithNullModel() {
+        MainController nullModelController = new MainController();
+        
+        CompletableFuture<List<JobRecord>> result =
+            nullModelController.getApiCallAsync("java", 10, "Remote", "Technology");
+        
+        assertTrue(result.isDone(), "Future should already be complete with no model");
+        assertTrue(result.join().isEmpty(), "Result should be empty with no model");
+    }
+    
     /**
      * Test getSavedJobs method.
      */
@@ -167,6 +203,23 @@ public class TestMainController {
         verify(mockModel).getJobRecords();
     }
     
+    /**
+     * Test that a page of saved jobs comes from the model's query without loading them all.
+     */
+    @Test
+    public void testFindSavedJobs() {
+        JobQuery query = JobQuery.builder().page(50, 50).build();
+        when(mockModel.findSavedJobs(query)).thenReturn(testJobList);
+        when(mockModel.countSavedJobs(JobQuery.ALL)).thenReturn(52);
+        when(mockModel.getSavedJobsVersion()).thenReturn(3L);
+        
+        assertEquals(testJobList, controller.findSavedJobs(query), "Controller should return the model's page");
+        assertEquals(52, controller.countSavedJobs(JobQuery.ALL));
+        assertEquals(3L, controller.getSavedJobsVersion());
+        verify(mockModel, never()).getJobRecords();
+        verify(mockModel, never()).getJobSnapshot();
+    }
+    
     /**
      * Test setSavedJobs method.
      */
@@ -187,12 +240,13 @@ public class TestMainController {
      */
     @Test
     public void testIsJobAlreadySavedWhenJobIsSaved() {
-        when(mockModel.getJobRecords()).thenReturn(testJobList);
+        when(mockModel.getJobRecordById(testJob1.id())).thenReturn(testJob1);
         
         boolean result = controller.isJobAlreadySaved(testJob1);
         
         assertTrue(result, "Controller should detect that job is already saved");
-        verify(mockModel).getJobRecords();
+        verify(mockModel).getJobRecordById(testJob1.id());
+        verify(mockModel, never()).getJobRecords();
     }
     
     /**
@@ -200,7 +254,7 @@ public class TestMainController {
      */
     @Test
     public void testIsJobAlreadySavedWhenJobIsNotSaved() {
-        when(mockModel.getJobRecords()).thenReturn(testJobList);
+        when(mockModel.getJobRecordById(3)).thenReturn(null);
         
         JobRecord newJob = new JobRecord(
             3,
@@ -226,7 +280,8 @@ public class TestMainController {
         boolean result = controller.isJobAlreadySaved(newJob);
         
         assertFalse(result, "Controller should detect that job is not already saved");
-        verify(mockModel).getJobRecords();
+        verify(mockModel).getJobRecordById(3);
+        verify(mockModel, never()).getJobRecords();
     }
     
     /**
@@ -234,8 +289,8 @@ public class TestMainController {
      */
     @Test
     public void testJobToSavedListWhenJobIsNotAlreadySaved() {
-        // Set up the model to return a list that doesn't contain testJob1
-        when(mockModel.getJobRecords()).thenReturn(Collections.singletonList(testJob2));
+        // Set up the model to have only testJob2 saved
+        when(mockModel.getJobRecordById(testJob2.id())).thenReturn(testJob2);
         
         controller.jobToSavedList(testJob1);
         
@@ -248,8 +303,8 @@ public class TestMainController {
      */
     @Test
     public void testJobToSavedListWhenJobIsAlreadySaved() {
-        // Set up the model to return a list that contains testJob1
-        when(mockModel.getJobRecords()).thenReturn(testJobList);
+        // Set up the model to have testJob1 saved
+        when(mockModel.getJobRecordById(testJob1.id())).thenReturn(testJob1);
         
         controller.jobToSavedList(testJob1);
         
@@ -326,7 +381,7 @@ public class TestMainController {
         );
         
         // Mock the model to return the updated job
-        when(mockModel.getJobRecords()).thenReturn(Arrays.asList(updatedJob, testJob2));
+        when(mockModel.getJobRecordById(jobId)).thenReturn(updatedJob);
         
         JobRecord result = controller.getUpdateJob(jobId, newComments, newRating);
         
@@ -349,7 +404,7 @@ public class TestMainController {
         String newComments = "Updated comments";
         int newRating = 5;
         
-        when(mockModel.getJobRecords()).thenReturn(testJobList);
+        when(mockModel.getJobRecordById(jobId)).thenReturn(null);
         
         JobRecord result = controller.getUpdateJob(jobId, newComments, newRating);
         
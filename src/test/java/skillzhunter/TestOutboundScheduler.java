@@ -0,0 +1,191 @@
+package skillzhunter;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import skillzhunter.model.net.OutboundScheduler;
+import skillzhunter.model.net.OutboundScheduler.Priority;
+import skillzhunter.model.net.TokenBucket;
+
+/**
+ * Test class for the OutboundScheduler and its TokenBucket rate limit.
+ */
+public class TestOutboundScheduler {
+    // Fake clock in nanoseconds so rate limits do not depend on timing
+    private long now;
+
+    /**
+     * Tests the token bucket burst and refill.
+     */
+    @Test
+    public void testTokenBucket() {
+        TokenBucket bucket = new TokenBucket(2, 2, () -> now);
+
+        assertTrue(bucket.tryAcquire());
+        assertTrue(bucket.tryAcquire());
+        assertFalse(bucket.tryAcquire());
+        assertEquals(500_000_000L, bucket.nanosUntilAvailable());
+
+        now += 500_000_000L;
+        assertEquals(0, bucket.nanosUntilAvailable());
+        assertTrue(bucket.tryAcquire());
+        assertFalse(bucket.tryAcquire());
+
+        // never more than the capacity, however long it was idle
+        now += 60_000_000_000L;
+        assertTrue(bucket.tryAcquire());
+        assertTrue(bucket.tryAcquire());
+        assertFalse(bucket.tryAcquire());
+    }
+
+    /**
+     * Tests that no more than the global cap of permits are handed out.
+     */
+    @Test
+    public void testConcurrencyCap() {
+        OutboundScheduler scheduler = new OutboundScheduler(2, 1000, 1000, () -> now);
+
+        CompletableFuture<OutboundScheduler.Permit> first = scheduler.admit(Priority.INTERACTIVE, "a");
+        CompletableFuture<OutboundScheduler.Permit> second = scheduler.admit(Priority.INTERACTIVE, "b");
+        CompletableFuture<OutboundScheduler.Permit> third = scheduler.admit(Priority.INTERACTIVE, "c");
+
+        assertTrue(first.isDone());
+        assertTrue(second.isDone());
+        assertFalse(third.isDone());
+        assertEquals(2, scheduler.getRunning());
+
+        first.join().close();
+        assertTrue(third.isDone());
+        // closing twice does not free a second slot
+        first.join().close();
+        assertEquals(2, scheduler.getRunning());
+    }
+
+    /**
+     * Tests that thumbnails cannot take the slot kept for interactive searches.
+     */
+    @Test
+    public void testSlotReservedForInteractive() {
+        OutboundScheduler scheduler = new OutboundScheduler(3, 1000, 1000, () -> now);
+
+        CompletableFuture<OutboundScheduler.Permit> thumb1 = scheduler.admit(Priority.THUMBNAIL, "logos");
+        CompletableFuture<OutboundScheduler.Permit> thumb2 = scheduler.admit(Priority.THUMBNAIL, "logos");
+        CompletableFuture<OutboundScheduler.Permit> thumb3 = scheduler.admit(Priority.THUMBNAIL, "logos");
+        assertTrue(thumb1.isDone());
+        assertTrue(thumb2.isDone());
+        assertFalse(thumb3.isDone());
+
+        CompletableFuture<OutboundScheduler.Permit> search = scheduler.admit(Priority.INTERACTIVE, "jobs");
+        assertTrue(search.isDone());
+        assertEquals(1, scheduler.getAdmitted(Priority.INTERACTIVE));
+    }
+
+    /**
+     * Tests that waiting requests are admitted by priority, not by arrival.
+     */
+    @Test
+    public void testPriorityOrder() {
+        OutboundScheduler scheduler = new OutboundScheduler(1, 1000, 1000, () -> now);
+
+        CompletableFuture<OutboundScheduler.Permit> running = scheduler.admit(Priority.PREFETCH, "a");
+        CompletableFuture<OutboundScheduler.Permit> prefetch = scheduler.admit(Priority.PREFETCH, "a");
+        CompletableFuture<OutboundScheduler.Permit> thumbnail = scheduler.admit(Priority.THUMBNAIL, "a");
+        CompletableFuture<OutboundScheduler.Permit> search = scheduler.admit(Priority.INTERACTIVE, "a");
+
+        running.join().close();
+        assertTrue(search.isDone());
+        assertFalse(thumbnail.isDone());
+
+        search.join().close();
+        assertTrue(thumbnail.isDone());
+        assertFalse(prefetch.isDone());
+    }
+
+    /**
+     * Tests that a host over its rate limit does not hold up other hosts.
+     */
+    @Test
+    public void testPerHostRateLimit() throws Exception {
+        OutboundScheduler scheduler = new OutboundScheduler(10, 1, 1, () -> now);
+
+        scheduler.admit(Priority.INTERACTIVE, "a").join().close();
+        CompletableFuture<OutboundScheduler.Permit> limited = scheduler.admit(Priority.INTERACTIVE, "a");
+        CompletableFuture<OutboundScheduler.Permit> other = scheduler.admit(Priority.INTERACTIVE, "b");
+
+        assertFalse(limited.isDone());
+        assertTrue(other.isDone());
+
+        // once a token is earned the wake up admits the waiting request
+        now += 1_000_000_000L;
+        assertNotNull(limited.get(5, TimeUnit.SECONDS));
+    }
+
+    /**
+     * Tests that a cancelled request gives up its place in line.
+     */
+    @Test
+    public void testCancelWaiting() {
+        OutboundScheduler scheduler = new OutboundScheduler(1, 1000, 1000, () -> now);
+
+        CompletableFuture<OutboundScheduler.Permit> running = scheduler.admit(Priority.INTERACTIVE, "a");
+        CompletableFuture<OutboundScheduler.Permit> cancelled = scheduler.admit(Priority.INTERACTIVE, "a");
+        CompletableFuture<OutboundScheduler.Permit> next = scheduler.admit(Priority.THUMBNAIL, "a");
+        cancelled.cancel(true);
+        assertEquals(1, scheduler.getWaiting());
+
+        running.join().close();
+        assertTrue(next.isDone());
+    }
+
+    /**
+     * Tests that submitted tasks run once admitted and release their slot.
+     */
+    @Test
+    public void testSubmit() throws Exception {
+        OutboundScheduler scheduler = new OutboundScheduler(1, 1000, 1000, () -> now);
+
+        CompletableFuture<String> result = scheduler.submit(Priority.THUMBNAIL, "a", () -> "logo");
+
+        assertEquals("logo", result.get(5, TimeUnit.SECONDS));
+        CompletableFuture<String> failing = scheduler.submit(Priority.THUMBNAIL, "a", () -> {
+            throw new IllegalStateException("broken image");
+        });
+        assertThrows(Exception.class, () -> failing.get(5, TimeUnit.SECONDS));
+        assertEquals(0, scheduler.getRunning());
+    }
+
+    /**
+     * Tests the host used as rate limit key.
+     */
+    @Test
+    public void testHostOf() {
+        assertEquals("jobicy.com", OutboundScheduler.hostOf("https://Jobicy.com/api/v2/remote-jobs?count=5"));
+        assertEquals("", OutboundScheduler.hostOf("not a url"));
+        assertEquals("", OutboundScheduler.hostOf(null));
+    }
+
+    /**
+     * Tests that raising a waiting request moves it ahead of less urgent ones.
+     */
+    @Test
+    public void testRaiseWaitingRequest() {
+        OutboundScheduler scheduler = new OutboundScheduler(1, 1000, 1000, () -> now);
+
+        CompletableFuture<OutboundScheduler.Permit> running = scheduler.admit(Priority.INTERACTIVE, "a");
+        CompletableFuture<OutboundScheduler.Permit> thumb = scheduler.admit(Priority.THUMBNAIL, "a");
+        CompletableFuture<OutboundScheduler.Permit> prefetch = scheduler.admit(Priority.PREFETCH, "a");
+        scheduler.raise(prefetch, Priority.INTERACTIVE);
+        // lowering is ignored
+        scheduler.raise(thumb, Priority.PREFETCH);
+
+        running.join().close();
+        assertTrue(prefetch.isDone(), "The raised request should go first");
+        assertFalse(thumb.isDone());
+        assertEquals(1, scheduler.getWaiting());
+        prefetch.join().close();
+        assertTrue(thumb.isDone());
+    }
+}
@@ -0,0 +1,156 @@
+package skillzhunter;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import skillzhunter.model.JobRecord;
+import skillzhunter.model.net.JobBoardApiException;
+import skillzhunter.model.net.JobBoardApiResult;
+import skillzhunter.model.net.JobBoardFailure;
+import skillzhunter.model.net.JobBoardQuery;
+import skillzhunter.model.net.ParallelSearch;
+
+/**
+ * Test class for ParallelSearch fan out and merging.
+ */
+public class TestParallelSearch {
+    // Requests that were sent, by url, so each test can complete them in any order
+    private final Map<String, CompletableFuture<List<JobRecord>>> pending = new HashMap<>();
+
+    private final List<String> sent = new ArrayList<>();
+
+    private CompletableFuture<List<JobRecord>> send(String url) {
+        sent.add(url);
+        CompletableFuture<List<JobRecord>> future = new CompletableFuture<>();
+        pending.put(url, future);
+        return future;
+    }
+
+    private static JobRecord job(int id) {
+        return JobFixtures.job(id).build();
+    }
+
+    /**
+     * Tests the combinations built from the query parts.
+     */
+    @Test
+    public void testExpand() {
+        List<JobBoardQuery> searches = ParallelSearch.expand(
+            List.of("python", "java", "python"), 5, List.of("usa", "canada"), null);
+
+        assertEquals(4, searches.size());
+        assertEquals("https://jobicy.com/api/v2/remote-jobs?count=5&geo=usa&tag=python",
+                     searches.get(0).getUrl());
+        assertEquals("https://jobicy.com/api/v2/remote-jobs?count=5&geo=canada&tag=python",
+                     searches.get(1).getUrl());
+        assertEquals("https://jobicy.com/api/v2/remote-jobs?count=5&geo=usa&tag=java",
+                     searches.get(2).getUrl());
+        assertEquals(1, ParallelSearch.expand(null, 5, null, List.of()).size());
+    }
+
+    /**
+     * Tests that no more than the limit of requests are in flight.
+     */
+    @Test
+    public void testBoundedConcurrency() {
+        ParallelSearch search = new ParallelSearch(2, this::send);
+        List<JobBoardQuery> searches = ParallelSearch.expand(
+            List.of("a", "b", "c", "d"), 5, null, null);
+
+        CompletableFuture<JobBoardApiResult> result = search.search(searches);
+        assertEquals(2, sent.size());
+
+        pending.get(sent.get(1)).complete(List.of(job(2)));
+        assertEquals(3, sent.size());
+        pending.get(sent.get(0)).complete(List.of(job(1)));
+        assertEquals(4, sent.size());
+        pending.get(sent.get(3)).complete(List.of(job(4)));
+        assertFalse(result.isDone());
+        pending.get(sent.get(2)).complete(List.of(job(3)));
+
+        List<Integer> ids = new ArrayList<>();
+        for (JobRecord job : result.join().getJobs()) {
+            ids.add(job.id());
+        }
+        // merged in search order, not completion order
+        assertEquals(List.of(1, 2, 3, 4), ids);
+        assertFalse(result.join().hasError());
+    }
+
+    /**
+     * Tests that jobs found by several searches are only listed once.
+     */
+    @Test
+    public void testDeduplicatesById() {
+        ParallelSearch search = new ParallelSearch(4, this::send);
+
+        CompletableFuture<JobBoardApiResult> result = search.search(
+            ParallelSearch.expand(List.of("a", "b"), 5, null, null));
+        pending.get(sent.get(0)).complete(List.of(job(1), job(2)));
+        pending.get(sent.get(1)).complete(List.of(job(2), job(3)));
+
+        List<JobRecord> jobs = result.join().getJobs();
+        assertEquals(3, jobs.size());
+        assertEquals(1, jobs.get(0).id());
+        assertEquals(3, jobs.get(2).id());
+    }
+
+    /**
+     * Tests that failed searches still return the other results.
+     */
+    @Test
+    public void testPartialResults() {
+        ParallelSearch search = new ParallelSearch(4, this::send);
+
+        CompletableFuture<JobBoardApiResult> result = search.search(
+            ParallelSearch.expand(List.of("a", "b", "c"), 5, null, null));
+        pending.get(sent.get(0)).complete(List.of(job(1)));
+        pending.get(sent.get(1)).completeExceptionally(new IllegalStateException("down"));
+        pending.get(sent.get(2)).complete(List.of(job(3)));
+
+        JobBoardApiResult merged = result.join();
+        assertEquals(2, merged.getJobs().size());
+        assertTrue(merged.hasError());
+        assertTrue(merged.getErrorMessage().contains("1 of 3"));
+    }
+
+    /**
+     * Tests that a search where every request failed is a failure with the first error.
+     */
+    @Test
+    public void testAllFailed() {
+        ParallelSearch search = new ParallelSearch(4, this::send);
+
+        CompletableFuture<JobBoardApiResult> result = search.search(
+            ParallelSearch.expand(List.of("a", "b"), 5, null, null));
+        pending.get(sent.get(0)).completeExceptionally(new JobBoardApiException(JobBoardFailure.TIMEOUT, null));
+        pending.get(sent.get(1)).completeExceptionally(new JobBoardApiException(JobBoardFailure.NETWORK, null));
+
+        JobBoardApiResult merged = result.join();
+        assertTrue(merged.getJobs().isEmpty());
+        assertTrue(merged.isFailure());
+        assertEquals(JobBoardFailure.TIMEOUT, merged.getFailure());
+        assertEquals(JobBoardFailure.TIMEOUT.getMessage(), merged.getErrorMessage());
+    }
+
+    /**
+     * Tests that cancelling the search cancels running requests and starts no more.
+     */
+    @Test
+    public void testCancel() {
+        ParallelSearch search = new ParallelSearch(1, this::send);
+
+        CompletableFuture<JobBoardApiResult> result = search.search(
+            ParallelSearch.expand(List.of("a", "b"), 5, null, null));
+        result.cancel(true);
+
+        assertTrue(pending.get(sent.get(0)).isCancelled());
+        assertEquals(1, sent.size());
+    }
+}
@@ -0,0 +1,255 @@
+package skillzhunter;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import skillzhunter.model.JobRecord;
+import skillzhunter.model.net.ResponseCache;
+
+/**
+ * Test class for the two tier ResponseCache.
+ */
+public class TestResponseCache {
+    private static final String URL = "https://jobicy.com/api/v2/remote-jobs?count=5&tag=python";
+    private static final String BODY = "{\"jobCount\":0,\"jobs\":[]}";
+
+    @TempDir
+    Path cacheDir;
+
+    private ResponseCache cache;
+
+    @BeforeEach
+    public void setUp() {
+        cache = new ResponseCache(2, cacheDir, 60_000);
+    }
+
+    private static ResponseCache.Entry put(ResponseCache target, String url, String etag, String lastModified,
+                                           String cacheControl) throws IOException {
+        try (ResponseCache.BodyFile body = target.newBody()) {
+            body.stream().write(BODY.getBytes(StandardCharsets.UTF_8));
+            return target.put(url, body, new ArrayList<>(), etag, lastModified, cacheControl);
+        }
+    }
+
+    private static String body(ResponseCache.Entry entry) throws IOException {
+        try (InputStream in = entry.openBody()) {
+            return in == null ? null : new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    private Path putEntryFile(ResponseCache target, String url) throws IOException {
+        List<Path> before = entryFiles();
+        put(target, url, null, null, null);
+        return entryFiles().stream().filter(file -> !before.contains(file)).findFirst().orElseThrow();
+    }
+
+    private List<Path> entryFiles() throws IOException {
+        try (Stream<Path> files = Files.list(cacheDir)) {
+            return files.filter(file -> file.toString().endsWith(".json")).toList();
+        }
+    }
+
+    private long tempFiles() throws IOException {
+        try (Stream<Path> files = Files.list(cacheDir)) {
+            return files.filter(file -> file.toString().endsWith(".tmp")).count();
+        }
+    }
+
+    /**
+     * Tests that a stored response comes back from memory.
+     */
+    @Test
+    public void testPutAndGet() throws IOException {
+        put(cache, URL, null, null, null);
+
+        ResponseCache.Entry entry = cache.get(URL);
+        assertNotNull(entry);
+        assertEquals(BODY, body(entry));
+        assertTrue(entry.getJobs().isEmpty());
+        assertTrue(entry.isFresh());
+        assertEquals(1, cache.getMemoryHits());
+        assertEquals(0, tempFiles(), "The body file should be moved into place");
+    }
+
+    /**
+     * Tests that urls with the same parameters in a different order share an entry.
+     */
+    @Test
+    public void testNormalizedKey() throws IOException {
+        put(cache, URL, null, null, null);
+
+        assertNotNull(cache.get("HTTPS://JOBICY.COM/api/v2/remote-jobs?tag=python&count=5"));
+        assertNull(cache.get("https://jobicy.com/api/v2/remote-jobs?count=5&tag=java"));
+        assertEquals(ResponseCache.normalize(URL),
+                     ResponseCache.normalize("https://jobicy.com/api/v2/remote-jobs?tag=python&count=5"));
+    }
+
+    /**
+     * Tests that entries survive a restart through the disk tier.
+     */
+    @Test
+    public void testDiskTier() throws IOException {
+        put(cache, URL, "\"abc\"", "Wed, 21 Oct 2015 07:28:00 GMT", null);
+
+        ResponseCache restarted = new ResponseCache(2, cacheDir, 60_000);
+        ResponseCache.Entry entry = restarted.get(URL);
+        assertNotNull(entry, "Entry should be read back from disk");
+        assertNull(entry.getJobs(), "Only the raw body is kept on disk");
+        assertEquals(BODY, body(entry));
+        assertEquals("\"abc\"", entry.getEtag());
+        assertEquals("Wed, 21 Oct 2015 07:28:00 GMT", entry.getLastModified());
+        assertEquals(1, restarted.getDiskHits());
+    }
+
+    /**
+     * Tests that the memory tier evicts the least recently used entry.
+     */
+    @Test
+    public void testLruEviction() throws IOException {
+        ResponseCache memoryOnly = new ResponseCache(2, null, 60_000);
+        put(memoryOnly, URL + "1", null, null, null);
+        put(memoryOnly, URL + "2", null, null, null);
+        memoryOnly.get(URL + "1");
+        put(memoryOnly, URL + "3", null, null, null);
+
+        assertNotNull(memoryOnly.get(URL + "1"));
+        assertNull(memoryOnly.get(URL + "2"), "Least recently used entry should be evicted");
+        assertNotNull(memoryOnly.get(URL + "3"));
+        assertNull(body(memoryOnly.get(URL + "3")), "A memory only cache keeps just the records");
+    }
+
+    /**
+     * Tests that a body that was never stored leaves no file behind.
+     */
+    @Test
+    public void testAbandonedBody() throws IOException {
+        try (ResponseCache.BodyFile body = cache.newBody()) {
+            body.stream().write(BODY.getBytes(StandardCharsets.UTF_8));
+            assertEquals(1, tempFiles());
+        }
+        assertEquals(0, tempFiles());
+    }
+
+    /**
+     * Tests per entry time to live from Cache-Control and revalidation.
+     */
+    @Test
+    public void testTtlAndRenew() throws IOException {
+        ResponseCache.Entry stale = put(cache, URL, "\"abc\"", null, "no-cache");
+        assertFalse(stale.isFresh(), "no-cache responses should always be revalidated");
+        assertTrue(stale.hasValidators());
+        assertEquals(120_000, put(cache, URL, null, null, "public, max-age=120").getTtlMillis());
+
+        stale.setJobs(List.<JobRecord>of());
+        ResponseCache.Entry renewed = cache.renew(stale, "max-age=60");
+        assertTrue(renewed.isFresh());
+        assertEquals(BODY, body(renewed));
+        assertNotNull(renewed.getJobs(), "Decoded records should be kept on renew");
+    }
+
+    /**
+     * Tests that the disk tier deletes the least recently used entries once it is over its cap.
+     */
+    @Test
+    public void testDiskCap() throws IOException {
+        Path first = putEntryFile(cache, URL + "1");
+        Files.setLastModifiedTime(first, FileTime.fromMillis(System.currentTimeMillis() - 30_000));
+        long perEntry = cache.getDiskBytes();
+        ResponseCache capped = new ResponseCache(2, cacheDir, 60_000, perEntry * 2);
+        Path second = putEntryFile(capped, URL + "2");
+        Files.setLastModifiedTime(second, FileTime.fromMillis(System.currentTimeMillis() - 60_000));
+        new ResponseCache(2, cacheDir, 60_000).get(URL + "2");
+
+        put(capped, URL + "3", null, null, null);
+        assertTrue(capped.getDiskBytes() <= perEntry * 2);
+        ResponseCache restarted = new ResponseCache(2, cacheDir, 60_000);
+        assertNull(restarted.get(URL + "1"), "Least recently used entry should be deleted");
+        assertNotNull(restarted.get(URL + "2"), "Reading an entry should count as using it");
+        assertNotNull(restarted.get(URL + "3"));
+    }
+
+    /**
+     * Tests that trimming while running leaves a body alone whose entry file is not written yet.
+     */
+    @Test
+    public void testTrimKeepsUnfinishedPut() throws IOException {
+        put(cache, URL + "1", null, null, null);
+        long perEntry = cache.getDiskBytes();
+        Path pending = cacheDir.resolve("pending.body");
+        Files.writeString(pending, BODY);
+
+        ResponseCache capped = new ResponseCache(2, cacheDir, 60_000, perEntry * 2);
+        assertFalse(Files.exists(pending), "A lone body is a leftover at startup");
+        Files.writeString(pending, BODY);
+        put(capped, URL + "2", null, null, null);
+        put(capped, URL + "3", null, null, null);
+        assertTrue(Files.exists(pending), "A body without its entry file could be a put in progress");
+    }
+
+    /**
+     * Tests that an entry whose body file is gone says so and can be removed.
+     */
+    @Test
+    public void testMissingBody() throws IOException {
+        put(cache, URL, "\"v1\"", null, null);
+        assertTrue(cache.get(URL).hasBody());
+
+        ResponseCache.Entry onDisk = new ResponseCache(2, cacheDir, 60_000).get(URL);
+        assertTrue(onDisk.hasBody());
+        try (Stream<Path> files = Files.list(cacheDir)) {
+            for (Path file : files.filter(file -> file.toString().endsWith(".body")).toList()) {
+                Files.delete(file);
+            }
+        }
+        assertFalse(onDisk.hasBody(), "Nothing is decoded and the body file is gone");
+        assertTrue(cache.get(URL).hasBody(), "The decoded records in memory are still there");
+
+        cache.remove(URL);
+        assertNull(cache.get(URL));
+        assertTrue(entryFiles().isEmpty());
+    }
+
+    /**
+     * Tests that leftovers of an earlier run are deleted at startup.
+     */
+    @Test
+    public void testStartupCleanup() throws IOException {
+        Path first = putEntryFile(cache, URL + "1");
+        put(cache, URL + "2", null, null, null);
+        Files.setLastModifiedTime(first,
+                                  FileTime.fromMillis(System.currentTimeMillis() - TimeUnit.DAYS.toMillis(8)));
+        Files.createFile(cacheDir.resolve("body123.tmp"));
+        Files.writeString(cacheDir.resolve("orphan.body"), BODY);
+
+        ResponseCache restarted = new ResponseCache(2, cacheDir, 60_000);
+        assertEquals(0, tempFiles());
+        assertFalse(Files.exists(cacheDir.resolve("orphan.body")));
+        assertNull(restarted.get(URL + "1"), "Entries unused for a week should be deleted");
+        assertNotNull(restarted.get(URL + "2"));
+    }
+
+    /**
+     * Tests clearing both tiers.
+     */
+    @Test
+    public void testClear() throws IOException {
+        put(cache, URL, null, null, null);
+        cache.clear();
+
+        assertNull(cache.get(URL));
+        assertNull(new ResponseCache(2, cacheDir, 60_000).get(URL));
+    }
+}
@@ -0,0 +1,69 @@
+package skillzhunter;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import skillzhunter.model.JobRecord;
+import skillzhunter.model.formatters.DataFormatter;
+import skillzhunter.model.formatters.SanitizedRecords;
+import skillzhunter.model.net.JobResponseReader;
+
+/**
+ * Test class for SanitizedRecords, the sanitize once marks.
+ */
+public class TestSanitizedRecords {
+
+    private static JobRecord job(String title) {
+        return JobFixtures.job(1, title);
+    }
+
+    /**
+     * Tests that a processed record is not processed again.
+     */
+    @Test
+    public void testProcessOnce() {
+        JobRecord raw = job("R&amp;D Engineer");
+        assertFalse(SanitizedRecords.isSanitized(raw));
+
+        long sanitized = SanitizedRecords.getSanitizedCount();
+        long skipped = SanitizedRecords.getSkippedCount();
+        JobRecord clean = DataFormatter.processJobHtml(raw);
+        assertEquals("R&D Engineer", clean.jobTitle());
+        assertTrue(SanitizedRecords.isSanitized(clean));
+        assertEquals(sanitized + 1, SanitizedRecords.getSanitizedCount());
+
+        assertSame(clean, DataFormatter.processJobHtml(clean));
+        assertSame(clean, DataFormatter.processJobHtml(clean));
+        assertEquals(skipped + 2, SanitizedRecords.getSkippedCount());
+        assertEquals(sanitized + 1, SanitizedRecords.getSanitizedCount());
+    }
+
+    /**
+     * Tests that marks belong to a record instance, not to equal values.
+     */
+    @Test
+    public void testMarksAreByIdentity() {
+        JobRecord clean = SanitizedRecords.markClean(job("Developer"));
+        JobRecord equal = job("Developer");
+
+        assertEquals(clean, equal);
+        assertTrue(SanitizedRecords.isSanitized(clean));
+        assertFalse(SanitizedRecords.isSanitized(equal));
+        assertFalse(SanitizedRecords.isSanitized(null));
+    }
+
+    /**
+     * Tests that parsed jobs arrive marked.
+     */
+    @Test
+    public void testParsedJobsAreMarked() throws Exception {
+        List<JobRecord> jobs = new ArrayList<>();
+        JobResponseReader.readJobs("{\"jobs\":[{\"id\":1,\"jobTitle\":\"R&amp;D\"}]}", jobs::add);
+
+        assertTrue(SanitizedRecords.isSanitized(jobs.get(0)));
+        assertSame(jobs.get(0), DataFormatter.processJobHtml(jobs.get(0)));
+    }
+}
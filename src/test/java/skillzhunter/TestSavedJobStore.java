@@ -0,0 +1,222 @@
+package skillzhunter;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import skillzhunter.model.JobQuery;
+import skillzhunter.model.JobRecord;
+import skillzhunter.model.JobSnapshot;
+import skillzhunter.model.SavedJobStore;
+
+/**
+ * Test class for SavedJobStore, the indexed saved jobs.
+ */
+public class TestSavedJobStore {
+
+    private static JobRecord job(int id, String title, String company, List<String> industries, int rating) {
+        return JobFixtures.job(id).title(title).company(company).industries(industries).rating(rating).build();
+    }
+
+    private static List<Integer> ids(List<JobRecord> jobs) {
+        return jobs.stream().map(JobRecord::id).toList();
+    }
+
+    /**
+     * Tests lookups by id and the order of the jobs.
+     */
+    @Test
+    public void testPutGetRemove() {
+        SavedJobStore store = new SavedJobStore();
+        assertTrue(store.isEmpty());
+        assertNull(store.put(job(3, "Dev", "Acme", List.of("Tech"), 0)));
+        store.put(job(1, "QA", "Acme", List.of("Tech"), 0));
+        store.put(job(2, "Dev", "Globex", List.of("Finance"), 0));
+
+        assertEquals(3, store.size());
+        assertEquals(List.of(3, 1, 2), ids(store.values()));
+        assertTrue(store.contains(1));
+        assertEquals("QA", store.get(1).jobTitle());
+        assertNull(store.get(9));
+
+        assertEquals(1, store.remove(1).id());
+        assertNull(store.remove(1));
+        assertFalse(store.contains(1));
+        assertEquals(List.of(3, 2), ids(store.values()));
+    }
+
+    /**
+     * Tests that replacing a job keeps its place and moves it between index keys.
+     */
+    @Test
+    public void testReplaceInPlace() {
+        SavedJobStore store = new SavedJobStore();
+        store.put(job(1, "Dev", "Acme", List.of("Tech"), 0));
+        store.put(job(2, "Dev", "Acme", List.of("Tech"), 0));
+        store.put(job(3, "QA", "Globex", List.of("Finance"), 0));
+
+        JobRecord previous = store.put(job(1, "Dev", "Acme", List.of("Tech"), 5));
+        assertEquals(0, previous.rating());
+        assertEquals(List.of(1, 2, 3), ids(store.values()));
+        assertEquals(5, store.firstByTitle("Dev").rating());
+
+        // the replaced job keeps its place among the jobs with its new title
+        store.put(job(3, "Dev", "Initech", List.of("Tech", "Finance"), 0));
+        assertEquals(List.of(1, 2, 3), ids(store.values()));
+        assertNull(store.firstByTitle("QA"));
+        assertEquals(List.of(1, 2, 3), ids(store.byIndustry("Tech")));
+        assertEquals(List.of(3), ids(store.byIndustry("Finance")));
+        assertTrue(store.byCompany("Globex").isEmpty());
+        assertEquals(List.of(3), ids(store.byCompany("Initech")));
+    }
+
+    /**
+     * Tests the indexes after removals, and null values.
+     */
+    @Test
+    public void testIndexes() {
+        SavedJobStore store = new SavedJobStore();
+        store.put(job(1, "Dev", "Acme", List.of("Tech", "Data"), 0));
+        store.put(job(2, "Dev", "Acme", null, 0));
+        store.put(job(3, null, null, List.of("Data"), 0));
+
+        assertEquals(1, store.firstByTitle("Dev").id());
+        store.remove(1);
+        assertEquals(2, store.firstByTitle("Dev").id());
+        assertEquals(List.of(2), ids(store.byCompany("Acme")));
+        assertEquals(List.of(3), ids(store.byIndustry("Data")));
+        assertTrue(store.byIndustry("Tech").isEmpty());
+        assertNull(store.firstByTitle(null));
+        assertTrue(store.byCompany(null).isEmpty());
+
+        store.replaceAll(List.of(job(7, "Ops", "Hooli", List.of("Tech"), 0)));
+        assertEquals(List.of(7), ids(store.values()));
+        assertNull(store.firstByTitle("Dev"));
+        assertEquals(List.of(7), ids(store.byIndustry("Tech")));
+    }
+
+    private static JobRecord posting(int id, String company, List<String> industries, String pubDate, int salary) {
+        return JobFixtures.job(id).title("Dev").company(company).industries(industries).pubDate(pubDate)
+            .salary(0, salary).build();
+    }
+
+    /**
+     * Tests queries with filters, sorting and paging.
+     */
+    @Test
+    public void testFind() {
+        SavedJobStore store = new SavedJobStore();
+        store.put(posting(1, "Acme", List.of("Tech"), "2025-03-01", 90000));
+        store.put(posting(2, "Globex", List.of("Finance", "Tech"), "2025-01-15", 120000));
+        store.put(posting(3, "Acme", List.of("Finance"), null, 60000));
+        store.put(posting(4, "Initech", List.of("Tech"), "2025-03-01", 120000));
+
+        assertEquals(List.of(1, 2, 3, 4), ids(store.find(JobQuery.ALL)));
+        assertEquals(List.of(1, 3), ids(store.find(JobQuery.builder().companyName("Acme").build())));
+        assertEquals(List.of(1, 2, 4), ids(store.find(JobQuery.builder().industry("Tech").build())));
+        assertEquals(List.of(2, 4), ids(store.find(JobQuery.builder().industry("Tech").minSalary(100000).build())));
+        assertEquals(List.of(1, 4), ids(store.find(JobQuery.builder().publishedSince("2025-02-01").build())));
+        assertEquals(3, store.count(JobQuery.builder().industry("Tech").build()));
+
+        // ties keep the saved order, missing dates come first and last when descending
+        assertEquals(List.of(3, 2, 1, 4),
+                     ids(store.find(JobQuery.builder().sort(JobQuery.Sort.PUB_DATE, false).build())));
+        assertEquals(List.of(1, 4, 2, 3),
+                     ids(store.find(JobQuery.builder().sort(JobQuery.Sort.PUB_DATE, true).build())));
+        assertEquals(List.of(4, 3, 2, 1),
+                     ids(store.find(JobQuery.builder().sort(JobQuery.Sort.SAVED, true).build())));
+
+        JobQuery.Builder bySalary = JobQuery.builder().sort(JobQuery.Sort.SALARY, true);
+        assertEquals(List.of(2, 4), ids(store.find(bySalary.page(0, 2).build())));
+        assertEquals(List.of(1, 3), ids(store.find(bySalary.page(2, 2).build())));
+        assertTrue(store.find(bySalary.page(8, 2).build()).isEmpty());
+        assertEquals(4, store.count(bySalary.page(2, 2).build()), "Counting should ignore the page");
+        assertThrows(IllegalArgumentException.class, () -> JobQuery.builder().page(-1, 2));
+    }
+
+    /**
+     * Tests that reads share a snapshot until the next change.
+     */
+    @Test
+    public void testSnapshots() {
+        SavedJobStore store = new SavedJobStore();
+        JobSnapshot empty = store.snapshot();
+        assertTrue(empty.jobs().isEmpty());
+
+        store.put(job(1, "Dev", "Acme", List.of("Tech"), 0));
+        JobSnapshot first = store.snapshot();
+        assertTrue(first.version() > empty.version());
+        assertSame(first, store.snapshot(), "Reads without a change should share the snapshot");
+        assertSame(first.jobs(), store.values());
+        assertThrows(UnsupportedOperationException.class, () -> first.jobs().add(job(2, "QA", "Acme", null, 0)));
+
+        store.put(job(2, "QA", "Acme", null, 0));
+        JobSnapshot second = store.snapshot();
+        assertTrue(second.version() > first.version());
+        assertEquals(List.of(1), ids(first.jobs()), "Earlier snapshots should not change");
+        assertEquals(List.of(1, 2), ids(second.jobs()));
+
+        store.remove(9);
+        assertSame(second, store.snapshot(), "Removing a missing job is not a change");
+        store.remove(1);
+        assertEquals(List.of(2), ids(store.values()));
+        assertEquals(store.version(), store.snapshot().version());
+    }
+
+    /**
+     * Tests many threads saving, updating, removing and reading at once.
+     * Every update must be kept, and every snapshot must be consistent.
+     */
+    @Test
+    public void testConcurrentAccess() throws Exception {
+        SavedJobStore store = new SavedJobStore();
+        int threads = 8;
+        int rounds = 2000;
+        for (int id = 0; id < 50; id++) {
+            store.put(job(id, "Shared", "Acme", List.of("Tech"), 0));
+        }
+
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            int thread = t;
+            futures.add(pool.submit(() -> {
+                start.await();
+                int own = 1000 + thread;
+                for (int i = 0; i < rounds; i++) {
+                    // every thread bumps the rating of the shared job 0
+                    store.update(0, job -> job(0, job.jobTitle(), job.companyName(), job.jobIndustry(),
+                                               job.rating() + 1));
+                    store.put(job(own, "Own " + thread, "Acme", List.of("Tech"), i));
+                    JobSnapshot snapshot = store.snapshot();
+                    List<Integer> ids = ids(snapshot.jobs());
+                    assertEquals(new HashSet<>(ids).size(), ids.size(), "A snapshot should not repeat a job");
+                    assertEquals(0, (int) ids.get(0), "Updates should not move a job");
+                    assertNotNull(store.firstByTitle("Shared"));
+                    assertFalse(store.byIndustry("Tech").isEmpty());
+                    assertNotNull(store.remove(own));
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(60, TimeUnit.SECONDS);
+        }
+        pool.shutdown();
+
+        assertEquals(threads * rounds, store.get(0).rating(), "No update should be lost");
+        assertEquals(50, store.size());
+        assertEquals(50, store.byCompany("Acme").size());
+        assertEquals(store.size(), store.snapshot().jobs().size());
+    }
+}
@@ -0,0 +1,157 @@
+package skillzhunter;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import skillzhunter.model.net.SingleFlight;
+
+/**
+ * Test class for SingleFlight request de-duplication.
+ */
+public class TestSingleFlight {
+
+    /**
+     * Tests that overlapping async calls for one key share a single execution.
+     */
+    @Test
+    public void testExecuteCoalesces() {
+        SingleFlight<String, List<String>> flights = new SingleFlight<>(ArrayList::new);
+        CompletableFuture<List<String>> source = new CompletableFuture<>();
+        AtomicInteger started = new AtomicInteger();
+
+        CompletableFuture<List<String>> first = flights.execute("a", () -> {
+            started.incrementAndGet();
+            return source;
+        });
+        CompletableFuture<List<String>> second = flights.execute("a", () -> {
+            started.incrementAndGet();
+            return new CompletableFuture<>();
+        });
+
+        assertEquals(1, started.get());
+        assertEquals(1, flights.getInFlight());
+        source.complete(List.of("job"));
+
+        assertEquals(List.of("job"), first.join());
+        assertEquals(List.of("job"), second.join());
+        // every caller gets its own copy
+        assertNotSame(first.join(), second.join());
+        assertEquals(1, flights.getExecutions());
+        assertEquals(1, flights.getCoalesced());
+        assertEquals(0, flights.getInFlight());
+    }
+
+    /**
+     * Tests that different keys and finished work are not shared.
+     */
+    @Test
+    public void testDifferentKeysAndLaterCalls() {
+        SingleFlight<String, String> flights = new SingleFlight<>();
+
+        flights.execute("a", () -> CompletableFuture.completedFuture("1")).join();
+        flights.execute("b", () -> CompletableFuture.completedFuture("2")).join();
+        assertEquals("3", flights.execute("a", () -> CompletableFuture.completedFuture("3")).join());
+
+        assertEquals(3, flights.getExecutions());
+        assertEquals(0, flights.getCoalesced());
+    }
+
+    /**
+     * Tests that shared work is only cancelled once every caller cancelled.
+     */
+    @Test
+    public void testCancelOnlyWhenAllCallersCancel() {
+        SingleFlight<String, String> flights = new SingleFlight<>();
+        CompletableFuture<String> source = new CompletableFuture<>();
+
+        CompletableFuture<String> first = flights.execute("a", () -> source);
+        CompletableFuture<String> second = flights.execute("a", () -> source);
+
+        first.cancel(true);
+        assertFalse(source.isCancelled());
+        second.cancel(true);
+        assertTrue(source.isCancelled());
+        assertEquals(0, flights.getInFlight());
+    }
+
+    /**
+     * Tests that failures reach every caller.
+     */
+    @Test
+    public void testFailureIsShared() {
+        SingleFlight<String, String> flights = new SingleFlight<>();
+        CompletableFuture<String> source = new CompletableFuture<>();
+
+        CompletableFuture<String> first = flights.execute("a", () -> source);
+        CompletableFuture<String> second = flights.execute("a", () -> source);
+        source.completeExceptionally(new IllegalStateException("down"));
+
+        assertTrue(first.isCompletedExceptionally());
+        assertTrue(second.isCompletedExceptionally());
+        assertEquals(0, flights.getInFlight());
+    }
+
+    /**
+     * Tests that a blocking call waits for the work another thread is running.
+     */
+    @Test
+    public void testRunWaitsForRunningWork() throws Exception {
+        SingleFlight<String, String> flights = new SingleFlight<>();
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger started = new AtomicInteger();
+
+        Thread leader = new Thread(() -> flights.run("a", () -> {
+            started.incrementAndGet();
+            running.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return "result";
+        }));
+        leader.start();
+        assertTrue(running.await(5, TimeUnit.SECONDS));
+
+        CompletableFuture<String> follower = CompletableFuture.supplyAsync(() -> flights.run("a", () -> {
+            started.incrementAndGet();
+            return "other";
+        }));
+        while (flights.getCoalesced() == 0) {
+            Thread.sleep(1);
+        }
+        release.countDown();
+
+        assertEquals("result", follower.get(5, TimeUnit.SECONDS));
+        leader.join(5000);
+        assertEquals(1, started.get());
+        assertEquals(1, flights.getCoalesced());
+    }
+
+    /**
+     * Tests that the action of the first caller runs for every caller that joins.
+     */
+    @Test
+    public void testOnJoin() {
+        SingleFlight<String, String> flights = new SingleFlight<>();
+        CompletableFuture<String> source = new CompletableFuture<>();
+        AtomicInteger joined = new AtomicInteger();
+
+        flights.execute("a", () -> source, joined::incrementAndGet);
+        flights.execute("a", CompletableFuture::new, () -> fail("Only the first caller's action runs"));
+        flights.execute("a", CompletableFuture::new);
+        assertEquals(2, joined.get());
+
+        source.complete("done");
+        flights.execute("a", () -> CompletableFuture.completedFuture("again"), joined::incrementAndGet);
+        assertEquals(2, joined.get(), "Later calls start fresh work");
+    }
+}
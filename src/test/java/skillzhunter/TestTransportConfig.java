@@ -0,0 +1,121 @@
+package skillzhunter;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.ConnectException;
+import java.util.ArrayList;
+
+import com.fasterxml.jackson.core.JsonParseException;
+
+import skillzhunter.model.net.JobBoardApiException;
+import skillzhunter.model.net.JobBoardApiResult;
+import skillzhunter.model.net.JobBoardFailure;
+import skillzhunter.model.net.RetryInterceptor;
+import skillzhunter.model.net.TransportConfig;
+
+/**
+ * Test class for the transport settings, retry policy and typed failures.
+ */
+public class TestTransportConfig {
+
+    /**
+     * Tests the builder defaults and overrides.
+     */
+    @Test
+    public void testBuilder() {
+        TransportConfig defaults = TransportConfig.builder().build();
+        assertTrue(defaults.getConnectTimeoutMillis() > 0);
+        assertTrue(defaults.getCallTimeoutMillis() >= defaults.getReadTimeoutMillis());
+        assertTrue(defaults.getMaxRetries() > 0);
+
+        TransportConfig config = TransportConfig.builder()
+            .connectTimeoutMillis(100)
+            .readTimeoutMillis(200)
+            .callTimeoutMillis(300)
+            .maxIdleConnections(2)
+            .keepAliveMillis(1_000)
+            .maxRetries(0)
+            .breakerFailureThreshold(1)
+            .build();
+        assertEquals(100, config.getConnectTimeoutMillis());
+        assertEquals(200, config.getReadTimeoutMillis());
+        assertEquals(300, config.getCallTimeoutMillis());
+        assertEquals(2, config.getMaxIdleConnections());
+        assertEquals(1_000, config.getKeepAliveMillis());
+        assertEquals(0, config.getMaxRetries());
+        assertEquals(1, config.getBreakerFailureThreshold());
+    }
+
+    /**
+     * Tests that invalid settings are rejected.
+     */
+    @Test
+    public void testInvalidSettings() {
+        assertThrows(IllegalArgumentException.class,
+            () -> TransportConfig.builder().readTimeoutMillis(-1).build());
+        assertThrows(IllegalArgumentException.class,
+            () -> TransportConfig.builder().breakerFailureThreshold(0).build());
+    }
+
+    /**
+     * Tests the jittered exponential backoff bounds.
+     */
+    @Test
+    public void testBackoff() {
+        assertEquals(0, RetryInterceptor.backoffMillis(0, 250, 4_000, 0.0));
+        assertEquals(125, RetryInterceptor.backoffMillis(0, 250, 4_000, 0.5));
+        assertEquals(250, RetryInterceptor.backoffMillis(1, 250, 4_000, 0.5));
+        assertEquals(500, RetryInterceptor.backoffMillis(2, 250, 4_000, 0.5));
+        // capped at the maximum, even for silly attempt numbers
+        assertEquals(2_000, RetryInterceptor.backoffMillis(10, 250, 4_000, 0.5));
+        assertEquals(2_000, RetryInterceptor.backoffMillis(100, 250, 4_000, 0.5));
+    }
+
+    /**
+     * Tests which status codes are retried.
+     */
+    @Test
+    public void testRetryableStatus() {
+        assertTrue(RetryInterceptor.isRetryable(429));
+        assertTrue(RetryInterceptor.isRetryable(503));
+        assertFalse(RetryInterceptor.isRetryable(404));
+        assertFalse(RetryInterceptor.isRetryable(200));
+    }
+
+    /**
+     * Tests the mapping of statuses and exceptions to failure types.
+     */
+    @Test
+    public void testFailureTypes() {
+        assertEquals(JobBoardFailure.RATE_LIMITED, JobBoardFailure.forStatus(429));
+        assertEquals(JobBoardFailure.SERVER_ERROR, JobBoardFailure.forStatus(502));
+        assertEquals(JobBoardFailure.CLIENT_ERROR, JobBoardFailure.forStatus(404));
+        assertEquals(JobBoardFailure.TIMEOUT, JobBoardFailure.forException(new InterruptedIOException("timeout")));
+        assertEquals(JobBoardFailure.NETWORK, JobBoardFailure.forException(new ConnectException("refused")));
+        assertEquals(JobBoardFailure.NETWORK, JobBoardFailure.forException(new IOException("reset")));
+        assertEquals(JobBoardFailure.INVALID_RESPONSE,
+                     JobBoardFailure.forException(new JsonParseException(null, "bad json")));
+        assertTrue(JobBoardFailure.SERVER_ERROR.isUpstreamFailure());
+        assertFalse(JobBoardFailure.CLIENT_ERROR.isUpstreamFailure());
+    }
+
+    /**
+     * Tests that failures reach the result in typed form.
+     */
+    @Test
+    public void testFailedResult() {
+        JobBoardApiException e = new JobBoardApiException(503);
+        JobBoardApiResult result = new JobBoardApiResult(new ArrayList<>(), e.getMessage(), e.getFailure());
+
+        assertEquals(503, e.getStatusCode());
+        assertTrue(result.isFailure());
+        assertTrue(result.hasError());
+        assertEquals(JobBoardFailure.SERVER_ERROR, result.getFailure());
+        assertTrue(result.getErrorMessage().contains("503"));
+
+        assertFalse(new JobBoardApiResult(new ArrayList<>(), "All search parameters were generic").isFailure());
+    }
+}